@@ -1,19 +1,30 @@
 import controller.Controller;
 import controller.GuiGameController;
 import controller.TextGameController;
+import controller.broadcast.SnapshotBroadcaster;
+import controller.net.TownServer;
+import controller.strategy.PriorityStrategy;
+import controller.support.GameLoopExecutor;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import model.random.RandomService;
+import model.random.SplittableRandomService;
 import model.town.Town;
 import model.town.TownLoader;
 import model.town.TownModel;
 import view.GuiGameView;
 import view.TextGameView;
 import view.View;
+import view.output.BufferedOutputSink;
+import view.output.DiscardOutputSink;
+import view.output.OutputSink;
 
 /**
  * The main driver class for the game.
  */
 public class Driver {
+  private static final int SERVER_COMPUTER_PLAYERS = 1;
+
   /**
    * The main method to run the game.
    *
@@ -22,13 +33,18 @@ public class Driver {
    */
   public static void main(String[] args) throws IOException {
     if (args.length < 2) {
-      System.out.println("Usage: java Driver <world_file> <max_turns> [--gui]");
+      System.out.println("Usage: java Driver <world_file> <max_turns> [--gui] [--seed <seed>]"
+          + " [--broadcast <port>] [--serve <port> [--private]]");
       return;
     }
 
     String worldFile = args[0];
     int maxTurns;
-    boolean useGui = args.length > 2 && args[2].equals("--gui");
+    boolean useGui = false;
+    long seed = System.nanoTime();
+    int broadcastPort = -1;
+    int servePort = -1;
+    TownServer.Mode serveMode = TownServer.Mode.SHARED;
 
     try {
       maxTurns = Integer.parseInt(args[1]);
@@ -37,27 +53,80 @@ public class Driver {
       return;
     }
 
+    for (int i = 2; i < args.length; i++) {
+      if ("--gui".equals(args[i])) {
+        useGui = true;
+      } else if ("--seed".equals(args[i]) && i + 1 < args.length) {
+        try {
+          seed = Long.parseLong(args[++i]);
+        } catch (NumberFormatException e) {
+          System.out.println("Invalid seed argument. It should be an integer.");
+          return;
+        }
+      } else if ("--broadcast".equals(args[i]) && i + 1 < args.length) {
+        try {
+          broadcastPort = Integer.parseInt(args[++i]);
+        } catch (NumberFormatException e) {
+          System.out.println("Invalid broadcast port. It should be an integer.");
+          return;
+        }
+      } else if ("--serve".equals(args[i]) && i + 1 < args.length) {
+        try {
+          servePort = Integer.parseInt(args[++i]);
+        } catch (NumberFormatException e) {
+          System.out.println("Invalid serve port. It should be an integer.");
+          return;
+        }
+      } else if ("--private".equals(args[i])) {
+        serveMode = TownServer.Mode.PRIVATE;
+      }
+    }
+
+    if (servePort >= 0) {
+      // Network players: the server thread keeps running after main returns
+      TownServer server = new TownServer(servePort, serveMode,
+          () -> new TownModel(new TownLoader(), worldFile, DiscardOutputSink.INSTANCE, maxTurns),
+          new PriorityStrategy(), SERVER_COMPUTER_PLAYERS, seed);
+      System.out.println("Serving " + serveMode.name().toLowerCase() + " games on port "
+          + server.getPort());
+      return;
+    }
+
     // 1. Create the Model
     // 2. Create the Controller
     // 3. Create the View and connect it to the Controller
     // 4. Connect the View to the Controller
+    // Text games share one buffered console sink between model and view so messages keep their
+    // order. The GUI never waits on the console, so nothing would flush a buffer there, and its
+    // model writes turn and target messages straight to the console instead.
+    OutputSink output = new BufferedOutputSink(System.out);
     try {
       TownLoader loader = new TownLoader();
       Town town = new TownModel(
           loader,
           worldFile,
-          System.out,
+          useGui ? System.out : output,
           maxTurns
       );
+      RandomService random = new SplittableRandomService(seed);
       Controller controller;
       View view;
       if (useGui) {
-        controller = new GuiGameController(town);
+        GuiGameController guiController =
+            new GuiGameController(town, new GameLoopExecutor(), random);
+        if (broadcastPort >= 0) {
+          // Spectators connect to this port; the broadcaster lives as long as the game
+          SnapshotBroadcaster broadcaster = new SnapshotBroadcaster(broadcastPort,
+              SnapshotBroadcaster.DEFAULT_KEYFRAME_INTERVAL);
+          guiController.getActor().setPublishListener(broadcaster::publish);
+          System.out.println("Broadcasting to spectators on port " + broadcaster.getPort());
+        }
+        controller = guiController;
         view = new GuiGameView(controller);
         controller.setView(view, true);
       } else {
-        controller = new TextGameController(town, null, maxTurns);
-        view = new TextGameView(new InputStreamReader(System.in), System.out);
+        controller = new TextGameController(town, null, maxTurns, random);
+        view = new TextGameView(new InputStreamReader(System.in), output);
         controller.setView(view, false);
       }
 
@@ -69,6 +138,8 @@ public class Driver {
       throw e;
     } catch (IllegalArgumentException e) {
       System.err.println("Invalid game configuration: " + e.getMessage());
+    } finally {
+      output.flush();
     }
   }
 }
\ No newline at end of file
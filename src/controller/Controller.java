@@ -1,6 +1,10 @@
 package controller;
 
+import controller.command.GameCommand;
+import controller.support.TownActor;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import model.town.GameSnapshot;
 import model.town.Town;
 import view.View;
 
@@ -43,4 +47,41 @@ public interface Controller {
    */
 
   boolean executeCommand(String command) throws IOException;
+
+  /**
+   * Submits a game command without blocking the caller. Views use this from their event
+   * threads so that model work never runs on the thread that paints the interface.
+   *
+   * @param command the command string to execute
+   * @return a future completed with the result of {@link #executeCommand(String)}, or completed
+   *         exceptionally if the command failed
+   */
+  CompletableFuture<Boolean> submitCommand(String command);
+
+  /**
+   * Submits a typed game command without blocking the caller.
+   *
+   * @param command the command to execute
+   * @return a future completed with the result of the command, or completed exceptionally if the
+   *         command failed
+   */
+  CompletableFuture<Boolean> submitCommand(GameCommand command);
+
+  /**
+   * Runs a query against the model on the thread that owns it, without blocking the caller.
+   * Views use this instead of calling the model directly from their event threads.
+   *
+   * @param query the work to run against the model
+   * @param <T>   the result type
+   * @return a future completed with the query's result, or completed exceptionally if it failed
+   */
+  <T> CompletableFuture<T> query(TownActor.Message<T> query);
+
+  /**
+   * Gets the latest published snapshot of the game. Views read it instead of the live model, so
+   * they never see a half-applied change and never wait for the game thread.
+   *
+   * @return the latest snapshot, or null if none has been published yet
+   */
+  GameSnapshot getSnapshot();
 }
\ No newline at end of file
@@ -1,19 +1,29 @@
 package controller;
 
 import controller.command.AddPlayerCommand;
+import controller.command.GameCommand;
 import controller.command.LookAroundCommand;
 import controller.command.MovePetCommand;
 import controller.command.MovePlayerCommand;
 import controller.command.PickUpItemCommand;
+import controller.strategy.ComputerAction;
+import controller.strategy.ComputerStrategy;
+import controller.strategy.PriorityStrategy;
+import controller.support.CommandQueue;
 import controller.support.PlayerInfoDto;
+import controller.support.TownActor;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import model.item.Item;
+import model.player.Player;
+import model.random.RandomService;
+import model.random.SplittableRandomService;
+import model.town.GameSnapshot;
 import model.town.Town;
 import view.GuiView;
 import view.View;
@@ -21,21 +31,102 @@ import view.View;
 /**
  * GUI implementation of the Controller interface.
  * Handles game logic and coordinates between model and view.
+ * All model work runs through the game's {@link TownActor} on the game executor; commands and
+ * queries coming from the Swing event dispatch thread are posted to the actor's mailbox before
+ * they touch the model. Every change to the game happens inside {@link #execute(GameCommand)}:
+ * dialogs only show information or ask for a choice, and a choice comes back as a new command
+ * through the same queue.
  */
 public class GuiGameController implements Controller {
   private final Town town;
+  private final TownActor actor;
+  private final RandomService random;
+  private final ComputerStrategy strategy;
+  private final CommandQueue commandQueue;
   private View view;
   private GuiView guiView;
-  private String newPlaceName;
-  private int newPlaceNumber;
+  private boolean inBatch;
+  private boolean playerInfoStale;
 
   /**
-   * Constructs a new GUI controller.
+   * Constructs a new GUI controller that runs commands on the calling thread.
    *
    * @param gameModel the game model
    */
   public GuiGameController(Town gameModel) {
+    this(gameModel, Runnable::run);
+  }
+
+  /**
+   * Constructs a new GUI controller that runs all model work on the given executor.
+   *
+   * @param gameModel        the game model
+   * @param gameLoopExecutor the executor that owns the model, usually a {@link
+   *                         controller.support.GameLoopExecutor}
+   * @throws IllegalArgumentException if the executor is null
+   */
+  public GuiGameController(Town gameModel, Executor gameLoopExecutor) {
+    this(gameModel, gameLoopExecutor, new SplittableRandomService(System.nanoTime()));
+  }
+
+  /**
+   * Constructs a new GUI controller that runs all model work on the given executor and draws
+   * every random decision from the given service.
+   *
+   * @param gameModel        the game model
+   * @param gameLoopExecutor the executor that owns the model
+   * @param randomService    the source of randomness for this game
+   * @throws IllegalArgumentException if the executor or the random service is null
+   */
+  public GuiGameController(Town gameModel, Executor gameLoopExecutor,
+                           RandomService randomService) {
+    this(gameModel, gameLoopExecutor, randomService, new PriorityStrategy());
+  }
+
+  /**
+   * Constructs a new GUI controller whose computer players decide with the given strategy.
+   *
+   * @param gameModel        the game model
+   * @param gameLoopExecutor the executor that owns the model
+   * @param randomService    the source of randomness for this game
+   * @param computerStrategy the strategy computer players use to choose their actions
+   * @throws IllegalArgumentException if the executor, random service or strategy is null
+   */
+  public GuiGameController(Town gameModel, Executor gameLoopExecutor,
+                           RandomService randomService, ComputerStrategy computerStrategy) {
+    if (gameLoopExecutor == null) {
+      throw new IllegalArgumentException("Game executor cannot be null");
+    }
+    if (randomService == null) {
+      throw new IllegalArgumentException("Random service cannot be null");
+    }
+    if (computerStrategy == null) {
+      throw new IllegalArgumentException("Computer strategy cannot be null");
+    }
     this.town = gameModel;
+    this.actor = new TownActor(gameModel, gameLoopExecutor);
+    this.random = randomService;
+    this.strategy = computerStrategy;
+    this.commandQueue = new CommandQueue(actor, new CommandQueue.Handler() {
+      @Override
+      public boolean execute(GameCommand command) throws IOException {
+        return GuiGameController.this.execute(command);
+      }
+
+      @Override
+      public void beginBatch() {
+        inBatch = true;
+      }
+
+      @Override
+      public void endBatch() {
+        inBatch = false;
+        if (playerInfoStale) {
+          playerInfoStale = false;
+          refreshPlayerInfo();
+        }
+      }
+    });
   }
 
   /**
@@ -75,51 +166,57 @@ public class GuiGameController implements Controller {
     return this.town;
   }
 
+  /**
+   * Gets the actor that owns the model. Work posted to it runs on the game executor between
+   * commands, so views can query the model from the Swing event dispatch thread safely.
+   *
+   * @return the game's actor
+   */
+  public TownActor getActor() {
+    return actor;
+  }
+
   @Override
   public void startGame() throws IOException {
     view.initialize();
   }
 
   /**
-   * Handles the computer player's turn.
+   * Plays the computer player's turn. The strategy chooses the action and this method carries
+   * it out, then moves on to the next turn unless the game is over.
    *
    * @throws IOException if an I/O error occurs
    */
   private void handleComputerTurn() throws IOException {
-    // First priority: Attack the target if in the same place as target and not visible
-    String computerPlayerPlaceNumber = String.valueOf(
-        town.getPlayers().get(town.getCurrentPlayerIndex()).getPlayerCurrentPlaceNumber());
-    String targetPlaceNumber = town.getTarget().getCurrentPlace().getPlaceNumber();
-
-    System.out.println("Computer player place number: " + computerPlayerPlaceNumber);
-    System.out.println("Target place number: " + targetPlaceNumber);
-    if (computerPlayerPlaceNumber.equals(targetPlaceNumber)
-        && !town.isPlayerVisible(town.getPlayers().get(town.getCurrentPlayerIndex()))) {
-      // Computer player attempts to attack the target
-      attackTarget();
-      return;
-    }
-
-    // Second priority: Pick up an item if available in the current place
-    if (!town.getPlaceByNumber(
-            town.getPlayers().get(town.getCurrentPlayerIndex()).getPlayerCurrentPlaceNumber())
-        .getItems().isEmpty()
-        && town.getPlayers().get(town.getCurrentPlayerIndex()).getCurrentCarriedItems().size()
-        < town.getPlayers().get(town.getCurrentPlayerIndex()).getCarryLimit()) {
-      // Computer player picks up an item
-      System.out.println("Computer player picks up an item");
-      pickUpItem();
-      return;
+    Player player = town.getPlayers().get(town.getCurrentPlayerIndex());
+    ComputerAction action = strategy.chooseAction(town, player, random);
+    switch (action.getType()) {
+      case ATTACK:
+        view.showMessage("Computer player chooses to attack with " + action.getItemName()
+            + " for " + action.getDamage() + " damage.");
+        if (town.attackTarget(action.getItemName())) {
+          guiView.showGuiMessage("Game Over",
+              player.getName() + " player has successfully eliminated the target.", "OK");
+          endGame();
+          return;
+        }
+        town.switchToNextPlayer();
+        break;
+      case PICK_UP:
+        new PickUpItemCommand(town, action.getItemName()).execute();
+        break;
+      case MOVE:
+        new MovePlayerCommand(town, town.getCurrentPlayerIndex(), action.getPlaceNumber())
+            .execute();
+        break;
+      default:
+        new LookAroundCommand(town).execute();
     }
-
-    // Third priority: Move towards target if carrying items
-    if (!town.getPlayers().get(town.getCurrentPlayerIndex()).getCurrentCarriedItems().isEmpty()) {
-      movePlayer();
-      return;
+    if (town.isGameOver()) {
+      endGame();
+    } else {
+      takeTurn();
     }
-
-    // Fourth priority: Look around to gather information
-    lookAround();
   }
 
   /**
@@ -134,68 +231,29 @@ public class GuiGameController implements Controller {
     }
   }
 
-  /**
-   * Updates the current player's information.
-   *
-   * @param currentPlayerInfo the current player's information
-   */
-  private void updateCurrentPlayerInfo(String currentPlayerInfo) {
-    System.out.println("Current player info: " + currentPlayerInfo);
-    currentPlayerInfo = currentPlayerInfo.replace("[[", "[").replace("]]", "]");
-    String[] parts = currentPlayerInfo.split("], \\[");
-    // current player info
-    parts[0] = parts[0].replace("[", "");
-    String[] playerInfoParts = parts[0].split(",");
-    final String currentPlayerName = playerInfoParts[0];
-    final String currentPlayerPlace = playerInfoParts[1];
-    String playerItemList = playerInfoParts[3];
-    if (playerItemList.endsWith("|")) {
-      playerItemList = playerItemList.substring(0, playerItemList.length() - 1);
-    }
-    String[] list = playerItemList.split("\\|");
-    final List<String> currentPlayerItems = Arrays.asList(list);
-
-    // other players in the same place
-    parts[1] = parts[1].replace("[", "").replace("]", "");
-
-    // target info
-    parts[2] = parts[2].replace("[", "").replace("]", "");
-    String[] targetInfo = parts[2].split(",");
-    String targetName = targetInfo[0];
-    String targetPlace = targetInfo[1];
-    String targetHealth = targetInfo[2];
-    final String targetInfoString = targetName + "," + targetPlace + "," + targetHealth;
-
-    // current pet info
-    parts[3] = parts[3].replace("[", "").replace("]", "");
-
-    // current place items
-    if (parts.length > 4) {
-      parts[4] = parts[4].replace("[", "").replace("]", "");
-    }
-
-    PlayerInfoDto playerInfo =
-        new PlayerInfoDto(town.getCurrentTurn(), currentPlayerName, currentPlayerItems,
-            currentPlayerPlace, targetInfoString
-        );
-    guiView.updatePlayerInfo(playerInfo);
-  }
-
   /**
    * Handles the move player command.
    */
   private void takeTurn() throws IOException {
-    String playerInfo = town.showBasicLocationInfo();
-    System.out.println("Current player: " + playerInfo);
-    updateCurrentPlayerInfo(playerInfo);
+    refreshPlayerInfo();
     takeTurnForPlayer();
-    boolean isGameOver = town.isGameOver();
-    System.out.println("Is game over: " + isGameOver);
-    if (isGameOver) {
+    if (town.isGameOver()) {
       endGame();
     }
   }
 
+  /**
+   * Sends the current player's state to the view. Inside a command batch the update is deferred
+   * until the batch ends, so a batch refreshes the interface once.
+   */
+  private void refreshPlayerInfo() {
+    if (inBatch) {
+      playerInfoStale = true;
+      return;
+    }
+    guiView.updatePlayerInfo(PlayerInfoDto.fromSnapshot(town.getTurnSnapshot()));
+  }
+
   /**
    * Ends the game.
    *
@@ -217,9 +275,10 @@ public class GuiGameController implements Controller {
   /**
    * Handles the start game command.
    *
-   * @return true if the game can start, false otherwise
+   * @return true if the game started, false otherwise
+   * @throws IOException if an I/O error occurs
    */
-  private boolean handleStartGame() {
+  private boolean handleStartGame() throws IOException {
     int currentPlayersSize = town.getPlayers().size();
     if (currentPlayersSize < 2) {
       guiView.showGuiMessage("Error", "Need at least 2 players to start the game.", "OK");
@@ -227,57 +286,13 @@ public class GuiGameController implements Controller {
     }
     String playersSize = String.valueOf(currentPlayersSize);
     String gameBasicInfo = "There are " + playersSize + " players in the game.";
-    guiView.showGuiMessage("Are you ready", gameBasicInfo, "GO", () -> {
-      try {
-        takeTurn();
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
-    });
+    guiView.showGuiMessage("Are you ready", gameBasicInfo, "GO");
+    takeTurn();
     return true;
   }
 
   /**
-   * Handles the move player command.
-   *
-   * @throws IOException if an I/O error occurs
-   */
-  private void handleComputerPickUpItem() throws IOException {
-    int currentPlayerIndex = town.getCurrentPlayerIndex();
-    int currentPlaceNumber = town.getPlayerCurrPlaceNumber(currentPlayerIndex);
-    String currentPlace = town.getCurrentPlaceInfo(currentPlaceNumber);
-    String[] parts = currentPlace.split(";");
-    List<String> items = convertStringToList(parts[1]);
-    System.out.println("Items: " + items);
-    if (items.isEmpty()) {
-      view.showMessage("No item in this place.");
-    } else {
-      String maxDamageItemName = "";
-      int maxDamageItem = 0;
-      System.out.print("Items: " + items);
-      for (String item : items) {
-        System.out.println("Item: " + item);
-        String[] chooseItem = item.split("-");
-        String itemName1 = chooseItem[0].trim();
-        String itemDamage = chooseItem[1].trim();
-        if (Integer.parseInt(itemDamage) > maxDamageItem) {
-          maxDamageItem = Integer.parseInt(itemDamage);
-          maxDamageItemName = itemName1;
-        }
-      }
-      System.out.println("Max damage item: " + maxDamageItemName);
-      new PickUpItemCommand(town, maxDamageItemName).execute();
-      boolean isGameOver = town.isGameOver();
-      if (isGameOver) {
-        endGame();
-      } else {
-        takeTurn();
-      }
-    }
-  }
-
-  /**
-   * Handles the pickup item command.
+   * Asks the player which item to pick up, then submits the choice as a pick up command.
    *
    * @throws IOException if an I/O error occurs
    */
@@ -304,31 +319,19 @@ public class GuiGameController implements Controller {
     }
     maxItemNumber = items.size();
     if (maxItemNumber == 0) {
-      guiView.showGuiMessage("Pick Up Item", "No item in this place", "OK", () -> {
-        try {
-          takeTurn();
-        } catch (IOException e) {
-          throw new RuntimeException(e);
-        }
-      });
+      guiView.showGuiMessage("Pick Up Item", "No item in this place", "OK");
+      takeTurn();
     } else if (town.getPlayers().get(town.getCurrentPlayerIndex()).getCurrentCarriedItems().size()
         >= town.getPlayers().get(town.getCurrentPlayerIndex()).getCarryLimit()) {
       guiView.showGuiMessage("Pick Up Item", "Your inventory is full", "OK");
     } else {
       guiView.showGuiNumberMessage("Pick Up Item", showItemInfo.toString(),
               "OK",
-              1, maxItemNumber).thenAccept(itemNumber -> {
+              1, maxItemNumber).thenCompose(itemNumber -> {
                 String item = items.get(itemNumber - 1);
                 String[] itemParts = item.split("-");
-                String itemName1 = itemParts[0].trim();
-                try {
-                  new PickUpItemCommand(town, itemName1).execute();
-                  takeTurn();
-                } catch (IOException e) {
-                  throw new RuntimeException(e);
-                }
-              }
-          )
+                return commandQueue.submit(GameCommand.pickUp(itemParts[0].trim()));
+              })
           .exceptionally(e -> {
             guiView.showGuiMessage("Error", "Invalid item number", "OK");
             return null;
@@ -337,37 +340,19 @@ public class GuiGameController implements Controller {
   }
 
   /**
-   * Handles the pickup item command.
+   * Handles the pick up item command that carries the player's choice.
    *
+   * @param command the pick up command
    * @throws IOException if an I/O error occurs
    */
-  private void pickUpItem() throws IOException {
-    int currentPlayerIndex = town.getCurrentPlayerIndex();
-    boolean isComputerController = town.getPlayers().get(currentPlayerIndex).isComputerControlled();
-    if (isComputerController) {
-      handleComputerPickUpItem();
-    } else {
-      handleHumanPickUpItem();
-    }
-  }
-
-  /**
-   * Handles the computer look around command.
-   *
-   * @throws IOException if an I/O error occurs
-   */
-  private void handleComputerLookAround() throws IOException {
-    new LookAroundCommand(town).execute();
-    boolean isGameOver = town.isGameOver();
-    if (isGameOver) {
-      endGame();
-    } else {
-      takeTurn();
-    }
+  private void handlePickUp(GameCommand command) throws IOException {
+    new PickUpItemCommand(town, command.getName()).execute();
+    takeTurn();
   }
 
   /**
-   * Handles the human look around command.
+   * Handles the human look around command. The player's turn is used up as soon as the
+   * information is shown.
    *
    * @throws IOException if an I/O error occurs
    */
@@ -455,129 +440,18 @@ public class GuiGameController implements Controller {
         }
       }
     }
-    guiView.showGuiMessage("Look Around", lookAroundInfo.toString(), "OK", () -> {
-      try {
-        town.lookAround();
-        takeTurn();
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
-    });
-  }
-
-  /**
-   * Handles the look around command.
-   *
-   * @throws IOException if an I/O error occurs
-   */
-  private void lookAround() throws IOException {
-    int currentPlayerIndex = town.getCurrentPlayerIndex();
-    boolean isComputerControlled = town.getPlayers().get(currentPlayerIndex).isComputerControlled();
-    if (isComputerControlled) {
-      handleComputerLookAround();
-    } else {
-      handleHumanLookAround();
-    }
-  }
-
-  /**
-   * Handles the computer move command.
-   *
-   * @throws IOException if an I/O error occurs
-   */
-  private void handleComputerMove() throws IOException {
-    int currentPlayerIndex = town.getCurrentPlayerIndex();
-    int currentPlaceNumber = town.getPlayerCurrPlaceNumber(currentPlayerIndex);
-
-    // Get neighboring places info
-    String currentPlaceNeighbour = town.getCurrentPlaceNeighborsInfo(currentPlaceNumber);
-    currentPlaceNeighbour = currentPlaceNeighbour.substring(1, currentPlaceNeighbour.length() - 1);
-    String[] places = currentPlaceNeighbour.split("], \\[");
-
-    // Process neighbor information
-    HashSet<Integer> neighborNumbers = new HashSet<>();
-    int targetPlaceNumber = -1;
-
-    for (String place : places) {
-      place = place.replace("[", "").replace("]", "");
-      String[] parts = place.split(";", 5);
-      int placeNumber = Integer.parseInt(parts[1].trim());
-      neighborNumbers.add(placeNumber);
-
-      // Check if target is in this neighbor
-      if (parts[4].equals("true")) {
-        targetPlaceNumber = placeNumber;
-      }
-    }
-
-    // Choose move location
-    int newPlaceNumberInfo;
-    if (targetPlaceNumber != -1) {
-      // Move to target's location if available
-      newPlaceNumberInfo = targetPlaceNumber;
-    } else {
-      // Move to random neighbor
-      ArrayList<Integer> neighborsList = new ArrayList<>(neighborNumbers);
-      Random random = new Random();
-      newPlaceNumberInfo = neighborsList.get(random.nextInt(neighborsList.size()));
-    }
-
-    // Execute move
-    new MovePlayerCommand(town, currentPlayerIndex, newPlaceNumberInfo).execute();
-
-    boolean isGameOver = town.isGameOver();
-    if (isGameOver) {
-      endGame();
-    } else {
-      takeTurn();
-    }
-  }
-
-  /**
-   * Handles the human move command.
-   */
-  private void handleHumanMove() {
-    int currentPlayerIndex = town.getCurrentPlayerIndex();
-    String moveInfo = "You want to move to " + newPlaceName + "?" + "\n";
-    guiView.showGuiMessage("Move Player", moveInfo, "OK", () -> {
-      try {
-        new MovePlayerCommand(town, currentPlayerIndex, newPlaceNumber).execute();
-        takeTurn();
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
-    });
-  }
-
-  /**
-   * Moves the player.
-   *
-   * @throws IOException if an I/O error occurs
-   */
-  private void movePlayer() throws IOException {
-    int currentPlayerIndex = town.getCurrentPlayerIndex();
-    boolean isComputerControlled = town.getPlayers().get(currentPlayerIndex).isComputerControlled();
-    if (isComputerControlled) {
-      handleComputerMove();
-    } else {
-      handleHumanMove();
-    }
+    guiView.showGuiMessage("Look Around", lookAroundInfo.toString(), "OK");
+    town.lookAround();
+    takeTurn();
   }
 
   /**
-   * Handles the move pet command.
+   * Asks the player where to move the pet, then submits the choice as a move pet command.
    */
   private void movePet() {
     guiView.showGuiNumberMessage("Move Pet", "Enter the place number to move the pet to", "OK", 1,
             20)
-        .thenAccept(placeNumber -> {
-          try {
-            new MovePetCommand(town, placeNumber).execute();
-            takeTurn();
-          } catch (IOException e) {
-            throw new RuntimeException(e);
-          }
-        })
+        .thenCompose(placeNumber -> commandQueue.submit(GameCommand.movePet(placeNumber)))
         .exceptionally(e -> {
           guiView.showGuiMessage("Error", "Invalid place number", "OK");
           return null;
@@ -585,27 +459,37 @@ public class GuiGameController implements Controller {
   }
 
   /**
-   * Handles the human attack target command.
+   * Checks that the current player may attack the target, and tells the player why not.
    *
-   * @throws IOException if an I/O error occurs
+   * @return true if the player may attack, false otherwise
    */
-  private void handleHumanAttackTarget() throws IOException {
+  private boolean canAttack() {
     int currentPlayerIndex = town.getCurrentPlayerIndex();
-    String playerCurrentCarriedItems = town.getPlayerCurrentCarriedItems(currentPlayerIndex);
-    String targetPlaceNumber = town.getTarget().getCurrentPlace().getPlaceNumber();
-    String playerCurrentPlaceNumber =
-        String.valueOf(town.getPlayerCurrPlaceNumber(currentPlayerIndex));
-    if (!playerCurrentPlaceNumber.equals(targetPlaceNumber)) {
+    if (town.getPlayerCurrPlaceNumber(currentPlayerIndex)
+        != town.getTarget().getCurrentPlaceId()) {
       guiView.showGuiMessage("Error", "Target is not in the same place as you", "OK");
-      return;
+      return false;
     }
     boolean isPlayerVisible = town.isPlayerVisible(town.getPlayers().get(currentPlayerIndex));
     if (isPlayerVisible) {
       guiView.showGuiMessage("Error", "You are visible to the other players. You cannot attack",
           "OK");
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Asks the player which item to attack with, then submits the choice as an attack command.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  private void handleHumanAttackTarget() throws IOException {
+    if (!canAttack()) {
       return;
     }
-    final AtomicBoolean killSuccess = new AtomicBoolean(false);
+    String playerCurrentCarriedItems =
+        town.getPlayerCurrentCarriedItems(town.getCurrentPlayerIndex());
     List<String> playerItems = convertStringToList(playerCurrentCarriedItems);
     playerItems.add("Poke Target-1");
     StringBuilder showItemInfo = new StringBuilder();
@@ -618,30 +502,11 @@ public class GuiGameController implements Controller {
     showItemInfo.append("Enter the item number you want to use to attack the target: \n");
     guiView.showGuiNumberMessage("Attack Target", showItemInfo.toString(), "OK", 1,
             playerItems.size())
-        .thenAccept(itemNumber -> {
-          String[] itemsParts = playerItems.get(itemNumber - 1).split("-");
-          String itemName = itemsParts[0].trim();
-          String itemDamage = itemsParts[1].trim();
-          try {
-            killSuccess.set(town.attackTarget(itemName));
-            String showAttackResult = "";
-            showAttackResult += "You used " + itemName + " to attack the target." + "\n";
-            if ("Poke Target".equals(itemName)) {
-              showAttackResult += "You hit the target and caused 1 damage." + "\n";
-            } else {
-              showAttackResult += "You hit the target and caused " + itemDamage + " damage." + "\n";
-            }
-            System.out.println("Kill success: " + killSuccess);
-            if (killSuccess.get()) {
-              endGame();
-            } else {
-              town.switchToNextPlayer();
-              takeTurn();
-            }
-            guiView.showGuiMessage("Attack Result", showAttackResult, "OK");
-          } catch (IOException e) {
-            throw new RuntimeException(e);
-          }
+        .thenCompose(itemNumber -> {
+          // Item names may contain dashes, so the damage follows the last one
+          String chosenItem = playerItems.get(itemNumber - 1);
+          String itemName = chosenItem.substring(0, chosenItem.lastIndexOf('-')).trim();
+          return commandQueue.submit(GameCommand.attack(itemName));
         })
         .exceptionally(e -> {
           guiView.showGuiMessage("Error", "Invalid item number", "OK");
@@ -650,195 +515,248 @@ public class GuiGameController implements Controller {
   }
 
   /**
-   * Handles the computer attack target command.
+   * Handles the attack command that carries the player's choice of item.
    *
+   * @param command the attack command
+   * @return true if the attack was made, false if the player may not attack
    * @throws IOException if an I/O error occurs
    */
-  private void handleComputerAttackTarget() throws IOException {
-    int currentPlayerIndex = town.getCurrentPlayerIndex();
-    String playerCurrentCarriedItems = town.getPlayerCurrentCarriedItems(currentPlayerIndex);
-    final String currentPlayerName = town.getPlayers().get(currentPlayerIndex).getName();
-    List<String> playerItems = convertStringToList(playerCurrentCarriedItems);
-    playerItems.add("Poke Target-1");
-    String maxDamageItemName = "";
-    int maxDamage = 0;
-    for (String item : playerItems) {
-      String[] itemParts = item.split("-");
-      String itemName = itemParts[0];
-      int itemDamage = Integer.parseInt(itemParts[1]);
-      if (itemDamage > maxDamage) {
-        maxDamage = itemDamage;
-        maxDamageItemName = itemName;
+  private boolean handleAttack(GameCommand command) throws IOException {
+    if (!canAttack()) {
+      return false;
+    }
+    String itemName = command.getName();
+    int itemDamage = 1;
+    for (Item item : town.getPlayers().get(town.getCurrentPlayerIndex())
+        .getCurrentCarriedItems()) {
+      if (item.getName().equals(itemName)) {
+        itemDamage = item.getDamage();
+        break;
       }
     }
-    view.showMessage(
-        "Computer player chooses to attack with " + maxDamageItemName + " for " + maxDamage
-            + " damage.");
-    boolean killSuccess = town.attackTarget(maxDamageItemName);
+    boolean killSuccess = town.attackTarget(itemName);
+    String showAttackResult = "";
+    showAttackResult += "You used " + itemName + " to attack the target." + "\n";
+    showAttackResult += "You hit the target and caused " + itemDamage + " damage." + "\n";
+    System.out.println("Kill success: " + killSuccess);
     if (killSuccess) {
-      guiView.showGuiMessage("Game Over",
-          currentPlayerName + " player has successfully eliminated the target.",
-          "OK", () -> {
-            try {
-              endGame();
-            } catch (IOException e) {
-              throw new RuntimeException(e);
-            }
-          });
+      endGame();
     } else {
       town.switchToNextPlayer();
-      boolean isGameOver = town.isGameOver();
-      if (isGameOver) {
-        endGame();
-      } else {
-        takeTurn();
-      }
+      takeTurn();
     }
+    guiView.showGuiMessage("Attack Result", showAttackResult, "OK");
+    return true;
+  }
+
+  @Override
+  public boolean executeCommand(String commandName) throws IOException {
+    if (commandName == null) {
+      throw new IllegalArgumentException("Command cannot be null");
+    }
+    return execute(GameCommand.parse(commandName));
   }
 
   /**
-   * Handles the attack target command.
+   * Executes a typed command on the calling thread.
    *
+   * @param command the command to execute
+   * @return true if the command was executed successfully, false otherwise
    * @throws IOException if an I/O error occurs
+   * @throws IllegalArgumentException if the command is null or has invalid arguments
    */
-  private void attackTarget() throws IOException {
-    int currentPlayerIndex = town.getCurrentPlayerIndex();
-    boolean isComputerController = town.getPlayers().get(currentPlayerIndex).isComputerControlled();
-    if (isComputerController) {
-      handleComputerAttackTarget();
-    } else {
-      handleHumanAttackTarget();
+  public boolean execute(GameCommand command) throws IOException {
+    if (command == null) {
+      throw new IllegalArgumentException("Command cannot be null");
+    }
+    GameCommand.Type type = command.getType();
+    if (town.isGameOver()
+        && type != GameCommand.Type.START_TURNS // 允许重新开始游戏
+        && type != GameCommand.Type.ADD_PLAYER  // 允许添加玩家
+        && type != GameCommand.Type.ADD_COMPUTER // 允许添加电脑玩家
+        && type != GameCommand.Type.ADD_COMPUTERS) {
+      guiView.showGuiMessage("Error", "Game is over. Start a new game to continue.", "OK");
+      return false;
+    }
+    switch (type) {
+      case ADD_PLAYER:
+        return handleAddPlayer(command);
+      case ADD_COMPUTER:
+        return handleAddComputer();
+      case ADD_COMPUTERS:
+        return handleAddComputers(command);
+      case START_TURNS:
+        return handleStartGame();
+      case MOVE:
+        handleMovePlayer(command);
+        return true;
+      case LOOK:
+        handleHumanLookAround();
+        return true;
+      case PICK:
+        if (command.isPrompt()) {
+          handleHumanPickUpItem();
+        } else {
+          handlePickUp(command);
+        }
+        return true;
+      case ATTACK:
+        if (command.isPrompt()) {
+          handleHumanAttackTarget();
+          return true;
+        }
+        return handleAttack(command);
+      case PETMOVE:
+        if (command.isPrompt()) {
+          movePet();
+        } else {
+          new MovePetCommand(town, command.getPlaceNumber()).execute();
+          takeTurn();
+        }
+        return true;
+      default:
+        guiView.showGuiMessage("Error", "Invalid command: " + command, "OK");
+        return false;
     }
   }
 
   /**
-   * Handles the player's action.
+   * Handles the add player command.
    *
-   * @param action the player's action
+   * @param command the add player command
+   * @return true if the player was added, false otherwise
    * @throws IOException if an I/O error occurs
    */
-  private void handlePlayerAction(String action) throws IOException {
-    switch (action) {
-      case "MOVE":
-        // Move command
-        movePlayer();
-        break;
-      case "LOOK":
-        // Look command
-        lookAround();
-        break;
-      case "PICK":
-        // Pick command
-        pickUpItem();
-        break;
-      case "ATTACK":
-        // Attack command
-        attackTarget();
-        break;
-      case "PETMOVE":
-        // Pet move command
-        movePet();
-        break;
-      default:
-        guiView.showGuiMessage("Error", "Invalid command: " + action, "OK");
+  private boolean handleAddPlayer(GameCommand command) throws IOException {
+    String name = command.getName();
+    boolean addSuccess = new AddPlayerCommand(town, false, name, command.getPlaceNumber(),
+        command.getCarryLimit()).execute();
+    if (addSuccess) {
+      String message = name + " player added successfully.";
+      guiView.showGuiMessage("Result", message, "OK");
+      return true;
     }
+    guiView.showGuiMessage("Error", "Error adding player", "OK");
+    return false;
   }
 
-  @Override
-  public boolean executeCommand(String commandName) throws IOException {
-    if (commandName == null) {
-      throw new IllegalArgumentException("Command cannot be null");
+  /**
+   * Handles the add computer player command.
+   *
+   * @return true if the player was added, false otherwise
+   * @throws IOException if an I/O error occurs
+   */
+  private boolean handleAddComputer() throws IOException {
+    int computerNumber = town.getPlayers().size() + 1;
+    while (town.isPlayerNameTaken("Computer" + computerNumber)) {
+      computerNumber++;
+    }
+    String computerName = "Computer" + computerNumber;
+    int startingPlace = random.nextInt(town.getPlaces().size()) + 1;
+    boolean addSuccess =
+        new AddPlayerCommand(town, true, computerName, startingPlace, 5).execute();
+    if (addSuccess) {
+      String message = computerName + " player added successfully.";
+      guiView.showGuiMessage("Result", message, "OK");
+      return true;
     }
+    guiView.showGuiMessage("Error", "Error adding computer player", "OK");
+    return false;
+  }
 
-    if (town.isGameOver()
-        && !commandName.startsWith("START_TURNS") // 允许重新开始游戏
-        && !commandName.startsWith("ADD_PLAYER")  // 允许添加玩家
-        && !commandName.startsWith("ADD_COMPUTER")) { // 允许添加电脑玩家
-      guiView.showGuiMessage("Error", "Game is over. Start a new game to continue.", "OK");
+  /**
+   * Handles the bulk add computer players command. All players are added in one model call and
+   * the result is reported in a single message.
+   *
+   * @param command the bulk add command
+   * @return true if the players were added, false otherwise
+   * @throws IOException if an I/O error occurs
+   */
+  private boolean handleAddComputers(GameCommand command) throws IOException {
+    try {
+      List<String> names = town.addComputerPlayers("Computer", command.getCount(), 5,
+          command.getDistribution(), random);
+      guiView.showGuiMessage("Result", names.size() + " computer players added successfully.",
+          "OK");
+      return true;
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      guiView.showGuiMessage("Error", "Error adding computer players: " + e.getMessage(), "OK");
       return false;
     }
-    if (commandName.startsWith("ADD_PLAYER")) {
-      // Add player command
-      String[] parts = commandName.split(" ");
-      String name = parts[1];
-      int place = Integer.parseInt(parts[2]);
-      int limit = Integer.parseInt(parts[3]);
-
-      // Execute add player command
-      boolean addSuccess =
-          new AddPlayerCommand(town, false, name, place, limit).execute();
-      if (addSuccess) {
-        String message = name + " player added successfully.";
-        guiView.showGuiMessage("Result", message, "OK");
-        return true;
-      } else {
-        guiView.showGuiMessage("Error", "Error adding player", "OK");
+  }
 
-      }
-    } else if (commandName.startsWith("ADD_COMPUTER")) {
-      // Add computer player command
-      String computerName;
-      if (town.getPlayers().isEmpty()) {
-        computerName = "Computer1";
-      } else {
-        String playersSize = String.valueOf((town.getPlayers().size() + 1));
-        computerName = "Computer" + playersSize;
-      }
-      Random rand = new Random();
-      int startingPlace = rand.nextInt(19) + 1;
-      boolean addSuccess =
-          new AddPlayerCommand(town, true, computerName, startingPlace, 5).execute();
-      if (addSuccess) {
-        String message = computerName + " player added successfully.";
-        guiView.showGuiMessage("Result", message, "OK");
-        return true;
-      } else {
-        guiView.showGuiMessage("Error", "Error adding computer player", "OK");
-      }
-    } else if (commandName.startsWith("START_TURNS")) {
-      // Start game command
-      return handleStartGame();
-    } else if (commandName.startsWith("MOVE")) {
-      // Move command
-      handleMovePlayer(commandName);
-    } else if (commandName.startsWith("LOOK")) {
-      // Look command
-      handlePlayerAction("LOOK");
-      return true;
-    } else if (commandName.startsWith("PICK")) {
-      // Pick command
-      handlePlayerAction("PICK");
-    } else if (commandName.startsWith("ATTACK")) {
-      // Attack command
-      handlePlayerAction("ATTACK");
-    } else if (commandName.startsWith("PETMOVE")) {
-      // Pet move command
-      handlePlayerAction("PETMOVE");
+  @Override
+  public CompletableFuture<Boolean> submitCommand(String commandName) {
+    GameCommand command;
+    try {
+      command = GameCommand.parse(commandName);
+    } catch (IllegalArgumentException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return submitCommand(command);
+  }
 
-    } else {
-      guiView.showGuiMessage("Error", "Invalid command: " + commandName, "OK");
-    }
-    return false;
+  @Override
+  public CompletableFuture<Boolean> submitCommand(GameCommand command) {
+    return commandQueue.submit(command);
+  }
+
+  @Override
+  public <T> CompletableFuture<T> query(TownActor.Message<T> query) {
+    return actor.ask(query);
+  }
+
+  @Override
+  public GameSnapshot getSnapshot() {
+    return actor.getSnapshot();
+  }
+
+  /**
+   * Submits a batch of commands that run in order on the game executor. The player information
+   * shown by the view is refreshed once, after the whole batch.
+   *
+   * @param commands the commands to execute
+   * @return a future completed with the result of each command
+   * @throws IllegalArgumentException if the list or any command is null
+   */
+  public CompletableFuture<List<Boolean>> submitBatch(List<GameCommand> commands) {
+    return commandQueue.submitBatch(commands);
+  }
+
+  /**
+   * Turns recording of executed commands on or off. Prompts are not recorded, only the commands
+   * carrying the player's answer, so every recorded command changes the game by itself. The
+   * commands can be saved with {@link GameCommand#toString()} and replayed with
+   * {@link #submitBatch(List)}; with the same seed and world, the replay plays out the same game.
+   *
+   * @param enabled true to record commands submitted through this controller
+   */
+  public void setCommandRecording(boolean enabled) {
+    commandQueue.setRecording(enabled);
+  }
+
+  /**
+   * Gets the commands executed while recording was on, in execution order.
+   *
+   * @return a copy of the recorded commands
+   */
+  public List<GameCommand> getCommandHistory() {
+    return commandQueue.getHistory();
   }
 
   /**
    * Handles the move player command.
    *
-   * @param command the player command
+   * @param command the move command
    * @throws IOException if an I/O error occurs
    */
-  private void handleMovePlayer(String command) throws IOException {
-    String[] parts = command.split(",");
-    if (parts.length != 3) {
-      throw new IllegalArgumentException("Invalid move command format");
-    }
-    int destinationNumber = Integer.parseInt(parts[2]);
+  private void handleMovePlayer(GameCommand command) throws IOException {
+    int destinationNumber = command.getPlaceNumber();
     if (destinationNumber < 1 || destinationNumber > town.getPlaces().size()) {
       throw new IllegalArgumentException("Invalid place number");
     }
-    newPlaceName = parts[1];
-    newPlaceNumber = Integer.parseInt(parts[2]);
-
-    handlePlayerAction("MOVE");
+    new MovePlayerCommand(town, town.getCurrentPlayerIndex(), destinationNumber).execute();
+    guiView.showGuiMessage("Move Player", "You moved to " + command.getName() + ".\n", "OK");
+    takeTurn();
   }
-}
\ No newline at end of file
+}
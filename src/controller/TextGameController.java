@@ -1,17 +1,30 @@
 package controller;
 
 import controller.command.AddPlayerCommand;
+import controller.command.GameCommand;
 import controller.command.LookAroundCommand;
 import controller.command.MovePetCommand;
 import controller.command.MovePlayerCommand;
 import controller.command.PickUpItemCommand;
+import controller.strategy.ComputerAction;
+import controller.strategy.ComputerStrategy;
+import controller.strategy.PriorityStrategy;
+import controller.support.TextTemplates;
+import controller.support.TownActor;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import model.place.Place;
+import model.player.Player;
+import model.random.RandomService;
+import model.random.SplittableRandomService;
+import model.town.GameSnapshot;
+import model.town.SpawnDistribution;
 import model.town.Town;
+import model.town.TurnSnapshot;
 import view.View;
 
 /**
@@ -21,11 +34,18 @@ import view.View;
  * handles turn management, and processes various game commands.
  */
 public class TextGameController implements Controller {
+  private static final int PLAYER_PAGE_SIZE = 10;
+  private static final int NAME_SUGGESTIONS = 5;
+
   private final Town town;
   private final int maxTurns;
+  private final RandomService random;
+  private final ComputerStrategy strategy;
+  private final StringBuilder messageBuffer;
   private View view;
   private boolean quitGame;
   private boolean continueGame;
+  private GameSnapshot snapshot;
 
   /**
    * Constructs a new TextGameController with specified model, view and game parameters.
@@ -36,9 +56,48 @@ public class TextGameController implements Controller {
    * @throws IllegalArgumentException if gameTown is null or gameMaxTurns is less than 1
    */
   public TextGameController(Town gameTown, View gameView, int gameMaxTurns) {
+    this(gameTown, gameView, gameMaxTurns, new SplittableRandomService(System.nanoTime()));
+  }
+
+  /**
+   * Constructs a new TextGameController that draws every random decision from the given service.
+   * Two games started with services of the same seed and fed the same input play identically.
+   *
+   * @param gameTown      the town model representing the game state
+   * @param gameView      the view for user interaction
+   * @param gameMaxTurns  the maximum number of turns allowed in the game
+   * @param randomService the source of randomness for this game
+   * @throws IllegalArgumentException if the random service is null
+   */
+  public TextGameController(Town gameTown, View gameView, int gameMaxTurns,
+                            RandomService randomService) {
+    this(gameTown, gameView, gameMaxTurns, randomService, new PriorityStrategy());
+  }
+
+  /**
+   * Constructs a new TextGameController whose computer players decide with the given strategy.
+   *
+   * @param gameTown         the town model representing the game state
+   * @param gameView         the view for user interaction
+   * @param gameMaxTurns     the maximum number of turns allowed in the game
+   * @param randomService    the source of randomness for this game
+   * @param computerStrategy the strategy computer players use to choose their actions
+   * @throws IllegalArgumentException if the random service or strategy is null
+   */
+  public TextGameController(Town gameTown, View gameView, int gameMaxTurns,
+                            RandomService randomService, ComputerStrategy computerStrategy) {
+    if (randomService == null) {
+      throw new IllegalArgumentException("Random service cannot be null");
+    }
+    if (computerStrategy == null) {
+      throw new IllegalArgumentException("Computer strategy cannot be null");
+    }
     this.town = gameTown;
     this.view = gameView;
     this.maxTurns = gameMaxTurns;
+    this.random = randomService;
+    this.strategy = computerStrategy;
+    this.messageBuffer = new StringBuilder(512);
     this.quitGame = false;
   }
 
@@ -63,6 +122,16 @@ public class TextGameController implements Controller {
     return resultList;
   }
 
+  /**
+   * Clears and returns the session's reusable message buffer.
+   *
+   * @return the empty message buffer
+   */
+  private StringBuilder newMessage() {
+    messageBuffer.setLength(0);
+    return messageBuffer;
+  }
+
   @Override
   public void setView(View gameView, boolean gui) {
     if (this.view != null) {
@@ -90,12 +159,7 @@ public class TextGameController implements Controller {
    * @throws IOException if there is an error in input/output operations
    */
   private void displayMainMenu() throws IOException {
-    view.showMessage("Please choose an option:");
-    view.showMessage("1. Add Human-controller player");
-    view.showMessage("2. Add Computer-controller player");
-    view.showMessage("3. Display player information");
-    view.showMessage("4. Start turn");
-    view.showMessage("0. Quit game");
+    view.showMessage(TextTemplates.MAIN_MENU);
 
     int choice = view.getNumberInput();
     switch (choice) {
@@ -111,6 +175,9 @@ public class TextGameController implements Controller {
       case 4:
         takeTurn();
         break;
+      case 5:
+        handleAddComputerPlayers();
+        break;
       case 0:
         quitGame = true;
         break;
@@ -143,59 +210,9 @@ public class TextGameController implements Controller {
     String[] petInfo = petCurrentInfo.split(",");
     view.showMessage(petInfo[0] + "is in " + petInfo[1]);
     while (continueGame) {
-      view.showMessage(town.getCurrentTurn() + " of " + maxTurns);
-      String playerInfo = town.showBasicLocationInfo();
-      view.showMessage("playerInfo: " + playerInfo);
-      playerInfo = playerInfo.substring(1, playerInfo.length() - 1);
-      String[] items = playerInfo.split("], \\[");
-      String playerName = "";
-      String playerPlace = "";
-      List<String> otherPlayers = new ArrayList<>();
-      String targetPlace = "";
-      String targetHealth = "";
-      String petPlace = "";
-      String itemName = "";
-      String itemDamage = "";
-      for (int i = 0; i < items.length; i++) {
-        String item = items[i].replace("[", "").replace("]", "");
-        String[] parts = item.split(",");
-
-        if (i == 0 && parts.length >= 2) {
-          playerName = parts[0].trim();
-          playerPlace = parts[1].trim();
-        } else if (i == 1) {
-          for (String name : parts) {
-            otherPlayers.add(name.trim());
-          }
-        } else if (i == 2 && parts.length >= 2) {
-          targetPlace = parts[1].trim();
-          targetHealth = parts[2].trim();
-        } else if (i == 3 && parts.length >= 2) {
-          petPlace = parts[1].trim();
-        } else if (i == 4 && parts.length == 2) {
-          if (parts[1].isEmpty()) {
-            itemName = "";
-            itemDamage = "";
-          } else {
-            itemName = parts[0].trim();
-            itemDamage = parts[1].trim();
-          }
-
-        }
-      }
-      view.showMessage("Hi " + playerName + ", you Current place: " + playerPlace);
-      if (otherPlayers.isEmpty()) {
-        view.showMessage("No other players in this place.");
-      } else {
-        view.showMessage("Other players: " + otherPlayers);
-      }
-      view.showMessage("Target Current place: " + targetPlace + " (Health: " + targetHealth + ")");
-      view.showMessage("Pet Current place: " + petPlace);
-      if (itemName.isEmpty()) {
-        view.showMessage("No item in this place.");
-      } else {
-        view.showMessage("Current place item: " + itemName + " (Damage: " + itemDamage + ")");
-      }
+      TurnSnapshot snapshot = town.getTurnSnapshot();
+      view.showMessage(
+          TextTemplates.appendTurnHeader(newMessage(), snapshot, maxTurns).toString());
       takeTurnForPlayer();
       boolean isGameOver = town.isGameOver();
       if (isGameOver) {
@@ -247,12 +264,7 @@ public class TextGameController implements Controller {
    * @throws IOException if there is an error in input/output operations
    */
   private void handleHumanTurn() throws IOException {
-    view.showMessage("Please choose an option:");
-    view.showMessage("1. Move player");
-    view.showMessage("2. Pick up item");
-    view.showMessage("3. Look around");
-    view.showMessage("4. Attack target");
-    view.showMessage("5. Move pet");
+    view.showMessage(TextTemplates.TURN_MENU);
 
     int choice = 0;
     try {
@@ -263,10 +275,10 @@ public class TextGameController implements Controller {
 
     switch (choice) {
       case 1:
-        movePlayer();
+        handleHumanMove();
         break;
       case 2:
-        pickUpItem();
+        handleHumanPickUpItem();
         break;
       case 3:
         lookAround();
@@ -282,47 +294,6 @@ public class TextGameController implements Controller {
     }
   }
 
-  /**
-   * Processes computer player's attack attempt.
-   *
-   * @param playerIndex index of the computer player
-   * @return String representing the name of the item used for attack.
-   * @throws IOException if there is an error in input/output operations
-   */
-  private String handleComputerAttack(int playerIndex) throws IOException {
-    // handle computer attack
-    String playerCurrentCarriedItems = town.getPlayerCurrentCarriedItems(playerIndex);
-    String targetPlace = town.getTarget().getCurrentPlace().getPlaceNumber();
-    String playerCurrentPlace = String.valueOf(town.getPlayerCurrPlaceNumber(playerIndex));
-    if (!playerCurrentPlace.equals(targetPlace)) {
-      view.showMessage("Computer player is not in the same place as the target. Cannot attack.");
-      return "fail";
-    }
-    boolean isPlayerVisible = town.isPlayerVisible(town.getPlayers().get(playerIndex));
-    if (isPlayerVisible) {
-      view.showMessage("Computer player is visible to the other players. Cannot attack.");
-      return "fail";
-    }
-    List<String> items = convertStringToList(playerCurrentCarriedItems);
-    items.add("Poke Target-1");
-    String maxDamageItemName = "";
-    int maxDamageItem = 0;
-    for (String item : items) {
-      String[] chooseItem = item.split("-");
-      String itemName = chooseItem[0].trim();
-      String itemDamage = chooseItem[1].trim();
-      if (Integer.parseInt(itemDamage) > maxDamageItem) {
-        maxDamageItem = Integer.parseInt(itemDamage);
-        maxDamageItemName = itemName;
-      }
-    }
-
-    view.showMessage(
-        "Computer player chooses to attack with " + maxDamageItemName + " for " + maxDamageItem
-            + " damage.");
-    return maxDamageItemName;
-  }
-
   /**
    * Processes human player's attack attempt.
    *
@@ -333,9 +304,7 @@ public class TextGameController implements Controller {
   private String handleHumanAttack(int playerIndex) throws IOException {
     // handle human attack
     String playerCurrentCarriedItems = town.getPlayerCurrentCarriedItems(playerIndex);
-    String targetPlace = town.getTarget().getCurrentPlace().getPlaceNumber();
-    String playerCurrentPlace = String.valueOf(town.getPlayerCurrPlaceNumber(playerIndex));
-    if (!playerCurrentPlace.equals(targetPlace)) {
+    if (town.getPlayerCurrPlaceNumber(playerIndex) != town.getTarget().getCurrentPlaceId()) {
       view.showMessage("You are not in the same place as the target. You cannot attack.");
       return "fail";
     }
@@ -363,9 +332,11 @@ public class TextGameController implements Controller {
         enterRightNumber = true;
       }
     }
-    String[] chooseItem = items.get(itemNumber).split("-");
-    String itemName = chooseItem[0].trim();
-    String itemDamage = chooseItem[1].trim();
+    // Item names may contain dashes, so the damage follows the last one
+    String chooseItem = items.get(itemNumber);
+    int dash = chooseItem.lastIndexOf('-');
+    String itemName = chooseItem.substring(0, dash).trim();
+    String itemDamage = chooseItem.substring(dash + 1).trim();
     view.showMessage("You choose to attack with " + itemName);
     if ("Poke Target".equals(itemName)) {
       view.showMessage("Successfully poke the target in the eye for 1 damage.");
@@ -376,25 +347,27 @@ public class TextGameController implements Controller {
   }
 
   /**
-   * Processes an attack attempt on the target by the current player.
-   * Handles both computer and human player attacks, checking for success conditions
+   * Processes a human player's attack attempt on the target, checking for success conditions
    * and updating game state accordingly.
    *
    * @throws IOException if there is an error in input/output operations
    */
   private void attackTarget() throws IOException {
-    int currentPlayerIndex = town.getCurrentPlayerIndex();
-    String itemName;
-    boolean isComputerControlled = town.getPlayers().get(currentPlayerIndex).isComputerControlled();
-    if (isComputerControlled) {
-      itemName = handleComputerAttack(currentPlayerIndex);
-    } else {
-      itemName = handleHumanAttack(currentPlayerIndex);
-      if ("fail".equals(itemName)) {
-        return;
-      }
+    String itemName = handleHumanAttack(town.getCurrentPlayerIndex());
+    if ("fail".equals(itemName)) {
+      return;
     }
+    resolveAttack(itemName);
+  }
 
+  /**
+   * Attacks the target with the given item and reports the result. An attack that does not
+   * eliminate the target ends the player's turn.
+   *
+   * @param itemName the name of the item to attack with
+   * @throws IOException if there is an error in input/output operations
+   */
+  private void resolveAttack(String itemName) throws IOException {
     boolean killSuccess = town.attackTarget(itemName);
     if (killSuccess) {
       view.showMessage("You have successfully eliminated the target!");
@@ -427,36 +400,6 @@ public class TextGameController implements Controller {
     new MovePetCommand(town, placeNumber).execute();
   }
 
-  /**
-   * Processes a computer-controlled player's attempt to pick up an item.
-   * Automatically selects the item with the highest damage value if available.
-   *
-   * @throws IOException if there is an error in input/output operations
-   */
-  private void handleComputerPickUpItem() throws IOException {
-    int currentPlayerIndex = town.getCurrentPlayerIndex();
-    int currentPlaceNumber = town.getPlayerCurrPlaceNumber(currentPlayerIndex);
-    String currentPlace = town.getCurrentPlaceInfo(currentPlaceNumber);
-    String[] parts = currentPlace.split(";");
-    List<String> items = convertStringToList(parts[1]);
-    if (items.isEmpty()) {
-      view.showMessage("No item in this place.");
-    } else {
-      String maxDamageItemName = "";
-      int maxDamageItem = 0;
-      for (String item : items) {
-        String[] chooseItem = item.split("-");
-        String itemName1 = chooseItem[0].trim();
-        String itemDamage = chooseItem[1].trim();
-        if (Integer.parseInt(itemDamage) > maxDamageItem) {
-          maxDamageItem = Integer.parseInt(itemDamage);
-          maxDamageItemName = itemName1;
-        }
-      }
-      new PickUpItemCommand(town, maxDamageItemName).execute();
-    }
-  }
-
   /**
    * Handles a human player's attempt to pick up an item.
    * Displays available items and prompts for selection.
@@ -496,23 +439,6 @@ public class TextGameController implements Controller {
     }
   }
 
-  /**
-   * Coordinates the item pickup action for both human and computer-controlled players.
-   *
-   * @throws IOException if there is an error in input/output operations
-   */
-  private void pickUpItem() throws IOException {
-    int currentPlayerIndex = town.getCurrentPlayerIndex();
-    boolean isComputerControlled = town.getPlayers().get(currentPlayerIndex).isComputerControlled();
-    if (isComputerControlled) {
-      view.showMessage("Computer player picks up an item.");
-      handleComputerPickUpItem();
-    } else {
-      handleHumanPickUpItem();
-    }
-
-  }
-
   /**
    * Implements the look around action for a player, displaying information about
    * the current location and neighboring spaces including items, players, and special characters.
@@ -522,142 +448,24 @@ public class TextGameController implements Controller {
   private void lookAround() throws IOException {
     view.showMessage("Looking around...");
     int currentPlayerIndex = town.getCurrentPlayerIndex();
-    int currentPlayerPlaceNumber = town.getPlayerCurrPlaceNumber(currentPlayerIndex);
-
-    String currentPlace = town.getCurrentPlaceInfo(currentPlayerPlaceNumber);
-    view.showMessage("Current place: "
-        + currentPlace);
-    String neighbors = town.getCurrentPlaceNeighborsInfo(
-        currentPlayerPlaceNumber);
-    view.showMessage("Neighbors: " + neighbors);
-
-    // show the current place Info: name, items, players
-    view.showMessage("----------");
-    String[] parts = currentPlace.split(";");
-    String currentPlaceName = parts[0];
-    view.showMessage("Current place: " + currentPlaceName);
-    String itemName = "";
-    String itemDamage = "";
-    String currentItem = "";
-    List<String> items = convertStringToList(parts[1]);
-    if (items.isEmpty()) {
-      currentItem = "";
-    } else {
-      for (String item : items) {
-        currentItem = item;
-        itemName = currentItem.split("-")[0].trim();
-        itemDamage = currentItem.split("-")[1].trim();
-      }
-    }
-    String currentPlayers;
-    if (parts[2].isEmpty()) {
-      currentPlayers = "No other player in this place";
-    } else {
-      currentPlayers = parts[2].replace("[", "").replace("]", "").trim();
-    }
-    view.showMessage("Current place: " + currentPlaceName);
-    if (currentItem.isEmpty()) {
-      view.showMessage("No item in this place.");
-    } else {
-      view.showMessage("Current place item: " + itemName + " (Damage: " + itemDamage + ")");
-    }
-    view.showMessage("Current place players: " + currentPlayers);
-    view.showMessage("----------");
+    Player currentPlayer = town.getPlayers().get(currentPlayerIndex);
+    Place currentPlace = town.getPlaceByNumber(town.getPlayerCurrPlaceNumber(currentPlayerIndex));
+    view.showMessage(
+        TextTemplates.appendPlace(newMessage(), currentPlace, currentPlayer).toString());
 
-    // show the neighbors Info: name, items, players
-    neighbors = neighbors.replace("[[", "").replace("]]", "");
-    String[] neighborParts = neighbors.split("], \\[");
-    for (String neighbor : neighborParts) {
-      String[] neighborInfo = neighbor.split(";");
-
-      String neighborName = neighborInfo[0].trim();
-      String neighborNumber = neighborInfo[1].trim();
-      String neighborItem;
-      String neighborItemName = "";
-      String neighborItemDamage = "";
-      List<String> currentItems = convertStringToList(neighborInfo[2]);
-      if (currentItems.isEmpty()) {
-        neighborItem = "No item in this place.";
-      } else {
-        for (String item : currentItems) {
-          neighborItem = item;
-          neighborItemName = neighborItem.split("-")[0].trim();
-          neighborItemDamage = neighborItem.split("-")[1].trim();
-        }
-        neighborItem = neighborItemName + " (Damage: " + neighborItemDamage + ")";
-      }
-      String neighborPlayers;
-      List<String> players = convertStringToList(neighborInfo[3]);
-      if (players.isEmpty()) {
-        neighborPlayers = "No other player in this place";
-      } else {
-        neighborPlayers = neighborInfo[3].replace("[", "").replace("]", "").trim();
-      }
-      if (neighborInfo[5].equals("true")) {
-        view.showMessage("Neighboring place: " + neighborName);
-        view.showMessage("Pet is in this place.");
-      } else {
-        view.showMessage("Neighbor: " + neighborName + " (Place Number: " + neighborNumber + ")");
-        view.showMessage("Item: " + neighborItem);
-        view.showMessage("Players: " + neighborPlayers);
-        if (neighborInfo[4].equals("true")) {
-          view.showMessage("Target is in this place.");
-        }
-      }
-      view.showMessage("-----");
+    int targetPlaceId = town.getTarget().getCurrentPlaceId();
+    int petPlaceId = town.getPetPlaceNumber();
+    for (Place neighbor : currentPlace.getNeighbors()) {
+      boolean hasTarget = neighbor.getPlaceId() == targetPlaceId;
+      boolean hasPet = neighbor.getPlaceId() == petPlaceId;
+      view.showMessage(
+          TextTemplates.appendNeighbor(newMessage(), neighbor, hasTarget, hasPet).toString());
     }
     view.showMessage("----------");
 
     new LookAroundCommand(town).execute();
   }
 
-  /**
-   * Handles movement logic for computer-controlled players.
-   * Prioritizes moving towards the target if visible, otherwise moves randomly.
-   *
-   * @throws IOException if there is an error in input/output operations
-   */
-  private void handleComputerMove() throws IOException {
-    int currentPlayerIndex = town.getCurrentPlayerIndex();
-    int currentPlaceNumber = town.getPlayerCurrPlaceNumber(currentPlayerIndex);
-
-    // Get neighboring places info
-    String currentPlaceNeighbour = town.getCurrentPlaceNeighborsInfo(currentPlaceNumber);
-    currentPlaceNeighbour = currentPlaceNeighbour.substring(1, currentPlaceNeighbour.length() - 1);
-    String[] places = currentPlaceNeighbour.split("], \\[");
-
-    // Process neighbor information
-    HashSet<Integer> neighborNumbers = new HashSet<>();
-    int targetPlaceNumber = -1;
-
-    for (String place : places) {
-      place = place.replace("[", "").replace("]", "");
-      String[] parts = place.split(";", 5);
-      int placeNumber = Integer.parseInt(parts[1].trim());
-      neighborNumbers.add(placeNumber);
-
-      // Check if target is in this neighbor
-      if (parts[4].equals("true")) {
-        targetPlaceNumber = placeNumber;
-      }
-    }
-
-    // Choose move location
-    int newPlaceNumber;
-    if (targetPlaceNumber != -1) {
-      // Move to target's location if available
-      newPlaceNumber = targetPlaceNumber;
-    } else {
-      // Move to random neighbor
-      ArrayList<Integer> neighborsList = new ArrayList<>(neighborNumbers);
-      Random random = new Random();
-      newPlaceNumber = neighborsList.get(random.nextInt(neighborsList.size()));
-    }
-
-    // Execute move
-    new MovePlayerCommand(town, currentPlayerIndex, newPlaceNumber).execute();
-  }
-
   /**
    * Handles movement logic for human players.
    * Displays available destinations and processes player choice.
@@ -700,72 +508,35 @@ public class TextGameController implements Controller {
   }
 
   /**
-   * Coordinates the movement action for both human and computer-controlled players.
-   *
-   * @throws IOException if there is an error in input/output operations
-   */
-  private void movePlayer() throws IOException {
-    int currentPlayerIndex = town.getCurrentPlayerIndex();
-    boolean isComputerControlled = town.getPlayers().get(currentPlayerIndex).isComputerControlled();
-    if (isComputerControlled) {
-      handleComputerMove();
-    } else {
-      handleHumanMove();
-    }
-  }
-
-  /**
-   * Implements the decision-making logic for computer-controlled players.
-   * Prioritizes actions in the following order:
-   * 1. Attack target if possible
-   * 2. Pick up items if available
-   * 3. Move towards target if carrying items
-   * 4. Look around for information
+   * Plays a computer-controlled player's turn. The strategy chooses the action and this method
+   * carries it out and reports it.
    *
    * @throws IOException if there is an error in input/output operations
    */
   private void handleComputerTurn() throws IOException {
     view.showMessage("Computer player's turn.");
-
-    // First priority: Attack if in same room as target and not visible
-    String computerPlayerPlaceNumber = String.valueOf(
-        town.getPlayers().get(town.getCurrentPlayerIndex()).getPlayerCurrentPlaceNumber());
-    String targetPlaceNumber = town.getTarget().getCurrentPlace().getPlaceNumber();
-    if (computerPlayerPlaceNumber.equals(targetPlaceNumber)
-        && !town.isPlayerVisible(town.getPlayers().get(town.getCurrentPlayerIndex()))) {
-      view.showMessage("Computer player attempts to attack the target.");
-
-      attackTarget();
-
-      return;
-    }
-
-    // Second priority: Pick up items if available in the current place
-    if (!town.getPlaceByNumber(
-            town.getPlayers().get(town.getCurrentPlayerIndex()).getPlayerCurrentPlaceNumber())
-        .getItems().isEmpty()
-        && town.getPlayers().get(town.getCurrentPlayerIndex()).getCurrentCarriedItems().size()
-        < town.getPlayers().get(town.getCurrentPlayerIndex()).getCarryLimit()) {
-      view.showMessage("Computer player picks up an item.");
-
-      pickUpItem();
-
-      return;
-    }
-
-    // Third priority: Move towards target if carrying items
-    if (!town.getPlayers().get(town.getCurrentPlayerIndex()).getCurrentCarriedItems().isEmpty()) {
-      view.showMessage("Computer player moves to find the target.");
-
-      movePlayer();
-
-      return;
+    Player player = town.getPlayers().get(town.getCurrentPlayerIndex());
+    ComputerAction action = strategy.chooseAction(town, player, random);
+    switch (action.getType()) {
+      case ATTACK:
+        view.showMessage("Computer player attempts to attack the target.");
+        view.showMessage("Computer player chooses to attack with " + action.getItemName()
+            + " for " + action.getDamage() + " damage.");
+        resolveAttack(action.getItemName());
+        break;
+      case PICK_UP:
+        view.showMessage("Computer player picks up an item.");
+        new PickUpItemCommand(town, action.getItemName()).execute();
+        break;
+      case MOVE:
+        view.showMessage("Computer player moves to find the target.");
+        new MovePlayerCommand(town, town.getCurrentPlayerIndex(), action.getPlaceNumber())
+            .execute();
+        break;
+      default:
+        view.showMessage("Computer player looks around.");
+        lookAround();
     }
-
-    // Fourth priority: Look around to gather information
-    view.showMessage("Computer player looks around.");
-
-    lookAround();
   }
 
   /**
@@ -804,17 +575,29 @@ public class TextGameController implements Controller {
    * @throws IOException if there is an error in input/output operations
    */
   private void showAllPlayersInfo() throws IOException {
-    List<String> players = town.getAllPlayersInfo();
+    List<String> players = town.getPlayersInfoPage(0, PLAYER_PAGE_SIZE);
     if (players.isEmpty()) {
       view.showMessage("There are no players in the town.");
-    } else {
-      view.showMessage("--------------------");
-      view.showMessage("All players info:");
+      return;
+    }
+    view.showMessage("--------------------");
+    view.showMessage("All players info:");
+    int shown = 0;
+    while (!players.isEmpty()) {
       for (String player : players) {
         String[] parts = player.split(",");
         view.showMessage(parts[0] + " is at " + parts[1] + " with carry limit " + parts[2]);
         view.showMessage("--------------------");
       }
+      shown += players.size();
+      if (shown >= town.getPlayers().size()) {
+        return;
+      }
+      view.showMessage("Show more players? (yes/no)");
+      if (!"yes".equalsIgnoreCase(view.getStringInput())) {
+        return;
+      }
+      players = town.getPlayersInfoPage(shown, PLAYER_PAGE_SIZE);
     }
   }
 
@@ -827,6 +610,14 @@ public class TextGameController implements Controller {
     view.showMessage("Enter the player's name:");
     String playerName = view.getStringInput();
     String playerInfo = town.getPlayerByName(playerName);
+    if (playerInfo.isEmpty()) {
+      view.showMessage("No player named " + playerName + ".");
+      List<String> suggestions = town.completePlayerName(playerName, NAME_SUGGESTIONS);
+      if (!suggestions.isEmpty()) {
+        view.showMessage("Did you mean: " + String.join(", ", suggestions) + "?");
+      }
+      return;
+    }
     String[] parts = playerInfo.split(",");
     view.showMessage(parts[0] + " is at " + parts[1] + " with carry limit " + parts[2]);
   }
@@ -863,14 +654,48 @@ public class TextGameController implements Controller {
    */
   private void handleAddComputerPlayer() throws IOException {
     int currentPlayerSize = town.getPlayers().size() + 1;
+    while (town.isPlayerNameTaken("Computer-" + currentPlayerSize)) {
+      currentPlayerSize++;
+    }
     String computerPlayerName = "Computer-" + currentPlayerSize;
-    Random random = new Random();
     int currentPlaceSize = town.getPlaces().size();
-    int randomPlace = random.nextInt(currentPlaceSize);
+    int randomPlace = random.nextInt(currentPlaceSize) + 1;
     new AddPlayerCommand(town, true, computerPlayerName, randomPlace, 5).execute();
     view.showMessage(computerPlayerName + " player added successfully.");
   }
 
+  /**
+   * Adds many computer-controlled players at once. Prompts for the number of players and how
+   * they are spread over the world, then reports the result in one message.
+   *
+   * @throws IOException if there is an error in input/output operations
+   */
+  private void handleAddComputerPlayers() throws IOException {
+    view.showMessage("How many computer players?");
+    int count = view.getNumberInput();
+    if (count <= 0) {
+      view.showMessage("Number of players must be positive.");
+      return;
+    }
+    SpawnDistribution[] distributions = SpawnDistribution.values();
+    view.showMessage("Choose where they start:");
+    for (int i = 0; i < distributions.length; i++) {
+      view.showMessage((i + 1) + ". " + distributions[i]);
+    }
+    int choice = view.getNumberInput();
+    if (choice < 1 || choice > distributions.length) {
+      view.showMessage("Invalid choice.");
+      return;
+    }
+    try {
+      List<String> names =
+          town.addComputerPlayers("Computer-", count, 5, distributions[choice - 1], random);
+      view.showMessage(names.size() + " computer players added successfully.");
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      view.showMessage("Error adding computer players: " + e.getMessage());
+    }
+  }
+
   /**
    * Handles the creation and addition of human-controlled players.
    * Prompts for player details and allows adding multiple players.
@@ -943,6 +768,10 @@ public class TextGameController implements Controller {
         view.showMessage("Name cannot be empty. Please try again.\n");
         continue;
       }
+      if (town.isPlayerNameTaken(playerName)) {
+        view.showMessage("That name is already taken. Please try again.\n");
+        continue;
+      }
       return playerName;
     }
   }
@@ -983,4 +812,40 @@ public class TextGameController implements Controller {
     // TODO Auto-generated method stub
     return false;
   }
+
+  @Override
+  public CompletableFuture<Boolean> submitCommand(String command) {
+    // The text game is driven by a single blocking input loop, so commands run in place.
+    try {
+      return CompletableFuture.completedFuture(executeCommand(command));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  @Override
+  public CompletableFuture<Boolean> submitCommand(GameCommand command) {
+    if (command == null) {
+      return CompletableFuture.failedFuture(
+          new IllegalArgumentException("Command cannot be null"));
+    }
+    return submitCommand(command.toString());
+  }
+
+  @Override
+  public <T> CompletableFuture<T> query(TownActor.Message<T> query) {
+    // Queries run in place for the same reason commands do.
+    try {
+      return CompletableFuture.completedFuture(query.apply(town));
+    } catch (IOException | RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  @Override
+  public GameSnapshot getSnapshot() {
+    // The text game has one thread, so a snapshot is captured on demand.
+    snapshot = GameSnapshot.capture(town, snapshot);
+    return snapshot;
+  }
 }
@@ -0,0 +1,310 @@
+package controller.broadcast;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import model.item.Item;
+import model.town.GameSnapshot;
+
+/**
+ * DeltaEncoder turns game snapshots into compact binary frames for spectators. A keyframe holds
+ * the whole game and lets a new reader start from nothing; a delta holds only what changed
+ * between two versions: moved players, changed inventories and room items, target health and
+ * the pet's place. All numbers are written as variable-length integers and items are sent by id
+ * after the keyframe has named them once.
+ *
+ * <p>A delta asks the later snapshot which players and places changed since the base. Between
+ * consecutive versions the capture recorded the answer, so the encoding work and frame size
+ * grow with the number of changes, not with the size of the world; across skipped versions the
+ * snapshots are compared one shared chunk of 32 entries at a time.
+ */
+public final class DeltaEncoder {
+  /**
+   * The first byte of a keyframe.
+   */
+  public static final byte KEYFRAME = 1;
+
+  /**
+   * The first byte of a delta.
+   */
+  public static final byte DELTA = 2;
+
+  static final int TURN = 1;
+  static final int CURRENT_PLAYER = 1 << 1;
+  static final int GAME_OVER = 1 << 2;
+  static final int TARGET_HEALTH = 1 << 3;
+  static final int TARGET_PLACE = 1 << 4;
+  static final int PET_PLACE = 1 << 5;
+  static final int ALL_SCALARS = (1 << 6) - 1;
+
+  private byte[] buffer;
+  private int length;
+
+  /**
+   * Constructs a new DeltaEncoder with a small buffer that grows as needed.
+   */
+  private DeltaEncoder() {
+    this.buffer = new byte[256];
+  }
+
+  /**
+   * Encodes a keyframe holding the whole game.
+   *
+   * @param snapshot the snapshot to encode
+   * @return the frame
+   * @throws IllegalArgumentException if the snapshot is null
+   */
+  public static byte[] keyframe(GameSnapshot snapshot) {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Snapshot cannot be null");
+    }
+    DeltaEncoder out = new DeltaEncoder();
+    out.writeByte(KEYFRAME);
+    out.writeLong(snapshot.getVersion());
+    out.writeInt(snapshot.getMaxTurns());
+    out.writeString(snapshot.getTargetName());
+    out.writeString(snapshot.getPetName());
+    out.writeScalars(snapshot, ALL_SCALARS);
+
+    Map<Integer, Item> catalog = new LinkedHashMap<>();
+    for (GameSnapshot.PlayerState player : snapshot.getPlayers()) {
+      for (Item item : player.getCarriedItems()) {
+        catalog.put(item.getItemId(), item);
+      }
+    }
+    for (GameSnapshot.PlaceState place : snapshot.getPlaces()) {
+      for (Item item : place.getItems()) {
+        catalog.put(item.getItemId(), item);
+      }
+    }
+    out.writeInt(catalog.size());
+    for (Item item : catalog.values()) {
+      out.writeInt(item.getItemId());
+      out.writeInt(item.getDamage());
+      out.writeString(item.getName());
+    }
+
+    out.writeInt(snapshot.getPlayers().size());
+    for (GameSnapshot.PlayerState player : snapshot.getPlayers()) {
+      out.writePlayerHeader(player);
+      out.writeInt(player.getPlaceNumber());
+      out.writeItems(player.getCarriedItems());
+    }
+    out.writeInt(snapshot.getPlaces().size());
+    for (GameSnapshot.PlaceState place : snapshot.getPlaces()) {
+      out.writeString(place.getName());
+      out.writeItems(place.getItems());
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Encodes the changes from one snapshot of a game to a later one.
+   *
+   * @param base the snapshot the reader already has
+   * @param next the snapshot to bring the reader to
+   * @return the frame
+   * @throws IllegalArgumentException if either snapshot is null, or the world changed size
+   */
+  public static byte[] delta(GameSnapshot base, GameSnapshot next) {
+    if (base == null || next == null) {
+      throw new IllegalArgumentException("Snapshots cannot be null");
+    }
+    if (base.getPlaces().size() != next.getPlaces().size()) {
+      throw new IllegalArgumentException("Snapshots are not of the same world");
+    }
+    DeltaEncoder out = new DeltaEncoder();
+    out.writeByte(DELTA);
+    out.writeLong(next.getVersion());
+    out.writeLong(base.getVersion());
+    out.writeScalars(next, changedScalars(base, next));
+
+    List<GameSnapshot.PlayerState> before = base.getPlayers();
+    List<GameSnapshot.PlayerState> after = next.getPlayers();
+    int[] changedPlayers = next.getChangedPlayers(base);
+    out.writeInt(after.size());
+    out.writeInt(changedPlayers.length);
+    for (int i : changedPlayers) {
+      GameSnapshot.PlayerState player = after.get(i);
+      out.writeInt(i);
+      boolean full = i >= before.size() || !samePlayer(before.get(i), player);
+      out.writeInt(full ? 1 : 0);
+      if (full) {
+        out.writePlayerHeader(player);
+      }
+      out.writeInt(player.getPlaceNumber());
+      out.writeItems(player.getCarriedItems());
+    }
+
+    int[] changedPlaces = next.getChangedPlaces(base);
+    out.writeInt(changedPlaces.length);
+    for (int i : changedPlaces) {
+      out.writeInt(i);
+      out.writeItems(next.getPlaces().get(i).getItems());
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Checks if two player states describe the same player, which happens unless the game was
+   * reset and a different player took the seat.
+   *
+   * @param first  the earlier state
+   * @param second the later state
+   * @return true if the name, controller and carry limit match, false otherwise
+   */
+  private static boolean samePlayer(GameSnapshot.PlayerState first,
+                                    GameSnapshot.PlayerState second) {
+    return first.getName().equals(second.getName()) && first.isComputer() == second.isComputer()
+        && first.getCarryLimit() == second.getCarryLimit();
+  }
+
+  /**
+   * Works out which scalar fields differ between two snapshots.
+   *
+   * @param base the earlier snapshot
+   * @param next the later snapshot
+   * @return a mask of the changed fields
+   */
+  private static int changedScalars(GameSnapshot base, GameSnapshot next) {
+    int mask = 0;
+    if (base.getTurn() != next.getTurn()) {
+      mask |= TURN;
+    }
+    if (base.getCurrentPlayerIndex() != next.getCurrentPlayerIndex()) {
+      mask |= CURRENT_PLAYER;
+    }
+    if (base.isGameOver() != next.isGameOver()) {
+      mask |= GAME_OVER;
+    }
+    if (base.getTargetHealth() != next.getTargetHealth()) {
+      mask |= TARGET_HEALTH;
+    }
+    if (base.getTargetPlaceNumber() != next.getTargetPlaceNumber()) {
+      mask |= TARGET_PLACE;
+    }
+    if (base.getPetPlaceNumber() != next.getPetPlaceNumber()) {
+      mask |= PET_PLACE;
+    }
+    return mask;
+  }
+
+  /**
+   * Writes a mask followed by the scalar fields it selects.
+   *
+   * @param snapshot the snapshot to read the fields from
+   * @param mask     the fields to write
+   */
+  private void writeScalars(GameSnapshot snapshot, int mask) {
+    writeInt(mask);
+    if ((mask & TURN) != 0) {
+      writeInt(snapshot.getTurn());
+    }
+    if ((mask & CURRENT_PLAYER) != 0) {
+      writeInt(snapshot.getCurrentPlayerIndex());
+    }
+    if ((mask & GAME_OVER) != 0) {
+      writeInt(snapshot.isGameOver() ? 1 : 0);
+    }
+    if ((mask & TARGET_HEALTH) != 0) {
+      writeInt(snapshot.getTargetHealth());
+    }
+    if ((mask & TARGET_PLACE) != 0) {
+      writeInt(snapshot.getTargetPlaceNumber());
+    }
+    if ((mask & PET_PLACE) != 0) {
+      writeInt(snapshot.getPetPlaceNumber());
+    }
+  }
+
+  /**
+   * Writes the parts of a player that never change.
+   *
+   * @param player the player
+   */
+  private void writePlayerHeader(GameSnapshot.PlayerState player) {
+    writeString(player.getName());
+    writeInt(player.isComputer() ? 1 : 0);
+    writeInt(player.getCarryLimit());
+  }
+
+  /**
+   * Writes a list of items by id.
+   *
+   * @param items the items
+   */
+  private void writeItems(List<Item> items) {
+    writeInt(items.size());
+    for (Item item : items) {
+      writeInt(item.getItemId());
+    }
+  }
+
+  /**
+   * Writes a string as its UTF-8 length and bytes.
+   *
+   * @param value the string
+   */
+  private void writeString(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeInt(bytes.length);
+    ensure(bytes.length);
+    System.arraycopy(bytes, 0, buffer, length, bytes.length);
+    length += bytes.length;
+  }
+
+  /**
+   * Writes a non-negative int as a variable-length integer.
+   *
+   * @param value the value
+   */
+  private void writeInt(int value) {
+    writeLong(value & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Writes a non-negative long as a variable-length integer, seven bits per byte.
+   *
+   * @param value the value
+   */
+  private void writeLong(long value) {
+    ensure(10);
+    while ((value & ~0x7FL) != 0) {
+      buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[length++] = (byte) value;
+  }
+
+  /**
+   * Writes one byte.
+   *
+   * @param value the byte
+   */
+  private void writeByte(byte value) {
+    ensure(1);
+    buffer[length++] = value;
+  }
+
+  /**
+   * Grows the buffer to fit more bytes.
+   *
+   * @param extra the number of bytes about to be written
+   */
+  private void ensure(int extra) {
+    if (length + extra > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+    }
+  }
+
+  /**
+   * Gets the bytes written so far.
+   *
+   * @return a copy of the frame
+   */
+  private byte[] toByteArray() {
+    return Arrays.copyOf(buffer, length);
+  }
+}
@@ -0,0 +1,284 @@
+package controller.broadcast;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import model.town.GameSnapshot;
+
+/**
+ * SnapshotBroadcaster streams a live game to any number of spectators over local sockets.
+ * Each snapshot handed to {@link #publish(GameSnapshot)} is turned into one frame, a delta
+ * against the last frame sent or, every few versions, a keyframe, and the same bytes are queued
+ * for every subscriber. A spectator that connects late first receives the latest keyframe and
+ * the deltas since, so it can sync without the game doing any extra work.
+ *
+ * <p>All encoding and socket writes happen on the broadcaster's own thread with non-blocking
+ * channels. Publishing only swaps a reference, so the game thread never waits for the network,
+ * and snapshots published faster than they are sent are merged into one delta. A subscriber
+ * that falls too far behind is disconnected rather than allowed to grow memory.
+ *
+ * <p>On the wire each frame is a four-byte big-endian length followed by the frame bytes.
+ */
+public final class SnapshotBroadcaster implements AutoCloseable {
+  /**
+   * The default number of versions between keyframes.
+   */
+  public static final int DEFAULT_KEYFRAME_INTERVAL = 64;
+
+  private static final int MAX_BACKLOG = 1024;
+
+  private final int keyframeInterval;
+  private final Selector selector;
+  private final ServerSocketChannel server;
+  private final AtomicReference<GameSnapshot> latest;
+  private final List<ByteBuffer> catchUp;
+  private final Thread thread;
+  private GameSnapshot lastSent;
+  private int sinceKeyframe;
+  private volatile int subscriberCount;
+  private volatile long framesSent;
+  private volatile boolean closed;
+
+  /**
+   * Constructs a new SnapshotBroadcaster listening on the loopback interface.
+   *
+   * @param port             the port to listen on, or 0 for any free port
+   * @param keyframeInterval the number of frames between keyframes
+   * @throws IOException              if the socket cannot be opened
+   * @throws IllegalArgumentException if the keyframe interval is not positive
+   */
+  public SnapshotBroadcaster(int port, int keyframeInterval) throws IOException {
+    if (keyframeInterval <= 0) {
+      throw new IllegalArgumentException("Keyframe interval must be positive");
+    }
+    this.keyframeInterval = keyframeInterval;
+    this.latest = new AtomicReference<>();
+    this.catchUp = new ArrayList<>();
+    this.selector = Selector.open();
+    this.server = ServerSocketChannel.open();
+    server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    server.configureBlocking(false);
+    server.register(selector, SelectionKey.OP_ACCEPT);
+    this.thread = new Thread(this::loop, "snapshot-broadcaster");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Gets the port the broadcaster listens on.
+   *
+   * @return the port
+   */
+  public int getPort() {
+    return server.socket().getLocalPort();
+  }
+
+  /**
+   * Hands a new snapshot to the broadcaster. Safe to call from any thread and never blocks.
+   *
+   * @param snapshot the latest snapshot of the game
+   * @throws IllegalArgumentException if the snapshot is null
+   */
+  public void publish(GameSnapshot snapshot) {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Snapshot cannot be null");
+    }
+    latest.set(snapshot);
+    selector.wakeup();
+  }
+
+  /**
+   * Gets the number of connected subscribers.
+   *
+   * @return the subscriber count
+   */
+  public int getSubscriberCount() {
+    return subscriberCount;
+  }
+
+  /**
+   * Gets the number of frames encoded so far.
+   *
+   * @return the frame count
+   */
+  public long getFramesSent() {
+    return framesSent;
+  }
+
+  /**
+   * Stops the broadcaster and disconnects every subscriber.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    selector.wakeup();
+    try {
+      thread.join(1000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Accepts subscribers, encodes new snapshots and writes queued frames until closed.
+   */
+  private void loop() {
+    try {
+      while (!closed) {
+        selector.select();
+        for (SelectionKey key : selector.selectedKeys()) {
+          if (!key.isValid()) {
+            continue;
+          }
+          if (key.isAcceptable()) {
+            accept();
+          } else if (key.isWritable()) {
+            flush(key);
+          }
+        }
+        selector.selectedKeys().clear();
+        GameSnapshot snapshot = latest.get();
+        if (snapshot != null && snapshot != lastSent) {
+          broadcast(encode(snapshot));
+        }
+      }
+    } catch (IOException | ClosedSelectorException e) {
+      // The broadcaster stops; subscribers see the stream end
+    } finally {
+      shutdown();
+    }
+  }
+
+  /**
+   * Encodes the next frame and keeps the frames a late subscriber needs.
+   *
+   * @param snapshot the snapshot to send
+   * @return the framed bytes, ready to write
+   */
+  private ByteBuffer encode(GameSnapshot snapshot) {
+    boolean key = lastSent == null || sinceKeyframe >= keyframeInterval - 1
+        || snapshot.getPlaces().size() != lastSent.getPlaces().size();
+    byte[] frame = key ? DeltaEncoder.keyframe(snapshot) : DeltaEncoder.delta(lastSent, snapshot);
+    ByteBuffer framed = ByteBuffer.allocate(4 + frame.length);
+    framed.putInt(frame.length).put(frame).flip();
+    if (key) {
+      catchUp.clear();
+      sinceKeyframe = 0;
+    } else {
+      sinceKeyframe++;
+    }
+    catchUp.add(framed);
+    lastSent = snapshot;
+    framesSent++;
+    return framed;
+  }
+
+  /**
+   * Queues a frame for every subscriber and writes as much as each socket takes.
+   *
+   * @param frame the framed bytes
+   */
+  private void broadcast(ByteBuffer frame) {
+    for (SelectionKey key : selector.keys()) {
+      if (key.isValid() && key.attachment() instanceof Subscriber) {
+        Subscriber subscriber = (Subscriber) key.attachment();
+        subscriber.pending.add(frame.duplicate());
+        if (subscriber.pending.size() > MAX_BACKLOG) {
+          drop(key);
+        } else {
+          flush(key);
+        }
+      }
+    }
+  }
+
+  /**
+   * Accepts waiting subscribers and queues the frames they need to catch up.
+   *
+   * @throws IOException if the server socket fails
+   */
+  private void accept() throws IOException {
+    SocketChannel channel;
+    while ((channel = server.accept()) != null) {
+      channel.configureBlocking(false);
+      Subscriber subscriber = new Subscriber();
+      for (ByteBuffer frame : catchUp) {
+        subscriber.pending.add(frame.duplicate());
+      }
+      SelectionKey key = channel.register(selector, 0, subscriber);
+      subscriberCount++;
+      flush(key);
+    }
+  }
+
+  /**
+   * Writes a subscriber's queued frames until the socket is full, then waits for it to drain.
+   *
+   * @param key the subscriber's key
+   */
+  private void flush(SelectionKey key) {
+    Subscriber subscriber = (Subscriber) key.attachment();
+    SocketChannel channel = (SocketChannel) key.channel();
+    try {
+      while (!subscriber.pending.isEmpty()) {
+        ByteBuffer head = subscriber.pending.peek();
+        channel.write(head);
+        if (head.hasRemaining()) {
+          key.interestOps(SelectionKey.OP_WRITE);
+          return;
+        }
+        subscriber.pending.poll();
+      }
+      key.interestOps(0);
+    } catch (IOException e) {
+      drop(key);
+    }
+  }
+
+  /**
+   * Disconnects a subscriber.
+   *
+   * @param key the subscriber's key
+   */
+  private void drop(SelectionKey key) {
+    key.cancel();
+    try {
+      key.channel().close();
+    } catch (IOException e) {
+      // Already gone
+    }
+    subscriberCount--;
+  }
+
+  /**
+   * Closes every socket and the selector.
+   */
+  private void shutdown() {
+    try {
+      for (SelectionKey key : selector.keys()) {
+        key.channel().close();
+      }
+      selector.close();
+    } catch (IOException | ClosedSelectorException e) {
+      // Nothing more to release
+    }
+    subscriberCount = 0;
+  }
+
+  /**
+   * The frames waiting to be written to one subscriber.
+   */
+  private static final class Subscriber {
+    private final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+  }
+}
@@ -0,0 +1,446 @@
+package controller.broadcast;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SpectatorMirror rebuilds a game on the receiving side of a {@link DeltaEncoder} stream. It
+ * starts empty, takes its whole state from the first keyframe, and then applies each delta in
+ * turn. A delta that does not follow the version the mirror holds is rejected, so a reader that
+ * fell behind knows to wait for the next keyframe. A mirror is used by one thread.
+ */
+public final class SpectatorMirror {
+  private final Map<Integer, String> itemNames;
+  private final Map<Integer, Integer> itemDamage;
+  private final List<Seat> players;
+  private final List<String> placeNames;
+  private final List<int[]> placeItems;
+  private long version;
+  private int maxTurns;
+  private String targetName;
+  private String petName;
+  private int turn;
+  private int currentPlayerIndex;
+  private boolean gameOver;
+  private int targetHealth;
+  private int targetPlaceNumber;
+  private int petPlaceNumber;
+
+  /**
+   * Constructs a new, empty SpectatorMirror.
+   */
+  public SpectatorMirror() {
+    this.itemNames = new HashMap<>();
+    this.itemDamage = new HashMap<>();
+    this.players = new ArrayList<>();
+    this.placeNames = new ArrayList<>();
+    this.placeItems = new ArrayList<>();
+  }
+
+  /**
+   * Applies one frame.
+   *
+   * @param frame the frame, positioned at its first byte
+   * @return true if the frame was applied, false if it was a delta the mirror cannot use yet
+   * @throws IllegalArgumentException if the frame is malformed
+   */
+  public boolean apply(ByteBuffer frame) {
+    try {
+      byte kind = frame.get();
+      if (kind == DeltaEncoder.KEYFRAME) {
+        applyKeyframe(frame);
+        return true;
+      }
+      if (kind != DeltaEncoder.DELTA) {
+        throw new IllegalArgumentException("Unknown frame kind: " + kind);
+      }
+      long next = readLong(frame);
+      long base = readLong(frame);
+      if (version == 0 || base != version) {
+        return false;
+      }
+      applyDelta(frame);
+      version = next;
+      return true;
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Frame is truncated", e);
+    }
+  }
+
+  /**
+   * Replaces the whole state with a keyframe.
+   *
+   * @param in the frame after its kind byte
+   */
+  private void applyKeyframe(ByteBuffer in) {
+    version = readLong(in);
+    maxTurns = readInt(in);
+    targetName = readString(in);
+    petName = readString(in);
+    readScalars(in);
+    itemNames.clear();
+    itemDamage.clear();
+    for (int count = readInt(in); count > 0; count--) {
+      int id = readInt(in);
+      itemDamage.put(id, readInt(in));
+      itemNames.put(id, readString(in));
+    }
+    players.clear();
+    for (int count = readInt(in); count > 0; count--) {
+      Seat seat = readSeatHeader(in);
+      seat.placeNumber = readInt(in);
+      seat.items = readItems(in);
+      players.add(seat);
+    }
+    placeNames.clear();
+    placeItems.clear();
+    for (int count = readInt(in); count > 0; count--) {
+      placeNames.add(readString(in));
+      placeItems.add(readItems(in));
+    }
+  }
+
+  /**
+   * Applies the body of a delta.
+   *
+   * @param in the frame after its versions
+   */
+  private void applyDelta(ByteBuffer in) {
+    readScalars(in);
+    int playerCount = readInt(in);
+    while (players.size() > playerCount) {
+      players.remove(players.size() - 1);
+    }
+    for (int count = readInt(in); count > 0; count--) {
+      int index = readInt(in);
+      boolean full = readInt(in) != 0;
+      Seat seat = full ? readSeatHeader(in) : players.get(index);
+      seat.placeNumber = readInt(in);
+      seat.items = readItems(in);
+      if (index < players.size()) {
+        players.set(index, seat);
+      } else {
+        players.add(seat);
+      }
+    }
+    for (int count = readInt(in); count > 0; count--) {
+      int index = readInt(in);
+      placeItems.set(index, readItems(in));
+    }
+  }
+
+  /**
+   * Reads a scalar mask and the fields it selects.
+   *
+   * @param in the frame
+   */
+  private void readScalars(ByteBuffer in) {
+    int mask = readInt(in);
+    if ((mask & DeltaEncoder.TURN) != 0) {
+      turn = readInt(in);
+    }
+    if ((mask & DeltaEncoder.CURRENT_PLAYER) != 0) {
+      currentPlayerIndex = readInt(in);
+    }
+    if ((mask & DeltaEncoder.GAME_OVER) != 0) {
+      gameOver = readInt(in) != 0;
+    }
+    if ((mask & DeltaEncoder.TARGET_HEALTH) != 0) {
+      targetHealth = readInt(in);
+    }
+    if ((mask & DeltaEncoder.TARGET_PLACE) != 0) {
+      targetPlaceNumber = readInt(in);
+    }
+    if ((mask & DeltaEncoder.PET_PLACE) != 0) {
+      petPlaceNumber = readInt(in);
+    }
+  }
+
+  /**
+   * Reads the parts of a player that never change.
+   *
+   * @param in the frame
+   * @return a new seat holding them
+   */
+  private Seat readSeatHeader(ByteBuffer in) {
+    Seat seat = new Seat();
+    seat.name = readString(in);
+    seat.computer = readInt(in) != 0;
+    seat.carryLimit = readInt(in);
+    return seat;
+  }
+
+  /**
+   * Reads a list of item ids.
+   *
+   * @param in the frame
+   * @return the ids
+   */
+  private static int[] readItems(ByteBuffer in) {
+    int[] ids = new int[readInt(in)];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = readInt(in);
+    }
+    return ids;
+  }
+
+  /**
+   * Reads a UTF-8 string.
+   *
+   * @param in the frame
+   * @return the string
+   */
+  private static String readString(ByteBuffer in) {
+    byte[] bytes = new byte[readInt(in)];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Reads a variable-length int.
+   *
+   * @param in the frame
+   * @return the value
+   */
+  private static int readInt(ByteBuffer in) {
+    return (int) readLong(in);
+  }
+
+  /**
+   * Reads a variable-length long.
+   *
+   * @param in the frame
+   * @return the value
+   * @throws IllegalArgumentException if the value runs past ten bytes
+   */
+  private static long readLong(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed variable-length integer");
+  }
+
+  /**
+   * Converts item ids to item names.
+   *
+   * @param ids the ids
+   * @return the names
+   */
+  private List<String> names(int[] ids) {
+    List<String> names = new ArrayList<>(ids.length);
+    for (int id : ids) {
+      names.add(itemNames.get(id));
+    }
+    return Collections.unmodifiableList(names);
+  }
+
+  /**
+   * Gets the version the mirror holds.
+   *
+   * @return the version, or 0 before the first keyframe
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Gets the maximum number of turns.
+   *
+   * @return the maximum turns
+   */
+  public int getMaxTurns() {
+    return maxTurns;
+  }
+
+  /**
+   * Gets the current turn number.
+   *
+   * @return the turn
+   */
+  public int getTurn() {
+    return turn;
+  }
+
+  /**
+   * Gets the index of the player whose turn it is.
+   *
+   * @return the current player's index
+   */
+  public int getCurrentPlayerIndex() {
+    return currentPlayerIndex;
+  }
+
+  /**
+   * Checks if the game is over.
+   *
+   * @return true if the game is over, false otherwise
+   */
+  public boolean isGameOver() {
+    return gameOver;
+  }
+
+  /**
+   * Gets the name of the target.
+   *
+   * @return the target's name
+   */
+  public String getTargetName() {
+    return targetName;
+  }
+
+  /**
+   * Gets the target's health.
+   *
+   * @return the target's health
+   */
+  public int getTargetHealth() {
+    return targetHealth;
+  }
+
+  /**
+   * Gets the number of the place the target is in.
+   *
+   * @return the target's place number
+   */
+  public int getTargetPlaceNumber() {
+    return targetPlaceNumber;
+  }
+
+  /**
+   * Gets the name of the pet.
+   *
+   * @return the pet's name
+   */
+  public String getPetName() {
+    return petName;
+  }
+
+  /**
+   * Gets the number of the place the pet is in.
+   *
+   * @return the pet's place number
+   */
+  public int getPetPlaceNumber() {
+    return petPlaceNumber;
+  }
+
+  /**
+   * Gets the number of players.
+   *
+   * @return the player count
+   */
+  public int getPlayerCount() {
+    return players.size();
+  }
+
+  /**
+   * Gets a player's name.
+   *
+   * @param index the player's index
+   * @return the name
+   */
+  public String getPlayerName(int index) {
+    return players.get(index).name;
+  }
+
+  /**
+   * Checks if a player is computer controlled.
+   *
+   * @param index the player's index
+   * @return true for a computer player, false otherwise
+   */
+  public boolean isComputer(int index) {
+    return players.get(index).computer;
+  }
+
+  /**
+   * Gets a player's carry limit.
+   *
+   * @param index the player's index
+   * @return the carry limit
+   */
+  public int getCarryLimit(int index) {
+    return players.get(index).carryLimit;
+  }
+
+  /**
+   * Gets the number of the place a player is in.
+   *
+   * @param index the player's index
+   * @return the place number
+   */
+  public int getPlayerPlaceNumber(int index) {
+    return players.get(index).placeNumber;
+  }
+
+  /**
+   * Gets the names of the items a player carries.
+   *
+   * @param index the player's index
+   * @return the item names
+   */
+  public List<String> getPlayerItems(int index) {
+    return names(players.get(index).items);
+  }
+
+  /**
+   * Gets the number of places.
+   *
+   * @return the place count
+   */
+  public int getPlaceCount() {
+    return placeNames.size();
+  }
+
+  /**
+   * Gets a place's name.
+   *
+   * @param index the place's index, one less than its number
+   * @return the name
+   */
+  public String getPlaceName(int index) {
+    return placeNames.get(index);
+  }
+
+  /**
+   * Gets the names of the items lying in a place.
+   *
+   * @param index the place's index, one less than its number
+   * @return the item names
+   */
+  public List<String> getPlaceItems(int index) {
+    return names(placeItems.get(index));
+  }
+
+  /**
+   * Gets the damage of an item.
+   *
+   * @param itemId the item's id
+   * @return the damage, or 0 if the item is unknown
+   */
+  public int getItemDamage(int itemId) {
+    return itemDamage.getOrDefault(itemId, 0);
+  }
+
+  /**
+   * One player as the mirror holds it.
+   */
+  private static final class Seat {
+    private String name;
+    private boolean computer;
+    private int carryLimit;
+    private int placeNumber;
+    private int[] items;
+  }
+}
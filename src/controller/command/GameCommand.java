@@ -0,0 +1,362 @@
+package controller.command;
+
+import java.util.Objects;
+import model.town.SpawnDistribution;
+
+/**
+ * GameCommand is an immutable, typed request sent from a view to a controller.
+ * Views build commands with the factory methods instead of formatting strings, so the controller
+ * dispatches on {@link Type} without re-parsing arguments. The legacy string form is still
+ * accepted by {@link #parse(String)}, and {@link #toString()} writes a command back in that form,
+ * so a recorded command stream can be saved as text and replayed.
+ *
+ * <p>{@link Type#PICK}, {@link Type#ATTACK} and {@link Type#PETMOVE} come in two forms. Without
+ * arguments the command is a prompt that only asks the player to choose; the answer is sent
+ * back as the same type carrying the item name or place number, which is what changes the game.
+ */
+public final class GameCommand {
+  private static final GameCommand ADD_COMPUTER = new GameCommand(Type.ADD_COMPUTER, null, 0, 0);
+  private static final GameCommand START_TURNS = new GameCommand(Type.START_TURNS, null, 0, 0);
+  private static final GameCommand LOOK = new GameCommand(Type.LOOK, null, 0, 0);
+  private static final GameCommand PICK = new GameCommand(Type.PICK, null, 0, 0);
+  private static final GameCommand ATTACK = new GameCommand(Type.ATTACK, null, 0, 0);
+  private static final GameCommand PETMOVE = new GameCommand(Type.PETMOVE, null, 0, 0);
+
+  private final Type type;
+  private final String name;
+  private final int placeNumber;
+  private final int carryLimit;
+  private final int count;
+  private final SpawnDistribution distribution;
+
+  /**
+   * Constructs a new GameCommand without bulk add arguments.
+   *
+   * @param commandType  the command type
+   * @param commandName  the player name, the destination name, the item name, or the raw text of
+   *                     an invalid command
+   * @param commandPlace the place number argument
+   * @param commandLimit the carry limit argument
+   */
+  private GameCommand(Type commandType, String commandName, int commandPlace, int commandLimit) {
+    this(commandType, commandName, commandPlace, commandLimit, 0, null);
+  }
+
+  /**
+   * Constructs a new GameCommand.
+   *
+   * @param commandType         the command type
+   * @param commandName         the player name, the destination name, the item name, or the raw
+   *                            text of an invalid command
+   * @param commandPlace        the place number argument
+   * @param commandLimit        the carry limit argument
+   * @param commandCount        the number of players of a bulk add
+   * @param commandDistribution the distribution of a bulk add
+   */
+  private GameCommand(Type commandType, String commandName, int commandPlace, int commandLimit,
+                      int commandCount, SpawnDistribution commandDistribution) {
+    this.type = commandType;
+    this.name = commandName;
+    this.placeNumber = commandPlace;
+    this.carryLimit = commandLimit;
+    this.count = commandCount;
+    this.distribution = commandDistribution;
+  }
+
+  /**
+   * Creates a command that adds a human player.
+   *
+   * @param playerName  the player's name
+   * @param startPlace  the number of the starting place
+   * @param playerLimit the player's carry limit
+   * @return the command
+   */
+  public static GameCommand addPlayer(String playerName, int startPlace, int playerLimit) {
+    return new GameCommand(Type.ADD_PLAYER, playerName, startPlace, playerLimit);
+  }
+
+  /**
+   * Creates a command that adds many computer players at once.
+   *
+   * @param count        the number of computer players
+   * @param distribution where the players start
+   * @return the command
+   * @throws IllegalArgumentException if the count is not positive or the distribution is null
+   */
+  public static GameCommand addComputers(int count, SpawnDistribution distribution) {
+    if (count <= 0) {
+      throw new IllegalArgumentException("Count must be positive");
+    }
+    if (distribution == null) {
+      throw new IllegalArgumentException("Distribution cannot be null");
+    }
+    return new GameCommand(Type.ADD_COMPUTERS, null, 0, 0, count, distribution);
+  }
+
+  /**
+   * Creates a command that moves the current player.
+   *
+   * @param placeName        the destination name
+   * @param destinationPlace the destination number
+   * @return the command
+   */
+  public static GameCommand move(String placeName, int destinationPlace) {
+    return new GameCommand(Type.MOVE, placeName, destinationPlace, 0);
+  }
+
+  /**
+   * Creates a command that makes the current player pick up an item.
+   *
+   * @param itemName the name of the item
+   * @return the command
+   * @throws IllegalArgumentException if the name is null or empty
+   */
+  public static GameCommand pickUp(String itemName) {
+    if (itemName == null || itemName.isEmpty()) {
+      throw new IllegalArgumentException("Item name cannot be empty");
+    }
+    return new GameCommand(Type.PICK, itemName, 0, 0);
+  }
+
+  /**
+   * Creates a command that makes the current player attack the target.
+   *
+   * @param itemName the name of the item to attack with, or "Poke Target"
+   * @return the command
+   * @throws IllegalArgumentException if the name is null or empty
+   */
+  public static GameCommand attack(String itemName) {
+    if (itemName == null || itemName.isEmpty()) {
+      throw new IllegalArgumentException("Item name cannot be empty");
+    }
+    return new GameCommand(Type.ATTACK, itemName, 0, 0);
+  }
+
+  /**
+   * Creates a command that moves the pet.
+   *
+   * @param destinationPlace the destination number
+   * @return the command
+   * @throws IllegalArgumentException if the place number is not positive
+   */
+  public static GameCommand movePet(int destinationPlace) {
+    if (destinationPlace <= 0) {
+      throw new IllegalArgumentException("Place number must be positive");
+    }
+    return new GameCommand(Type.PETMOVE, null, destinationPlace, 0);
+  }
+
+  /**
+   * Gets the command of a type that takes no arguments.
+   *
+   * @param commandType the command type
+   * @return the shared command of that type
+   * @throws IllegalArgumentException if the type needs arguments
+   */
+  public static GameCommand of(Type commandType) {
+    if (commandType == null) {
+      throw new IllegalArgumentException("Command type cannot be null");
+    }
+    switch (commandType) {
+      case ADD_COMPUTER:
+        return ADD_COMPUTER;
+      case START_TURNS:
+        return START_TURNS;
+      case LOOK:
+        return LOOK;
+      case PICK:
+        return PICK;
+      case ATTACK:
+        return ATTACK;
+      case PETMOVE:
+        return PETMOVE;
+      default:
+        throw new IllegalArgumentException("Command type needs arguments: " + commandType);
+    }
+  }
+
+  /**
+   * Parses the string form of a command, such as "ADD_PLAYER name 1 5", "MOVE,name,3",
+   * "ADD_COMPUTERS 500 CLUSTERED", "PICK,name", "PETMOVE,4" or "LOOK". Unknown text gives an
+   * {@link Type#INVALID} command rather than an error.
+   *
+   * @param command the command text
+   * @return the parsed command
+   * @throws IllegalArgumentException if the text is null or a known command is malformed
+   */
+  public static GameCommand parse(String command) {
+    if (command == null) {
+      throw new IllegalArgumentException("Command cannot be null");
+    }
+    if (command.startsWith("ADD_PLAYER")) {
+      // The name may hold spaces, so the two numbers are taken from the end
+      int limitStart = command.lastIndexOf(' ');
+      int placeStart = limitStart < 0 ? -1 : command.lastIndexOf(' ', limitStart - 1);
+      if (placeStart <= "ADD_PLAYER".length() || command.charAt("ADD_PLAYER".length()) != ' ') {
+        throw new IllegalArgumentException("Invalid add player command format");
+      }
+      return addPlayer(command.substring("ADD_PLAYER ".length(), placeStart),
+          Integer.parseInt(command.substring(placeStart + 1, limitStart)),
+          Integer.parseInt(command.substring(limitStart + 1)));
+    } else if (command.startsWith("ADD_COMPUTERS")) {
+      String[] parts = command.split(" ");
+      if (parts.length != 3) {
+        throw new IllegalArgumentException("Invalid add computers command format");
+      }
+      return addComputers(Integer.parseInt(parts[1]), SpawnDistribution.valueOf(parts[2]));
+    } else if (command.startsWith("ADD_COMPUTER")) {
+      return ADD_COMPUTER;
+    } else if (command.startsWith("START_TURNS")) {
+      return START_TURNS;
+    } else if (command.startsWith("MOVE")) {
+      // The place name may hold commas, so it runs from the first comma to the last
+      int nameStart = command.indexOf(',');
+      int numberStart = command.lastIndexOf(',');
+      if (nameStart < 0 || numberStart == nameStart) {
+        throw new IllegalArgumentException("Invalid move command format");
+      }
+      return move(command.substring(nameStart + 1, numberStart),
+          Integer.parseInt(command.substring(numberStart + 1)));
+    } else if (command.startsWith("LOOK")) {
+      return LOOK;
+    } else if (command.startsWith("PICK,")) {
+      // The item name may hold commas, so it runs to the end
+      return pickUp(command.substring("PICK,".length()));
+    } else if (command.startsWith("PICK")) {
+      return PICK;
+    } else if (command.startsWith("ATTACK,")) {
+      return attack(command.substring("ATTACK,".length()));
+    } else if (command.startsWith("ATTACK")) {
+      return ATTACK;
+    } else if (command.startsWith("PETMOVE,")) {
+      return movePet(Integer.parseInt(command.substring("PETMOVE,".length())));
+    } else if (command.startsWith("PETMOVE")) {
+      return PETMOVE;
+    }
+    return new GameCommand(Type.INVALID, command, 0, 0);
+  }
+
+  /**
+   * Gets the command type.
+   *
+   * @return the command type
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Checks if this command only asks the player to choose, without changing the game.
+   *
+   * @return true for {@link Type#PICK}, {@link Type#ATTACK} and {@link Type#PETMOVE} without
+   *         arguments, false otherwise
+   */
+  public boolean isPrompt() {
+    return (type == Type.PICK || type == Type.ATTACK) && name == null
+        || type == Type.PETMOVE && placeNumber == 0;
+  }
+
+  /**
+   * Gets the name argument: the player name for {@link Type#ADD_PLAYER}, the destination name
+   * for {@link Type#MOVE}, the item name for {@link Type#PICK} and {@link Type#ATTACK}, and the
+   * raw text for {@link Type#INVALID}.
+   *
+   * @return the name argument, or null if the command has none
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the place number argument of {@link Type#ADD_PLAYER}, {@link Type#MOVE} and
+   * {@link Type#PETMOVE}.
+   *
+   * @return the place number
+   */
+  public int getPlaceNumber() {
+    return placeNumber;
+  }
+
+  /**
+   * Gets the carry limit argument of {@link Type#ADD_PLAYER}.
+   *
+   * @return the carry limit
+   */
+  public int getCarryLimit() {
+    return carryLimit;
+  }
+
+  /**
+   * Gets the number of players argument of {@link Type#ADD_COMPUTERS}.
+   *
+   * @return the number of players, or 0 if the command has none
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the distribution argument of {@link Type#ADD_COMPUTERS}.
+   *
+   * @return the distribution, or null if the command has none
+   */
+  public SpawnDistribution getDistribution() {
+    return distribution;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof GameCommand)) {
+      return false;
+    }
+    GameCommand other = (GameCommand) o;
+    return type == other.type && placeNumber == other.placeNumber
+        && carryLimit == other.carryLimit && count == other.count
+        && distribution == other.distribution && Objects.equals(name, other.name);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(type, name, placeNumber, carryLimit, count, distribution);
+  }
+
+  @Override
+  public String toString() {
+    switch (type) {
+      case ADD_PLAYER:
+        return "ADD_PLAYER " + name + " " + placeNumber + " " + carryLimit;
+      case ADD_COMPUTERS:
+        return "ADD_COMPUTERS " + count + " " + distribution.name();
+      case MOVE:
+        return "MOVE," + name + "," + placeNumber;
+      case PICK:
+      case ATTACK:
+        return name == null ? type.name() : type.name() + "," + name;
+      case PETMOVE:
+        return placeNumber == 0 ? type.name() : "PETMOVE," + placeNumber;
+      case INVALID:
+        return name;
+      default:
+        return type.name();
+    }
+  }
+
+  /**
+   * The kinds of command a view can send.
+   */
+  public enum Type {
+    ADD_PLAYER,
+    ADD_COMPUTER,
+    ADD_COMPUTERS,
+    START_TURNS,
+    MOVE,
+    LOOK,
+    PICK,
+    ATTACK,
+    PETMOVE,
+    INVALID
+  }
+}
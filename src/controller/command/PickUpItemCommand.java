@@ -23,7 +23,6 @@ public class PickUpItemCommand implements Command {
 
   @Override
   public boolean execute() throws IOException {
-    System.out.println("Picking up item: " + itemName);
     town.pickUpItem(itemName);
     return true;
   }
@@ -0,0 +1,324 @@
+package controller.net;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LoadGenerator simulates many players connected to a {@link TownServer} at once. All clients
+ * share one selector thread, so thousands of connections cost no more than a few threads on
+ * the generating side. Each client joins, then sends the same command a fixed number of times,
+ * waiting for each reply before sending the next, and the generator reports throughput and
+ * reply latency percentiles.
+ *
+ * <p>Usage: {@code LoadGenerator <port> [clients] [requests] [command]}.
+ */
+public final class LoadGenerator {
+  private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+  private final InetSocketAddress address;
+
+  /**
+   * Constructs a new LoadGenerator for a server on this machine.
+   *
+   * @param port the server's port
+   * @throws IllegalArgumentException if the port is out of range
+   */
+  public LoadGenerator(int port) {
+    this.address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+  }
+
+  /**
+   * Connects the clients and plays until every client has sent its commands or a minute has
+   * passed.
+   *
+   * @param clients  the number of simulated players
+   * @param requests the number of commands each player sends after joining
+   * @param command  the command line to send
+   * @return the report
+   * @throws IOException              if the selector cannot be opened
+   * @throws IllegalArgumentException if a count is not positive or the command is empty
+   */
+  public Report run(int clients, int requests, String command) throws IOException {
+    if (clients <= 0 || requests <= 0) {
+      throw new IllegalArgumentException("Client and request counts must be positive");
+    }
+    if (command == null || command.isBlank()) {
+      throw new IllegalArgumentException("Command cannot be empty");
+    }
+    long[] latencies = new long[clients * requests];
+    int recorded = 0;
+    int errors = 0;
+    int finished = 0;
+    long start = System.nanoTime();
+    // Names differ between runs so repeated runs can join the same shared game
+    String namePrefix = "Bot-" + Long.toString(start & 0xFFFFFF, 36) + "-";
+    try (Selector selector = Selector.open()) {
+      for (int i = 0; i < clients; i++) {
+        SocketChannel channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        Client client = new Client(namePrefix + (i + 1), requests);
+        if (channel.connect(address)) {
+          channel.register(selector, SelectionKey.OP_READ, client);
+        } else {
+          channel.register(selector, SelectionKey.OP_CONNECT, client);
+        }
+      }
+      while (finished < clients && System.nanoTime() - start < TIMEOUT_NANOS) {
+        selector.select(1000);
+        for (SelectionKey key : selector.selectedKeys()) {
+          Client client = (Client) key.attachment();
+          SocketChannel channel = (SocketChannel) key.channel();
+          try {
+            if (key.isConnectable()) {
+              channel.finishConnect();
+              key.interestOps(SelectionKey.OP_READ);
+              continue;
+            }
+            if (key.isWritable()) {
+              write(key, client);
+            }
+            if (!key.isValid() || !key.isReadable()) {
+              continue;
+            }
+            if (channel.read(client.input) < 0) {
+              throw new IOException("Server closed the connection");
+            }
+            String line;
+            while (key.isValid() && (line = nextLine(client.input)) != null) {
+              long now = System.nanoTime();
+              if (client.stage == Stage.WELCOME) {
+                client.stage = Stage.JOINING;
+                send(key, client, "JOIN " + client.name, now);
+              } else if (client.stage == Stage.JOINING && line.startsWith("ERR")) {
+                throw new IOException("Join failed: " + line);
+              } else {
+                if (client.stage == Stage.PLAYING) {
+                  latencies[recorded++] = now - client.sentAt;
+                  client.remaining--;
+                  if (line.startsWith("ERR")) {
+                    errors++;
+                  }
+                }
+                client.stage = Stage.PLAYING;
+                if (client.remaining == 0) {
+                  key.cancel();
+                  channel.close();
+                  finished++;
+                } else {
+                  send(key, client, command, now);
+                }
+              }
+            }
+          } catch (IOException e) {
+            key.cancel();
+            channel.close();
+            errors += client.remaining;
+            client.remaining = 0;
+            finished++;
+          }
+        }
+        selector.selectedKeys().clear();
+      }
+      for (SelectionKey key : selector.keys()) {
+        // Clients still playing when time ran out
+        errors += ((Client) key.attachment()).remaining;
+        key.channel().close();
+      }
+    }
+    return new Report(clients, clients * requests, Arrays.copyOf(latencies, recorded), errors,
+        System.nanoTime() - start);
+  }
+
+  /**
+   * Queues a line for a client and writes it.
+   *
+   * @param key    the client's key
+   * @param client the client
+   * @param line   the line, without its terminator
+   * @param now    the time the line is sent
+   * @throws IOException if the write fails
+   */
+  private static void send(SelectionKey key, Client client, String line, long now)
+      throws IOException {
+    client.output = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+    client.sentAt = now;
+    write(key, client);
+  }
+
+  /**
+   * Writes a client's pending line, waiting for the socket if it does not all fit.
+   *
+   * @param key    the client's key
+   * @param client the client
+   * @throws IOException if the write fails
+   */
+  private static void write(SelectionKey key, Client client) throws IOException {
+    ((SocketChannel) key.channel()).write(client.output);
+    key.interestOps(client.output.hasRemaining()
+        ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+  }
+
+  /**
+   * Removes one line from an input buffer.
+   *
+   * @param input the buffer, in write mode
+   * @return the line without its terminator, or null if no full line has arrived
+   * @throws IOException if the buffer is full without a line
+   */
+  private static String nextLine(ByteBuffer input) throws IOException {
+    for (int i = 0; i < input.position(); i++) {
+      if (input.get(i) == '\n') {
+        byte[] bytes = new byte[i];
+        input.get(0, bytes);
+        input.flip();
+        input.position(i + 1);
+        input.compact();
+        return new String(bytes, StandardCharsets.UTF_8);
+      }
+    }
+    if (!input.hasRemaining()) {
+      throw new IOException("Reply line too long");
+    }
+    return null;
+  }
+
+  /**
+   * Runs the generator against a server on this machine.
+   *
+   * @param args the port, then optional client count, request count and command
+   * @throws IOException if the selector cannot be opened
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.out.println(
+          "Usage: java controller.net.LoadGenerator <port> [clients] [requests] [command]");
+      return;
+    }
+    int port = Integer.parseInt(args[0]);
+    int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+    int requests = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+    String command = args.length > 3
+        ? String.join(" ", Arrays.asList(args).subList(3, args.length)) : "LOOK";
+    System.out.println(new LoadGenerator(port).run(clients, requests, command));
+  }
+
+  /**
+   * Where a client is in its session.
+   */
+  private enum Stage {
+    WELCOME, JOINING, PLAYING
+  }
+
+  /**
+   * One simulated player.
+   */
+  private static final class Client {
+    private final String name;
+    private final ByteBuffer input;
+    private ByteBuffer output;
+    private Stage stage;
+    private int remaining;
+    private long sentAt;
+
+    /**
+     * Constructs a new Client.
+     *
+     * @param playerName the player's name
+     * @param requests   the number of commands to send
+     */
+    private Client(String playerName, int requests) {
+      this.name = playerName;
+      this.input = ByteBuffer.allocate(4096);
+      this.output = ByteBuffer.allocate(0);
+      this.stage = Stage.WELCOME;
+      this.remaining = requests;
+    }
+  }
+
+  /**
+   * The outcome of one load run.
+   */
+  public static final class Report {
+    private final int clients;
+    private final int requests;
+    private final long[] latencies;
+    private final int errors;
+    private final long wallNanos;
+
+    /**
+     * Constructs a new Report.
+     *
+     * @param clientCount   the number of simulated players
+     * @param requestCount  the number of commands that should have been answered
+     * @param replyLatency  the latency in nanoseconds of each answered command
+     * @param errorCount    the number of ERR replies and unanswered commands
+     * @param elapsedNanos  the wall time of the whole run in nanoseconds
+     */
+    private Report(int clientCount, int requestCount, long[] replyLatency, int errorCount,
+                   long elapsedNanos) {
+      this.clients = clientCount;
+      this.requests = requestCount;
+      this.latencies = replyLatency;
+      this.errors = errorCount;
+      this.wallNanos = elapsedNanos;
+      Arrays.sort(latencies);
+    }
+
+    /**
+     * Gets the number of commands answered.
+     *
+     * @return the number of replies
+     */
+    public int getAnswered() {
+      return latencies.length;
+    }
+
+    /**
+     * Gets the number of ERR replies plus commands never answered.
+     *
+     * @return the error count
+     */
+    public int getErrors() {
+      return errors;
+    }
+
+    /**
+     * Gets the number of commands answered per second.
+     *
+     * @return the throughput in replies per second
+     */
+    public double getThroughput() {
+      return wallNanos == 0 ? 0 : latencies.length * 1e9 / wallNanos;
+    }
+
+    /**
+     * Gets a reply latency percentile, using the nearest-rank method.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in milliseconds, or 0 if nothing was answered
+     */
+    public double getLatencyMillis(double percentile) {
+      if (latencies.length == 0) {
+        return 0;
+      }
+      int rank = (int) Math.ceil(percentile / 100.0 * latencies.length);
+      return latencies[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d clients: %d/%d answered, %d errors, %.1f replies/s, "
+              + "p50 %.3f ms, p90 %.3f ms, p99 %.3f ms", clients, getAnswered(), requests,
+          errors, getThroughput(), getLatencyMillis(50), getLatencyMillis(90),
+          getLatencyMillis(99));
+    }
+  }
+}
@@ -0,0 +1,316 @@
+package controller.net;
+
+import controller.strategy.ComputerStrategy;
+import controller.strategy.HeadlessGame;
+import controller.support.TownActor;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import model.item.Item;
+import model.place.Place;
+import model.player.Player;
+import model.random.RandomService;
+import model.town.Town;
+
+/**
+ * NetworkGame is one game played by remote connections. Each connection owns one seat and sends
+ * its commands as lines of text; seats whose connection has gone, and computer seats, are
+ * played by a strategy so a game never waits on a player who left. All game work runs on the
+ * game's {@link TownActor}, so many games share a small pool of threads and no game is touched
+ * by two threads at once.
+ *
+ * <p>Rejected commands complete their future exceptionally with an
+ * {@link IllegalArgumentException} for bad input or an {@link IllegalStateException} when the
+ * command is not allowed right now, such as out of turn.
+ */
+public final class NetworkGame {
+  /**
+   * The carry limit of players who join over the network.
+   */
+  public static final int CARRY_LIMIT = 5;
+
+  private final Town town;
+  private final TownActor actor;
+  private final RandomService random;
+  private final ComputerStrategy strategy;
+  private final BitSet connected;
+  private volatile boolean over;
+
+  /**
+   * Constructs a new NetworkGame and seats its computer players.
+   *
+   * @param gameModel        a fresh game with no players
+   * @param gameExecutor     the executor that runs the game's actor
+   * @param randomService    the source of start places and computer decisions
+   * @param computerStrategy the strategy for computer seats and seats left by their players
+   * @param computerSeats    the number of computer players to seat before anyone joins
+   * @throws IllegalArgumentException if an argument is null or the seat count is negative
+   */
+  public NetworkGame(Town gameModel, Executor gameExecutor, RandomService randomService,
+                     ComputerStrategy computerStrategy, int computerSeats) {
+    if (randomService == null || computerStrategy == null) {
+      throw new IllegalArgumentException("Random service and strategy cannot be null");
+    }
+    if (computerSeats < 0) {
+      throw new IllegalArgumentException("Computer seats cannot be negative");
+    }
+    this.actor = new TownActor(gameModel, gameExecutor);
+    this.town = gameModel;
+    this.random = randomService;
+    this.strategy = computerStrategy;
+    this.connected = new BitSet();
+    for (int i = 1; i <= computerSeats; i++) {
+      town.addPlayer("Computer-" + i, random.nextInt(town.getPlaces().size()) + 1, CARRY_LIMIT,
+          true);
+    }
+  }
+
+  /**
+   * Seats a new human player in a random place.
+   *
+   * @param name the player's name
+   * @return a future completed with the player's seat index
+   */
+  public CompletableFuture<Integer> join(String name) {
+    return actor.ask(game -> {
+      if (name == null || name.isBlank() || name.contains(",")) {
+        throw new IllegalArgumentException("Invalid player name");
+      }
+      if (game.isGameOver()) {
+        throw new IllegalStateException("Game is over");
+      }
+      if (game.isPlayerNameTaken(name)) {
+        throw new IllegalArgumentException("Name is taken: " + name);
+      }
+      int seat = game.getPlayers().size();
+      game.addPlayer(name, random.nextInt(game.getPlaces().size()) + 1, CARRY_LIMIT, false);
+      connected.set(seat);
+      advance();
+      return seat;
+    });
+  }
+
+  /**
+   * Runs one command for a seat.
+   *
+   * @param seat the seat sending the command
+   * @param line the command line
+   * @return a future completed with the reply text
+   */
+  public CompletableFuture<String> play(int seat, String line) {
+    return actor.ask(game -> handle(seat, line));
+  }
+
+  /**
+   * Gives a seat to the computer strategy because its connection has gone.
+   *
+   * @param seat the seat
+   */
+  public void leave(int seat) {
+    actor.execute(() -> {
+      connected.clear(seat);
+      try {
+        advance();
+      } catch (IOException e) {
+        throw new IllegalStateException("Game output failed", e);
+      }
+    });
+  }
+
+  /**
+   * Checks if the game has ended. Any thread may ask; the answer is updated by the game's actor
+   * after each command, so it may trail a command that is still running.
+   *
+   * @return true if the game is over, false otherwise
+   */
+  public boolean isOver() {
+    return over;
+  }
+
+  /**
+   * Gets the actor that owns this game.
+   *
+   * @return the actor
+   */
+  public TownActor getActor() {
+    return actor;
+  }
+
+  /**
+   * Parses and runs one command. Runs on the actor only.
+   *
+   * @param seat the seat sending the command
+   * @param line the command line
+   * @return the reply text
+   * @throws IOException if the game's output fails
+   */
+  private String handle(int seat, String line) throws IOException {
+    String trimmed = line.trim();
+    int space = trimmed.indexOf(' ');
+    String verb = (space < 0 ? trimmed : trimmed.substring(0, space)).toUpperCase(Locale.ROOT);
+    String argument = space < 0 ? "" : trimmed.substring(space + 1).trim();
+    if ("STATUS".equals(verb)) {
+      return status(seat);
+    }
+    if (!"LOOK".equals(verb) && !"MOVE".equals(verb) && !"PICK".equals(verb)
+        && !"ATTACK".equals(verb)) {
+      throw new IllegalArgumentException("Unknown command: " + verb);
+    }
+    if (town.isGameOver()) {
+      throw new IllegalStateException("Game is over");
+    }
+    if (town.getCurrentPlayerIndex() != seat) {
+      throw new IllegalStateException("Not your turn, waiting for "
+          + town.getPlayers().get(town.getCurrentPlayerIndex()).getName());
+    }
+    Player player = town.getPlayers().get(seat);
+    String reply;
+    switch (verb) {
+      case "LOOK":
+        reply = look(player);
+        town.lookAround();
+        break;
+      case "MOVE":
+        reply = move(seat, player, argument);
+        break;
+      case "PICK":
+        reply = pick(player, argument);
+        break;
+      default:
+        reply = attack(player, argument);
+    }
+    advance();
+    return town.isGameOver() ? reply + "; game over" : reply;
+  }
+
+  /**
+   * Describes the game from a seat's point of view.
+   *
+   * @param seat the seat
+   * @return the status line
+   */
+  private String status(int seat) {
+    Player current = town.getPlayers().get(town.getCurrentPlayerIndex());
+    return "turn=" + town.getCurrentTurn() + "/" + town.getMaxTurns()
+        + " current=" + current.getName()
+        + " place=" + town.getPlayers().get(seat).getPlayerCurrentPlaceNumber()
+        + " target=" + town.getTargetHealth() + "@" + town.getTarget().getCurrentPlaceId()
+        + " pet=" + town.getPetPlaceNumber()
+        + " over=" + town.isGameOver();
+  }
+
+  /**
+   * Describes the player's place: its name, neighbors and items.
+   *
+   * @param player the player
+   * @return the description
+   */
+  private String look(Player player) {
+    Place place = town.getPlaces().get(player.getPlayerCurrentPlaceNumber() - 1);
+    List<String> neighbors = new ArrayList<>();
+    for (Place neighbor : place.getNeighbors()) {
+      neighbors.add(neighbor.getPlaceId() + " " + neighbor.getName());
+    }
+    List<String> items = new ArrayList<>();
+    for (Item item : place.getItems()) {
+      items.add(item.getName());
+    }
+    return place.getName() + "; neighbors: " + String.join(", ", neighbors) + "; items: "
+        + String.join(", ", items);
+  }
+
+  /**
+   * Moves the player to a neighboring place.
+   *
+   * @param seat     the player's seat
+   * @param player   the player
+   * @param argument the destination place number
+   * @return the reply text
+   * @throws IOException if the game's output fails
+   */
+  private String move(int seat, Player player, String argument) throws IOException {
+    int destination;
+    try {
+      destination = Integer.parseInt(argument);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Usage: MOVE <place number>");
+    }
+    Place from = town.getPlaces().get(player.getPlayerCurrentPlaceNumber() - 1);
+    if (destination < 1 || destination > town.getPlaces().size()
+        || !from.getNeighbors().contains(town.getPlaces().get(destination - 1))) {
+      throw new IllegalArgumentException("Not a neighboring place: " + argument);
+    }
+    town.movePlayer(seat, destination);
+    return "moved to " + town.getPlaces().get(destination - 1).getName();
+  }
+
+  /**
+   * Picks up an item lying in the player's place.
+   *
+   * @param player   the player
+   * @param argument the item name
+   * @return the reply text
+   * @throws IOException if the game's output fails
+   */
+  private String pick(Player player, String argument) throws IOException {
+    Place place = town.getPlaces().get(player.getPlayerCurrentPlaceNumber() - 1);
+    boolean present = place.getItems().stream().anyMatch(i -> i.getName().equals(argument));
+    if (!present) {
+      throw new IllegalArgumentException("No such item here: " + argument);
+    }
+    if (player.getCurrentCarriedItems().size() >= player.getCarryLimit()) {
+      throw new IllegalStateException("Carry limit reached");
+    }
+    town.pickUpItem(argument);
+    return "picked up " + argument;
+  }
+
+  /**
+   * Attacks the target with a carried item, or pokes it when no item is named.
+   *
+   * @param player   the player
+   * @param argument the item name, or empty for a poke
+   * @return the reply text
+   * @throws IOException if the game's output fails
+   */
+  private String attack(Player player, String argument) throws IOException {
+    String item = argument.isEmpty() ? "Poke Target" : argument;
+    if (!"Poke Target".equals(item)
+        && player.getCurrentCarriedItems().stream().noneMatch(i -> i.getName().equals(item))) {
+      throw new IllegalArgumentException("You do not carry " + item);
+    }
+    if (player.getPlayerCurrentPlaceNumber() != town.getTarget().getCurrentPlaceId()) {
+      throw new IllegalStateException("The target is not here");
+    }
+    if (town.isPlayerVisible(player)) {
+      throw new IllegalStateException("Another player can see you");
+    }
+    if (town.attackTarget(item)) {
+      return "you eliminated the target";
+    }
+    town.switchToNextPlayer();
+    return "target health " + town.getTargetHealth();
+  }
+
+  /**
+   * Plays every seat without a connected player until a connected player is to move or the
+   * game ends, then records whether the game is over.
+   *
+   * @throws IOException if the game's output fails
+   */
+  private void advance() throws IOException {
+    while (!connected.isEmpty() && !town.isGameOver()
+        && !connected.get(town.getCurrentPlayerIndex())) {
+      int seat = town.getCurrentPlayerIndex();
+      Player player = town.getPlayers().get(seat);
+      if (HeadlessGame.perform(town, seat, strategy.chooseAction(town, player, random))) {
+        break;
+      }
+    }
+    over = town.isGameOver();
+  }
+}
@@ -0,0 +1,584 @@
+package controller.net;
+
+import controller.strategy.ComputerStrategy;
+import controller.support.MpscMailbox;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import model.random.SplittableRandomService;
+import model.town.Town;
+
+/**
+ * TownServer lets remote players play over TCP with a line protocol. One selector thread does
+ * all socket work for every connection without blocking; game work is handed to each game's
+ * actor on a small shared pool, and replies come back to the selector through a lock-free
+ * mailbox. In {@link Mode#SHARED} every connection joins one game; in {@link Mode#PRIVATE} each
+ * connection gets a game of its own against computer players.
+ *
+ * <p>A connection sends {@code JOIN <name>} first, then {@code STATUS}, {@code LOOK},
+ * {@code MOVE <place number>}, {@code PICK <item>}, {@code ATTACK [item]} or {@code QUIT}, one
+ * per line. Every command gets one reply line starting with {@code OK} or {@code ERR}.
+ *
+ * <p>Each connection has one command in flight at a time, and the server stops reading from a
+ * connection while its command runs or while too many reply bytes wait to be written, so a
+ * client that sends faster than it reads is slowed down by TCP instead of growing server memory.
+ */
+public final class TownServer implements AutoCloseable {
+  /**
+   * Where connections play.
+   */
+  public enum Mode {
+    /**
+     * Every connection joins the same game.
+     */
+    SHARED,
+    /**
+     * Every connection plays its own game.
+     */
+    PRIVATE
+  }
+
+  private static final int INPUT_LIMIT = 1024;
+  private static final int OUTPUT_LIMIT = 64 * 1024;
+  private static final int ACCEPT_BACKLOG = 4096;
+
+  private final Mode mode;
+  private final GameFactory factory;
+  private final ComputerStrategy strategy;
+  private final int computerSeats;
+  private final long seed;
+  private final ExecutorService pool;
+  private final Selector selector;
+  private final ServerSocketChannel server;
+  private final MpscMailbox<Runnable> completions;
+  private final Thread thread;
+  private final AtomicInteger connectionCount;
+  private final AtomicLong commandCount;
+  private CompletableFuture<NetworkGame> sharedGame;
+  private long gamesCreated;
+  private volatile boolean closed;
+
+  /**
+   * Constructs a new TownServer listening on the loopback interface.
+   *
+   * @param port             the port to listen on, or 0 for any free port
+   * @param serverMode       whether connections share one game or get their own
+   * @param gameFactory      makes a fresh game with no players
+   * @param computerStrategy the strategy for computer seats and seats whose player left
+   * @param computers        the number of computer players seated in each new game
+   * @param randomSeed       the seed for start places and computer decisions
+   * @throws IOException              if the socket cannot be opened
+   * @throws IllegalArgumentException if an argument is null or the computer count is negative
+   */
+  public TownServer(int port, Mode serverMode, GameFactory gameFactory,
+                    ComputerStrategy computerStrategy, int computers, long randomSeed)
+      throws IOException {
+    if (serverMode == null || gameFactory == null || computerStrategy == null) {
+      throw new IllegalArgumentException("Mode, factory and strategy cannot be null");
+    }
+    if (computers < 0) {
+      throw new IllegalArgumentException("Computer count cannot be negative");
+    }
+    this.mode = serverMode;
+    this.factory = gameFactory;
+    this.strategy = computerStrategy;
+    this.computerSeats = computers;
+    this.seed = randomSeed;
+    this.pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+        runnable -> {
+          Thread worker = new Thread(runnable, "town-server-game");
+          worker.setDaemon(true);
+          return worker;
+        });
+    this.completions = new MpscMailbox<>();
+    this.connectionCount = new AtomicInteger();
+    this.commandCount = new AtomicLong();
+    this.selector = Selector.open();
+    this.server = ServerSocketChannel.open();
+    server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), ACCEPT_BACKLOG);
+    server.configureBlocking(false);
+    server.register(selector, SelectionKey.OP_ACCEPT);
+    this.thread = new Thread(this::loop, "town-server");
+    thread.start();
+  }
+
+  /**
+   * Gets the port the server listens on.
+   *
+   * @return the port
+   */
+  public int getPort() {
+    return server.socket().getLocalPort();
+  }
+
+  /**
+   * Gets the number of open connections.
+   *
+   * @return the connection count
+   */
+  public int getConnectionCount() {
+    return connectionCount.get();
+  }
+
+  /**
+   * Gets the number of commands answered so far.
+   *
+   * @return the command count
+   */
+  public long getCommandCount() {
+    return commandCount.get();
+  }
+
+  /**
+   * Stops the server and closes every connection.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    selector.wakeup();
+    try {
+      thread.join(1000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    pool.shutdownNow();
+  }
+
+  /**
+   * Accepts connections, moves bytes and delivers replies until closed.
+   */
+  private void loop() {
+    try {
+      while (!closed) {
+        selector.select();
+        for (SelectionKey key : selector.selectedKeys()) {
+          if (!key.isValid()) {
+            continue;
+          }
+          if (key.isAcceptable()) {
+            accept();
+            continue;
+          }
+          Connection connection = (Connection) key.attachment();
+          try {
+            if (key.isWritable()) {
+              flush(connection);
+              process(connection);
+            }
+            if (key.isValid() && key.isReadable()) {
+              read(connection);
+            }
+          } catch (RuntimeException e) {
+            // A fault on one connection drops only that connection, not the selector
+            disconnect(connection);
+          }
+        }
+        selector.selectedKeys().clear();
+        Runnable completion;
+        while (!completions.isEmpty() && (completion = completions.poll()) != null) {
+          completion.run();
+        }
+      }
+    } catch (IOException | ClosedSelectorException e) {
+      // The server stops; clients see their connections close
+    } finally {
+      shutdown();
+    }
+  }
+
+  /**
+   * Accepts every waiting connection.
+   *
+   * @throws IOException if the server socket fails
+   */
+  private void accept() throws IOException {
+    SocketChannel channel;
+    while ((channel = server.accept()) != null) {
+      channel.configureBlocking(false);
+      Connection connection = new Connection(channel);
+      connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+      connectionCount.incrementAndGet();
+      send(connection, "OK welcome, send JOIN <name>");
+    }
+  }
+
+  /**
+   * Reads what a connection has sent and runs its next command.
+   *
+   * @param connection the connection
+   */
+  private void read(Connection connection) {
+    int count;
+    try {
+      count = connection.channel.read(connection.input);
+    } catch (IOException e) {
+      count = -1;
+    }
+    if (count < 0) {
+      disconnect(connection);
+      return;
+    }
+    process(connection);
+  }
+
+  /**
+   * Takes complete lines from a connection's input and runs them one at a time.
+   *
+   * @param connection the connection
+   */
+  private void process(Connection connection) {
+    while (!connection.busy && !connection.closing && connection.key.isValid()
+        && connection.pendingBytes < OUTPUT_LIMIT) {
+      String line = nextLine(connection.input);
+      if (line == null) {
+        if (!connection.input.hasRemaining()) {
+          connection.closing = true;
+          send(connection, "ERR line too long");
+        }
+        break;
+      }
+      if (!line.isBlank()) {
+        try {
+          dispatch(connection, line);
+        } catch (RuntimeException e) {
+          connection.busy = false;
+          send(connection, "ERR " + e.getMessage());
+        }
+      }
+    }
+    updateInterest(connection);
+  }
+
+  /**
+   * Removes one line from an input buffer.
+   *
+   * @param input the buffer, in write mode
+   * @return the line without its terminator, or null if no full line has arrived
+   */
+  private static String nextLine(ByteBuffer input) {
+    for (int i = 0; i < input.position(); i++) {
+      if (input.get(i) == '\n') {
+        int end = i > 0 && input.get(i - 1) == '\r' ? i - 1 : i;
+        byte[] bytes = new byte[end];
+        input.get(0, bytes);
+        input.flip();
+        input.position(i + 1);
+        input.compact();
+        return new String(bytes, StandardCharsets.UTF_8);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Starts one command. Game work runs on the game's actor and the reply is delivered back on
+   * the selector thread.
+   *
+   * @param connection the connection
+   * @param line       the command line
+   */
+  private void dispatch(Connection connection, String line) {
+    String verb = line.trim().split(" ", 2)[0].toUpperCase(Locale.ROOT);
+    if ("QUIT".equals(verb)) {
+      connection.closing = true;
+      send(connection, "OK bye");
+      return;
+    }
+    if (connection.game == null) {
+      if (!"JOIN".equals(verb)) {
+        send(connection, "ERR send JOIN <name> first");
+        return;
+      }
+      String name = line.trim().substring(4).trim();
+      connection.busy = true;
+      join(name).whenComplete((seating, error) -> deliver(() -> seated(connection, seating,
+          error)));
+    } else if ("JOIN".equals(verb)) {
+      send(connection, "ERR already joined");
+    } else {
+      connection.busy = true;
+      connection.game.play(connection.seat, line).whenComplete((text, error) -> deliver(
+          () -> complete(connection, text, error)));
+    }
+  }
+
+  /**
+   * Hands work to the selector thread.
+   *
+   * @param task the work
+   */
+  private void deliver(Runnable task) {
+    completions.offer(task);
+    selector.wakeup();
+  }
+
+  /**
+   * Seats a player, creating a game for them in private mode. Games are always created on the
+   * pool, so loading a world never blocks the selector.
+   *
+   * @param name the player's name
+   * @return a future completed with the player's game and seat
+   */
+  private CompletableFuture<Seating> join(String name) {
+    CompletableFuture<NetworkGame> game;
+    if (mode == Mode.SHARED) {
+      if (needsSharedGame()) {
+        long gameNumber = gamesCreated++;
+        sharedGame = CompletableFuture.supplyAsync(() -> newGame(gameNumber), pool);
+      }
+      game = sharedGame;
+    } else {
+      long gameNumber = gamesCreated++;
+      game = CompletableFuture.supplyAsync(() -> newGame(gameNumber), pool);
+    }
+    return game.thenCompose(joined -> joined.join(name).thenApply(
+        seat -> new Seating(joined, seat)));
+  }
+
+  /**
+   * Checks if the next shared join needs a new game. A game that failed to load is tried again,
+   * and a finished game takes no one new, so the next player starts a fresh one.
+   *
+   * @return true if a new shared game must be created
+   */
+  private boolean needsSharedGame() {
+    if (sharedGame == null || sharedGame.isCompletedExceptionally()) {
+      return true;
+    }
+    NetworkGame current = sharedGame.getNow(null);
+    return current != null && current.isOver();
+  }
+
+  /**
+   * Records where a connection was seated and answers its JOIN.
+   *
+   * @param connection the connection
+   * @param seating    the game and seat, or null if the join failed
+   * @param error      the failure, or null if it succeeded
+   */
+  private void seated(Connection connection, Seating seating, Throwable error) {
+    if (seating != null) {
+      if (!connection.key.isValid()) {
+        // The player left before the seat was ready
+        if (mode == Mode.SHARED) {
+          seating.game.leave(seating.seat);
+        }
+      } else {
+        connection.game = seating.game;
+        connection.seat = seating.seat;
+      }
+    }
+    complete(connection, seating == null ? null : "joined, seat " + seating.seat, error);
+  }
+
+  /**
+   * Creates and seats a new game.
+   *
+   * @param gameNumber the game's number, which picks its random seed
+   * @return the game
+   * @throws IllegalStateException if the world cannot be loaded
+   */
+  private NetworkGame newGame(long gameNumber) {
+    try {
+      return new NetworkGame(factory.create(), pool,
+          new SplittableRandomService(seed + gameNumber), strategy, computerSeats);
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot create a game: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Sends a finished command's reply and moves on to the connection's next command.
+   *
+   * @param connection the connection
+   * @param text       the reply text, or null if the command failed
+   * @param error      the failure, or null if it succeeded
+   */
+  private void complete(Connection connection, String text, Throwable error) {
+    commandCount.incrementAndGet();
+    connection.busy = false;
+    if (!connection.key.isValid()) {
+      return;
+    }
+    if (error == null) {
+      send(connection, "OK " + text);
+    } else {
+      Throwable cause = error instanceof CompletionException && error.getCause() != null
+          ? error.getCause() : error;
+      send(connection, "ERR " + cause.getMessage());
+    }
+    process(connection);
+  }
+
+  /**
+   * Queues a reply line and writes as much as the socket takes.
+   *
+   * @param connection the connection
+   * @param line       the line, without its terminator
+   */
+  private void send(Connection connection, String line) {
+    ByteBuffer bytes = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+    connection.output.add(bytes);
+    connection.pendingBytes += bytes.remaining();
+    flush(connection);
+  }
+
+  /**
+   * Writes a connection's queued replies until the socket is full.
+   *
+   * @param connection the connection
+   */
+  private void flush(Connection connection) {
+    try {
+      while (!connection.output.isEmpty()) {
+        ByteBuffer head = connection.output.peek();
+        connection.pendingBytes -= connection.channel.write(head);
+        if (head.hasRemaining()) {
+          break;
+        }
+        connection.output.poll();
+      }
+    } catch (IOException e) {
+      disconnect(connection);
+      return;
+    }
+    if (connection.closing && connection.output.isEmpty()) {
+      disconnect(connection);
+      return;
+    }
+    updateInterest(connection);
+  }
+
+  /**
+   * Reads only while the connection is idle and its replies are being drained, and waits for
+   * the socket to take more bytes while any are queued.
+   *
+   * @param connection the connection
+   */
+  private void updateInterest(Connection connection) {
+    if (!connection.key.isValid()) {
+      return;
+    }
+    int ops = 0;
+    if (!connection.busy && !connection.closing && connection.pendingBytes < OUTPUT_LIMIT) {
+      ops |= SelectionKey.OP_READ;
+    }
+    if (!connection.output.isEmpty()) {
+      ops |= SelectionKey.OP_WRITE;
+    }
+    if (connection.key.interestOps() != ops) {
+      connection.key.interestOps(ops);
+    }
+  }
+
+  /**
+   * Closes a connection and hands its seat to the computer.
+   *
+   * @param connection the connection
+   */
+  private void disconnect(Connection connection) {
+    if (!connection.key.isValid()) {
+      return;
+    }
+    connection.key.cancel();
+    try {
+      connection.channel.close();
+    } catch (IOException e) {
+      // Already gone
+    }
+    connectionCount.decrementAndGet();
+    if (connection.game != null && mode == Mode.SHARED) {
+      connection.game.leave(connection.seat);
+    }
+  }
+
+  /**
+   * Closes every socket and the selector.
+   */
+  private void shutdown() {
+    try {
+      for (SelectionKey key : selector.keys()) {
+        key.channel().close();
+      }
+      selector.close();
+    } catch (IOException | ClosedSelectorException e) {
+      // Nothing more to release
+    }
+    connectionCount.set(0);
+  }
+
+  /**
+   * Makes the games the server hosts.
+   */
+  @FunctionalInterface
+  public interface GameFactory {
+    /**
+     * Creates a fresh game with no players.
+     *
+     * @return the game
+     * @throws IOException if the world cannot be loaded
+     */
+    Town create() throws IOException;
+  }
+
+  /**
+   * Where a player was seated.
+   */
+  private static final class Seating {
+    private final NetworkGame game;
+    private final int seat;
+
+    /**
+     * Constructs a new Seating.
+     *
+     * @param joined     the game
+     * @param seatNumber the player's seat
+     */
+    private Seating(NetworkGame joined, int seatNumber) {
+      this.game = joined;
+      this.seat = seatNumber;
+    }
+  }
+
+  /**
+   * The state of one connection. Used only on the selector thread.
+   */
+  private static final class Connection {
+    private final SocketChannel channel;
+    private final ByteBuffer input;
+    private final ArrayDeque<ByteBuffer> output;
+    private SelectionKey key;
+    private int pendingBytes;
+    private NetworkGame game;
+    private int seat;
+    private boolean busy;
+    private boolean closing;
+
+    /**
+     * Constructs a new Connection.
+     *
+     * @param socket the connection's channel
+     */
+    private Connection(SocketChannel socket) {
+      this.channel = socket;
+      this.input = ByteBuffer.allocate(INPUT_LIMIT);
+      this.output = new ArrayDeque<>();
+      this.seat = -1;
+    }
+  }
+}
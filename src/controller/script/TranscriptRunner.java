@@ -0,0 +1,293 @@
+package controller.script;
+
+import controller.TextGameController;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import model.random.SplittableRandomService;
+import model.town.Town;
+import model.town.TownLoader;
+import model.town.TownModel;
+import view.ScriptedView;
+
+/**
+ * Plays recorded text-mode sessions against the real text controller and model.
+ * Each script is played many times concurrently, every output is compared with the script's
+ * golden transcript, and the runner reports throughput and latency percentiles per script. This
+ * makes the scripts both a regression suite and a performance gate for the text engine.
+ *
+ * <p>Usage: {@code TranscriptRunner <script file or directory> [copies] [threads] [--record]}.
+ * With {@code --record}, each script is played once and its output is written as the new golden
+ * transcript.
+ */
+public class TranscriptRunner {
+  private final ExecutorService pool;
+
+  /**
+   * Constructs a new TranscriptRunner.
+   *
+   * @param threads the number of sessions played at the same time
+   * @throws IllegalArgumentException if the thread count is not positive
+   */
+  public TranscriptRunner(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Thread count must be positive");
+    }
+    this.pool = Executors.newFixedThreadPool(threads);
+  }
+
+  /**
+   * Plays one session of a script.
+   *
+   * @param script the script to play
+   * @return everything the session wrote
+   * @throws IOException if the world cannot be loaded or the script runs out of input
+   */
+  public static String play(TranscriptScript script) throws IOException {
+    StringBuilder output = new StringBuilder();
+    Town town = new TownModel(new TownLoader(), script.getWorldFile(), output,
+        script.getMaxTurns());
+    TextGameController controller = new TextGameController(town, null, script.getMaxTurns(),
+        new SplittableRandomService(script.getSeed()));
+    controller.setView(new ScriptedView(script.getInputs(), output), false);
+    controller.startGame();
+    return output.toString();
+  }
+
+  /**
+   * Plays a script many times concurrently and compares each output with the golden transcript.
+   *
+   * @param script the script to play
+   * @param copies the number of sessions to play
+   * @return the report for the script
+   * @throws InterruptedException if the caller is interrupted while waiting
+   */
+  public Report run(TranscriptScript script, int copies) throws InterruptedException {
+    List<Future<Long>> sessions = new ArrayList<>(copies);
+    String golden = script.getGolden() == null ? null : normalize(script.getGolden());
+    long start = System.nanoTime();
+    for (int i = 0; i < copies; i++) {
+      sessions.add(pool.submit(() -> {
+        long sessionStart = System.nanoTime();
+        String output = normalize(play(script));
+        long elapsed = System.nanoTime() - sessionStart;
+        if (golden != null && !golden.equals(output)) {
+          throw new IllegalStateException(firstDifference(golden, output));
+        }
+        return elapsed;
+      }));
+    }
+
+    long[] latencies = new long[copies];
+    int passed = 0;
+    String failure = null;
+    for (Future<Long> session : sessions) {
+      try {
+        latencies[passed++] = session.get();
+      } catch (ExecutionException e) {
+        passed--;
+        if (failure == null) {
+          failure = e.getCause().getMessage();
+        }
+      }
+    }
+    long wallNanos = System.nanoTime() - start;
+    return new Report(script.getName(), copies, Arrays.copyOf(latencies, passed), wallNanos,
+        failure);
+  }
+
+  /**
+   * Stops the runner's threads.
+   */
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  /**
+   * Normalizes line endings so transcripts recorded on any platform compare equal.
+   *
+   * @param text the text to normalize
+   * @return the text with "\n" line endings
+   */
+  static String normalize(String text) {
+    return text.replace("\r\n", "\n");
+  }
+
+  /**
+   * Describes the first line where an output differs from the golden transcript.
+   *
+   * @param expected the golden transcript
+   * @param actual   the output
+   * @return a description of the first difference
+   */
+  static String firstDifference(String expected, String actual) {
+    String[] expectedLines = expected.split("\n", -1);
+    String[] actualLines = actual.split("\n", -1);
+    int common = Math.min(expectedLines.length, actualLines.length);
+    for (int i = 0; i < common; i++) {
+      if (!expectedLines[i].equals(actualLines[i])) {
+        return "line " + (i + 1) + ": expected \"" + expectedLines[i] + "\" but was \""
+            + actualLines[i] + "\"";
+      }
+    }
+    return "expected " + expectedLines.length + " lines but was " + actualLines.length;
+  }
+
+  /**
+   * Runs the scripts named on the command line.
+   *
+   * @param args the script file or directory, then optional copies, threads and --record
+   * @throws IOException if a script cannot be read or a golden file cannot be written
+   * @throws InterruptedException if interrupted while waiting for sessions
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (args.length < 1) {
+      System.out.println(
+          "Usage: java controller.script.TranscriptRunner <script|dir> [copies] [threads] "
+              + "[--record]");
+      return;
+    }
+    boolean record = Arrays.asList(args).contains("--record");
+    List<String> numbers = Arrays.stream(args).skip(1).filter(arg -> !arg.startsWith("--"))
+        .collect(Collectors.toList());
+    int copies = numbers.size() > 0 ? Integer.parseInt(numbers.get(0)) : 100;
+    int threads = numbers.size() > 1 ? Integer.parseInt(numbers.get(1))
+        : Runtime.getRuntime().availableProcessors();
+
+    Path location = Paths.get(args[0]);
+    List<Path> scriptFiles;
+    if (Files.isDirectory(location)) {
+      try (Stream<Path> files = Files.list(location)) {
+        scriptFiles = files.filter(f -> f.toString().endsWith(TranscriptScript.SCRIPT_EXTENSION))
+            .sorted().collect(Collectors.toList());
+      }
+    } else {
+      scriptFiles = List.of(location);
+    }
+
+    if (record) {
+      for (Path scriptFile : scriptFiles) {
+        String output = play(TranscriptScript.load(scriptFile));
+        Path goldenFile = scriptFile.resolveSibling(
+            TranscriptScript.baseName(scriptFile) + TranscriptScript.GOLDEN_EXTENSION);
+        Files.write(goldenFile, output.getBytes(StandardCharsets.UTF_8));
+        System.out.println("Recorded " + goldenFile);
+      }
+      return;
+    }
+
+    TranscriptRunner runner = new TranscriptRunner(threads);
+    boolean allPassed = true;
+    try {
+      for (Path scriptFile : scriptFiles) {
+        Report report = runner.run(TranscriptScript.load(scriptFile), copies);
+        System.out.println(report);
+        allPassed &= report.isPassed();
+      }
+    } finally {
+      runner.shutdown();
+    }
+    if (!allPassed) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * The outcome of playing one script many times.
+   */
+  public static final class Report {
+    private final String scriptName;
+    private final int runs;
+    private final long[] latencies;
+    private final long wallNanos;
+    private final String failure;
+
+    /**
+     * Constructs a new Report.
+     *
+     * @param name           the script name
+     * @param sessionCount   the number of sessions played
+     * @param passedLatency  the latency in nanoseconds of each passing session
+     * @param elapsedNanos   the wall time of the whole run in nanoseconds
+     * @param firstFailure   the first failure message, or null if every session passed
+     */
+    private Report(String name, int sessionCount, long[] passedLatency, long elapsedNanos,
+                   String firstFailure) {
+      this.scriptName = name;
+      this.runs = sessionCount;
+      this.latencies = passedLatency;
+      this.wallNanos = elapsedNanos;
+      this.failure = firstFailure;
+      Arrays.sort(latencies);
+    }
+
+    /**
+     * Checks if every session matched the golden transcript.
+     *
+     * @return true if every session passed, false otherwise
+     */
+    public boolean isPassed() {
+      return latencies.length == runs;
+    }
+
+    /**
+     * Gets the number of sessions that matched the golden transcript.
+     *
+     * @return the number of passing sessions
+     */
+    public int getPassed() {
+      return latencies.length;
+    }
+
+    /**
+     * Gets the first failure message.
+     *
+     * @return the first failure, or null if every session passed
+     */
+    public String getFailure() {
+      return failure;
+    }
+
+    /**
+     * Gets the number of sessions completed per second.
+     *
+     * @return the throughput in sessions per second
+     */
+    public double getThroughput() {
+      return wallNanos == 0 ? 0 : runs * 1e9 / wallNanos;
+    }
+
+    /**
+     * Gets a latency percentile of the passing sessions, using the nearest-rank method.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in milliseconds, or 0 if no session passed
+     */
+    public double getLatencyMillis(double percentile) {
+      if (latencies.length == 0) {
+        return 0;
+      }
+      int rank = (int) Math.ceil(percentile / 100.0 * latencies.length);
+      return latencies[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    @Override
+    public String toString() {
+      String summary = String.format("%s: %d/%d passed, %.1f sessions/s, "
+              + "p50 %.3f ms, p90 %.3f ms, p99 %.3f ms", scriptName, getPassed(), runs,
+          getThroughput(), getLatencyMillis(50), getLatencyMillis(90), getLatencyMillis(99));
+      return failure == null ? summary : summary + "\n  first failure: " + failure;
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package controller.script;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A recorded text-mode session: the game settings, the lines the player typed, and optionally
+ * the golden output the session is expected to produce.
+ *
+ * <p>A script file starts with "key: value" settings, followed by a line holding only "---",
+ * followed by one input line per line. Lines starting with "#" before the separator are comments.
+ * The supported settings are "world" (required), "turns" (required) and "seed" (default 0). The
+ * golden output, if recorded, sits next to the script with the extension ".golden".
+ */
+public final class TranscriptScript {
+  /**
+   * The extension of script files.
+   */
+  public static final String SCRIPT_EXTENSION = ".script";
+
+  /**
+   * The extension of golden output files.
+   */
+  public static final String GOLDEN_EXTENSION = ".golden";
+
+  private static final String SEPARATOR = "---";
+
+  private final String name;
+  private final String worldFile;
+  private final int maxTurns;
+  private final long seed;
+  private final List<String> inputs;
+  private final String golden;
+
+  /**
+   * Constructs a new TranscriptScript.
+   *
+   * @param scriptName   the name of the script
+   * @param world        the path of the world file
+   * @param turns        the maximum number of turns
+   * @param randomSeed   the seed of the game's random service
+   * @param scriptInputs the input lines
+   * @param goldenOutput the expected output, or null if none was recorded
+   * @throws IllegalArgumentException if the world is missing or the turns are not positive
+   */
+  public TranscriptScript(String scriptName, String world, int turns, long randomSeed,
+                          List<String> scriptInputs, String goldenOutput) {
+    if (world == null || world.isEmpty()) {
+      throw new IllegalArgumentException("Script must name a world file");
+    }
+    if (turns < 1) {
+      throw new IllegalArgumentException("Script turns must be positive");
+    }
+    this.name = scriptName;
+    this.worldFile = world;
+    this.maxTurns = turns;
+    this.seed = randomSeed;
+    this.inputs = Collections.unmodifiableList(new ArrayList<>(scriptInputs));
+    this.golden = goldenOutput;
+  }
+
+  /**
+   * Loads a script file and its golden output, if present.
+   *
+   * @param scriptFile the script file
+   * @return the loaded script
+   * @throws IOException if a file cannot be read
+   * @throws IllegalArgumentException if the script is malformed
+   */
+  public static TranscriptScript load(Path scriptFile) throws IOException {
+    List<String> lines = Files.readAllLines(scriptFile, StandardCharsets.UTF_8);
+    String world = null;
+    int turns = 0;
+    long seed = 0;
+    int index = 0;
+    for (; index < lines.size() && !SEPARATOR.equals(lines.get(index).trim()); index++) {
+      String line = lines.get(index).trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      int colon = line.indexOf(':');
+      if (colon < 0) {
+        throw new IllegalArgumentException("Invalid script setting: " + line);
+      }
+      String key = line.substring(0, colon).trim();
+      String value = line.substring(colon + 1).trim();
+      switch (key) {
+        case "world":
+          world = value;
+          break;
+        case "turns":
+          turns = Integer.parseInt(value);
+          break;
+        case "seed":
+          seed = Long.parseLong(value);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown script setting: " + key);
+      }
+    }
+    if (index == lines.size()) {
+      throw new IllegalArgumentException("Script has no '" + SEPARATOR + "' line");
+    }
+    List<String> inputs = new ArrayList<>(lines.subList(index + 1, lines.size()));
+
+    String name = baseName(scriptFile);
+    Path goldenFile = scriptFile.resolveSibling(name + GOLDEN_EXTENSION);
+    String golden = Files.exists(goldenFile)
+        ? new String(Files.readAllBytes(goldenFile), StandardCharsets.UTF_8) : null;
+    return new TranscriptScript(name, world, turns, seed, inputs, golden);
+  }
+
+  /**
+   * Gets a script file's name without its extension.
+   *
+   * @param scriptFile the script file
+   * @return the base name
+   */
+  static String baseName(Path scriptFile) {
+    String fileName = scriptFile.getFileName().toString();
+    return fileName.endsWith(SCRIPT_EXTENSION)
+        ? fileName.substring(0, fileName.length() - SCRIPT_EXTENSION.length()) : fileName;
+  }
+
+  /**
+   * Gets the name of the script.
+   *
+   * @return the script name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the path of the world file.
+   *
+   * @return the world file
+   */
+  public String getWorldFile() {
+    return worldFile;
+  }
+
+  /**
+   * Gets the maximum number of turns.
+   *
+   * @return the maximum number of turns
+   */
+  public int getMaxTurns() {
+    return maxTurns;
+  }
+
+  /**
+   * Gets the seed of the game's random service.
+   *
+   * @return the seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Gets the input lines.
+   *
+   * @return an unmodifiable list of input lines
+   */
+  public List<String> getInputs() {
+    return inputs;
+  }
+
+  /**
+   * Gets the expected output.
+   *
+   * @return the golden output, or null if none was recorded
+   */
+  public String getGolden() {
+    return golden;
+  }
+}
@@ -0,0 +1,407 @@
+package controller.strategy;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import model.random.RandomService;
+import model.random.SplittableRandomService;
+import model.town.TownLoader;
+import model.town.offheap.WorldLayout;
+
+/**
+ * BatchSimulator plays many games of computer players in lockstep, with every seat following
+ * the {@link PriorityStrategy} rules. Instead of one object graph per game it keeps each
+ * attribute of every game in one primitive array: player places, target index and health, pet
+ * places, which items are taken, and the damage of every carried item. Each call to
+ * {@link #step()} plays one action in every unfinished game by sweeping those arrays.
+ *
+ * <p>A game started from a seed ends with the same winner on the same turn as
+ * {@link HeadlessGame} playing the same seed with priority strategies in every seat.
+ */
+public final class BatchSimulator {
+  /**
+   * The winner recorded for a game that is still being played.
+   */
+  public static final int RUNNING = -2;
+
+  /**
+   * The winner recorded for a game the target survived.
+   */
+  public static final int ESCAPED = -1;
+
+  private static final int CARRY_LIMIT = HeadlessGame.CARRY_LIMIT;
+
+  private final int seats;
+  private final int maxTurns;
+  private final int games;
+  private final int placeCount;
+  private final int itemCount;
+  private final int targetStartHealth;
+
+  private final int[] neighborStart;
+  private final int[] neighborIds;
+  private final boolean[] adjacent;
+  private final int[] placeItemStart;
+  private final int[] placeItemIds;
+  private final int[] itemDamage;
+
+  private final int[] turn;
+  private final int[] currentSeat;
+  private final int[] targetIndex;
+  private final int[] targetHealth;
+  private final int[] petPlace;
+  private final int[] winner;
+  private final RandomService[] randoms;
+  private final int[] playerPlace;
+  private final int[] carriedCount;
+  private final int[] carriedDamage;
+  private final boolean[] itemTaken;
+  private int running;
+
+  /**
+   * Constructs a new BatchSimulator with room for a fixed number of games.
+   *
+   * @param layout       the world to play on
+   * @param seatCount    the number of computer players in each game
+   * @param gameMaxTurns the maximum number of turns per game
+   * @param batchSize    the number of games played together
+   * @throws IllegalArgumentException if the layout is null, two items share a name, fewer than
+   *                                  two seats are given, or the turns or batch size are not
+   *                                  positive
+   */
+  public BatchSimulator(WorldLayout layout, int seatCount, int gameMaxTurns, int batchSize) {
+    if (layout == null) {
+      throw new IllegalArgumentException("World layout cannot be null");
+    }
+    if (seatCount < 2) {
+      throw new IllegalArgumentException("A game needs at least two seats");
+    }
+    if (gameMaxTurns <= 0) {
+      throw new IllegalArgumentException("Maximum turns must be positive");
+    }
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive");
+    }
+    this.seats = seatCount;
+    this.maxTurns = gameMaxTurns;
+    this.games = batchSize;
+    this.placeCount = layout.getPlaceCount();
+    this.itemCount = layout.getItemCount();
+    this.targetStartHealth = layout.getTargetHealth();
+
+    this.neighborStart = new int[placeCount + 2];
+    this.adjacent = new boolean[(placeCount + 1) * (placeCount + 1)];
+    for (int place = 1; place <= placeCount; place++) {
+      neighborStart[place + 1] = neighborStart[place] + layout.getNeighborCount(place);
+    }
+    this.neighborIds = new int[neighborStart[placeCount + 1]];
+    for (int place = 1; place <= placeCount; place++) {
+      for (int n = 0; n < layout.getNeighborCount(place); n++) {
+        int neighbor = layout.getNeighbor(place, n);
+        neighborIds[neighborStart[place] + n] = neighbor;
+        adjacent[place * (placeCount + 1) + neighbor] = true;
+      }
+    }
+
+    Set<String> names = new HashSet<>();
+    this.itemDamage = new int[itemCount];
+    this.placeItemStart = new int[placeCount + 2];
+    for (int item = 0; item < itemCount; item++) {
+      if (!names.add(layout.getItem(item).getName())) {
+        throw new IllegalArgumentException(
+            "Item names must be unique: " + layout.getItem(item).getName());
+      }
+      itemDamage[item] = layout.getItem(item).getDamage();
+      int start = layout.getItemStartPlace(item);
+      if (start > 0) {
+        placeItemStart[start + 1]++;
+      }
+    }
+    for (int place = 1; place <= placeCount; place++) {
+      placeItemStart[place + 1] += placeItemStart[place];
+    }
+    this.placeItemIds = new int[placeItemStart[placeCount + 1]];
+    int[] fill = Arrays.copyOf(placeItemStart, placeItemStart.length);
+    for (int item = 0; item < itemCount; item++) {
+      int start = layout.getItemStartPlace(item);
+      if (start > 0) {
+        placeItemIds[fill[start]++] = item;
+      }
+    }
+
+    this.turn = new int[games];
+    this.currentSeat = new int[games];
+    this.targetIndex = new int[games];
+    this.targetHealth = new int[games];
+    this.petPlace = new int[games];
+    this.winner = new int[games];
+    this.randoms = new RandomService[games];
+    this.playerPlace = new int[games * seats];
+    this.carriedCount = new int[games * seats];
+    this.carriedDamage = new int[games * seats * CARRY_LIMIT];
+    this.itemTaken = new boolean[games * itemCount];
+  }
+
+  /**
+   * Starts a new game in every slot of the batch. Game g draws its start places and random
+   * moves from {@code seeds[g]} exactly as {@link HeadlessGame} does.
+   *
+   * @param seeds one seed per game
+   * @throws IllegalArgumentException if the number of seeds does not match the batch size
+   */
+  public void reset(long[] seeds) {
+    if (seeds == null || seeds.length != games) {
+      throw new IllegalArgumentException("Expected " + games + " seeds");
+    }
+    Arrays.fill(turn, 1);
+    Arrays.fill(currentSeat, 0);
+    Arrays.fill(targetIndex, 0);
+    Arrays.fill(targetHealth, targetStartHealth);
+    Arrays.fill(petPlace, 1);
+    Arrays.fill(winner, RUNNING);
+    Arrays.fill(carriedCount, 0);
+    Arrays.fill(itemTaken, false);
+    for (int game = 0; game < games; game++) {
+      randoms[game] = new SplittableRandomService(seeds[game]);
+      for (int seat = 0; seat < seats; seat++) {
+        playerPlace[game * seats + seat] = randoms[game].nextInt(placeCount) + 1;
+      }
+    }
+    running = games;
+  }
+
+  /**
+   * Plays one action in every game that has not finished.
+   *
+   * @return the number of games still running afterwards
+   */
+  public int step() {
+    for (int game = 0; game < games; game++) {
+      if (winner[game] == RUNNING) {
+        stepGame(game);
+      }
+    }
+    return running;
+  }
+
+  /**
+   * Plays a batch of games to the end.
+   *
+   * @param seeds one seed per game
+   */
+  public void run(long[] seeds) {
+    reset(seeds);
+    while (step() > 0) {
+      continue;
+    }
+  }
+
+  /**
+   * Plays the current player's action in one game.
+   *
+   * @param game the game
+   */
+  private void stepGame(int game) {
+    int seat = currentSeat[game];
+    int player = game * seats + seat;
+    int here = playerPlace[player];
+    int targetPlace = targetIndex[game] + 1;
+
+    if (here == targetPlace && !isVisible(game, seat, here)) {
+      if (attack(game, player)) {
+        winner[game] = seat;
+        running--;
+        return;
+      }
+    } else if (!pickUpStrongest(game, player, here)) {
+      if (carriedCount[player] > 0 && neighborStart[here + 1] > neighborStart[here]) {
+        playerPlace[player] = chooseMove(game, here, targetPlace);
+      }
+    }
+    switchToNextPlayer(game);
+  }
+
+  /**
+   * Checks if a seat can be seen: by another player in its place, or, unless the pet is there,
+   * by another player in a neighboring place.
+   *
+   * @param game the game
+   * @param seat the seat
+   * @param here the seat's place
+   * @return true if the seat is seen, false otherwise
+   */
+  private boolean isVisible(int game, int seat, int here) {
+    boolean sameRoom = false;
+    boolean nextRoom = false;
+    int row = here * (placeCount + 1);
+    for (int other = 0; other < seats; other++) {
+      if (other != seat) {
+        int there = playerPlace[game * seats + other];
+        sameRoom |= there == here;
+        nextRoom |= adjacent[row + there];
+      }
+    }
+    return sameRoom || (petPlace[game] != here && nextRoom);
+  }
+
+  /**
+   * Attacks the target with the strongest carried item, or pokes it if nothing carried does
+   * more damage than a poke.
+   *
+   * @param game   the game
+   * @param player the attacking player's slot
+   * @return true if the target was killed, false otherwise
+   */
+  private boolean attack(int game, int player) {
+    int base = player * CARRY_LIMIT;
+    int count = carriedCount[player];
+    int best = -1;
+    for (int k = 0; k < count; k++) {
+      if (best < 0 || carriedDamage[base + k] > carriedDamage[base + best]) {
+        best = k;
+      }
+    }
+    int damage = ComputerAction.POKE_DAMAGE;
+    if (best >= 0 && carriedDamage[base + best] >= ComputerAction.POKE_DAMAGE) {
+      damage = carriedDamage[base + best];
+      System.arraycopy(carriedDamage, base + best + 1, carriedDamage, base + best,
+          count - best - 1);
+      carriedCount[player] = count - 1;
+    }
+    targetHealth[game] = Math.max(0, targetHealth[game] - damage);
+    return targetHealth[game] <= 0;
+  }
+
+  /**
+   * Picks up the strongest item lying in a place if the player has room for it.
+   *
+   * @param game   the game
+   * @param player the player's slot
+   * @param here   the player's place
+   * @return true if an item was picked up, false otherwise
+   */
+  private boolean pickUpStrongest(int game, int player, int here) {
+    int best = -1;
+    for (int i = placeItemStart[here]; i < placeItemStart[here + 1]; i++) {
+      int item = placeItemIds[i];
+      if (!itemTaken[game * itemCount + item]
+          && (best < 0 || itemDamage[item] > itemDamage[best])) {
+        best = item;
+      }
+    }
+    if (best < 0 || carriedCount[player] >= CARRY_LIMIT) {
+      return false;
+    }
+    int slot = player * CARRY_LIMIT + carriedCount[player]++;
+    carriedDamage[slot] = itemDamage[best];
+    itemTaken[game * itemCount + best] = true;
+    return true;
+  }
+
+  /**
+   * Chooses where an armed player moves: to the target if it is next door, otherwise to a
+   * random neighbor.
+   *
+   * @param game        the game
+   * @param here        the player's place
+   * @param targetPlace the target's place
+   * @return the place to move to
+   */
+  private int chooseMove(int game, int here, int targetPlace) {
+    int first = neighborStart[here];
+    int last = neighborStart[here + 1];
+    if (adjacent[here * (placeCount + 1) + targetPlace]) {
+      return targetPlace;
+    }
+    return neighborIds[first + randoms[game].nextInt(last - first)];
+  }
+
+  /**
+   * Passes the turn on, moving the target when a round completes and ending the game once the
+   * turns run out.
+   *
+   * @param game the game
+   */
+  private void switchToNextPlayer(int game) {
+    int next = currentSeat[game] + 1;
+    if (next == seats) {
+      next = 0;
+      turn[game]++;
+      targetIndex[game] = targetIndex[game] < placeCount - 1 ? targetIndex[game] + 1 : 0;
+      if (turn[game] > maxTurns) {
+        winner[game] = ESCAPED;
+        running--;
+      }
+    }
+    currentSeat[game] = next;
+  }
+
+  /**
+   * Gets the number of games in the batch.
+   *
+   * @return the batch size
+   */
+  public int getGameCount() {
+    return games;
+  }
+
+  /**
+   * Gets the seat that won a game.
+   *
+   * @param game the game
+   * @return the winning seat, {@link #ESCAPED} if the target survived, or {@link #RUNNING}
+   */
+  public int getWinner(int game) {
+    return winner[game];
+  }
+
+  /**
+   * Gets the turn a game is on, which is the final turn once it has finished.
+   *
+   * @param game the game
+   * @return the turn number
+   */
+  public int getTurns(int game) {
+    return turn[game];
+  }
+
+  /**
+   * Compares the batch simulator's speed with playing the same games one at a time.
+   *
+   * @param args the world file, then optionally the number of games, seats and max turns
+   * @throws IOException if the world cannot be loaded
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.out.println("Usage: java controller.strategy.BatchSimulator <world> "
+          + "[games] [seats] [max_turns]");
+      return;
+    }
+    int games = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+    int seatCount = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+    int turns = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+    long[] seeds = new long[games];
+    for (int game = 0; game < games; game++) {
+      seeds[game] = game + 1;
+    }
+
+    long start = System.nanoTime();
+    HeadlessGame headless = new HeadlessGame(args[0], turns);
+    ComputerStrategy[] strategies = new ComputerStrategy[seatCount];
+    Arrays.fill(strategies, new PriorityStrategy());
+    for (long seed : seeds) {
+      headless.play(Arrays.asList(strategies), seed);
+    }
+    double oneAtATime = (System.nanoTime() - start) / 1e9;
+
+    start = System.nanoTime();
+    BatchSimulator batch = new BatchSimulator(
+        WorldLayout.load(new TownLoader(), args[0]), seatCount, turns, games);
+    batch.run(seeds);
+    double batched = (System.nanoTime() - start) / 1e9;
+
+    System.out.printf("one at a time: %.0f games/s%n", games / oneAtATime);
+    System.out.printf("batched:       %.0f games/s%n", games / batched);
+  }
+}
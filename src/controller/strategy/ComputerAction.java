@@ -0,0 +1,137 @@
+package controller.strategy;
+
+/**
+ * ComputerAction is the move a computer strategy chooses for one turn.
+ * It only describes the decision; the controller or game runner carries it out against the
+ * model and reports it to the player.
+ */
+public final class ComputerAction {
+  /**
+   * The name the model uses for an attack without an item.
+   */
+  public static final String POKE = "Poke Target";
+
+  /**
+   * The damage of an attack without an item.
+   */
+  public static final int POKE_DAMAGE = 1;
+
+  private static final ComputerAction LOOK_AROUND = new ComputerAction(Type.LOOK_AROUND, null, 0);
+
+  private final Type type;
+  private final String itemName;
+  private final int value;
+
+  /**
+   * Constructs a new ComputerAction.
+   *
+   * @param actionType  the kind of action
+   * @param actionItem  the item to attack with or pick up, or null
+   * @param actionValue the attack damage or the destination place number
+   */
+  private ComputerAction(Type actionType, String actionItem, int actionValue) {
+    this.type = actionType;
+    this.itemName = actionItem;
+    this.value = actionValue;
+  }
+
+  /**
+   * Creates an attack on the target.
+   *
+   * @param item   the name of the item to attack with, or {@link #POKE}
+   * @param damage the damage of the item
+   * @return the action
+   */
+  public static ComputerAction attack(String item, int damage) {
+    return new ComputerAction(Type.ATTACK, item, damage);
+  }
+
+  /**
+   * Creates a pick-up of an item in the player's place.
+   *
+   * @param item the name of the item
+   * @return the action
+   */
+  public static ComputerAction pickUp(String item) {
+    return new ComputerAction(Type.PICK_UP, item, 0);
+  }
+
+  /**
+   * Creates a move to a neighboring place.
+   *
+   * @param placeNumber the destination place number
+   * @return the action
+   */
+  public static ComputerAction move(int placeNumber) {
+    return new ComputerAction(Type.MOVE, null, placeNumber);
+  }
+
+  /**
+   * Gets the look-around action.
+   *
+   * @return the action
+   */
+  public static ComputerAction lookAround() {
+    return LOOK_AROUND;
+  }
+
+  /**
+   * Gets the kind of action.
+   *
+   * @return the action type
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Gets the item to attack with or pick up.
+   *
+   * @return the item name, or null for moves and looking around
+   */
+  public String getItemName() {
+    return itemName;
+  }
+
+  /**
+   * Gets the damage of an attack.
+   *
+   * @return the damage
+   */
+  public int getDamage() {
+    return value;
+  }
+
+  /**
+   * Gets the destination of a move.
+   *
+   * @return the destination place number
+   */
+  public int getPlaceNumber() {
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    switch (type) {
+      case ATTACK:
+        return "ATTACK " + itemName + " (" + value + ")";
+      case PICK_UP:
+        return "PICK_UP " + itemName;
+      case MOVE:
+        return "MOVE " + value;
+      default:
+        return type.name();
+    }
+  }
+
+  /**
+   * The kinds of action a computer player can take.
+   */
+  public enum Type {
+    ATTACK,
+    PICK_UP,
+    MOVE,
+    LOOK_AROUND
+  }
+}
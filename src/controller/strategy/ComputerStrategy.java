@@ -0,0 +1,30 @@
+package controller.strategy;
+
+import model.player.Player;
+import model.random.RandomService;
+import model.town.Town;
+
+/**
+ * The ComputerStrategy interface defines how a computer-controlled player chooses its action.
+ * A strategy only reads the model; the caller carries the chosen action out. Strategies must
+ * draw every random choice from the given service so that games stay reproducible, and should
+ * keep no per-game state so one instance can serve many games at once.
+ */
+public interface ComputerStrategy {
+  /**
+   * Chooses the action for the player whose turn it is.
+   *
+   * @param town   the game state
+   * @param player the computer player taking the turn
+   * @param random the game's source of randomness
+   * @return the chosen action
+   */
+  ComputerAction chooseAction(Town town, Player player, RandomService random);
+
+  /**
+   * Gets a short name for reports.
+   *
+   * @return the strategy name
+   */
+  String getName();
+}
@@ -0,0 +1,63 @@
+package controller.strategy;
+
+import model.item.Item;
+import model.place.Place;
+import model.player.Player;
+import model.random.RandomService;
+import model.town.Town;
+
+/**
+ * A computer strategy that arms itself before hunting:
+ * 1. Attack the target with the strongest item if in its place and unseen.
+ * 2. Pick up the strongest item in the place if there is room to carry it.
+ * 3. While carrying nothing, move to the neighbor with the most item damage within
+ *    {@link #FORAGE_HOPS} moves of it, if there is any.
+ * 4. Otherwise hunt like {@link HunterStrategy}: step toward the target, or wait for it.
+ * Like the hunter it makes no use of the random service.
+ */
+public class ForagerStrategy implements ComputerStrategy {
+  /**
+   * How far past each neighbor the forager looks for items.
+   */
+  static final int FORAGE_HOPS = 2;
+
+  @Override
+  public ComputerAction chooseAction(Town town, Player player, RandomService random) {
+    if (StrategySupport.canAttack(town, player)) {
+      return StrategySupport.strongestAttack(player);
+    }
+
+    Place place = StrategySupport.placeOf(town, player);
+    Item best = place.getBestItem();
+    if (best != null && StrategySupport.hasRoom(player)) {
+      return ComputerAction.pickUp(best.getName());
+    }
+
+    if (player.getCurrentCarriedItems().isEmpty()) {
+      Place richest = null;
+      int richestDamage = 0;
+      for (Place neighbor : place.getNeighbors()) {
+        int damage = neighbor.getDamageWithin(FORAGE_HOPS);
+        if (damage > richestDamage) {
+          richest = neighbor;
+          richestDamage = damage;
+        }
+      }
+      if (richest != null) {
+        return ComputerAction.move(richest.getPlaceId());
+      }
+    }
+
+    int step = StrategySupport.firstStepToward(town, place,
+        StrategySupport.targetPlaceNumber(town));
+    if (step > 0) {
+      return ComputerAction.move(step);
+    }
+    return ComputerAction.lookAround();
+  }
+
+  @Override
+  public String getName() {
+    return "forager";
+  }
+}
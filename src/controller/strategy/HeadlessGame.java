@@ -0,0 +1,170 @@
+package controller.strategy;
+
+import java.io.IOException;
+import java.util.List;
+import model.player.Player;
+import model.random.RandomService;
+import model.random.SplittableRandomService;
+import model.town.Town;
+import model.town.TownLoader;
+import model.town.TownModel;
+import view.output.DiscardOutputSink;
+
+/**
+ * HeadlessGame plays one game between computer players with no view attached. It applies the
+ * strategies' actions to the model with the same turn rules as the controllers, which makes it
+ * cheap enough to play thousands of games when comparing strategies.
+ */
+public final class HeadlessGame {
+  /**
+   * The carry limit given to every seat, matching the text controller's computer players.
+   */
+  public static final int CARRY_LIMIT = 5;
+
+  private final String worldFile;
+  private final int maxTurns;
+
+  /**
+   * Constructs a new HeadlessGame.
+   *
+   * @param gameWorldFile the world file to load for each game
+   * @param gameMaxTurns  the maximum number of turns per game
+   * @throws IllegalArgumentException if the world file is null or the turns are not positive
+   */
+  public HeadlessGame(String gameWorldFile, int gameMaxTurns) {
+    if (gameWorldFile == null) {
+      throw new IllegalArgumentException("World file cannot be null");
+    }
+    if (gameMaxTurns <= 0) {
+      throw new IllegalArgumentException("Maximum turns must be positive");
+    }
+    this.worldFile = gameWorldFile;
+    this.maxTurns = gameMaxTurns;
+  }
+
+  /**
+   * Plays one game. Seat i is played by the i-th strategy and starts in a random place.
+   *
+   * @param seats the strategies, in turn order
+   * @param seed  the seed for start places and the strategies' random choices
+   * @return the outcome of the game
+   * @throws IOException if the world cannot be loaded
+   * @throws IllegalArgumentException if fewer than two seats are given
+   */
+  public Result play(List<ComputerStrategy> seats, long seed) throws IOException {
+    if (seats == null || seats.size() < 2) {
+      throw new IllegalArgumentException("A game needs at least two seats");
+    }
+    return play(new TownModel(new TownLoader(), worldFile, DiscardOutputSink.INSTANCE, maxTurns),
+        seats, seed);
+  }
+
+  /**
+   * Plays one game on a town the caller has built, which must hold no players yet. This lets
+   * the same game be played on any {@link Town} implementation.
+   *
+   * @param town  the fresh town to play on
+   * @param seats the strategies, in turn order
+   * @param seed  the seed for start places and the strategies' random choices
+   * @return the outcome of the game
+   * @throws IOException if writing game output fails
+   * @throws IllegalArgumentException if the town is null or fewer than two seats are given
+   */
+  public Result play(Town town, List<ComputerStrategy> seats, long seed) throws IOException {
+    if (town == null) {
+      throw new IllegalArgumentException("Town cannot be null");
+    }
+    if (seats == null || seats.size() < 2) {
+      throw new IllegalArgumentException("A game needs at least two seats");
+    }
+    RandomService random = new SplittableRandomService(seed);
+    int placeCount = town.getPlaces().size();
+    for (int seat = 0; seat < seats.size(); seat++) {
+      town.addPlayer("Computer-" + (seat + 1), random.nextInt(placeCount) + 1, CARRY_LIMIT, true);
+    }
+
+    while (!town.isGameOver()) {
+      int seat = town.getCurrentPlayerIndex();
+      Player player = town.getPlayers().get(seat);
+      ComputerAction action = seats.get(seat).chooseAction(town, player, random);
+      if (perform(town, seat, action)) {
+        return new Result(seat, town.getCurrentTurn());
+      }
+    }
+    return new Result(-1, town.getCurrentTurn());
+  }
+
+  /**
+   * Applies one action for the current seat and passes the turn on, unless the action killed
+   * the target.
+   *
+   * @param town   the game state
+   * @param seat   the seat taking the action
+   * @param action the action
+   * @return true if the action killed the target, false otherwise
+   * @throws IOException if writing game output fails
+   */
+  public static boolean perform(Town town, int seat, ComputerAction action)
+      throws IOException {
+    switch (action.getType()) {
+      case ATTACK:
+        if (town.attackTarget(action.getItemName())) {
+          return true;
+        }
+        town.switchToNextPlayer();
+        break;
+      case PICK_UP:
+        town.pickUpItem(action.getItemName());
+        break;
+      case MOVE:
+        town.movePlayer(seat, action.getPlaceNumber());
+        break;
+      default:
+        town.lookAround();
+    }
+    return false;
+  }
+
+  /**
+   * The outcome of one headless game.
+   */
+  public static final class Result {
+    private final int winner;
+    private final int turns;
+
+    /**
+     * Constructs a new Result.
+     *
+     * @param winningSeat the seat that killed the target, or -1 if the target escaped
+     * @param turnCount   the turn the game ended on
+     */
+    Result(int winningSeat, int turnCount) {
+      this.winner = winningSeat;
+      this.turns = turnCount;
+    }
+
+    /**
+     * Gets the seat that killed the target.
+     *
+     * @return the winning seat, or -1 if the target escaped
+     */
+    public int getWinner() {
+      return winner;
+    }
+
+    /**
+     * Gets the turn the game ended on.
+     *
+     * @return the final turn
+     */
+    public int getTurns() {
+      return turns;
+    }
+
+    @Override
+    public String toString() {
+      return winner < 0 ? "escaped after " + turns + " turns"
+          : "seat " + winner + " won on turn " + turns;
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package controller.strategy;
+
+import model.item.Item;
+import model.place.Place;
+import model.player.Player;
+import model.random.RandomService;
+import model.town.Town;
+
+/**
+ * A computer strategy that heads straight for the target:
+ * 1. Attack the target with the strongest item if in its place and unseen.
+ * 2. Pick up the strongest item in the place if there is room to carry it.
+ * 3. Move one step along a shortest path to the target's place.
+ * 4. Look around, which waits in the target's place until no one is watching.
+ * Unlike {@link PriorityStrategy} it does not wait to be armed before hunting and never moves
+ * at random, so it makes no use of the random service.
+ */
+public class HunterStrategy implements ComputerStrategy {
+
+  @Override
+  public ComputerAction chooseAction(Town town, Player player, RandomService random) {
+    if (StrategySupport.canAttack(town, player)) {
+      return StrategySupport.strongestAttack(player);
+    }
+
+    Place place = StrategySupport.placeOf(town, player);
+    Item best = place.getBestItem();
+    if (best != null && StrategySupport.hasRoom(player)) {
+      return ComputerAction.pickUp(best.getName());
+    }
+
+    int targetPlace = StrategySupport.targetPlaceNumber(town);
+    int step = StrategySupport.firstStepToward(town, place, targetPlace);
+    if (step > 0) {
+      return ComputerAction.move(step);
+    }
+    return ComputerAction.lookAround();
+  }
+
+  @Override
+  public String getName() {
+    return "hunter";
+  }
+}
@@ -0,0 +1,51 @@
+package controller.strategy;
+
+import java.util.List;
+import model.item.Item;
+import model.place.Place;
+import model.player.Player;
+import model.random.RandomService;
+import model.town.Town;
+
+/**
+ * The original computer player behaviour, a fixed list of priorities:
+ * 1. Attack the target with the strongest item if in its place and unseen.
+ * 2. Pick up the strongest item in the place if there is room to carry it.
+ * 3. If carrying items, move next to the target when it is in a neighboring place, otherwise
+ *    move to a random neighbor.
+ * 4. Look around.
+ */
+public class PriorityStrategy implements ComputerStrategy {
+
+  @Override
+  public ComputerAction chooseAction(Town town, Player player, RandomService random) {
+    if (StrategySupport.canAttack(town, player)) {
+      return StrategySupport.strongestAttack(player);
+    }
+
+    Place place = StrategySupport.placeOf(town, player);
+    Item best = place.getBestItem();
+    if (best != null && StrategySupport.hasRoom(player)) {
+      return ComputerAction.pickUp(best.getName());
+    }
+
+    List<Place> neighbors = place.getNeighbors();
+    if (!player.getCurrentCarriedItems().isEmpty() && !neighbors.isEmpty()) {
+      int targetPlace = town.getTarget().getCurrentPlaceId();
+      for (Place neighbor : neighbors) {
+        if (neighbor.getPlaceId() == targetPlace) {
+          return ComputerAction.move(targetPlace);
+        }
+      }
+      Place next = neighbors.get(random.nextInt(neighbors.size()));
+      return ComputerAction.move(next.getPlaceId());
+    }
+
+    return ComputerAction.lookAround();
+  }
+
+  @Override
+  public String getName() {
+    return "priority";
+  }
+}
@@ -0,0 +1,115 @@
+package controller.strategy;
+
+import java.util.ArrayDeque;
+import model.item.Item;
+import model.place.Place;
+import model.player.Player;
+import model.town.Town;
+
+/**
+ * Queries shared by the computer strategies.
+ */
+final class StrategySupport {
+
+  /**
+   * Prevents instantiation.
+   */
+  private StrategySupport() {
+  }
+
+  /**
+   * Gets the place a player is in.
+   *
+   * @param town   the game state
+   * @param player the player
+   * @return the player's place
+   */
+  static Place placeOf(Town town, Player player) {
+    return town.getPlaceByNumber(player.getPlayerCurrentPlaceNumber());
+  }
+
+  /**
+   * Gets the number of the place the target is in.
+   *
+   * @param town the game state
+   * @return the target's place number
+   */
+  static int targetPlaceNumber(Town town) {
+    return town.getTarget().getCurrentPlaceId();
+  }
+
+  /**
+   * Checks if the player could attack the target now: same place and unseen.
+   *
+   * @param town   the game state
+   * @param player the player
+   * @return true if an attack would be allowed, false otherwise
+   */
+  static boolean canAttack(Town town, Player player) {
+    return player.getPlayerCurrentPlaceNumber() == targetPlaceNumber(town)
+        && !town.isPlayerVisible(player);
+  }
+
+  /**
+   * Chooses the strongest attack a player has, falling back to a poke.
+   *
+   * @param player the player
+   * @return the attack action
+   */
+  static ComputerAction strongestAttack(Player player) {
+    Item best = player.getBestItem();
+    if (best == null || best.getDamage() < ComputerAction.POKE_DAMAGE) {
+      return ComputerAction.attack(ComputerAction.POKE, ComputerAction.POKE_DAMAGE);
+    }
+    return ComputerAction.attack(best.getName(), best.getDamage());
+  }
+
+  /**
+   * Checks if a player has room for another item.
+   *
+   * @param player the player
+   * @return true if the player can carry more, false otherwise
+   */
+  static boolean hasRoom(Player player) {
+    return player.getCarriedItemCount() < player.getCarryLimit();
+  }
+
+  /**
+   * Finds the first step of a shortest path between two places, searching breadth first over
+   * the neighbor lists. Neighbors are tried in list order, so ties always resolve the same way.
+   *
+   * @param town the game state
+   * @param from the starting place
+   * @param to   the number of the destination place
+   * @return the number of the neighbor to move to, or -1 if already there or unreachable
+   */
+  static int firstStepToward(Town town, Place from, int to) {
+    int start = from.getPlaceId();
+    if (start == to) {
+      return -1;
+    }
+    int[] parent = new int[town.getPlaces().size() + 1];
+    parent[start] = start;
+    ArrayDeque<Place> frontier = new ArrayDeque<>();
+    frontier.add(from);
+    while (!frontier.isEmpty()) {
+      Place place = frontier.poll();
+      int number = place.getPlaceId();
+      for (Place neighbor : place.getNeighbors()) {
+        int next = neighbor.getPlaceId();
+        if (parent[next] != 0) {
+          continue;
+        }
+        parent[next] = number;
+        if (next == to) {
+          while (parent[next] != start) {
+            next = parent[next];
+          }
+          return next;
+        }
+        frontier.add(neighbor);
+      }
+    }
+    return -1;
+  }
+}
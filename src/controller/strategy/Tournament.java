@@ -0,0 +1,353 @@
+package controller.strategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Tournament plays computer strategies against each other across worlds and seeds and reports
+ * each strategy's win rate and average turns to kill with 95% confidence intervals.
+ * Every ordered pair of distinct strategies meets on every world for the given number of seeds,
+ * so each strategy plays both seats equally often. Games are independent and run on a
+ * {@link ForkJoinPool}; each game's seed depends only on its position in the schedule, so the
+ * results do not depend on the number of threads.
+ */
+public final class Tournament {
+  private static final double Z_95 = 1.96;
+  private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+  private static final int GAMES_PER_TASK = 8;
+
+  private final List<ComputerStrategy> strategies;
+  private final List<HeadlessGame> worlds;
+  private final int seedsPerPairing;
+  private final long baseSeed;
+
+  /**
+   * Constructs a new Tournament.
+   *
+   * @param entrants   the strategies to compare, at least two
+   * @param worldFiles the world files to play on
+   * @param seeds      the number of games per pairing and world
+   * @param maxTurns   the maximum number of turns per game
+   * @param seed       the seed the games' seeds are derived from
+   * @throws IllegalArgumentException if there are fewer than two strategies, no worlds, or the
+   *                                  seeds are not positive
+   */
+  public Tournament(List<ComputerStrategy> entrants, List<String> worldFiles, int seeds,
+                    int maxTurns, long seed) {
+    if (entrants == null || entrants.size() < 2) {
+      throw new IllegalArgumentException("A tournament needs at least two strategies");
+    }
+    if (worldFiles == null || worldFiles.isEmpty()) {
+      throw new IllegalArgumentException("A tournament needs at least one world");
+    }
+    if (seeds <= 0) {
+      throw new IllegalArgumentException("Seeds per pairing must be positive");
+    }
+    this.strategies = Collections.unmodifiableList(new ArrayList<>(entrants));
+    List<HeadlessGame> games = new ArrayList<>();
+    for (String worldFile : worldFiles) {
+      games.add(new HeadlessGame(worldFile, maxTurns));
+    }
+    this.worlds = Collections.unmodifiableList(games);
+    this.seedsPerPairing = seeds;
+    this.baseSeed = seed;
+  }
+
+  /**
+   * Gets the number of games in the schedule.
+   *
+   * @return the game count
+   */
+  public int getGameCount() {
+    int pairings = strategies.size() * (strategies.size() - 1);
+    return pairings * worlds.size() * seedsPerPairing;
+  }
+
+  /**
+   * Plays every game in the schedule on the given pool.
+   *
+   * @param pool the pool to play on
+   * @return one standing per strategy, in the order the strategies were given
+   * @throws IOException if a world cannot be loaded
+   */
+  public List<Standing> run(ForkJoinPool pool) throws IOException {
+    Standing[] totals;
+    try {
+      totals = pool.invoke(new GamesTask(0, getGameCount()));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    return Collections.unmodifiableList(Arrays.asList(totals));
+  }
+
+  /**
+   * Plays the game at the given position in the schedule and records it.
+   *
+   * @param index  the position in the schedule
+   * @param totals the standings to record into
+   * @throws IOException if the world cannot be loaded
+   */
+  private void playGame(int index, Standing[] totals) throws IOException {
+    int rest = index / seedsPerPairing;
+    HeadlessGame world = worlds.get(rest % worlds.size());
+    int pairing = rest / worlds.size();
+    int first = pairing / (strategies.size() - 1);
+    int second = pairing % (strategies.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+
+    List<ComputerStrategy> seats = Arrays.asList(strategies.get(first), strategies.get(second));
+    HeadlessGame.Result result = world.play(seats, baseSeed + SEED_STEP * (index + 1L));
+    int[] seatStrategy = {first, second};
+    for (int seat = 0; seat < seatStrategy.length; seat++) {
+      totals[seatStrategy[seat]].record(seat == result.getWinner(), result.getTurns());
+    }
+  }
+
+  /**
+   * Creates one empty standing per strategy.
+   *
+   * @return the standings
+   */
+  private Standing[] emptyStandings() {
+    Standing[] standings = new Standing[strategies.size()];
+    for (int i = 0; i < standings.length; i++) {
+      standings[i] = new Standing(strategies.get(i).getName());
+    }
+    return standings;
+  }
+
+  /**
+   * Computes the Wilson score interval for a proportion.
+   *
+   * @param successes the number of successes
+   * @param trials    the number of trials
+   * @return the lower and upper bounds, or {0, 1} when there are no trials
+   */
+  static double[] wilsonInterval(int successes, int trials) {
+    if (trials == 0) {
+      return new double[] {0, 1};
+    }
+    double p = (double) successes / trials;
+    double z2 = Z_95 * Z_95;
+    double denominator = 1 + z2 / trials;
+    double center = (p + z2 / (2.0 * trials)) / denominator;
+    double halfWidth = Z_95 * Math.sqrt(p * (1 - p) / trials + z2 / (4.0 * trials * trials))
+        / denominator;
+    return new double[] {Math.max(0, center - halfWidth), Math.min(1, center + halfWidth)};
+  }
+
+  /**
+   * Splits a range of the schedule until it is small enough to play on one thread.
+   */
+  private final class GamesTask extends RecursiveTask<Standing[]> {
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+
+    /**
+     * Constructs a new GamesTask.
+     *
+     * @param fromIndex the first game, inclusive
+     * @param toIndex   the last game, exclusive
+     */
+    GamesTask(int fromIndex, int toIndex) {
+      this.from = fromIndex;
+      this.to = toIndex;
+    }
+
+    @Override
+    protected Standing[] compute() {
+      if (to - from <= GAMES_PER_TASK) {
+        Standing[] totals = emptyStandings();
+        try {
+          for (int index = from; index < to; index++) {
+            playGame(index, totals);
+          }
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        return totals;
+      }
+      int middle = (from + to) >>> 1;
+      GamesTask left = new GamesTask(from, middle);
+      left.fork();
+      Standing[] totals = new GamesTask(middle, to).compute();
+      Standing[] leftTotals = left.join();
+      for (int i = 0; i < totals.length; i++) {
+        totals[i].merge(leftTotals[i]);
+      }
+      return totals;
+    }
+  }
+
+  /**
+   * A strategy's results: games played, games won and the turns its wins took.
+   */
+  public static final class Standing {
+    private final String name;
+    private int games;
+    private int wins;
+    private long killTurns;
+    private long killTurnsSquared;
+
+    /**
+     * Constructs a new, empty Standing.
+     *
+     * @param strategyName the strategy's name
+     */
+    Standing(String strategyName) {
+      this.name = strategyName;
+    }
+
+    /**
+     * Records one game.
+     *
+     * @param won   true if this strategy killed the target
+     * @param turns the turn the game ended on
+     */
+    void record(boolean won, int turns) {
+      games++;
+      if (won) {
+        wins++;
+        killTurns += turns;
+        killTurnsSquared += (long) turns * turns;
+      }
+    }
+
+    /**
+     * Adds another standing for the same strategy into this one.
+     *
+     * @param other the standing to add
+     */
+    void merge(Standing other) {
+      games += other.games;
+      wins += other.wins;
+      killTurns += other.killTurns;
+      killTurnsSquared += other.killTurnsSquared;
+    }
+
+    /**
+     * Gets the strategy's name.
+     *
+     * @return the name
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return the game count
+     */
+    public int getGames() {
+      return games;
+    }
+
+    /**
+     * Gets the number of games won.
+     *
+     * @return the win count
+     */
+    public int getWins() {
+      return wins;
+    }
+
+    /**
+     * Gets the fraction of games won.
+     *
+     * @return the win rate, or 0 if no games were played
+     */
+    public double getWinRate() {
+      return games == 0 ? 0 : (double) wins / games;
+    }
+
+    /**
+     * Gets the 95% Wilson score interval for the win rate.
+     *
+     * @return the lower and upper bounds
+     */
+    public double[] getWinRateInterval() {
+      return wilsonInterval(wins, games);
+    }
+
+    /**
+     * Gets the mean turn on which this strategy's wins happened.
+     *
+     * @return the mean turns to kill, or NaN if it never won
+     */
+    public double getMeanTurnsToKill() {
+      return wins == 0 ? Double.NaN : (double) killTurns / wins;
+    }
+
+    /**
+     * Gets the half width of the 95% normal confidence interval for the mean turns to kill.
+     *
+     * @return the half width, or NaN with fewer than two wins
+     */
+    public double getTurnsToKillHalfWidth() {
+      if (wins < 2) {
+        return Double.NaN;
+      }
+      double mean = getMeanTurnsToKill();
+      double variance = (killTurnsSquared - wins * mean * mean) / (wins - 1);
+      return Z_95 * Math.sqrt(Math.max(0, variance) / wins);
+    }
+
+    @Override
+    public String toString() {
+      double[] interval = getWinRateInterval();
+      return String.format("%-10s %6d games  win %5.1f%% [%5.1f, %5.1f]  turns to kill %s",
+          name, games, 100 * getWinRate(), 100 * interval[0], 100 * interval[1],
+          wins == 0 ? "-" : String.format("%.2f +/- %.2f", getMeanTurnsToKill(),
+              getTurnsToKillHalfWidth()));
+    }
+  }
+
+  /**
+   * Runs a tournament between the built-in strategies.
+   *
+   * @param args comma-separated world files, then optional seeds per pairing, threads, maximum
+   *             turns and base seed
+   * @throws IOException if a world cannot be loaded
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.out.println("Usage: java controller.strategy.Tournament <world[,world...]> "
+          + "[seeds] [threads] [max_turns] [seed]");
+      return;
+    }
+    List<String> worldFiles = Arrays.asList(args[0].split(","));
+    int seeds = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+    int threads = args.length > 2 ? Integer.parseInt(args[2])
+        : Runtime.getRuntime().availableProcessors();
+    int maxTurns = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+    long seed = args.length > 4 ? Long.parseLong(args[4]) : 1L;
+
+    List<ComputerStrategy> entrants =
+        Arrays.asList(new PriorityStrategy(), new HunterStrategy(), new ForagerStrategy());
+    Tournament tournament = new Tournament(entrants, worldFiles, seeds, maxTurns, seed);
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      long start = System.nanoTime();
+      List<Standing> standings = tournament.run(pool);
+      double seconds = (System.nanoTime() - start) / 1e9;
+      for (Standing standing : standings) {
+        System.out.println(standing);
+      }
+      System.out.printf("%d games on %d threads in %.2f s (%.0f games/s)%n",
+          tournament.getGameCount(), threads, seconds, tournament.getGameCount() / seconds);
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,279 @@
+package controller.strategy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.item.Item;
+import model.place.Place;
+import model.player.Player;
+import model.random.RandomService;
+import model.random.SplittableRandomService;
+import model.town.Town;
+import model.town.TownLoader;
+import model.town.TownModel;
+import view.output.DiscardOutputSink;
+
+/**
+ * TownEnvironment wraps a {@link Town} as a reinforcement learning environment. The agent plays
+ * seat 0 against computer opponents; {@link #step(int)} applies one agent action, plays the
+ * opponents until it is the agent's turn again, and returns the reward and the new observation.
+ *
+ * <p>Actions are small integers: {@link #LOOK_AROUND}, {@link #PICK_UP} the strongest item in the
+ * room, {@link #ATTACK} with the strongest carried item, and {@link #MOVE} plus k to move to the
+ * k-th neighbor. An action that is not possible right now wastes the turn. The reward is 1 when
+ * the agent kills the target, -1 when an opponent does, and 0 otherwise.
+ *
+ * <p>The observation is a float vector of {@link #getObservationSize()} values in [0, 1]:
+ * <ol>
+ *   <li>turn progress, target health, whether the agent may attack, whether it is seen, how
+ *       full its inventory is, and its strongest carried and strongest room item damage;</li>
+ *   <li>then four blocks of one value per place: the agent's place, the target's place, the
+ *       pet's place, and the share of opponents in each place.</li>
+ * </ol>
+ *
+ * <p>The environment itself allocates nothing per step: actions are built once per place and
+ * item, and the observation is written into a reused array. On both a {@link TownModel} and a
+ * {@link model.town.offheap.ColumnarTown} the whole agent turn is then allocation free once
+ * warmed up. Opponent turns allocate whatever their strategies allocate, such as the breadth
+ * first searches of the built-in strategies.
+ */
+public final class TownEnvironment {
+  /**
+   * Action that passes the turn.
+   */
+  public static final int LOOK_AROUND = 0;
+
+  /**
+   * Action that picks up the strongest item in the agent's place.
+   */
+  public static final int PICK_UP = 1;
+
+  /**
+   * Action that attacks the target with the strongest carried item.
+   */
+  public static final int ATTACK = 2;
+
+  /**
+   * First move action; {@code MOVE + k} moves to the k-th neighbor of the agent's place.
+   */
+  public static final int MOVE = 3;
+
+  private static final int AGENT = 0;
+  private static final int SCALARS = 7;
+
+  private final Town town;
+  private final List<ComputerStrategy> opponents;
+  private final int placeCount;
+  private final int actionCount;
+  private final float maxDamage;
+  private final Transition transition;
+  private final ComputerAction[] moves;
+  private final Map<String, ComputerAction> pickUps;
+  private final Map<String, ComputerAction> attacks;
+  private final ComputerAction poke;
+  private int targetStartHealth;
+  private RandomService random;
+  private boolean done = true;
+
+  /**
+   * Constructs a new TownEnvironment on a world file.
+   *
+   * @param worldFile     the world to play on
+   * @param opponentSeats the strategies of the opponents, seated after the agent
+   * @param maxTurns      the maximum number of turns per episode
+   * @throws IOException if the world cannot be loaded
+   * @throws IllegalArgumentException if there are no opponents
+   */
+  public TownEnvironment(String worldFile, List<ComputerStrategy> opponentSeats, int maxTurns)
+      throws IOException {
+    this(new TownModel(new TownLoader(), worldFile, DiscardOutputSink.INSTANCE, maxTurns),
+        opponentSeats);
+  }
+
+  /**
+   * Constructs a new TownEnvironment on a town the caller has built. The town is reset at the
+   * start of every episode.
+   *
+   * @param gameTown      the town to play on
+   * @param opponentSeats the strategies of the opponents, seated after the agent
+   * @throws IllegalArgumentException if the town is null or there are no opponents
+   */
+  public TownEnvironment(Town gameTown, List<ComputerStrategy> opponentSeats) {
+    if (gameTown == null) {
+      throw new IllegalArgumentException("Town cannot be null");
+    }
+    if (opponentSeats == null || opponentSeats.isEmpty()) {
+      throw new IllegalArgumentException("An environment needs at least one opponent");
+    }
+    this.town = gameTown;
+    this.opponents = new ArrayList<>(opponentSeats);
+    this.placeCount = gameTown.getPlaces().size();
+    this.moves = new ComputerAction[placeCount + 1];
+    this.pickUps = new HashMap<>();
+    this.attacks = new HashMap<>();
+    this.poke = ComputerAction.attack(ComputerAction.POKE, ComputerAction.POKE_DAMAGE);
+    int mostNeighbors = 0;
+    int strongest = 1;
+    for (Place place : gameTown.getPlaces()) {
+      moves[place.getPlaceId()] = ComputerAction.move(place.getPlaceId());
+      mostNeighbors = Math.max(mostNeighbors, place.getNeighbors().size());
+      for (Item item : place.getItems()) {
+        strongest = Math.max(strongest, item.getDamage());
+        pickUps.put(item.getName(), ComputerAction.pickUp(item.getName()));
+        attacks.put(item.getName(), ComputerAction.attack(item.getName(), item.getDamage()));
+      }
+    }
+    this.actionCount = MOVE + mostNeighbors;
+    this.maxDamage = strongest;
+    this.transition = new Transition(SCALARS + 4 * placeCount);
+  }
+
+  /**
+   * Gets the number of actions; valid actions are 0 to this count minus one.
+   *
+   * @return the action count
+   */
+  public int getActionCount() {
+    return actionCount;
+  }
+
+  /**
+   * Gets the length of the observation vector.
+   *
+   * @return the observation size
+   */
+  public int getObservationSize() {
+    return transition.getObservation().length;
+  }
+
+  /**
+   * Starts a new episode. Start places and the opponents' random choices come from the seed.
+   *
+   * @param seed the episode seed
+   * @return the first observation, with no reward
+   * @throws IOException if the town cannot be reset
+   */
+  public Transition reset(long seed) throws IOException {
+    town.resetGameState();
+    random = new SplittableRandomService(seed);
+    targetStartHealth = Math.max(1, town.getTargetHealth());
+    town.addPlayer("Agent", random.nextInt(placeCount) + 1, HeadlessGame.CARRY_LIMIT, false);
+    for (int seat = 1; seat <= opponents.size(); seat++) {
+      town.addPlayer("Computer-" + seat, random.nextInt(placeCount) + 1, HeadlessGame.CARRY_LIMIT,
+          true);
+    }
+    done = false;
+    encode(transition.getObservation(), 0);
+    transition.set(0f, false);
+    return transition;
+  }
+
+  /**
+   * Plays one agent action, then the opponents' turns.
+   *
+   * @param action the action, from 0 to {@link #getActionCount()} minus one
+   * @return the transition, reused by every call
+   * @throws IOException if writing game output fails
+   * @throws IllegalArgumentException if the action is out of range
+   * @throws IllegalStateException if the episode is over
+   */
+  public Transition step(int action) throws IOException {
+    if (action < 0 || action >= actionCount) {
+      throw new IllegalArgumentException("Invalid action: " + action);
+    }
+    if (done) {
+      throw new IllegalStateException("Episode is over; call reset first");
+    }
+    float reward = 0f;
+    if (HeadlessGame.perform(town, AGENT, toComputerAction(action))) {
+      reward = 1f;
+      done = true;
+    }
+    while (!done && !town.isGameOver() && town.getCurrentPlayerIndex() != AGENT) {
+      int seat = town.getCurrentPlayerIndex();
+      Player player = town.getPlayers().get(seat);
+      ComputerAction move = opponents.get(seat - 1).chooseAction(town, player, random);
+      if (HeadlessGame.perform(town, seat, move)) {
+        reward = -1f;
+        done = true;
+      }
+    }
+    done |= town.isGameOver();
+    encode(transition.getObservation(), 0);
+    transition.set(reward, done);
+    return transition;
+  }
+
+  /**
+   * Translates an agent action into a game action, wasting the turn if it is not possible. The
+   * actions come from the tables built by the constructor.
+   *
+   * @param action the agent action
+   * @return the game action
+   */
+  private ComputerAction toComputerAction(int action) {
+    Player agent = town.getPlayers().get(AGENT);
+    Place place = StrategySupport.placeOf(town, agent);
+    if (action == ATTACK && StrategySupport.canAttack(town, agent)) {
+      Item best = agent.getBestItem();
+      if (best == null || best.getDamage() < ComputerAction.POKE_DAMAGE) {
+        return poke;
+      }
+      ComputerAction attack = attacks.get(best.getName());
+      return attack != null ? attack : StrategySupport.strongestAttack(agent);
+    }
+    if (action == PICK_UP && StrategySupport.hasRoom(agent)) {
+      Item best = place.getBestItem();
+      if (best != null) {
+        ComputerAction pickUp = pickUps.get(best.getName());
+        return pickUp != null ? pickUp : ComputerAction.pickUp(best.getName());
+      }
+    }
+    if (action >= MOVE && action - MOVE < place.getNeighbors().size()) {
+      return moves[place.getNeighbors().get(action - MOVE).getPlaceId()];
+    }
+    return ComputerAction.lookAround();
+  }
+
+  /**
+   * Writes the current observation into an array.
+   *
+   * @param out    the array to write to
+   * @param offset the index of the first value
+   */
+  void encode(float[] out, int offset) {
+    Player agent = town.getPlayers().get(AGENT);
+    int here = agent.getPlayerCurrentPlaceNumber();
+    Item bestCarried = agent.getBestItem();
+    Item bestInRoom = town.getPlaceByNumber(here).getBestItem();
+    boolean seen = town.isPlayerVisible(agent);
+
+    out[offset] = Math.min(1f, town.getCurrentTurn() / (float) town.getMaxTurns());
+    out[offset + 1] = town.getTargetHealth() / (float) targetStartHealth;
+    out[offset + 2] = !seen && here == StrategySupport.targetPlaceNumber(town) ? 1f : 0f;
+    out[offset + 3] = seen ? 1f : 0f;
+    out[offset + 4] = agent.getCarriedItemCount() / (float) agent.getCarryLimit();
+    out[offset + 5] = bestCarried == null ? 0f : bestCarried.getDamage() / maxDamage;
+    out[offset + 6] = bestInRoom == null ? 0f : bestInRoom.getDamage() / maxDamage;
+
+    int places = offset + SCALARS - 1;
+    int targets = places + placeCount;
+    int pets = targets + placeCount;
+    int rivals = pets + placeCount;
+    for (int place = 1; place <= placeCount; place++) {
+      out[places + place] = 0f;
+      out[targets + place] = 0f;
+      out[pets + place] = 0f;
+      out[rivals + place] = 0f;
+    }
+    out[places + here] = 1f;
+    out[targets + StrategySupport.targetPlaceNumber(town)] = 1f;
+    out[pets + town.getPetPlaceNumber()] = 1f;
+    float share = 1f / opponents.size();
+    for (int seat = 1; seat <= opponents.size(); seat++) {
+      out[rivals + town.getPlayerCurrPlaceNumber(seat)] += share;
+    }
+  }
+}
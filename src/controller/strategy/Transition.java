@@ -0,0 +1,60 @@
+package controller.strategy;
+
+/**
+ * Transition is the result of resetting or stepping a {@link TownEnvironment}: the observation
+ * after the step, the reward the agent earned and whether the episode is over. An environment
+ * reuses one Transition and one observation array for its whole life, so a caller that keeps
+ * values across steps must copy them.
+ */
+public final class Transition {
+  private final float[] observation;
+  private float reward;
+  private boolean done;
+
+  /**
+   * Constructs a new Transition.
+   *
+   * @param observationSize the length of the observation vector
+   */
+  Transition(int observationSize) {
+    this.observation = new float[observationSize];
+  }
+
+  /**
+   * Records the outcome of a step.
+   *
+   * @param stepReward the reward earned
+   * @param episodeDone true if the episode is over
+   */
+  void set(float stepReward, boolean episodeDone) {
+    this.reward = stepReward;
+    this.done = episodeDone;
+  }
+
+  /**
+   * Gets the observation vector, which is overwritten by the next step.
+   *
+   * @return the observation
+   */
+  public float[] getObservation() {
+    return observation;
+  }
+
+  /**
+   * Gets the reward earned by the last step.
+   *
+   * @return the reward
+   */
+  public float getReward() {
+    return reward;
+  }
+
+  /**
+   * Checks if the episode is over.
+   *
+   * @return true if the episode is over, false otherwise
+   */
+  public boolean isDone() {
+    return done;
+  }
+}
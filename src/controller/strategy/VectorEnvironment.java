@@ -0,0 +1,230 @@
+package controller.strategy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import model.random.RandomService;
+import model.random.SplittableRandomService;
+
+/**
+ * VectorEnvironment steps many {@link TownEnvironment}s together on a fork/join pool. Actions,
+ * observations, rewards and done flags are held in flat arrays indexed by environment, and the
+ * pool tasks are built once and reinitialized on every step. An environment whose episode ends
+ * is reset straight away, so after a step its done flag is set and its observation already
+ * belongs to the next episode.
+ */
+public final class VectorEnvironment {
+  /**
+   * The number of environments stepped by one pool task.
+   */
+  static final int ENVS_PER_TASK = 4;
+
+  private final List<TownEnvironment> environments;
+  private final ForkJoinPool pool;
+  private final RandomService[] episodeSeeds;
+  private final int observationSize;
+  private final int actionCount;
+  private final float[] observations;
+  private final float[] rewards;
+  private final boolean[] dones;
+  private final int[] actions;
+  private final Chunk[] chunks;
+  private final RecursiveAction root;
+  private boolean resetting;
+
+  /**
+   * Constructs a new VectorEnvironment.
+   *
+   * @param envs       the environments, all on worlds of the same shape
+   * @param workerPool the pool to step them on
+   * @param seed       the seed episode seeds are drawn from
+   * @throws IllegalArgumentException if there are no environments, no pool, or the
+   *                                  environments differ in observation or action count
+   */
+  public VectorEnvironment(List<TownEnvironment> envs, ForkJoinPool workerPool, long seed) {
+    if (envs == null || envs.isEmpty()) {
+      throw new IllegalArgumentException("Environments cannot be empty");
+    }
+    if (workerPool == null) {
+      throw new IllegalArgumentException("Pool cannot be null");
+    }
+    this.environments = new ArrayList<>(envs);
+    this.pool = workerPool;
+    this.observationSize = envs.get(0).getObservationSize();
+    this.actionCount = envs.get(0).getActionCount();
+    RandomService seeds = new SplittableRandomService(seed);
+    this.episodeSeeds = new RandomService[envs.size()];
+    for (int i = 0; i < envs.size(); i++) {
+      TownEnvironment env = envs.get(i);
+      if (env.getObservationSize() != observationSize || env.getActionCount() != actionCount) {
+        throw new IllegalArgumentException("Environments must share one world shape");
+      }
+      episodeSeeds[i] = seeds.split();
+    }
+    this.observations = new float[envs.size() * observationSize];
+    this.rewards = new float[envs.size()];
+    this.dones = new boolean[envs.size()];
+    this.actions = new int[envs.size()];
+    this.chunks = new Chunk[(envs.size() + ENVS_PER_TASK - 1) / ENVS_PER_TASK];
+    for (int c = 0; c < chunks.length; c++) {
+      chunks[c] = new Chunk(c * ENVS_PER_TASK, Math.min(envs.size(), (c + 1) * ENVS_PER_TASK));
+    }
+    this.root = new RecursiveAction() {
+      @Override
+      protected void compute() {
+        ForkJoinTask.invokeAll(chunks);
+      }
+    };
+  }
+
+  /**
+   * Starts a new episode in every environment.
+   *
+   * @return the observations, one block of {@link #getObservationSize()} values per environment
+   * @throws IOException if an environment cannot be reset
+   */
+  public float[] reset() throws IOException {
+    resetting = true;
+    runChunks();
+    return observations;
+  }
+
+  /**
+   * Plays one action in every environment.
+   *
+   * @param stepActions one action per environment
+   * @return the observations, one block of {@link #getObservationSize()} values per environment
+   * @throws IOException if writing game output fails
+   * @throws IllegalArgumentException if the number of actions does not match
+   */
+  public float[] step(int[] stepActions) throws IOException {
+    if (stepActions == null || stepActions.length != actions.length) {
+      throw new IllegalArgumentException("Expected " + actions.length + " actions");
+    }
+    System.arraycopy(stepActions, 0, actions, 0, actions.length);
+    resetting = false;
+    runChunks();
+    return observations;
+  }
+
+  /**
+   * Runs every chunk on the pool and waits for them.
+   *
+   * @throws IOException if an environment failed
+   */
+  private void runChunks() throws IOException {
+    root.reinitialize();
+    for (Chunk chunk : chunks) {
+      chunk.reinitialize();
+    }
+    try {
+      pool.invoke(root);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Resets or steps one environment and copies its results into the shared arrays.
+   *
+   * @param index the environment
+   * @throws IOException if the environment failed
+   */
+  private void advance(int index) throws IOException {
+    TownEnvironment env = environments.get(index);
+    Transition transition;
+    if (resetting) {
+      transition = env.reset(episodeSeeds[index].nextLong());
+    } else {
+      transition = env.step(actions[index]);
+    }
+    rewards[index] = transition.getReward();
+    dones[index] = transition.isDone();
+    if (transition.isDone()) {
+      transition = env.reset(episodeSeeds[index].nextLong());
+    }
+    System.arraycopy(transition.getObservation(), 0, observations, index * observationSize,
+        observationSize);
+  }
+
+  /**
+   * Gets the number of environments.
+   *
+   * @return the environment count
+   */
+  public int size() {
+    return environments.size();
+  }
+
+  /**
+   * Gets the length of one environment's observation.
+   *
+   * @return the observation size
+   */
+  public int getObservationSize() {
+    return observationSize;
+  }
+
+  /**
+   * Gets the number of actions each environment accepts.
+   *
+   * @return the action count
+   */
+  public int getActionCount() {
+    return actionCount;
+  }
+
+  /**
+   * Gets the rewards of the last step, overwritten by the next one.
+   *
+   * @return one reward per environment
+   */
+  public float[] getRewards() {
+    return rewards;
+  }
+
+  /**
+   * Gets the done flags of the last step, overwritten by the next one.
+   *
+   * @return one flag per environment
+   */
+  public boolean[] getDones() {
+    return dones;
+  }
+
+  /**
+   * A pool task that advances a fixed range of environments.
+   */
+  private final class Chunk extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+
+    /**
+     * Constructs a new Chunk.
+     *
+     * @param first the first environment, inclusive
+     * @param last  the last environment, exclusive
+     */
+    Chunk(int first, int last) {
+      this.from = first;
+      this.to = last;
+    }
+
+    @Override
+    protected void compute() {
+      try {
+        for (int i = from; i < to; i++) {
+          advance(i);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,213 @@
+package controller.support;
+
+import controller.command.GameCommand;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A multi-producer, single-consumer queue of game commands between views and a controller.
+ * Any thread may submit single commands or batches. Submissions are appended to a lock-free
+ * {@link MpscMailbox} and drained in order on the game executor, with at most one drain task
+ * scheduled at a time, so a burst of commands costs one hand-off instead of one per command.
+ * Each batch is bracketed by {@link Handler#beginBatch()} and {@link Handler#endBatch()} so the
+ * controller can refresh the interface once per batch. Executed commands can optionally be
+ * recorded and later replayed; prompts are left out of the record, since the answer to a prompt
+ * arrives as a command of its own.
+ */
+public class CommandQueue {
+  private final Executor executor;
+  private final Handler handler;
+  private final MpscMailbox<PendingBatch> pending;
+  private final AtomicBoolean drainScheduled;
+  private final List<GameCommand> history;
+  private volatile boolean recording;
+
+  /**
+   * Constructs a new CommandQueue.
+   *
+   * @param gameExecutor   the executor that owns the model
+   * @param commandHandler the handler that executes commands
+   * @throws IllegalArgumentException if the executor or handler is null
+   */
+  public CommandQueue(Executor gameExecutor, Handler commandHandler) {
+    if (gameExecutor == null || commandHandler == null) {
+      throw new IllegalArgumentException("Executor and handler cannot be null");
+    }
+    this.executor = gameExecutor;
+    this.handler = commandHandler;
+    this.pending = new MpscMailbox<>();
+    this.drainScheduled = new AtomicBoolean(false);
+    this.history = new ArrayList<>();
+    this.recording = false;
+  }
+
+  /**
+   * Submits one command.
+   *
+   * @param command the command to execute
+   * @return a future completed with the command result
+   * @throws IllegalArgumentException if the command is null
+   */
+  public CompletableFuture<Boolean> submit(GameCommand command) {
+    if (command == null) {
+      throw new IllegalArgumentException("Command cannot be null");
+    }
+    return submitBatch(Collections.singletonList(command)).thenApply(results -> results.get(0));
+  }
+
+  /**
+   * Submits a batch of commands that run back to back, in order. If one command fails, the rest
+   * of the batch is skipped and the future completes exceptionally.
+   *
+   * @param commands the commands to execute
+   * @return a future completed with the result of each command
+   * @throws IllegalArgumentException if the list or any command is null
+   */
+  public CompletableFuture<List<Boolean>> submitBatch(List<GameCommand> commands) {
+    if (commands == null || commands.contains(null)) {
+      throw new IllegalArgumentException("Commands cannot be null");
+    }
+    PendingBatch batch = new PendingBatch(new ArrayList<>(commands));
+    pending.offer(batch);
+    if (drainScheduled.compareAndSet(false, true)) {
+      executor.execute(this::drain);
+    }
+    return batch.result;
+  }
+
+  /**
+   * Gets the number of batches waiting to run.
+   *
+   * @return the queue depth
+   */
+  public int getQueueDepth() {
+    return pending.size();
+  }
+
+  /**
+   * Turns recording of executed commands on or off.
+   *
+   * @param enabled true to record executed commands
+   */
+  public void setRecording(boolean enabled) {
+    this.recording = enabled;
+  }
+
+  /**
+   * Gets the commands that succeeded while recording was on, in execution order. Commands that
+   * returned false or threw, and prompts, are left out.
+   *
+   * @return a copy of the recorded commands
+   */
+  public List<GameCommand> getHistory() {
+    synchronized (history) {
+      return new ArrayList<>(history);
+    }
+  }
+
+  /**
+   * Runs every pending batch. Runs on the game executor only.
+   */
+  private void drain() {
+    while (true) {
+      while (!pending.isEmpty()) {
+        PendingBatch batch = pending.poll();
+        if (batch == null) {
+          // A producer has claimed a slot but not linked it yet
+          Thread.onSpinWait();
+          continue;
+        }
+        run(batch);
+      }
+      drainScheduled.set(false);
+      // A producer may have queued after the last poll but before the flag was cleared.
+      if (pending.isEmpty() || !drainScheduled.compareAndSet(false, true)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Executes one batch and completes its future once the batch has ended.
+   *
+   * @param batch the batch to run
+   */
+  private void run(PendingBatch batch) {
+    List<Boolean> results = new ArrayList<>(batch.commands.size());
+    Throwable failure = null;
+    handler.beginBatch();
+    try {
+      for (GameCommand command : batch.commands) {
+        boolean succeeded = handler.execute(command);
+        results.add(succeeded);
+        // Only commands the game accepted are kept, so a replay never runs a rejected one
+        if (succeeded && recording && !command.isPrompt()) {
+          synchronized (history) {
+            history.add(command);
+          }
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      failure = e;
+    }
+    try {
+      handler.endBatch();
+    } catch (RuntimeException e) {
+      if (failure == null) {
+        failure = e;
+      }
+    }
+    if (failure == null) {
+      batch.result.complete(results);
+    } else {
+      batch.result.completeExceptionally(failure);
+    }
+  }
+
+  /**
+   * Executes commands for a CommandQueue on the game executor.
+   */
+  public interface Handler {
+    /**
+     * Executes one command.
+     *
+     * @param command the command
+     * @return true if the command succeeded, false if the game rejected it
+     * @throws IOException if an I/O error occurs
+     */
+    boolean execute(GameCommand command) throws IOException;
+
+    /**
+     * Called before the first command of a batch.
+     */
+    void beginBatch();
+
+    /**
+     * Called after the last command of a batch, even if the batch failed.
+     */
+    void endBatch();
+  }
+
+  /**
+   * A submitted batch and the future for its results.
+   */
+  private static final class PendingBatch {
+    private final List<GameCommand> commands;
+    private final CompletableFuture<List<Boolean>> result;
+
+    /**
+     * Constructs a new PendingBatch.
+     *
+     * @param batchCommands the commands of the batch
+     */
+    private PendingBatch(List<GameCommand> batchCommands) {
+      this.commands = batchCommands;
+      this.result = new CompletableFuture<>();
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package controller.support;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executor that runs all model work on one dedicated game thread.
+ * Keeping turn logic off the Swing event dispatch thread lets the GUI stay responsive while
+ * long chains of computer turns are being played, and running every command on the same
+ * thread means the model never sees concurrent mutation.
+ */
+public class GameLoopExecutor implements Executor {
+  private static final String THREAD_NAME = "game-loop";
+
+  private final ExecutorService delegate;
+  private volatile Thread gameThread;
+
+  /**
+   * Constructs a new GameLoopExecutor backed by a single daemon thread.
+   */
+  public GameLoopExecutor() {
+    this.delegate = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, THREAD_NAME);
+      thread.setDaemon(true);
+      gameThread = thread;
+      return thread;
+    });
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (command == null) {
+      throw new IllegalArgumentException("Command cannot be null");
+    }
+    delegate.execute(command);
+  }
+
+  /**
+   * Checks if the caller is running on the game thread.
+   *
+   * @return true if the current thread is the game thread, false otherwise
+   */
+  public boolean isGameThread() {
+    return Thread.currentThread() == gameThread;
+  }
+
+  /**
+   * Stops accepting new commands. Commands that were already submitted still run.
+   */
+  public void shutdown() {
+    delegate.shutdown();
+  }
+}
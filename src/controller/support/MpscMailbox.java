@@ -0,0 +1,100 @@
+package controller.support;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A lock-free multi-producer, single-consumer queue. Producers link a new node with one atomic
+ * swap of the tail, so they never retry against each other the way a compare-and-set loop does;
+ * the single consumer walks the list from the head without any atomic operation. Only the
+ * owning consumer may call {@link #poll()}.
+ *
+ * @param <T> the message type
+ */
+public final class MpscMailbox<T> {
+  private final AtomicReference<Node<T>> tail;
+  private final AtomicInteger depth;
+  private Node<T> head;
+
+  /**
+   * Constructs a new, empty MpscMailbox.
+   */
+  public MpscMailbox() {
+    Node<T> stub = new Node<>(null);
+    this.head = stub;
+    this.tail = new AtomicReference<>(stub);
+    this.depth = new AtomicInteger();
+  }
+
+  /**
+   * Adds a message. Safe to call from any thread.
+   *
+   * @param message the message to add
+   * @throws IllegalArgumentException if the message is null
+   */
+  public void offer(T message) {
+    if (message == null) {
+      throw new IllegalArgumentException("Message cannot be null");
+    }
+    Node<T> node = new Node<>(message);
+    depth.incrementAndGet();
+    Node<T> previous = tail.getAndSet(node);
+    // Until this write lands the consumer sees the queue end at previous
+    previous.next = node;
+  }
+
+  /**
+   * Removes the oldest message. Only the consumer may call this.
+   *
+   * @return the oldest message, or null if no message is ready yet
+   */
+  public T poll() {
+    Node<T> next = head.next;
+    if (next == null) {
+      return null;
+    }
+    head = next;
+    T message = next.message;
+    next.message = null;
+    depth.decrementAndGet();
+    return message;
+  }
+
+  /**
+   * Checks if the mailbox holds no messages, counting one that a producer is still linking.
+   *
+   * @return true if the mailbox is empty, false otherwise
+   */
+  public boolean isEmpty() {
+    return depth.get() == 0;
+  }
+
+  /**
+   * Gets the number of messages waiting. The value is a snapshot and may be stale by the time
+   * the caller reads it.
+   *
+   * @return the queue depth
+   */
+  public int size() {
+    return depth.get();
+  }
+
+  /**
+   * A link in the queue.
+   *
+   * @param <T> the message type
+   */
+  private static final class Node<T> {
+    private T message;
+    private volatile Node<T> next;
+
+    /**
+     * Constructs a new Node.
+     *
+     * @param value the message held by the node
+     */
+    private Node(T value) {
+      this.message = value;
+    }
+  }
+}
@@ -1,10 +1,16 @@
 package controller.support;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import model.item.Item;
+import model.town.TurnSnapshot;
 
 /**
  * Data Transfer Object for player information between Controller and View.
  * Used to maintain MVC separation by avoiding direct model class dependencies.
+ * Instances are immutable, so they can be handed from the game thread to the Swing event
+ * dispatch thread without any further synchronization.
  */
 public class PlayerInfoDto {
   private final String playerName;
@@ -12,6 +18,7 @@ public class PlayerInfoDto {
   private final int currentTurn;
   private final String currentPlace;
   private final String target;
+  private final String targetPlace;
 
   /**
    * Constructs a new PlayerInfoDTO.
@@ -21,14 +28,33 @@ public class PlayerInfoDto {
    * @param currentItems       the player's items
    * @param playerCurrentPlace the player's current place
    * @param gameTarget         the player's target
+   * @param targetCurrentPlace the name of the place where the target is located
    */
   public PlayerInfoDto(int playerCurrentTurn, String currentPlayerName, List<String> currentItems,
-                       String playerCurrentPlace, String gameTarget) {
+                       String playerCurrentPlace, String gameTarget, String targetCurrentPlace) {
     this.playerName = currentPlayerName;
-    this.items = currentItems;
+    this.items = Collections.unmodifiableList(new ArrayList<>(currentItems));
     this.currentTurn = playerCurrentTurn;
     this.currentPlace = playerCurrentPlace;
     this.target = gameTarget;
+    this.targetPlace = targetCurrentPlace;
+  }
+
+  /**
+   * Creates a PlayerInfoDto from the model's snapshot of the current turn.
+   *
+   * @param snapshot the snapshot of the current turn
+   * @return the player information for the view
+   */
+  public static PlayerInfoDto fromSnapshot(TurnSnapshot snapshot) {
+    List<String> itemLabels = new ArrayList<>(snapshot.getCarriedItems().size());
+    for (Item item : snapshot.getCarriedItems()) {
+      itemLabels.add(item.getName() + "-" + item.getDamage());
+    }
+    String targetInfo = snapshot.getTargetName() + "," + snapshot.getTargetPlaceName() + ","
+        + snapshot.getTargetHealth();
+    return new PlayerInfoDto(snapshot.getTurn(), snapshot.getPlayerName(), itemLabels,
+        snapshot.getPlaceName(), targetInfo, snapshot.getTargetPlaceName());
   }
 
   /**
@@ -40,6 +66,15 @@ public class PlayerInfoDto {
     return target;
   }
 
+  /**
+   * Get the name of the place where the target character is located.
+   *
+   * @return the name of the target's current place
+   */
+  public String getTargetPlace() {
+    return targetPlace;
+  }
+
   /**
    * Get the player's current place.
    *
@@ -64,7 +99,7 @@ public class PlayerInfoDto {
    * @return the items in the player's current place
    */
   public List<String> getItems() {
-    if (items.get(0).equals("None")) {
+    if (items.isEmpty() || items.get(0).equals("None")) {
       return null;
     }
     return items;
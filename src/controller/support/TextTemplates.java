@@ -0,0 +1,188 @@
+package controller.support;
+
+import java.util.List;
+import model.item.Item;
+import model.place.Place;
+import model.player.Player;
+import model.town.TurnSnapshot;
+
+/**
+ * TextTemplates holds the text-mode messages of the game.
+ * Fixed blocks such as menus are rendered once when the class loads. Messages that depend on the
+ * game state are written straight into a caller-supplied {@link StringBuilder}, so a session can
+ * reuse one builder for every message instead of concatenating and re-splitting strings.
+ */
+public final class TextTemplates {
+  /**
+   * The main menu shown between games.
+   */
+  public static final String MAIN_MENU = render(
+      "Please choose an option:",
+      "1. Add Human-controller player",
+      "2. Add Computer-controller player",
+      "3. Display player information",
+      "4. Start turn",
+      "5. Add many Computer-controller players",
+      "0. Quit game");
+
+  /**
+   * The action menu shown on a human player's turn.
+   */
+  public static final String TURN_MENU = render(
+      "Please choose an option:",
+      "1. Move player",
+      "2. Pick up item",
+      "3. Look around",
+      "4. Attack target",
+      "5. Move pet");
+
+  private static final String NO_ITEM = "No item in this place.";
+  private static final String NO_OTHER_PLAYER = "No other player in this place";
+  private static final String SECTION = "----------";
+  private static final String NEIGHBOR_SECTION = "-----";
+
+  /**
+   * Prevents instantiation.
+   */
+  private TextTemplates() {
+  }
+
+  /**
+   * Joins lines into one message.
+   *
+   * @param lines the lines of the message
+   * @return the rendered message
+   */
+  private static String render(String... lines) {
+    return String.join("\n", lines);
+  }
+
+  /**
+   * Writes an item as "name (Damage: n)".
+   *
+   * @param out  the builder to write to
+   * @param item the item
+   * @return the builder
+   */
+  public static StringBuilder appendItem(StringBuilder out, Item item) {
+    return out.append(item.getName()).append(" (Damage: ").append(item.getDamage()).append(')');
+  }
+
+  /**
+   * Writes the header shown at the start of a player's turn.
+   *
+   * @param out      the builder to write to
+   * @param snapshot the state seen by the current player
+   * @param maxTurns the maximum number of turns
+   * @return the builder
+   */
+  public static StringBuilder appendTurnHeader(StringBuilder out, TurnSnapshot snapshot,
+                                               int maxTurns) {
+    out.append(snapshot.getTurn()).append(" of ").append(maxTurns).append('\n');
+    out.append("Hi ").append(snapshot.getPlayerName()).append(", you Current place: ")
+        .append(snapshot.getPlaceName()).append('\n');
+    if (snapshot.getCoLocatedPlayers().isEmpty()) {
+      out.append("No other players in this place.\n");
+    } else {
+      out.append("Other players: ").append(snapshot.getCoLocatedPlayers()).append('\n');
+    }
+    out.append("Target Current place: ").append(snapshot.getTargetPlaceName())
+        .append(" (Health: ").append(snapshot.getTargetHealth()).append(")\n");
+    out.append("Pet Current place: ").append(snapshot.getPetPlaceName());
+    if (snapshot.getRoomItems().isEmpty()) {
+      out.append('\n').append(NO_ITEM);
+    } else {
+      for (Item item : snapshot.getRoomItems()) {
+        appendItem(out.append("\nCurrent place item: "), item);
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Writes the description of the place a player is looking around from.
+   *
+   * @param out    the builder to write to
+   * @param place  the player's place
+   * @param viewer the player looking around, left out of the player list
+   * @return the builder
+   */
+  public static StringBuilder appendPlace(StringBuilder out, Place place, Player viewer) {
+    out.append(SECTION).append('\n');
+    out.append("Current place: ").append(place.getName()).append('\n');
+    if (place.getItems().isEmpty()) {
+      out.append(NO_ITEM).append('\n');
+    } else {
+      for (Item item : place.getItems()) {
+        appendItem(out.append("Current place item: "), item).append('\n');
+      }
+    }
+    appendPlayers(out.append("Current place players: "), place.getCurrentPlacePlayers(), viewer);
+    return out.append('\n').append(SECTION);
+  }
+
+  /**
+   * Writes the description of one neighboring place. A place holding the pet hides everything
+   * but its name.
+   *
+   * @param out       the builder to write to
+   * @param neighbor  the neighboring place
+   * @param hasTarget whether the target is in the place
+   * @param hasPet    whether the pet is in the place
+   * @return the builder
+   */
+  public static StringBuilder appendNeighbor(StringBuilder out, Place neighbor, boolean hasTarget,
+                                             boolean hasPet) {
+    if (hasPet) {
+      out.append("Neighboring place: ").append(neighbor.getName()).append('\n');
+      out.append("Pet is in this place.\n");
+      return out.append(NEIGHBOR_SECTION);
+    }
+    out.append("Neighbor: ").append(neighbor.getName())
+        .append(" (Place Number: ").append(neighbor.getPlaceNumber()).append(")\n");
+    out.append("Item: ");
+    List<Item> items = neighbor.getItems();
+    if (items.isEmpty()) {
+      out.append(NO_ITEM);
+    } else {
+      for (int i = 0; i < items.size(); i++) {
+        if (i > 0) {
+          out.append(", ");
+        }
+        appendItem(out, items.get(i));
+      }
+    }
+    appendPlayers(out.append("\nPlayers: "), neighbor.getCurrentPlacePlayers(), null);
+    out.append('\n');
+    if (hasTarget) {
+      out.append("Target is in this place.\n");
+    }
+    return out.append(NEIGHBOR_SECTION);
+  }
+
+  /**
+   * Writes a comma-separated list of player names.
+   *
+   * @param out      the builder to write to
+   * @param players  the players in a place
+   * @param excluded a player to leave out, or null
+   * @return the builder
+   */
+  private static StringBuilder appendPlayers(StringBuilder out, List<Player> players,
+                                             Player excluded) {
+    boolean first = true;
+    for (Player player : players) {
+      if (player != excluded) {
+        if (!first) {
+          out.append(", ");
+        }
+        out.append(player.getName());
+        first = false;
+      }
+    }
+    if (first) {
+      out.append(NO_OTHER_PLAYER);
+    }
+    return out;
+  }
+}
@@ -0,0 +1,256 @@
+package controller.support;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import model.town.GameSnapshot;
+import model.town.Town;
+
+/**
+ * TownActor is the single writer of one game. Work from any thread is posted to a lock-free
+ * mailbox as a message and run one message at a time on the actor's executor, so the model is
+ * never touched by two threads at once and no lock is held around it. After each run of
+ * messages the actor publishes an immutable {@link GameSnapshot}, which any thread can read
+ * without waiting for the game.
+ *
+ * <p>The actor is itself an {@link Executor}: plain tasks handed to {@link #execute(Runnable)}
+ * become messages too, so a {@link CommandQueue} or a future's callback can be pointed at it.
+ *
+ * <p>One run handles at most {@link #DRAIN_LIMIT} messages before it publishes and hands the
+ * executor back, so producers that keep the mailbox busy cannot hold off new snapshots.
+ */
+public final class TownActor implements Executor {
+  /**
+   * The most messages one run handles before publishing a snapshot.
+   */
+  static final int DRAIN_LIMIT = 256;
+
+  private final Town town;
+  private final Executor executor;
+  private final MpscMailbox<Runnable> mailbox;
+  private final AtomicBoolean drainScheduled;
+  private final ArrayDeque<Runnable> completions;
+  private volatile GameSnapshot snapshot;
+  private volatile long processed;
+  private volatile Consumer<GameSnapshot> publishListener;
+
+  /**
+   * Constructs a new TownActor.
+   *
+   * @param gameModel    the game this actor owns
+   * @param gameExecutor the executor that runs the actor's messages, usually a
+   *                     {@link GameLoopExecutor}
+   * @throws IllegalArgumentException if the game or executor is null
+   */
+  public TownActor(Town gameModel, Executor gameExecutor) {
+    if (gameModel == null || gameExecutor == null) {
+      throw new IllegalArgumentException("Game and executor cannot be null");
+    }
+    this.town = gameModel;
+    this.executor = gameExecutor;
+    this.mailbox = new MpscMailbox<>();
+    this.drainScheduled = new AtomicBoolean(false);
+    this.completions = new ArrayDeque<>();
+  }
+
+  /**
+   * Posts a message that reads or changes the game and returns its result. The future completes
+   * after the snapshot that includes the message's changes has been published.
+   *
+   * @param message the work to run against the game
+   * @param <T>     the result type
+   * @return a future completed with the message's result, or exceptionally if it threw
+   * @throws IllegalArgumentException if the message is null
+   */
+  public <T> CompletableFuture<T> ask(Message<T> message) {
+    if (message == null) {
+      throw new IllegalArgumentException("Message cannot be null");
+    }
+    CompletableFuture<T> result = new CompletableFuture<>();
+    post(() -> {
+      try {
+        T value = message.apply(town);
+        completions.add(() -> result.complete(value));
+      } catch (IOException | RuntimeException e) {
+        completions.add(() -> result.completeExceptionally(e));
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Posts a task as a message. A task that throws is reported to the executing thread's
+   * uncaught exception handler and does not stop the actor.
+   *
+   * @param task the task to run
+   * @throws IllegalArgumentException if the task is null
+   */
+  @Override
+  public void execute(Runnable task) {
+    if (task == null) {
+      throw new IllegalArgumentException("Task cannot be null");
+    }
+    post(task);
+  }
+
+  /**
+   * Gets the snapshot published after the last run of messages. Reading it never blocks and
+   * never sees a half-applied change.
+   *
+   * @return the latest snapshot, or null if no message has run yet
+   */
+  public GameSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Sets a listener told about each new snapshot. It runs on the actor's thread right after the
+   * snapshot is published, so it must hand the snapshot off rather than do slow work.
+   *
+   * @param listener the listener, or null to remove it
+   */
+  public void setPublishListener(Consumer<GameSnapshot> listener) {
+    this.publishListener = listener;
+  }
+
+  /**
+   * Gets the number of messages waiting to run.
+   *
+   * @return the queue depth
+   */
+  public int getQueueDepth() {
+    return mailbox.size();
+  }
+
+  /**
+   * Gets the number of messages run so far.
+   *
+   * @return the processed message count
+   */
+  public long getProcessedCount() {
+    return processed;
+  }
+
+  /**
+   * Adds a message to the mailbox and schedules a drain unless one is already pending.
+   *
+   * @param task the message
+   * @throws RejectedExecutionException if the executor no longer accepts work
+   */
+  private void post(Runnable task) {
+    mailbox.offer(task);
+    if (drainScheduled.compareAndSet(false, true)) {
+      schedule();
+    }
+  }
+
+  /**
+   * Hands a drain to the executor. If the executor refuses it, the pending flag is cleared so a
+   * later post can try again.
+   *
+   * @throws RejectedExecutionException if the executor no longer accepts work
+   */
+  private void schedule() {
+    try {
+      executor.execute(this::drain);
+    } catch (RejectedExecutionException e) {
+      drainScheduled.set(false);
+      throw e;
+    }
+  }
+
+  /**
+   * Runs up to {@link #DRAIN_LIMIT} waiting messages, publishes a snapshot, then completes the
+   * messages' futures. Messages left in the mailbox get a new run. Runs on the executor only.
+   */
+  private void drain() {
+    try {
+      int count = 0;
+      while (count < DRAIN_LIMIT && !mailbox.isEmpty()) {
+        Runnable task = mailbox.poll();
+        if (task == null) {
+          // A producer has claimed a slot but not linked it yet
+          Thread.onSpinWait();
+          continue;
+        }
+        run(task);
+        count++;
+      }
+      publish();
+    } catch (RuntimeException e) {
+      report(e);
+    } finally {
+      // Even if publishing failed or a message threw an Error, the actor must keep running
+      while (!completions.isEmpty()) {
+        completions.poll().run();
+      }
+      drainScheduled.set(false);
+      // Messages past the limit, or posted after the last check, need another run
+      if (!mailbox.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+        try {
+          schedule();
+        } catch (RejectedExecutionException e) {
+          // The executor has shut down, so the messages left behind are dropped with it
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs one message, keeping the actor alive if it throws.
+   *
+   * @param task the message
+   */
+  private void run(Runnable task) {
+    try {
+      task.run();
+    } catch (RuntimeException e) {
+      report(e);
+    }
+    processed++;
+  }
+
+  /**
+   * Reports a failure to the executing thread's uncaught exception handler.
+   *
+   * @param e the failure
+   */
+  private static void report(RuntimeException e) {
+    Thread current = Thread.currentThread();
+    current.getUncaughtExceptionHandler().uncaughtException(current, e);
+  }
+
+  /**
+   * Publishes the current state of the game for readers on other threads. The new snapshot
+   * shares every unchanged player and place with the last one.
+   */
+  private void publish() {
+    GameSnapshot previous = snapshot;
+    snapshot = GameSnapshot.capture(town, previous);
+    Consumer<GameSnapshot> listener = publishListener;
+    if (listener != null && snapshot != previous) {
+      listener.accept(snapshot);
+    }
+  }
+
+  /**
+   * A unit of work run against the game on the actor's thread.
+   *
+   * @param <T> the result type
+   */
+  @FunctionalInterface
+  public interface Message<T> {
+    /**
+     * Runs the work.
+     *
+     * @param game the game owned by the actor
+     * @return the result
+     * @throws IOException if the game's output fails
+     */
+    T apply(Town game) throws IOException;
+  }
+}
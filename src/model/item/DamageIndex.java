@@ -0,0 +1,270 @@
+package model.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * DamageIndex groups a collection of items by damage so the strongest one and the total damage
+ * are always at hand. Items with equal damage keep the order they were added in, so the first
+ * one added wins ties, the same as a scan over an insertion-ordered list.
+ *
+ * <p>Entries live in a binary heap keyed by (damage, add sequence), and an open addressing hash
+ * table maps each item to its heap position, so adding and removing cost O(log k) for k items.
+ * Both sit in arrays that only grow, so once an index has held its largest load it allocates
+ * nothing. The same item may be added more than once; each copy is a separate entry.
+ */
+public final class DamageIndex {
+  private Item[] heap = new Item[4];
+  private long[] sequence = new long[4];
+  private int[] slotOf = new int[4];
+  private int[] table = new int[8];
+  private int size;
+  private long nextSequence;
+  private int totalDamage;
+
+  /**
+   * Adds an item.
+   *
+   * @param item the item to add
+   * @throws IllegalArgumentException if the item is null
+   */
+  public void add(Item item) {
+    if (item == null) {
+      throw new IllegalArgumentException("Item cannot be null.");
+    }
+    if (size == heap.length) {
+      grow();
+    }
+    int position = size++;
+    heap[position] = item;
+    sequence[position] = nextSequence++;
+    int slot = home(item);
+    while (table[slot] != 0) {
+      slot = (slot + 1) & (table.length - 1);
+    }
+    table[slot] = position + 1;
+    slotOf[position] = slot;
+    totalDamage += item.getDamage();
+    siftUp(position);
+  }
+
+  /**
+   * Removes one copy of an item that was added before.
+   *
+   * @param item the item to remove
+   * @return true if the item was in the index, false otherwise
+   */
+  public boolean remove(Item item) {
+    int slot = item == null ? -1 : find(item);
+    if (slot < 0) {
+      return false;
+    }
+    int position = table[slot] - 1;
+    totalDamage -= item.getDamage();
+    clearSlot(slot);
+    int last = --size;
+    if (position != last) {
+      move(last, position);
+      heap[last] = null;
+      siftDown(position);
+      siftUp(position);
+    } else {
+      heap[last] = null;
+    }
+    return true;
+  }
+
+  /**
+   * Gets the strongest item.
+   *
+   * @return the strongest item, or null if the index is empty
+   */
+  public Item getBest() {
+    return size == 0 ? null : heap[0];
+  }
+
+  /**
+   * Gets the sum of the damage of every item.
+   *
+   * @return the total damage
+   */
+  public int getTotalDamage() {
+    return totalDamage;
+  }
+
+  /**
+   * Gets the number of items, counting each copy.
+   *
+   * @return the item count
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Lists the items in the order they were added. The list is built on each call.
+   *
+   * @return a read-only list of the items
+   */
+  public List<Item> toList() {
+    Integer[] positions = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      positions[i] = i;
+    }
+    Arrays.sort(positions, (a, b) -> Long.compare(sequence[a], sequence[b]));
+    List<Item> items = new ArrayList<>(size);
+    for (Integer position : positions) {
+      items.add(heap[position]);
+    }
+    return Collections.unmodifiableList(items);
+  }
+
+  /**
+   * Gets the first table slot an item hashes to.
+   *
+   * @param item the item
+   * @return the slot
+   */
+  private int home(Item item) {
+    int hash = item.hashCode() * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & (table.length - 1);
+  }
+
+  /**
+   * Finds the table slot of an entry equal to an item.
+   *
+   * @param item the item
+   * @return the slot, or -1 if the item is not in the index
+   */
+  private int find(Item item) {
+    for (int slot = home(item); table[slot] != 0; slot = (slot + 1) & (table.length - 1)) {
+      if (heap[table[slot] - 1].equals(item)) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Empties a table slot, shifting later entries of the same probe run back so lookups still
+   * reach them.
+   *
+   * @param slot the slot to empty
+   */
+  private void clearSlot(int slot) {
+    int mask = table.length - 1;
+    int hole = slot;
+    for (int next = (hole + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+      int home = home(heap[table[next] - 1]);
+      // An entry may fill the hole only if the hole lies on its probe path
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        table[hole] = table[next];
+        slotOf[table[hole] - 1] = hole;
+        hole = next;
+      }
+    }
+    table[hole] = 0;
+  }
+
+  /**
+   * Checks if the entry at one heap position outranks the entry at another.
+   *
+   * @param a the first position
+   * @param b the second position
+   * @return true if the first entry has more damage, or equal damage and was added first
+   */
+  private boolean outranks(int a, int b) {
+    int damageA = heap[a].getDamage();
+    int damageB = heap[b].getDamage();
+    return damageA > damageB || damageA == damageB && sequence[a] < sequence[b];
+  }
+
+  /**
+   * Moves an entry up the heap until its parent outranks it.
+   *
+   * @param position the entry's position
+   */
+  private void siftUp(int position) {
+    while (position > 0) {
+      int parent = (position - 1) / 2;
+      if (!outranks(position, parent)) {
+        return;
+      }
+      swap(position, parent);
+      position = parent;
+    }
+  }
+
+  /**
+   * Moves an entry down the heap until it outranks both children.
+   *
+   * @param position the entry's position
+   */
+  private void siftDown(int position) {
+    while (true) {
+      int child = 2 * position + 1;
+      if (child >= size) {
+        return;
+      }
+      if (child + 1 < size && outranks(child + 1, child)) {
+        child++;
+      }
+      if (!outranks(child, position)) {
+        return;
+      }
+      swap(position, child);
+      position = child;
+    }
+  }
+
+  /**
+   * Swaps two heap entries and keeps the table pointing at them.
+   *
+   * @param a the first position
+   * @param b the second position
+   */
+  private void swap(int a, int b) {
+    Item item = heap[a];
+    long added = sequence[a];
+    int slot = slotOf[a];
+    move(b, a);
+    heap[b] = item;
+    sequence[b] = added;
+    slotOf[b] = slot;
+    table[slot] = b + 1;
+  }
+
+  /**
+   * Copies a heap entry to another position and points its table slot at the new position.
+   *
+   * @param from the entry's position
+   * @param to   the position to copy it to
+   */
+  private void move(int from, int to) {
+    heap[to] = heap[from];
+    sequence[to] = sequence[from];
+    slotOf[to] = slotOf[from];
+    table[slotOf[to]] = to + 1;
+  }
+
+  /**
+   * Doubles the heap and table and rehashes every entry.
+   */
+  private void grow() {
+    int capacity = heap.length * 2;
+    heap = Arrays.copyOf(heap, capacity);
+    sequence = Arrays.copyOf(sequence, capacity);
+    slotOf = Arrays.copyOf(slotOf, capacity);
+    table = new int[capacity * 2];
+    for (int position = 0; position < size; position++) {
+      int slot = home(heap[position]);
+      while (table[slot] != 0) {
+        slot = (slot + 1) & (table.length - 1);
+      }
+      table[slot] = position + 1;
+      slotOf[position] = slot;
+    }
+  }
+}
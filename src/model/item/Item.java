@@ -5,6 +5,13 @@ package model.item;
  * Each item has a name and associated damage value for use in gameplay mechanics.
  */
 public interface Item {
+  /**
+   * Retrieves the id assigned to this item when the world was loaded.
+   *
+   * @return the item's id, or 0 if it was created outside a world
+   */
+  int getItemId();
+
   /**
    * Retrieves the name of this item.
    *
@@ -1,16 +1,18 @@
 package model.item;
 
-import java.util.Objects;
-
 /**
  * The ItemModel class represents an item in a game. An item has a name and a damage value.
+ * Items loaded from a world carry an id that identifies them; items created without one compare
+ * by name and damage.
  */
 public class ItemModel implements Item {
+  private final int id;
   private final String name;
   private final int damage;
+  private final int hash;
 
   /**
-   * Constructs a new ItemModel with the specified name and damage value.
+   * Constructs a new ItemModel with the specified name and damage value and no id.
    *
    * @param itemName   the name of the item
    * @param itemDamage the damage value of the item
@@ -18,14 +20,37 @@ public class ItemModel implements Item {
    *                                  if the damage value is negative
    */
   public ItemModel(String itemName, int itemDamage) {
+    this(0, itemName, itemDamage);
+  }
+
+  /**
+   * Constructs a new ItemModel with the specified id, name and damage value.
+   *
+   * @param itemId     the id of the item, unique within its world, or 0 for none
+   * @param itemName   the name of the item
+   * @param itemDamage the damage value of the item
+   * @throws IllegalArgumentException if the id is negative, if the name is null or empty or
+   *                                  if the damage value is negative
+   */
+  public ItemModel(int itemId, String itemName, int itemDamage) {
+    if (itemId < 0) {
+      throw new IllegalArgumentException("Item id cannot be negative.");
+    }
     if (itemName == null || itemName.isEmpty()) {
       throw new IllegalArgumentException("Item name cannot be null or empty.");
     }
     if (itemDamage < 0) {
       throw new IllegalArgumentException("Damage value must be non-negative.");
     }
+    this.id = itemId;
     this.name = itemName;
     this.damage = itemDamage;
+    this.hash = itemId != 0 ? itemId : 31 * itemName.hashCode() + itemDamage;
+  }
+
+  @Override
+  public int getItemId() {
+    return id;
   }
 
   @Override
@@ -47,12 +72,11 @@ public class ItemModel implements Item {
       return false;
     }
     ItemModel other = (ItemModel) obj;
-    return damage == other.damage
-        && Objects.equals(name, other.name);
+    return id == other.id && damage == other.damage && (id != 0 || name.equals(other.name));
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(name, damage);
+    return hash;
   }
 }
@@ -88,10 +88,9 @@ public class DfsPathFinder implements PathFinder {
 
     // Build connections based on neighboring places
     for (Place place : allPlaces) {
-      int placeNum = Integer.parseInt(place.getPlaceNumber());
+      List<Integer> adjacent = adjacencyList.get(place.getPlaceId());
       for (Place neighbor : place.getNeighbors()) {
-        int neighborNum = Integer.parseInt(neighbor.getPlaceNumber());
-        adjacencyList.get(placeNum).add(neighborNum);
+        adjacent.add(neighbor.getPlaceId());
       }
     }
 
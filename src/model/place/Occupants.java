@@ -0,0 +1,19 @@
+package model.place;
+
+import java.util.List;
+import model.player.Player;
+
+/**
+ * Occupants looks up who is in a place. The town that owns the players keeps the only record of
+ * where they are and hands its places this lookup, so a move updates one index and nothing else.
+ */
+@FunctionalInterface
+public interface Occupants {
+  /**
+   * Lists the players in a place.
+   *
+   * @param placeId the place's id
+   * @return the players in the place, in the order they arrived
+   */
+  List<Player> in(int placeId);
+}
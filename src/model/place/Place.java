@@ -11,7 +11,15 @@ import model.player.Player;
  */
 public interface Place {
   /**
-   * Retrieves the unique identifier for this place.
+   * Retrieves the unique identifier for this place. Places are numbered from 1 in world file
+   * order, and this number is what lookups and comparisons use.
+   *
+   * @return the place's identifier
+   */
+  int getPlaceId();
+
+  /**
+   * Retrieves the place's identifier formatted for display.
    *
    * @return the place's identifier as a String
    */
@@ -46,6 +54,14 @@ public interface Place {
    */
   List<Item> getItems();
 
+  /**
+   * Finds an item lying in the place by name.
+   *
+   * @param itemName the name of the item
+   * @return the first item with that name, or null if none lies here
+   */
+  Item getItemByName(String itemName);
+
   /**
    * Retrieves the list of neighboring places.
    *
@@ -90,23 +106,16 @@ public interface Place {
   int getRow2();
 
   /**
-   * Removes a player from the place.
-   *
-   * @param player the player to be removed from the place
-   */
-  void removePlayer(Player player);
-
-  /**
-   * Adds a player to the place.
+   * Sets where the place reads its occupants from.
    *
-   * @param player the player to be added to the place
+   * @param occupants the lookup of the players in a place, or null for an empty place
    */
-  void addPlayer(Player player);
+  void setOccupants(Occupants occupants);
 
   /**
    * Retrieves the list of players in the place.
    *
-   * @return the list of players in the place
+   * @return the players in the place, in the order they arrived; the list may be read-only
    */
   List<Player> getCurrentPlacePlayers();
 
@@ -117,4 +126,28 @@ public interface Place {
    */
   void removeItem(Item item);
 
+  /**
+   * Gets the item in the place that does the most damage. Among equally strong items the one
+   * added first wins.
+   *
+   * @return the strongest item, or null if the place has no items
+   */
+  Item getBestItem();
+
+  /**
+   * Gets the sum of the damage of the items in the place.
+   *
+   * @return the total damage lying in the place
+   */
+  int getTotalDamage();
+
+  /**
+   * Gets the total damage lying in every place at most the given number of moves away,
+   * including this one.
+   *
+   * @param hops the largest number of moves to look ahead
+   * @return the total damage within reach
+   * @throws IllegalArgumentException if hops is negative
+   */
+  int getDamageWithin(int hops);
 }
\ No newline at end of file
@@ -1,24 +1,40 @@
 package model.place;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import model.item.DamageIndex;
 import model.item.Item;
 import model.player.Player;
 
 /**
  * PlaceModel represents a place in a game. A place has a name, a list of items, and a list of
- * neighboring places.
+ * neighboring places. Places are identified by their id, which also serves as their hash.
+ * Items are also indexed by damage, so the strongest item and the total damage are kept up to
+ * date as items come and go. Occupants are not stored here: the town's occupancy index is the
+ * only record of who is where, and the place reads it through an {@link Occupants} lookup, so a
+ * player moving costs the place nothing.
+ *
+ * <p>Damage within k hops is searched on each call rather than kept up to date, since every item
+ * change would have to reach every place within the largest k ever asked for. The search marks
+ * places by id in a stamp array reused by the calling thread, so it allocates nothing and costs
+ * only the places it reaches.
  */
 public class PlaceModel implements Place {
+  private static final ThreadLocal<Search> SEARCH = ThreadLocal.withInitial(Search::new);
+
   private final int row1;
   private final int col1;
   private final int row2;
   private final int col2;
   private final String name;
   private final List<Item> items;
+  private final DamageIndex itemsByDamage;
   private final List<Place> neighbors;
-  private final List<Player> players;
+  private Occupants occupants;
+  private final int placeId;
   private final String placeNumber;
 
   /**
@@ -30,26 +46,72 @@ public class PlaceModel implements Place {
    * @param bottomRightCol the column of the bottom-right corner of the place
    * @param placeName      the name of the place
    * @param placeNum       the number of the place
-   * @throws IllegalArgumentException if the row and column values are negative or if the top-left
-   *                                  corner is greater than the bottom-right corner
+   * @throws IllegalArgumentException if the row and column values are negative, if the top-left
+   *                                  corner is greater than the bottom-right corner or if the
+   *                                  place number is not a positive integer
    */
   public PlaceModel(int topLeftRow, int topLeftCol, int bottomRightRow, int bottomRightCol,
                     String placeName, String placeNum) {
+    this(topLeftRow, topLeftCol, bottomRightRow, bottomRightCol, placeName, parseId(placeNum));
+  }
+
+  /**
+   * Constructs a new PlaceModel with the specified row and column values, name and id.
+   *
+   * @param topLeftRow     the row of the top-left corner of the place
+   * @param topLeftCol     the column of the top-left corner of the place
+   * @param bottomRightRow the row of the bottom-right corner of the place
+   * @param bottomRightCol the column of the bottom-right corner of the place
+   * @param placeName      the name of the place
+   * @param id             the number of the place, starting from 1
+   * @throws IllegalArgumentException if the row and column values are negative, if the top-left
+   *                                  corner is greater than the bottom-right corner or if the id
+   *                                  is not positive
+   */
+  public PlaceModel(int topLeftRow, int topLeftCol, int bottomRightRow, int bottomRightCol,
+                    String placeName, int id) {
     if (topLeftRow < 0 || topLeftCol < 0 || bottomRightRow < 0 || bottomRightCol < 0) {
       throw new IllegalArgumentException("Row and column values must be non-negative.");
     }
     if (topLeftRow > bottomRightRow || topLeftCol > bottomRightCol) {
       throw new IllegalArgumentException("Top-left corner must be less than bottom-right corner.");
     }
+    if (id <= 0) {
+      throw new IllegalArgumentException("Place number must be positive.");
+    }
     this.row1 = topLeftRow;
     this.col1 = topLeftCol;
     this.row2 = bottomRightRow;
     this.col2 = bottomRightCol;
     this.name = placeName;
     this.items = new ArrayList<>();
+    this.itemsByDamage = new DamageIndex();
     this.neighbors = new ArrayList<>();
-    this.players = new ArrayList<>();
-    this.placeNumber = placeNum;
+    this.placeId = id;
+    this.placeNumber = String.valueOf(id);
+  }
+
+  /**
+   * Parses a place number given as text.
+   *
+   * @param placeNum the place number
+   * @return the place id
+   * @throws IllegalArgumentException if the text is not an integer
+   */
+  private static int parseId(String placeNum) {
+    if (placeNum == null) {
+      throw new IllegalArgumentException("Place number cannot be null.");
+    }
+    try {
+      return Integer.parseInt(placeNum.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Place number must be an integer: " + placeNum);
+    }
+  }
+
+  @Override
+  public int getPlaceId() {
+    return placeId;
   }
 
   @Override
@@ -59,7 +121,11 @@ public class PlaceModel implements Place {
 
   @Override
   public void addItem(Item item) {
+    if (item == null) {
+      throw new IllegalArgumentException("Item cannot be null.");
+    }
     items.add(item);
+    itemsByDamage.add(item);
   }
 
   @Override
@@ -74,7 +140,17 @@ public class PlaceModel implements Place {
 
   @Override
   public List<Item> getItems() {
-    return items;
+    return Collections.unmodifiableList(items);
+  }
+
+  @Override
+  public Item getItemByName(String itemName) {
+    for (int i = 0; i < items.size(); i++) {
+      if (items.get(i).getName().equals(itemName)) {
+        return items.get(i);
+      }
+    }
+    return null;
   }
 
   @Override
@@ -119,24 +195,99 @@ public class PlaceModel implements Place {
   }
 
   @Override
-  public void removePlayer(Player player) {
-    players.remove(player);
+  public void setOccupants(Occupants lookup) {
+    this.occupants = lookup;
   }
 
   @Override
-  public void addPlayer(Player player) {
-    players.add(player);
+  public List<Player> getCurrentPlacePlayers() {
+    return occupants == null ? List.of() : occupants.in(placeId);
+  }
 
+  @Override
+  public void removeItem(Item item) {
+    if (items.remove(item)) {
+      itemsByDamage.remove(item);
+    }
   }
 
   @Override
-  public List<Player> getCurrentPlacePlayers() {
-    return players;
+  public Item getBestItem() {
+    return itemsByDamage.getBest();
   }
 
   @Override
-  public void removeItem(Item item) {
-    items.remove(item);
+  public int getTotalDamage() {
+    return itemsByDamage.getTotalDamage();
+  }
+
+  @Override
+  public int getDamageWithin(int hops) {
+    if (hops < 0) {
+      throw new IllegalArgumentException("Hops cannot be negative.");
+    }
+    Search search = SEARCH.get();
+    int stamp = search.start();
+    search.visit(this, stamp);
+    int total = 0;
+    for (int depth = 0, head = 0; depth <= hops && head < search.size; depth++) {
+      for (int end = search.size; head < end; head++) {
+        Place place = search.queue[head];
+        total += place.getTotalDamage();
+        List<Place> adjacent = place.getNeighbors();
+        for (int n = 0; n < adjacent.size(); n++) {
+          search.visit(adjacent.get(n), stamp);
+        }
+      }
+    }
+    // Drop the references so the scratch space does not keep a finished game alive
+    Arrays.fill(search.queue, 0, search.size, null);
+    return total;
+  }
+
+  /**
+   * Scratch space for breadth first searches over places, reused by one thread.
+   */
+  private static final class Search {
+    private int[] stamps = new int[16];
+    private int stamp;
+    private Place[] queue = new Place[16];
+    private int size;
+
+    /**
+     * Starts a new search.
+     *
+     * @return the stamp that marks places seen in this search
+     */
+    private int start() {
+      size = 0;
+      if (++stamp == 0) {
+        Arrays.fill(stamps, 0);
+        stamp = 1;
+      }
+      return stamp;
+    }
+
+    /**
+     * Queues a place unless this search has seen it already.
+     *
+     * @param place the place
+     * @param mark  the stamp of this search
+     */
+    private void visit(Place place, int mark) {
+      int id = place.getPlaceId();
+      if (id >= stamps.length) {
+        stamps = Arrays.copyOf(stamps, Math.max(id + 1, stamps.length * 2));
+      }
+      if (stamps[id] == mark) {
+        return;
+      }
+      stamps[id] = mark;
+      if (size == queue.length) {
+        queue = Arrays.copyOf(queue, size * 2);
+      }
+      queue[size++] = place;
+    }
   }
 
   @Override
@@ -148,16 +299,12 @@ public class PlaceModel implements Place {
       return false;
     }
     PlaceModel other = (PlaceModel) obj;
-    return row1 == other.row1
-        && col1 == other.col1
-        && row2 == other.row2
-        && col2 == other.col2
-        && Objects.equals(name, other.name);
+    return placeId == other.placeId && Objects.equals(name, other.name);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(name, row1, col1, row2, col2);
+    return placeId;
   }
 
 }
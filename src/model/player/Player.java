@@ -7,6 +7,12 @@ import model.item.Item;
  * The Player interface defines the basic behaviors and attributes for a player in the game.
  */
 public interface Player {
+  /**
+   * Get the id the town assigned to the player when it joined.
+   *
+   * @return the player's id, or 0 if it was created outside a town
+   */
+  int getPlayerId();
 
   /**
    * Get the name of the player.
@@ -52,12 +58,33 @@ public interface Player {
    */
   List<Item> getCurrentCarriedItems();
 
+  /**
+   * Get the number of items the player carries, without building a list.
+   *
+   * @return the number of carried items.
+   */
+  int getCarriedItemCount();
+
+  /**
+   * Get the carried item that does the most damage. Among equally strong items the one picked
+   * up first wins.
+   *
+   * @return the strongest carried item, or null if the player carries nothing.
+   */
+  Item getBestItem();
+
+  /**
+   * Remove an item from the player's inventory, for example after it was used in an attack.
+   *
+   * @param item the Item to remove.
+   * @return true if the player was carrying the item, false otherwise.
+   */
+  boolean removeItem(Item item);
+
   /**
    * Get the maximum number of items the player can carry.
    *
    * @return the limit of items the player can carry.
    */
   int getCarryLimit();
-
-
 }
\ No newline at end of file
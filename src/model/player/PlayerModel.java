@@ -1,20 +1,25 @@
 package model.player;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import model.item.DamageIndex;
 import model.item.Item;
 
-
 /**
  * PlayerModel implements the Player interface and represents a player in the game.
+ * Players added to a town carry an id that identifies them; players created without one compare
+ * by name and controller type. Carried items are kept in a {@link DamageIndex}, so the strongest
+ * item is always at hand and picking up or removing an item costs O(log k) for k carried items.
+ * The pickup-ordered list is built from the index on the first read after a change.
  */
 public class PlayerModel implements Player {
 
+  private final int id;
   private final String name;
   private final boolean isComputerControlled;
   private final int carryLimit;
-  private final List<Item> items;
+  private final DamageIndex itemsByDamage;
+  private List<Item> itemList;
+  private final int hash;
   private int currentPlaceNumber;
 
   /**
@@ -28,6 +33,24 @@ public class PlayerModel implements Player {
    */
   public PlayerModel(String playerName, boolean isComputer, int playerCarryLimit,
                      int playerStartingPlace) {
+    this(0, playerName, isComputer, playerCarryLimit, playerStartingPlace);
+  }
+
+  /**
+   * Constructs a new PlayerModel with the specified id, name, initial place,
+   * whether it is controlled by a computer, and the carrying limit.
+   *
+   * @param playerId            the id of the player, unique within its town, or 0 for none.
+   * @param playerName          the name of the player.
+   * @param isComputer          whether the player is controlled by a computer.
+   * @param playerCarryLimit    the maximum number of items the player can carry.
+   * @param playerStartingPlace the starting Place of the player.
+   */
+  public PlayerModel(int playerId, String playerName, boolean isComputer, int playerCarryLimit,
+                     int playerStartingPlace) {
+    if (playerId < 0) {
+      throw new IllegalArgumentException("Player id cannot be negative.");
+    }
     if (playerName == null || playerName.trim().isEmpty()) {
       throw new IllegalArgumentException("Player name cannot be null or empty.");
     }
@@ -38,11 +61,18 @@ public class PlayerModel implements Player {
       throw new IllegalArgumentException("Initial place cannot be null.");
     }
 
+    this.id = playerId;
     this.name = playerName;
     this.isComputerControlled = isComputer;
     this.carryLimit = playerCarryLimit;
     this.currentPlaceNumber = playerStartingPlace;
-    this.items = new ArrayList<>();
+    this.itemsByDamage = new DamageIndex();
+    this.hash = playerId != 0 ? playerId : 31 * playerName.hashCode() + (isComputer ? 1 : 0);
+  }
+
+  @Override
+  public int getPlayerId() {
+    return this.id;
   }
 
   @Override
@@ -71,15 +101,48 @@ public class PlayerModel implements Player {
 
   @Override
   public void pickUpItem(Item item) {
-    if (items.size() >= carryLimit) {
+    if (item == null) {
+      throw new IllegalArgumentException("Item cannot be null.");
+    }
+    if (itemsByDamage.size() >= carryLimit) {
       throw new IllegalStateException("Cannot pick up more items, inventory is full.");
     }
-    items.add(item);
+    itemsByDamage.add(item);
+    itemList = null;
   }
 
   @Override
   public List<Item> getCurrentCarriedItems() {
-    return items;
+    // Built on first read after a change, so pickups and attacks never pay for the list
+    if (itemList == null) {
+      itemList = itemsByDamage.toList();
+    }
+    return itemList;
+  }
+
+  @Override
+  public int getCarriedItemCount() {
+    return itemsByDamage.size();
+  }
+
+  @Override
+  public Item getBestItem() {
+    return itemsByDamage.getBest();
+  }
+
+  /**
+   * Removes a carried item in O(log k) through the damage index.
+   *
+   * @param item the Item to remove.
+   * @return true if the player was carrying the item, false otherwise.
+   */
+  @Override
+  public boolean removeItem(Item item) {
+    if (!itemsByDamage.remove(item)) {
+      return false;
+    }
+    itemList = null;
+    return true;
   }
 
   @Override
@@ -96,12 +159,13 @@ public class PlayerModel implements Player {
       return false;
     }
     PlayerModel other = (PlayerModel) obj;
-    return Objects.equals(this.name, other.name)
-        && this.isComputerControlled == other.isComputerControlled;
+    return this.id == other.id
+        && this.isComputerControlled == other.isComputerControlled
+        && (this.id != 0 || this.name.equals(other.name));
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(name, isComputerControlled);
+    return hash;
   }
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+package model.player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * PlayerRegistry holds a town's players in turn order and indexes them by name. Names are
+ * unique, lookups by name take constant time, and a prefix trie over the names answers
+ * autocomplete queries without scanning every player. Listings can be read a page at a time.
+ */
+public final class PlayerRegistry {
+  private final List<Player> players;
+  private final List<Player> readOnlyPlayers;
+  private final Map<String, Player> byName;
+  private TrieNode root;
+
+  /**
+   * Constructs a new empty PlayerRegistry.
+   */
+  public PlayerRegistry() {
+    this.players = new ArrayList<>();
+    this.readOnlyPlayers = Collections.unmodifiableList(players);
+    this.byName = new HashMap<>();
+    this.root = new TrieNode();
+  }
+
+  /**
+   * Adds a player after the existing ones.
+   *
+   * @param player the player to add
+   * @throws IllegalArgumentException if the player is null or its name is already taken
+   */
+  public void add(Player player) {
+    if (player == null) {
+      throw new IllegalArgumentException("Player cannot be null");
+    }
+    String name = player.getName();
+    if (byName.containsKey(name)) {
+      throw new IllegalArgumentException("Player name already taken: " + name);
+    }
+    players.add(player);
+    byName.put(name, player);
+    TrieNode node = root;
+    for (int i = 0; i < name.length(); i++) {
+      node = node.children.computeIfAbsent(name.charAt(i), c -> new TrieNode());
+    }
+    node.player = player;
+  }
+
+  /**
+   * Removes every player.
+   */
+  public void clear() {
+    players.clear();
+    byName.clear();
+    root = new TrieNode();
+  }
+
+  /**
+   * Gets the player with the given name.
+   *
+   * @param name the exact name
+   * @return the player, or null if no player has that name
+   */
+  public Player findByName(String name) {
+    return name == null ? null : byName.get(name);
+  }
+
+  /**
+   * Checks if a name is taken.
+   *
+   * @param name the name to check
+   * @return true if a player already has that name, false otherwise
+   */
+  public boolean contains(String name) {
+    return name != null && byName.containsKey(name);
+  }
+
+  /**
+   * Gets the names that start with a prefix, in alphabetical order.
+   *
+   * @param prefix the start of the name
+   * @param limit  the most names to return
+   * @return up to limit matching names
+   * @throws IllegalArgumentException if the prefix is null or the limit is negative
+   */
+  public List<String> complete(String prefix, int limit) {
+    if (prefix == null) {
+      throw new IllegalArgumentException("Prefix cannot be null");
+    }
+    if (limit < 0) {
+      throw new IllegalArgumentException("Limit cannot be negative");
+    }
+    TrieNode node = root;
+    for (int i = 0; i < prefix.length() && node != null; i++) {
+      node = node.children.get(prefix.charAt(i));
+    }
+    List<String> names = new ArrayList<>();
+    if (node != null) {
+      collect(node, names, limit);
+    }
+    return names;
+  }
+
+  /**
+   * Collects the names below a trie node in alphabetical order.
+   *
+   * @param node  the node to start from
+   * @param names the list to add names to
+   * @param limit the most names to collect
+   */
+  private static void collect(TrieNode node, List<String> names, int limit) {
+    if (names.size() >= limit) {
+      return;
+    }
+    if (node.player != null) {
+      names.add(node.player.getName());
+    }
+    for (TrieNode child : node.children.values()) {
+      collect(child, names, limit);
+    }
+  }
+
+  /**
+   * Gets a page of players in turn order.
+   *
+   * @param offset the index of the first player on the page
+   * @param limit  the most players on the page
+   * @return the players on the page, empty past the end
+   * @throws IllegalArgumentException if the offset or limit is negative
+   */
+  public List<Player> page(int offset, int limit) {
+    if (offset < 0 || limit < 0) {
+      throw new IllegalArgumentException("Offset and limit cannot be negative");
+    }
+    int from = Math.min(offset, players.size());
+    int to = (int) Math.min((long) from + limit, players.size());
+    return new ArrayList<>(players.subList(from, to));
+  }
+
+  /**
+   * Gets the player at a position in turn order.
+   *
+   * @param index the position
+   * @return the player
+   */
+  public Player get(int index) {
+    return players.get(index);
+  }
+
+  /**
+   * Gets the number of players.
+   *
+   * @return the player count
+   */
+  public int size() {
+    return players.size();
+  }
+
+  /**
+   * Checks if there are no players.
+   *
+   * @return true if the registry is empty, false otherwise
+   */
+  public boolean isEmpty() {
+    return players.isEmpty();
+  }
+
+  /**
+   * Gets a read-only view of the players in turn order.
+   *
+   * @return the players
+   */
+  public List<Player> asList() {
+    return readOnlyPlayers;
+  }
+
+  /**
+   * A node of the name trie; it holds a player when a name ends here.
+   */
+  private static final class TrieNode {
+    private final TreeMap<Character, TrieNode> children = new TreeMap<>();
+    private Player player;
+  }
+}
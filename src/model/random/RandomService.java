@@ -0,0 +1,53 @@
+package model.random;
+
+/**
+ * The RandomService interface defines the source of randomness for one game.
+ * Every randomized decision in a game, such as computer player moves and starting places,
+ * draws from the same service, so a game replayed with the same seed makes the same choices.
+ * Implementations are not required to be thread-safe; each thread or simulated game should use
+ * its own instance obtained through {@link #split()}.
+ */
+public interface RandomService {
+  /**
+   * Returns a pseudorandom int between zero (inclusive) and the bound (exclusive).
+   *
+   * @param bound the upper bound, must be positive
+   * @return the next pseudorandom value
+   * @throws IllegalArgumentException if the bound is not positive
+   */
+  int nextInt(int bound);
+
+  /**
+   * Returns a pseudorandom int between the origin (inclusive) and the bound (exclusive).
+   *
+   * @param origin the least value returned
+   * @param bound  the upper bound, must be greater than the origin
+   * @return the next pseudorandom value
+   * @throws IllegalArgumentException if the origin is not less than the bound
+   */
+  int nextInt(int origin, int bound);
+
+  /**
+   * Returns a pseudorandom long value.
+   *
+   * @return the next pseudorandom value
+   */
+  long nextLong();
+
+  /**
+   * Creates a new, independent service whose sequence is fully determined by this service's
+   * current state. Use it to hand each worker thread or simulated game its own generator.
+   *
+   * @return a new random service
+   */
+  RandomService split();
+
+  /**
+   * Gets the seed this service was created from. A new service built from this seed draws the
+   * same sequence as this one did from the start, including a service obtained by
+   * {@link #split()}.
+   *
+   * @return the seed
+   */
+  long getSeed();
+}
@@ -0,0 +1,56 @@
+package model.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * SplittableRandomService implements the RandomService interface with a {@link SplittableRandom}.
+ * The generator is cheap to draw from and to split, and two services built from the same seed
+ * produce the same sequence on every platform, which makes games and parallel simulations
+ * reproducible.
+ */
+public class SplittableRandomService implements RandomService {
+  private final long seed;
+  private final SplittableRandom random;
+
+  /**
+   * Constructs a new SplittableRandomService from the given seed.
+   *
+   * @param randomSeed the seed of the generator
+   */
+  public SplittableRandomService(long randomSeed) {
+    this.seed = randomSeed;
+    this.random = new SplittableRandom(randomSeed);
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("Bound must be positive");
+    }
+    return random.nextInt(bound);
+  }
+
+  @Override
+  public int nextInt(int origin, int bound) {
+    if (origin >= bound) {
+      throw new IllegalArgumentException("Origin must be less than bound");
+    }
+    return random.nextInt(origin, bound);
+  }
+
+  @Override
+  public long nextLong() {
+    return random.nextLong();
+  }
+
+  @Override
+  public RandomService split() {
+    // The child is seeded from this stream, so its own seed replays it exactly
+    return new SplittableRandomService(random.nextLong());
+  }
+
+  @Override
+  public long getSeed() {
+    return seed;
+  }
+}
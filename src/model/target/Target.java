@@ -21,6 +21,13 @@ public interface Target {
    */
   Place getCurrentPlace();
 
+  /**
+   * Retrieves the id of the place where the target is located.
+   *
+   * @return the current place id
+   */
+  int getCurrentPlaceId();
+
   /**
    * Retrieves the target's current health value.
    *
@@ -12,6 +12,7 @@ public class TargetModel implements Target {
   private final List<Place> places;
   private int health;
   private Place currentPlace;
+  private int currentIndex;
 
   /**
    * Creates a new target with the specified name, health, starting place, and list of places.
@@ -40,17 +41,14 @@ public class TargetModel implements Target {
     this.name = targetName;
     this.health = targetHealth;
     this.currentPlace = startPlace;
+    this.currentIndex = places.indexOf(startPlace);
     this.places = places;
   }
 
   @Override
   public void moveToNextPlace() {
-    int currentIndex = places.indexOf(currentPlace);
-    if (currentIndex < places.size() - 1) {
-      currentPlace = places.get(currentIndex + 1);
-    } else {
-      currentPlace = places.get(0);
-    }
+    currentIndex = currentIndex < places.size() - 1 ? currentIndex + 1 : 0;
+    currentPlace = places.get(currentIndex);
   }
 
   @Override
@@ -58,6 +56,11 @@ public class TargetModel implements Target {
     return currentPlace;
   }
 
+  @Override
+  public int getCurrentPlaceId() {
+    return currentPlace.getPlaceId();
+  }
+
   @Override
   public int getHealth() {
     return health;
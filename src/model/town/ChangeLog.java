@@ -0,0 +1,113 @@
+package model.town;
+
+/**
+ * ChangeLog records which players and places a town has changed, so a reader such as
+ * {@link GameSnapshot#capture} can visit only those instead of comparing the whole world.
+ *
+ * <p>Readers remember a mark from {@link #getMark()} and later ask which changes came after it.
+ * The log keeps the most recent changes in a fixed ring; a reader that fell further behind, or
+ * whose mark predates a reset, is told the log does not cover it and must look at everything.
+ * Only changes made through the town's own methods are recorded. The log belongs to the thread
+ * that owns the town.
+ */
+public final class ChangeLog {
+  private static final int CAPACITY = 1024;
+
+  private final int[] entries;
+  private long sequence;
+  private long validFrom;
+
+  /**
+   * Constructs a new, empty ChangeLog.
+   */
+  public ChangeLog() {
+    this.entries = new int[CAPACITY];
+  }
+
+  /**
+   * Records a change to a player: its place, its items, or the player joining.
+   *
+   * @param playerIndex the player's index in turn order
+   */
+  public void playerChanged(int playerIndex) {
+    record(playerIndex << 1);
+  }
+
+  /**
+   * Records a change to the items lying in a place.
+   *
+   * @param placeNumber the place number
+   */
+  public void placeChanged(int placeNumber) {
+    record(placeNumber << 1 | 1);
+  }
+
+  /**
+   * Records that the whole game changed, for example when it was reset. No mark taken before
+   * this call is covered afterwards.
+   */
+  public void everythingChanged() {
+    sequence++;
+    validFrom = sequence;
+  }
+
+  /**
+   * Gets a mark for the current position in the log.
+   *
+   * @return the mark
+   */
+  public long getMark() {
+    return sequence;
+  }
+
+  /**
+   * Checks if every change after a mark is still in the log.
+   *
+   * @param mark a mark from {@link #getMark()}
+   * @return true if the changes since the mark can be read, false if the reader must look at
+   *         everything
+   */
+  public boolean covers(long mark) {
+    return mark >= validFrom && mark <= sequence && sequence - mark <= CAPACITY;
+  }
+
+  /**
+   * Checks if the change at a position was to a place rather than a player.
+   *
+   * @param position a position from a covered mark up to the current mark, exclusive
+   * @return true for a place change, false for a player change
+   */
+  public boolean isPlaceAt(long position) {
+    return (entries[slot(position)] & 1) != 0;
+  }
+
+  /**
+   * Gets the player index or place number changed at a position.
+   *
+   * @param position a position from a covered mark up to the current mark, exclusive
+   * @return the player index for a player change, or the place number for a place change
+   */
+  public int indexAt(long position) {
+    return entries[slot(position)] >>> 1;
+  }
+
+  /**
+   * Appends one change.
+   *
+   * @param entry the encoded change
+   */
+  private void record(int entry) {
+    entries[slot(sequence)] = entry;
+    sequence++;
+  }
+
+  /**
+   * Gets the ring slot of a position.
+   *
+   * @param position the position
+   * @return the slot
+   */
+  private static int slot(long position) {
+    return (int) (position % CAPACITY);
+  }
+}
@@ -0,0 +1,745 @@
+package model.town;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import model.item.Item;
+import model.place.Place;
+import model.player.Player;
+import model.target.Target;
+
+/**
+ * GameSnapshot is an immutable, versioned copy of a whole game: every player, the items in
+ * every place, the target, the pet and whose turn it is. The game thread captures a new snapshot
+ * after each committed change and publishes it through a volatile reference, so any number of
+ * spectator threads can read a consistent state without locking or slowing the game.
+ *
+ * <p>Snapshots share structure: a capture reuses the previous snapshot's entry for every player
+ * and place that has not changed, and returns the previous snapshot itself, with the same
+ * version, when nothing changed at all. Players and places are held in chunked lists, so a new
+ * snapshot copies only the chunks it changes plus one small array of chunk references. When the
+ * town keeps a {@link ChangeLog}, a capture looks only at the players and places the log names;
+ * otherwise, or when the log no longer reaches back to the previous capture, it compares them
+ * all. Each snapshot remembers which entries it changed, so
+ * {@link #getChangedPlayers(GameSnapshot)} and {@link #getChangedPlaces(GameSnapshot)} answer in
+ * time proportional to the changes.
+ */
+public final class GameSnapshot {
+  private final long version;
+  private final int turn;
+  private final int maxTurns;
+  private final int currentPlayerIndex;
+  private final boolean gameOver;
+  private final String targetName;
+  private final int targetHealth;
+  private final int targetPlaceNumber;
+  private final String petName;
+  private final int petPlaceNumber;
+  private final ChunkedList<PlayerState> players;
+  private final ChunkedList<PlaceState> places;
+  private final long changeMark;
+  private final long baseVersion;
+  private final int[] changedPlayers;
+  private final int[] changedPlaces;
+
+  /**
+   * Constructs a new GameSnapshot.
+   *
+   * @param snapshotVersion the version of this snapshot
+   * @param town            the game to read the scalar state from
+   * @param playerStates    the players, in turn order
+   * @param placeStates     the places, in place number order
+   * @param logMark         the town's change log mark at this capture, or -1 if it has no log
+   * @param previous        the snapshot the entries were edited from, or null
+   */
+  private GameSnapshot(long snapshotVersion, Town town,
+                       ChunkedList.Editor<PlayerState> playerStates,
+                       ChunkedList.Editor<PlaceState> placeStates, long logMark,
+                       GameSnapshot previous) {
+    this.version = snapshotVersion;
+    this.turn = town.getCurrentTurn();
+    this.maxTurns = town.getMaxTurns();
+    this.currentPlayerIndex = town.getCurrentPlayerIndex();
+    this.gameOver = town.isGameOver();
+    this.targetName = town.getTargetName();
+    this.targetHealth = town.getTargetHealth();
+    this.targetPlaceNumber = targetPlace(town);
+    this.petName = town.getPetName();
+    this.petPlaceNumber = town.getPetPlaceNumber();
+    this.players = playerStates.build();
+    this.places = placeStates.build();
+    this.changeMark = logMark;
+    this.baseVersion = previous == null ? 0 : previous.version;
+    this.changedPlayers = playerStates.changedIndices();
+    this.changedPlaces = placeStates.changedIndices();
+  }
+
+  /**
+   * Captures the current state of a game. Must be called on the thread that owns the game.
+   *
+   * @param town     the game to capture
+   * @param previous the last snapshot of the same game, or null for the first capture
+   * @return the previous snapshot if nothing changed, otherwise a new snapshot with the next
+   *         version that shares every unchanged player and place with the previous one
+   * @throws IllegalArgumentException if the game is null
+   */
+  public static GameSnapshot capture(Town town, GameSnapshot previous) {
+    if (town == null) {
+      throw new IllegalArgumentException("Town cannot be null");
+    }
+    ChangeLog log = town.getChangeLog();
+    long mark = log == null ? -1 : log.getMark();
+    List<Player> livePlayers = town.getPlayers();
+    List<Place> livePlaces = town.getPlaces();
+    ChunkedList.Editor<PlayerState> playerStates = new ChunkedList.Editor<>(
+        previous == null ? ChunkedList.<PlayerState>empty() : previous.players);
+    ChunkedList.Editor<PlaceState> placeStates = new ChunkedList.Editor<>(
+        previous == null ? ChunkedList.<PlaceState>empty() : previous.places);
+    boolean changed;
+    if (previous != null && previous.players.size() <= livePlayers.size()
+        && previous.places.size() == livePlaces.size() && previous.changeMark >= 0
+        && log != null && log.covers(previous.changeMark)) {
+      changed = false;
+      for (long position = previous.changeMark; position < mark; position++) {
+        int index = log.indexAt(position);
+        changed |= log.isPlaceAt(position)
+            ? updatePlace(placeStates, livePlaces, index - 1)
+            : updatePlayer(playerStates, livePlayers, index);
+      }
+    } else {
+      changed = previous == null || previous.players.size() != livePlayers.size()
+          || previous.places.size() != livePlaces.size();
+      playerStates.truncate(livePlayers.size());
+      for (int i = 0; i < livePlayers.size(); i++) {
+        changed |= updatePlayer(playerStates, livePlayers, i);
+      }
+      placeStates.truncate(livePlaces.size());
+      for (int i = 0; i < livePlaces.size(); i++) {
+        changed |= updatePlace(placeStates, livePlaces, i);
+      }
+    }
+    if (!changed && previous.sameScalars(town)) {
+      return previous;
+    }
+    return new GameSnapshot(previous == null ? 1 : previous.version + 1, town, playerStates,
+        placeStates, mark, previous);
+  }
+
+  /**
+   * Brings one player's entry up to date.
+   *
+   * @param states      the player list being built
+   * @param livePlayers the game's players
+   * @param index       the player's index
+   * @return true if the entry changed, false otherwise
+   */
+  private static boolean updatePlayer(ChunkedList.Editor<PlayerState> states,
+                                      List<Player> livePlayers, int index) {
+    if (index >= livePlayers.size()) {
+      return false;
+    }
+    PlayerState old = index < states.size() ? states.get(index) : null;
+    PlayerState state = PlayerState.of(livePlayers.get(index), old);
+    if (state == old) {
+      return false;
+    }
+    states.set(index, state);
+    return true;
+  }
+
+  /**
+   * Brings one place's entry up to date.
+   *
+   * @param states     the place list being built
+   * @param livePlaces the game's places
+   * @param index      the place's index, its number minus one
+   * @return true if the entry changed, false otherwise
+   */
+  private static boolean updatePlace(ChunkedList.Editor<PlaceState> states,
+                                     List<Place> livePlaces, int index) {
+    if (index < 0 || index >= livePlaces.size()) {
+      return false;
+    }
+    PlaceState old = index < states.size() ? states.get(index) : null;
+    PlaceState state = PlaceState.of(index + 1, livePlaces.get(index), old);
+    if (state == old) {
+      return false;
+    }
+    states.set(index, state);
+    return true;
+  }
+
+  /**
+   * Checks if the turn, target and pet state of a game still match this snapshot.
+   *
+   * @param town the game
+   * @return true if they match, false otherwise
+   */
+  private boolean sameScalars(Town town) {
+    return turn == town.getCurrentTurn() && currentPlayerIndex == town.getCurrentPlayerIndex()
+        && gameOver == town.isGameOver() && targetHealth == town.getTargetHealth()
+        && targetPlaceNumber == targetPlace(town)
+        && petPlaceNumber == town.getPetPlaceNumber();
+  }
+
+  /**
+   * Gets the number of the place a game's target is in.
+   *
+   * @param town the game
+   * @return the target's place number, or 0 if the game has no target
+   */
+  private static int targetPlace(Town town) {
+    Target target = town.getTarget();
+    return target == null ? 0 : target.getCurrentPlaceId();
+  }
+
+  /**
+   * Checks if two item lists hold the same items in the same order.
+   *
+   * @param first  the first list
+   * @param second the second list
+   * @return true if the lists hold the same item objects, false otherwise
+   */
+  private static boolean sameItems(List<Item> first, List<Item> second) {
+    if (first.size() != second.size()) {
+      return false;
+    }
+    for (int i = 0; i < first.size(); i++) {
+      if (first.get(i) != second.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Copies a list of items into an unmodifiable list.
+   *
+   * @param items the items
+   * @return an unmodifiable copy
+   */
+  private static List<Item> copyItems(List<Item> items) {
+    return items.isEmpty() ? Collections.emptyList()
+        : Collections.unmodifiableList(new ArrayList<>(items));
+  }
+
+  /**
+   * Gets the indices of the players whose state differs from an earlier snapshot of the same
+   * game, including players who joined since. When the base is the snapshot this one was
+   * captured from, the answer was recorded by the capture; otherwise the two are compared one
+   * shared chunk at a time.
+   *
+   * @param base an earlier snapshot of the same game
+   * @return the changed player indices in ascending order
+   * @throws IllegalArgumentException if the base is null
+   */
+  public int[] getChangedPlayers(GameSnapshot base) {
+    if (base == null) {
+      throw new IllegalArgumentException("Base snapshot cannot be null");
+    }
+    if (base == this) {
+      return new int[0];
+    }
+    return base.version == baseVersion ? changedPlayers.clone() : players.changedFrom(base.players);
+  }
+
+  /**
+   * Gets the indices of the places whose items differ from an earlier snapshot of the same game,
+   * the same way as {@link #getChangedPlayers(GameSnapshot)}.
+   *
+   * @param base an earlier snapshot of the same game
+   * @return the changed place indices, place numbers minus one, in ascending order
+   * @throws IllegalArgumentException if the base is null
+   */
+  public int[] getChangedPlaces(GameSnapshot base) {
+    if (base == null) {
+      throw new IllegalArgumentException("Base snapshot cannot be null");
+    }
+    if (base == this) {
+      return new int[0];
+    }
+    return base.version == baseVersion ? changedPlaces.clone() : places.changedFrom(base.places);
+  }
+
+  /**
+   * Gets the version of this snapshot. Versions start at 1 and grow by one with each change.
+   *
+   * @return the version
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Gets the current turn number.
+   *
+   * @return the turn
+   */
+  public int getTurn() {
+    return turn;
+  }
+
+  /**
+   * Gets the maximum number of turns.
+   *
+   * @return the maximum turns
+   */
+  public int getMaxTurns() {
+    return maxTurns;
+  }
+
+  /**
+   * Gets the index of the player whose turn it is.
+   *
+   * @return the current player's index
+   */
+  public int getCurrentPlayerIndex() {
+    return currentPlayerIndex;
+  }
+
+  /**
+   * Gets the player whose turn it is.
+   *
+   * @return the current player, or null if there are no players
+   */
+  public PlayerState getCurrentPlayer() {
+    return players.isEmpty() ? null : players.get(currentPlayerIndex);
+  }
+
+  /**
+   * Checks if the game is over.
+   *
+   * @return true if the game is over, false otherwise
+   */
+  public boolean isGameOver() {
+    return gameOver;
+  }
+
+  /**
+   * Gets the name of the target.
+   *
+   * @return the target's name
+   */
+  public String getTargetName() {
+    return targetName;
+  }
+
+  /**
+   * Gets the target's health.
+   *
+   * @return the target's health
+   */
+  public int getTargetHealth() {
+    return targetHealth;
+  }
+
+  /**
+   * Gets the number of the place the target is in.
+   *
+   * @return the target's place number, or 0 if the game has no target
+   */
+  public int getTargetPlaceNumber() {
+    return targetPlaceNumber;
+  }
+
+  /**
+   * Gets the name of the pet.
+   *
+   * @return the pet's name
+   */
+  public String getPetName() {
+    return petName;
+  }
+
+  /**
+   * Gets the number of the place the pet is in.
+   *
+   * @return the pet's place number
+   */
+  public int getPetPlaceNumber() {
+    return petPlaceNumber;
+  }
+
+  /**
+   * Gets the players in turn order.
+   *
+   * @return an unmodifiable list of players
+   */
+  public List<PlayerState> getPlayers() {
+    return players;
+  }
+
+  /**
+   * Gets the places in place number order.
+   *
+   * @return an unmodifiable list of places
+   */
+  public List<PlaceState> getPlaces() {
+    return places;
+  }
+
+  /**
+   * The state of one player in a snapshot.
+   */
+  public static final class PlayerState {
+    private final String name;
+    private final boolean computer;
+    private final int carryLimit;
+    private final int placeNumber;
+    private final List<Item> carriedItems;
+
+    /**
+     * Constructs a new PlayerState.
+     *
+     * @param player the player to copy
+     */
+    private PlayerState(Player player) {
+      this.name = player.getName();
+      this.computer = player.isComputerControlled();
+      this.carryLimit = player.getCarryLimit();
+      this.placeNumber = player.getPlayerCurrentPlaceNumber();
+      this.carriedItems = copyItems(player.getCurrentCarriedItems());
+    }
+
+    /**
+     * Gets the state of a player, reusing the old state if the player has not changed.
+     *
+     * @param player the live player
+     * @param old    the player's state in the previous snapshot, or null
+     * @return the old state if it still matches, otherwise a new state
+     */
+    private static PlayerState of(Player player, PlayerState old) {
+      if (old != null && old.name.equals(player.getName())
+          && old.computer == player.isComputerControlled()
+          && old.carryLimit == player.getCarryLimit()
+          && old.placeNumber == player.getPlayerCurrentPlaceNumber()
+          && sameItems(old.carriedItems, player.getCurrentCarriedItems())) {
+        return old;
+      }
+      return new PlayerState(player);
+    }
+
+    /**
+     * Gets the player's name.
+     *
+     * @return the name
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Checks if the player is computer controlled.
+     *
+     * @return true for a computer player, false otherwise
+     */
+    public boolean isComputer() {
+      return computer;
+    }
+
+    /**
+     * Gets the player's carry limit.
+     *
+     * @return the carry limit
+     */
+    public int getCarryLimit() {
+      return carryLimit;
+    }
+
+    /**
+     * Gets the number of the place the player is in.
+     *
+     * @return the place number
+     */
+    public int getPlaceNumber() {
+      return placeNumber;
+    }
+
+    /**
+     * Gets the items the player carries.
+     *
+     * @return an unmodifiable list of items
+     */
+    public List<Item> getCarriedItems() {
+      return carriedItems;
+    }
+  }
+
+  /**
+   * The state of one place in a snapshot.
+   */
+  public static final class PlaceState {
+    private final int number;
+    private final String name;
+    private final List<Item> items;
+
+    /**
+     * Constructs a new PlaceState.
+     *
+     * @param placeNumber the place's number
+     * @param place       the place to copy
+     */
+    private PlaceState(int placeNumber, Place place) {
+      this.number = placeNumber;
+      this.name = place.getName();
+      this.items = copyItems(place.getItems());
+    }
+
+    /**
+     * Gets the state of a place, reusing the old state if its items have not changed.
+     *
+     * @param placeNumber the place's number
+     * @param place       the live place
+     * @param old         the place's state in the previous snapshot, or null
+     * @return the old state if it still matches, otherwise a new state
+     */
+    private static PlaceState of(int placeNumber, Place place, PlaceState old) {
+      if (old != null && sameItems(old.items, place.getItems())) {
+        return old;
+      }
+      return new PlaceState(placeNumber, place);
+    }
+
+    /**
+     * Gets the place's number.
+     *
+     * @return the place number
+     */
+    public int getNumber() {
+      return number;
+    }
+
+    /**
+     * Gets the place's name.
+     *
+     * @return the name
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Gets the items lying in the place.
+     *
+     * @return an unmodifiable list of items
+     */
+    public List<Item> getItems() {
+      return items;
+    }
+  }
+
+  /**
+   * An immutable list stored in fixed-size chunks. Changing entries copies only the chunks they
+   * fall in and the array of chunk references; every other chunk is shared with the old list.
+   *
+   * @param <T> the element type
+   */
+  private static final class ChunkedList<T> extends AbstractList<T> implements RandomAccess {
+    private static final int SHIFT = 5;
+    private static final int CHUNK = 1 << SHIFT;
+    private static final ChunkedList<Object> EMPTY = new ChunkedList<>(new Object[0][], 0);
+
+    private final Object[][] chunks;
+    private final int size;
+
+    /**
+     * Constructs a new ChunkedList.
+     *
+     * @param listChunks the chunks, each full except perhaps the last
+     * @param listSize   the number of elements
+     */
+    private ChunkedList(Object[][] listChunks, int listSize) {
+      this.chunks = listChunks;
+      this.size = listSize;
+    }
+
+    /**
+     * Gets the empty list.
+     *
+     * @param <T> the element type
+     * @return the empty list
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> ChunkedList<T> empty() {
+      return (ChunkedList<T>) EMPTY;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+      }
+      return (T) chunks[index >>> SHIFT][index & (CHUNK - 1)];
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    /**
+     * Finds the indices whose element is not the same object as in an older version of this
+     * list, including indices past the older list's end. Chunks the two lists share are skipped
+     * without looking inside.
+     *
+     * @param older the older version
+     * @return the changed indices in ascending order
+     */
+    private int[] changedFrom(ChunkedList<T> older) {
+      int[] found = new int[8];
+      int count = 0;
+      for (int chunk = 0; chunk << SHIFT < size; chunk++) {
+        if (chunk < older.chunks.length && chunks[chunk] == older.chunks[chunk]) {
+          continue;
+        }
+        int end = Math.min(size, (chunk + 1) << SHIFT);
+        for (int index = chunk << SHIFT; index < end; index++) {
+          if (index >= older.size || get(index) != older.get(index)) {
+            if (count == found.length) {
+              found = Arrays.copyOf(found, count * 2);
+            }
+            found[count++] = index;
+          }
+        }
+      }
+      return Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Builds a changed copy of a chunked list, copying each chunk at most once.
+     *
+     * @param <T> the element type
+     */
+    private static final class Editor<T> {
+      private final ChunkedList<T> base;
+      private Object[][] chunks;
+      private boolean[] copied;
+      private int size;
+      private int[] changed;
+      private int changedCount;
+
+      /**
+       * Constructs a new Editor that starts from a list.
+       *
+       * @param list the list to start from
+       */
+      private Editor(ChunkedList<T> list) {
+        this.base = list;
+        this.chunks = list.chunks;
+        this.size = list.size;
+      }
+
+      /**
+       * Gets the number of elements so far.
+       *
+       * @return the size
+       */
+      private int size() {
+        return size;
+      }
+
+      /**
+       * Gets an element.
+       *
+       * @param index the index, less than the size
+       * @return the element
+       */
+      @SuppressWarnings("unchecked")
+      private T get(int index) {
+        return (T) chunks[index >>> SHIFT][index & (CHUNK - 1)];
+      }
+
+      /**
+       * Replaces an element, or appends one when the index is the size.
+       *
+       * @param index the index, at most the size
+       * @param value the element
+       * @throws IndexOutOfBoundsException if the index is past the end
+       */
+      private void set(int index, T value) {
+        if (index < 0 || index > size) {
+          throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        int chunk = index >>> SHIFT;
+        if (copied == null) {
+          chunks = Arrays.copyOf(chunks, Math.max(chunks.length, chunk + 1));
+          copied = new boolean[chunks.length];
+        } else if (chunk >= chunks.length) {
+          chunks = Arrays.copyOf(chunks, Math.max(chunks.length * 2, chunk + 1));
+          copied = Arrays.copyOf(copied, chunks.length);
+        }
+        if (!copied[chunk]) {
+          chunks[chunk] = chunks[chunk] == null ? new Object[CHUNK] : chunks[chunk].clone();
+          copied[chunk] = true;
+        }
+        chunks[chunk][index & (CHUNK - 1)] = value;
+        size = Math.max(size, index + 1);
+        if (changed == null) {
+          changed = new int[4];
+        } else if (changedCount == changed.length) {
+          changed = Arrays.copyOf(changed, changedCount * 2);
+        }
+        changed[changedCount++] = index;
+      }
+
+      /**
+       * Gets the indices set so far, below the current size.
+       *
+       * @return the indices in ascending order, each once
+       */
+      private int[] changedIndices() {
+        if (changedCount == 0) {
+          return new int[0];
+        }
+        int[] sorted = Arrays.copyOf(changed, changedCount);
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int index : sorted) {
+          if (index < size && (unique == 0 || sorted[unique - 1] != index)) {
+            sorted[unique++] = index;
+          }
+        }
+        return Arrays.copyOf(sorted, unique);
+      }
+
+      /**
+       * Drops the elements past a size.
+       *
+       * @param newSize the size to keep, at most the current size
+       */
+      private void truncate(int newSize) {
+        if (newSize < size) {
+          size = newSize;
+          chunks = Arrays.copyOf(chunks, (newSize + CHUNK - 1) >>> SHIFT);
+          copied = null;
+          if (newSize % CHUNK != 0) {
+            // The last kept chunk is shared with the old list, so clear its tail in a copy
+            int last = chunks.length - 1;
+            chunks[last] = Arrays.copyOf(chunks[last], CHUNK);
+            Arrays.fill(chunks[last], newSize % CHUNK, CHUNK, null);
+            copied = new boolean[chunks.length];
+            copied[last] = true;
+          }
+        }
+      }
+
+      /**
+       * Finishes the list.
+       *
+       * @return the base list if nothing changed, otherwise the new list
+       */
+      private ChunkedList<T> build() {
+        if (chunks == base.chunks && size == base.size) {
+          return base;
+        }
+        int used = (size + CHUNK - 1) >>> SHIFT;
+        return new ChunkedList<>(used == chunks.length ? chunks : Arrays.copyOf(chunks, used),
+            size);
+      }
+    }
+  }
+}
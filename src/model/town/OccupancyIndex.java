@@ -0,0 +1,178 @@
+package model.town;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * OccupancyIndex records which place each player is in, keyed by player id and place id.
+ * Each place keeps a bitset of its occupants' ids and a count, so moving a player, checking
+ * where a player is and asking who shares a room are constant time, or proportional to the
+ * room's occupants, rather than a scan over every player in the game. Each arrival is also
+ * stamped, so a room's occupants can be listed in the order they came in.
+ */
+public final class OccupancyIndex {
+  private final BitSet[] occupants;
+  private final int[] counts;
+  private int[] placeOfPlayer;
+  private int[] arrivalOfPlayer;
+  private int arrivals;
+
+  /**
+   * Constructs a new, empty OccupancyIndex.
+   *
+   * @param placeCount the number of places, whose ids run from 1 to placeCount
+   * @throws IllegalArgumentException if the place count is negative
+   */
+  public OccupancyIndex(int placeCount) {
+    if (placeCount < 0) {
+      throw new IllegalArgumentException("Place count cannot be negative");
+    }
+    this.occupants = new BitSet[placeCount + 1];
+    for (int i = 1; i <= placeCount; i++) {
+      occupants[i] = new BitSet();
+    }
+    this.counts = new int[placeCount + 1];
+    this.placeOfPlayer = new int[8];
+    this.arrivalOfPlayer = new int[8];
+  }
+
+  /**
+   * Checks a place id.
+   *
+   * @param placeId the place id
+   * @throws IllegalArgumentException if there is no such place
+   */
+  private void checkPlace(int placeId) {
+    if (placeId <= 0 || placeId >= occupants.length) {
+      throw new IllegalArgumentException("Invalid place id: " + placeId);
+    }
+  }
+
+  /**
+   * Adds a player to a place.
+   *
+   * @param playerId the player's id, at least 1
+   * @param placeId  the place's id
+   * @throws IllegalArgumentException if the ids are invalid or the player is already placed
+   */
+  public void add(int playerId, int placeId) {
+    if (playerId <= 0) {
+      throw new IllegalArgumentException("Invalid player id: " + playerId);
+    }
+    checkPlace(placeId);
+    if (playerId >= placeOfPlayer.length) {
+      int capacity = Math.max(playerId + 1, placeOfPlayer.length * 2);
+      placeOfPlayer = Arrays.copyOf(placeOfPlayer, capacity);
+      arrivalOfPlayer = Arrays.copyOf(arrivalOfPlayer, capacity);
+    }
+    if (placeOfPlayer[playerId] != 0) {
+      throw new IllegalArgumentException("Player " + playerId + " is already placed");
+    }
+    placeOfPlayer[playerId] = placeId;
+    arrivalOfPlayer[playerId] = ++arrivals;
+    occupants[placeId].set(playerId);
+    counts[placeId]++;
+  }
+
+  /**
+   * Moves a placed player to another place.
+   *
+   * @param playerId the player's id
+   * @param placeId  the destination place's id
+   * @throws IllegalArgumentException if the place is invalid or the player is not placed
+   */
+  public void move(int playerId, int placeId) {
+    checkPlace(placeId);
+    int from = placeOf(playerId);
+    if (from == 0) {
+      throw new IllegalArgumentException("Player " + playerId + " is not placed");
+    }
+    occupants[from].clear(playerId);
+    counts[from]--;
+    placeOfPlayer[playerId] = placeId;
+    arrivalOfPlayer[playerId] = ++arrivals;
+    occupants[placeId].set(playerId);
+    counts[placeId]++;
+  }
+
+  /**
+   * Gets when a player arrived in its current place. Later arrivals have larger stamps.
+   *
+   * @param playerId the player's id
+   * @return the arrival stamp, or 0 if the player is not placed
+   */
+  public int arrivalOf(int playerId) {
+    return placeOf(playerId) == 0 ? 0 : arrivalOfPlayer[playerId];
+  }
+
+  /**
+   * Gets the place a player is in.
+   *
+   * @param playerId the player's id
+   * @return the place id, or 0 if the player is not placed
+   */
+  public int placeOf(int playerId) {
+    return playerId > 0 && playerId < placeOfPlayer.length ? placeOfPlayer[playerId] : 0;
+  }
+
+  /**
+   * Checks if a player is in a place.
+   *
+   * @param playerId the player's id
+   * @param placeId  the place's id
+   * @return true if the player is in the place, false otherwise
+   */
+  public boolean isIn(int playerId, int placeId) {
+    return placeId > 0 && placeOf(playerId) == placeId;
+  }
+
+  /**
+   * Checks if two players share a place.
+   *
+   * @param firstId  the first player's id
+   * @param secondId the second player's id
+   * @return true if both are placed and in the same place, false otherwise
+   */
+  public boolean together(int firstId, int secondId) {
+    int place = placeOf(firstId);
+    return place != 0 && place == placeOf(secondId);
+  }
+
+  /**
+   * Counts the players in a place.
+   *
+   * @param placeId the place's id
+   * @return the number of occupants
+   */
+  public int countIn(int placeId) {
+    checkPlace(placeId);
+    return counts[placeId];
+  }
+
+  /**
+   * Finds the next occupant of a place, for iterating in id order:
+   * {@code for (int id = index.nextOccupant(place, 0); id > 0;
+   * id = index.nextOccupant(place, id))}.
+   *
+   * @param placeId  the place's id
+   * @param afterId  the id to search after, or 0 to start
+   * @return the next occupant's id, or -1 if there are no more
+   */
+  public int nextOccupant(int placeId, int afterId) {
+    checkPlace(placeId);
+    return occupants[placeId].nextSetBit(afterId + 1);
+  }
+
+  /**
+   * Removes every player.
+   */
+  public void clear() {
+    for (int i = 1; i < occupants.length; i++) {
+      occupants[i].clear();
+    }
+    Arrays.fill(counts, 0);
+    Arrays.fill(placeOfPlayer, 0);
+    Arrays.fill(arrivalOfPlayer, 0);
+    arrivals = 0;
+  }
+}
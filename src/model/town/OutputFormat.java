@@ -0,0 +1,40 @@
+package model.town;
+
+import java.io.IOException;
+
+/**
+ * OutputFormat writes numbers to a town's output one character at a time, so reporting the
+ * turn or the target's health does not build a string on every move.
+ */
+public final class OutputFormat {
+  /**
+   * Prevents instantiation.
+   */
+  private OutputFormat() {
+  }
+
+  /**
+   * Appends a number in decimal.
+   *
+   * @param out   the output
+   * @param value the number
+   * @throws IOException if the output fails
+   */
+  public static void appendInt(Appendable out, int value) throws IOException {
+    if (value < 0) {
+      out.append('-');
+    } else {
+      value = -value;
+    }
+    // Work on the negative value so Integer.MIN_VALUE needs no special case
+    int divisor = 1;
+    while (value / divisor <= -10) {
+      divisor *= 10;
+    }
+    while (divisor != 0) {
+      out.append((char) ('0' - value / divisor));
+      value %= divisor;
+      divisor /= 10;
+    }
+  }
+}
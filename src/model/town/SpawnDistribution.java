@@ -0,0 +1,138 @@
+package model.town;
+
+import java.util.Arrays;
+import java.util.List;
+import model.place.Place;
+import model.random.RandomService;
+
+/**
+ * SpawnDistribution says where computer players added in bulk start out: spread evenly over the
+ * world, packed around one place, or as far from the target as the map allows.
+ */
+public enum SpawnDistribution {
+  /**
+   * Each player starts in a place drawn uniformly from the whole world.
+   */
+  UNIFORM,
+
+  /**
+   * One place is drawn at random and each player starts in it or one of its neighbors.
+   */
+  CLUSTERED,
+
+  /**
+   * Each player starts in one of the places the most moves away from the target.
+   */
+  FAR_FROM_TARGET;
+
+  /**
+   * Chooses a starting place for each of a number of players.
+   *
+   * @param places      the places of the world, in place number order
+   * @param targetPlace the place the target is in
+   * @param count       the number of players
+   * @param random      the source of randomness
+   * @return the 1-based starting place number of each player
+   * @throws IllegalArgumentException if the world has no places, the count is negative, or the
+   *                                  random service is null
+   */
+  public int[] choosePlaces(List<Place> places, Place targetPlace, int count,
+                            RandomService random) {
+    if (places == null || places.isEmpty()) {
+      throw new IllegalArgumentException("World has no places");
+    }
+    if (count < 0) {
+      throw new IllegalArgumentException("Count cannot be negative");
+    }
+    if (random == null) {
+      throw new IllegalArgumentException("Random service cannot be null");
+    }
+    int[] candidates;
+    switch (this) {
+      case CLUSTERED:
+        candidates = cluster(places.get(random.nextInt(places.size())));
+        break;
+      case FAR_FROM_TARGET:
+        candidates = farthest(places, targetPlace);
+        break;
+      default:
+        candidates = null;
+        break;
+    }
+    // A null candidate list means every place is equally likely
+    int[] chosen = new int[count];
+    for (int i = 0; i < count; i++) {
+      chosen[i] = candidates == null ? random.nextInt(places.size()) + 1
+          : candidates[random.nextInt(candidates.length)];
+    }
+    return chosen;
+  }
+
+  /**
+   * Gets the number of a place and its neighbors.
+   *
+   * @param center the place at the middle of the cluster
+   * @return the place numbers of the cluster
+   */
+  private static int[] cluster(Place center) {
+    List<Place> neighbors = center.getNeighbors();
+    int[] numbers = new int[neighbors.size() + 1];
+    numbers[0] = center.getPlaceId();
+    for (int i = 0; i < neighbors.size(); i++) {
+      numbers[i + 1] = neighbors.get(i).getPlaceId();
+    }
+    return numbers;
+  }
+
+  /**
+   * Gets the numbers of the places the most moves away from a place. Places that cannot be
+   * reached at all count as the farthest.
+   *
+   * @param places the places of the world
+   * @param start  the place to measure from
+   * @return the place numbers at the greatest distance, or null if the start is not in the world
+   */
+  private static int[] farthest(List<Place> places, Place start) {
+    // Places are in place number order, so a place's index is its id minus one
+    int startIndex = start == null ? -1 : start.getPlaceId() - 1;
+    if (startIndex < 0 || startIndex >= places.size()) {
+      return null;
+    }
+    int[] distance = new int[places.size()];
+    Arrays.fill(distance, Integer.MAX_VALUE);
+    distance[startIndex] = 0;
+    int[] frontier = new int[places.size()];
+    int head = 0;
+    int tail = 0;
+    frontier[tail++] = startIndex;
+    while (head < tail) {
+      int current = frontier[head++];
+      List<Place> neighbors = places.get(current).getNeighbors();
+      for (int n = 0; n < neighbors.size(); n++) {
+        int next = neighbors.get(n).getPlaceId() - 1;
+        if (next >= 0 && next < distance.length && distance[next] == Integer.MAX_VALUE) {
+          distance[next] = distance[current] + 1;
+          frontier[tail++] = next;
+        }
+      }
+    }
+    int best = 0;
+    int found = 0;
+    for (int d : distance) {
+      if (d > best) {
+        best = d;
+        found = 0;
+      }
+      if (d == best) {
+        found++;
+      }
+    }
+    int[] result = new int[found];
+    for (int i = 0, n = 0; i < distance.length; i++) {
+      if (distance[i] == best) {
+        result[n++] = i + 1;
+      }
+    }
+    return result;
+  }
+}
@@ -3,6 +3,7 @@ package model.town;
 import java.io.IOException;
 import java.util.List;
 import model.place.Place;
+import model.random.RandomService;
 import model.player.Player;
 import model.target.Target;
 
@@ -23,6 +24,20 @@ public interface Town {
    */
   String petCurrentInfo();
 
+  /**
+   * Gets the name of the pet.
+   *
+   * @return the pet's name
+   */
+  String getPetName();
+
+  /**
+   * Gets the number of the place the pet is currently in.
+   *
+   * @return the pet's current place number
+   */
+  int getPetPlaceNumber();
+
   /**
    * Retrieves a specific place in the town by its number.
    *
@@ -89,7 +104,7 @@ public interface Town {
    * @return the place number where the specified player is currently located
    * @throws IllegalArgumentException if the player index is invalid
    */
-  Integer getPlayerCurrPlaceNumber(int playerIndex);
+  int getPlayerCurrPlaceNumber(int playerIndex);
 
   /**
    * Gets detailed information about a specific place.
@@ -116,7 +131,7 @@ public interface Town {
    * @param newPlayerPlace      the starting place number for the new player
    * @param newPlayerCarryLimit the maximum number of items the player can carry
    * @param isComputerPlayer    true if the player is computer-controlled, false otherwise
-   * @throws IllegalArgumentException if any of the parameters are invalid
+   * @throws IllegalArgumentException if any of the parameters are invalid or the name is taken
    */
   void addPlayer(String newPlayerName, int newPlayerPlace, int newPlayerCarryLimit,
                  boolean isComputerPlayer);
@@ -156,12 +171,14 @@ public interface Town {
   void switchToNextPlayer() throws IOException;
 
   /**
-   * Gets basic location information about the current game state.
+   * Gets an immutable snapshot of the game state as seen by the current player: the player's
+   * place and items, the other players in the same place, the target, the pet and the items in
+   * the room.
    *
-   * @return a string containing basic location information
-   * @throws IOException if there is an error retrieving the information
+   * @return the snapshot for the current turn
+   * @throws IndexOutOfBoundsException if there are no players in the game
    */
-  String showBasicLocationInfo() throws IOException;
+  TurnSnapshot getTurnSnapshot();
 
   /**
    * Gets information about all players in the game.
@@ -212,8 +229,9 @@ public interface Town {
    * Allows the current player to pick up a specified item from their current location.
    *
    * @param itemName the name of the item to pick up
-   * @throws IOException           if there is an error executing the action
-   * @throws IllegalStateException if the player cannot carry any more items
+   * @throws IOException              if there is an error executing the action
+   * @throws IllegalArgumentException if no item with that name lies in the player's place
+   * @throws IllegalStateException    if the player cannot carry any more items
    */
   void pickUpItem(String itemName) throws IOException;
 
@@ -250,4 +268,65 @@ public interface Town {
    * @return the maximum number of turns
    */
   int getMaxTurns();
+
+  /**
+   * Gets the Zobrist hash of the game state, kept up to date on every change. Equal states
+   * have equal hashes, so it can key a transposition table or detect a diverging replay.
+   *
+   * @return the 64-bit state hash
+   */
+  long getStateHash();
+
+  /**
+   * Gets the information of one page of players, in turn order, in the same format as
+   * {@link #getAllPlayersInfo()}.
+   *
+   * @param offset the index of the first player on the page
+   * @param limit  the most players on the page
+   * @return the players' information, empty past the last player
+   * @throws IllegalArgumentException if the offset or limit is negative
+   */
+  List<String> getPlayersInfoPage(int offset, int limit);
+
+  /**
+   * Checks if a player already has the given name. Player names are unique within a town.
+   *
+   * @param playerName the name to check
+   * @return true if the name is taken, false otherwise
+   */
+  boolean isPlayerNameTaken(String playerName);
+
+  /**
+   * Gets the player names that start with a prefix, in alphabetical order, for autocomplete.
+   *
+   * @param prefix the start of the name
+   * @param limit  the most names to return
+   * @return up to limit matching names
+   * @throws IllegalArgumentException if the prefix is null or the limit is negative
+   */
+  List<String> completePlayerName(String prefix, int limit);
+
+  /**
+   * Adds many computer players in one operation. Each player is named with the prefix and the
+   * next free number, and starts in a place chosen by the distribution. Everything is checked
+   * before the first player is added, so either all of the players join or none does.
+   *
+   * @param namePrefix   the start of every generated name
+   * @param count        the number of players to add
+   * @param carryLimit   the carry limit of every player
+   * @param distribution where the players start
+   * @param random       the source of randomness for the starting places
+   * @return the names of the added players, in turn order
+   * @throws IllegalArgumentException if any of the parameters are invalid
+   * @throws IllegalStateException    if the town has no room for that many players
+   */
+  List<String> addComputerPlayers(String namePrefix, int count, int carryLimit,
+                                  SpawnDistribution distribution, RandomService random);
+
+  /**
+   * Gets the log of the players and places this town has changed.
+   *
+   * @return the change log, or null if the town does not record its changes
+   */
+  ChangeLog getChangeLog();
 }
\ No newline at end of file
@@ -51,13 +51,13 @@ public class TownLoader implements TownLoaderInterface {
       int col2 = Integer.parseInt(placeInfo[3]);
       String placeName = String.join(" ", Arrays.copyOfRange(placeInfo, 4, placeInfo.length));
       int placeNumber = i + 1;
-      Place place = new PlaceModel(row1, col1, row2, col2, placeName, String.valueOf(placeNumber));
+      Place place = new PlaceModel(row1, col1, row2, col2, placeName, placeNumber);
       places.add(place);
     }
 
     for (Place place : places) {
       for (Place otherPlace : places) {
-        if (!place.equals(otherPlace) && place.isNeighbor(otherPlace)) {
+        if (place != otherPlace && place.isNeighbor(otherPlace)) {
           place.addNeighbor(otherPlace);
         }
       }
@@ -69,7 +69,7 @@ public class TownLoader implements TownLoaderInterface {
       int placeIndex = Integer.parseInt(itemInfo[0]);
       int damage = Integer.parseInt(itemInfo[1]);
       String itemName = String.join(" ", Arrays.copyOfRange(itemInfo, 2, itemInfo.length));
-      Item item = new ItemModel(itemName, damage);
+      Item item = new ItemModel(i + 1, itemName, damage);
       places.get(placeIndex).addItem(item);
       items.add(item);
     }
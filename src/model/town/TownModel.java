@@ -1,15 +1,19 @@
 package model.town;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import model.item.Item;
 import model.pet.Pet;
 import model.pet.PetModel;
 import model.place.Place;
 import model.player.Player;
 import model.player.PlayerModel;
+import model.player.PlayerRegistry;
+import model.random.RandomService;
 import model.target.Target;
 import model.target.TargetModel;
 
@@ -17,6 +21,9 @@ import model.target.TargetModel;
  * The TownModel class implements the Town interface and represents a town in a game. A town has a
  * name, a list of places, a list of items, and a target character that can move between different
  * places.
+ *
+ * <p>Where each player stands is recorded only in an {@link OccupancyIndex}. Places list their
+ * occupants by asking the town, so moving a player updates the index and allocates nothing.
  */
 public class TownModel implements Town {
   private final Appendable output;
@@ -25,13 +32,16 @@ public class TownModel implements Town {
   private final TownLoaderInterface loader;
   private List<Place> places;
   private List<Item> items;
-  private List<Player> players;
+  private final PlayerRegistry players;
+  private OccupancyIndex occupancy;
   private String targetName;
   private int targetHealth;
   private Target targetCharacter;
   private Pet pet;
   private int currentPlayerIndex;
   private int currentTurn;
+  private long stateHash;
+  private final ChangeLog changes;
 
   /**
    * Constructs a new TownModel with the specified town loader and filename.
@@ -56,25 +66,28 @@ public class TownModel implements Town {
     this.places = townData.getPlaces();
     this.items = townData.getItems();
     this.targetCharacter = new TargetModel(targetName, targetHealth, places.get(0), places);
-    int targetCurrentPlaceNumber =
-        Integer.parseInt(targetCharacter.getCurrentPlace().getPlaceNumber());
-    this.pet = new PetModel(townData.getPetName(), targetCurrentPlaceNumber);
-    this.players = new ArrayList<>();
+    this.pet = new PetModel(townData.getPetName(), targetCharacter.getCurrentPlaceId());
+    this.players = new PlayerRegistry();
+    this.occupancy = new OccupancyIndex(places.size());
+    linkPlaces();
     this.currentPlayerIndex = 0;
     this.output = townOutput;
     this.currentTurn = 1;
     this.maxTurns = townMaxTurns;
+    this.changes = new ChangeLog();
     this.worldFile = filename;
+    this.stateHash = computeStateHash();
   }
 
   @Override
   public List<String> getAllPlayersInfo() {
+    return getPlayersInfoPage(0, players.size());
+  }
+
+  @Override
+  public List<String> getPlayersInfoPage(int offset, int limit) {
     List<String> playerInfo = new ArrayList<>();
-    if (players.isEmpty()) {
-      return playerInfo;
-    }
-    for (Player player : players) {
-      System.out.println(player.getName());
+    for (Player player : players.page(offset, limit)) {
       playerInfo.add(
           player.getName() + "," + getPlaceByNumber(player.getPlayerCurrentPlaceNumber()).getName()
               + "," + player.getCarryLimit() + ";");
@@ -82,24 +95,117 @@ public class TownModel implements Town {
     return playerInfo;
   }
 
+  @Override
+  public boolean isPlayerNameTaken(String playerName) {
+    return players.contains(playerName);
+  }
+
+  @Override
+  public List<String> completePlayerName(String prefix, int limit) {
+    return players.complete(prefix, limit);
+  }
+
+  @Override
+  public List<String> addComputerPlayers(String namePrefix, int count, int carryLimit,
+                                         SpawnDistribution distribution, RandomService random) {
+    if (namePrefix == null || namePrefix.trim().isEmpty()) {
+      throw new IllegalArgumentException("Name prefix cannot be null or empty.");
+    }
+    if (carryLimit <= 0) {
+      throw new IllegalArgumentException("Carry limit must be positive.");
+    }
+    if (distribution == null) {
+      throw new IllegalArgumentException("Distribution cannot be null.");
+    }
+    int[] startPlaces =
+        distribution.choosePlaces(places, targetCharacter.getCurrentPlace(), count, random);
+    // Every name and place is settled before the first player joins, so a failure adds no one
+    String[] names = new String[startPlaces.length];
+    int number = players.size() + 1;
+    for (int i = 0; i < startPlaces.length; i++) {
+      if (startPlaces[i] < 1 || startPlaces[i] > places.size()) {
+        throw new IllegalStateException("Invalid start place: " + startPlaces[i]);
+      }
+      while (players.contains(namePrefix + number)) {
+        number++;
+      }
+      names[i] = namePrefix + number++;
+    }
+    for (int i = 0; i < names.length; i++) {
+      addPlayer(names[i], startPlaces[i], carryLimit, true);
+    }
+    return List.of(names);
+  }
+
   /**
    * Resets the game state to the initial state.
    */
   @Override
   public void resetGameState() throws IOException {
     TownData townData = loader.loadTown(this.worldFile);
-    this.players = new ArrayList<>();
+    this.players.clear();
     this.currentPlayerIndex = 0;
     this.targetName = townData.getTargetName();
     this.targetHealth = townData.getTargetHealth();
     this.targetCharacter = new TargetModel(targetName, targetHealth, places.get(0), places);
-    int targetCurrentPlaceNumber =
-        Integer.parseInt(targetCharacter.getCurrentPlace().getPlaceNumber());
-    this.pet = new PetModel(townData.getPetName(), targetCurrentPlaceNumber);
+    this.pet = new PetModel(townData.getPetName(), targetCharacter.getCurrentPlaceId());
     this.items = townData.getItems();
     this.places = townData.getPlaces();
+    this.occupancy = new OccupancyIndex(places.size());
+    linkPlaces();
     this.currentTurn = 1;
+    this.stateHash = computeStateHash();
+    changes.everythingChanged();
+  }
 
+  /**
+   * Points every place at this town's occupancy index for its list of occupants.
+   */
+  private void linkPlaces() {
+    for (Place place : places) {
+      place.setOccupants(this::occupantsOf);
+    }
+  }
+
+  /**
+   * Lists the players in a place, in the order they arrived, from the occupancy index.
+   *
+   * @param placeId the place's id
+   * @return a read-only list of the occupants
+   */
+  private List<Player> occupantsOf(int placeId) {
+    List<Player> here = new ArrayList<>(occupancy.countIn(placeId));
+    for (int id = occupancy.nextOccupant(placeId, 0); id > 0;
+         id = occupancy.nextOccupant(placeId, id)) {
+      here.add(players.get(id - 1));
+    }
+    here.sort((a, b) -> Integer.compare(occupancy.arrivalOf(a.getPlayerId()),
+        occupancy.arrivalOf(b.getPlayerId())));
+    return Collections.unmodifiableList(here);
+  }
+
+  /**
+   * Computes the Zobrist hash of the whole state from scratch.
+   *
+   * @return the state hash
+   */
+  private long computeStateHash() {
+    long hash = ZobristKeys.turn(currentTurn) ^ ZobristKeys.currentPlayer(currentPlayerIndex)
+        ^ ZobristKeys.targetPlace(targetCharacter.getCurrentPlaceId())
+        ^ ZobristKeys.targetHealth(targetCharacter.getHealth())
+        ^ ZobristKeys.petPlace(pet.getPetCurrentPlaceNumber());
+    for (Place place : places) {
+      for (Item item : place.getItems()) {
+        hash ^= ZobristKeys.floorItem(item.getItemId(), place.getPlaceId());
+      }
+    }
+    for (Player player : players.asList()) {
+      hash ^= ZobristKeys.player(player.getPlayerId(), player.getPlayerCurrentPlaceNumber());
+      for (Item item : player.getCurrentCarriedItems()) {
+        hash ^= ZobristKeys.carriedItem(item.getItemId(), player.getPlayerId());
+      }
+    }
+    return hash;
   }
 
   @Override
@@ -107,6 +213,16 @@ public class TownModel implements Town {
     return currentTurn > maxTurns || targetCharacter.isDefeated();
   }
 
+  @Override
+  public String getPetName() {
+    return pet.getName();
+  }
+
+  @Override
+  public ChangeLog getChangeLog() {
+    return changes;
+  }
+
   @Override
   public String petCurrentInfo() {
     return pet.getName() + ","
@@ -114,6 +230,11 @@ public class TownModel implements Town {
 
   }
 
+  @Override
+  public int getPetPlaceNumber() {
+    return pet.getPetCurrentPlaceNumber();
+  }
+
   @Override
   public Place getPlaceByNumber(int placeNumber) {
     return places.get(placeNumber - 1);
@@ -121,7 +242,9 @@ public class TownModel implements Town {
 
   @Override
   public void moveTarget() {
+    stateHash ^= ZobristKeys.targetPlace(targetCharacter.getCurrentPlaceId());
     targetCharacter.moveToNextPlace();
+    stateHash ^= ZobristKeys.targetPlace(targetCharacter.getCurrentPlaceId());
   }
 
   @Override
@@ -146,11 +269,11 @@ public class TownModel implements Town {
 
   @Override
   public List<Player> getPlayers() {
-    return players;
+    return players.asList();
   }
 
   @Override
-  public Integer getPlayerCurrPlaceNumber(int playerIndex) {
+  public int getPlayerCurrPlaceNumber(int playerIndex) {
     return players.get(playerIndex).getPlayerCurrentPlaceNumber();
   }
 
@@ -172,10 +295,12 @@ public class TownModel implements Town {
   public String getCurrentPlaceNeighborsInfo(int placeNumber) {
     List<List<String>> neighbors = new ArrayList<>();
     Place place = getPlaceByNumber(placeNumber);
+    int targetPlaceId = targetCharacter.getCurrentPlaceId();
+    int petPlaceId = pet.getPetCurrentPlaceNumber();
     for (Place p : places) {
-      boolean isTarget = p.equals(targetCharacter.getCurrentPlace());
-      boolean isPet = p.getPlaceNumber().equals(String.valueOf(pet.getPetCurrentPlaceNumber()));
-      if (!p.equals(place) && place.isNeighbor(p)) {
+      boolean isTarget = p.getPlaceId() == targetPlaceId;
+      boolean isPet = p.getPlaceId() == petPlaceId;
+      if (p != place && place.isNeighbor(p)) {
         List<String> currentItems = new ArrayList<>();
         for (Item item : p.getItems()) {
           currentItems.add(item.getName() + "-" + item.getDamage());
@@ -195,65 +320,37 @@ public class TownModel implements Town {
   @Override
   public void addPlayer(String playerName, int placeNumber, int carryLimit,
                         boolean isComputerController) {
-    Place startingPlace = places.get(placeNumber - 1);
-    Player player = new PlayerModel(playerName, isComputerController, carryLimit, placeNumber);
+    // Checked before anything changes, so a bad place leaves the game as it was
+    Objects.checkIndex(placeNumber - 1, places.size());
+    Player player = new PlayerModel(players.size() + 1, playerName, isComputerController,
+        carryLimit, placeNumber);
     players.add(player);
-    startingPlace.addPlayer(player);
+    occupancy.add(player.getPlayerId(), placeNumber);
+    stateHash ^= ZobristKeys.player(player.getPlayerId(), placeNumber);
+    changes.playerChanged(players.size() - 1);
   }
 
   @Override
-  public String showBasicLocationInfo() {
+  public TurnSnapshot getTurnSnapshot() {
     Player currentPlayer = players.get(currentPlayerIndex);
     Place currentPlace = getPlaceByNumber(currentPlayer.getPlayerCurrentPlaceNumber());
 
-    List<List<String>> playerInfo = new ArrayList<>();
-    List<String> playerBasicInfo = new ArrayList<>();
-    List<Item> currentCarriedItems = currentPlayer.getCurrentCarriedItems();
-    StringBuilder carryItems = new StringBuilder();
-    if (currentCarriedItems.isEmpty()) {
-      carryItems = new StringBuilder("None");
-    } else {
-      for (Item item : currentCarriedItems) {
-        carryItems.append(item.getName()).append("-").append(item.getDamage()).append("|");
-      }
-    }
-    playerBasicInfo.add(currentPlayer.getName() + "," + currentPlace.getName() + ","
-        + currentPlayer.getCarryLimit() + "," + carryItems);
-    playerInfo.add(playerBasicInfo);
-
-    // Show other players in the same room
+    // Other players in the same room, read from the room's occupant set
+    int placeId = currentPlace.getPlaceId();
+    int currentPlayerId = currentPlayer.getPlayerId();
     List<String> playerNeighbours = new ArrayList<>();
-    for (Player p : players) {
-      Place currentPlaceOfP = getPlaceByNumber(p.getPlayerCurrentPlaceNumber());
-      if (currentPlaceOfP.equals(currentPlace) && !p.equals(currentPlayer)) {
-        playerNeighbours.add(p.getName());
+    for (int id = occupancy.nextOccupant(placeId, 0); id > 0;
+         id = occupancy.nextOccupant(placeId, id)) {
+      if (id != currentPlayerId) {
+        playerNeighbours.add(players.get(id - 1).getName());
       }
     }
-    playerInfo.add(playerNeighbours);
-
-
-    // show target current info(name, place, health)
-    List<String> targetInfo = new ArrayList<>();
-    targetInfo.add(targetCharacter.getName() + "," + targetCharacter.getCurrentPlace().getName()
-        + "," + targetCharacter.getHealth());
-    playerInfo.add(targetInfo);
-
-    // Show pet current place
-    List<String> petInfo = new ArrayList<>();
-    petInfo.add(
-        pet.getName() + "," + getPlaceByNumber(pet.getPetCurrentPlaceNumber()).getName());
-    playerInfo.add(petInfo);
-
-    // Show available items
-    List<String> itemsInfo = new ArrayList<>();
-    if (!currentPlace.getItems().isEmpty()) {
-      for (Item item : currentPlace.getItems()) {
-        itemsInfo.add(item.getName() + "," + item.getDamage());
-      }
-      playerInfo.add(itemsInfo);
-    }
 
-    return playerInfo.toString();
+    return new TurnSnapshot(currentTurn, currentPlayer.getName(), currentPlace.getName(),
+        currentPlayer.getCarryLimit(), currentPlayer.getCurrentCarriedItems(), playerNeighbours,
+        targetCharacter.getName(), targetCharacter.getCurrentPlace().getName(),
+        targetCharacter.getHealth(), pet.getName(),
+        getPlaceByNumber(pet.getPetCurrentPlaceNumber()).getName(), currentPlace.getItems());
   }
 
   @Override
@@ -263,10 +360,7 @@ public class TownModel implements Town {
       output.append("No players found.\n");
       return playerInfo;
     }
-    Player player = players.stream()
-        .filter(p -> p.getName().equals(playerName))
-        .findFirst()
-        .orElse(null);
+    Player player = players.findByName(playerName);
     if (player != null) {
       playerInfo =
           player.getName() + "," + getPlaceByNumber(player.getPlayerCurrentPlaceNumber()).getName()
@@ -283,12 +377,14 @@ public class TownModel implements Town {
   @Override
   public void movePlayer(int playerIndex, int newPlaceNumber) throws IOException {
     Player player = players.get(playerIndex);
-    Place oldPlace = getPlaceByNumber(player.getPlayerCurrentPlaceNumber());
-    Place newPlace = getPlaceByNumber(newPlaceNumber);
+    int oldPlaceNumber = player.getPlayerCurrentPlaceNumber();
 
-    oldPlace.removePlayer(player);
-    newPlace.addPlayer(player);
+    // The occupancy index is the only record of who is where, so a move touches nothing else
+    occupancy.move(player.getPlayerId(), newPlaceNumber);
     player.moveToPlaceNumber(newPlaceNumber);
+    stateHash ^= ZobristKeys.player(player.getPlayerId(), oldPlaceNumber)
+        ^ ZobristKeys.player(player.getPlayerId(), newPlaceNumber);
+    changes.playerChanged(playerIndex);
 
     this.switchToNextPlayer();
 
@@ -298,21 +394,26 @@ public class TownModel implements Town {
   public void pickUpItem(String itemName) throws IOException {
     Player currentPlayer = this.players.get(currentPlayerIndex);
     Place currentPlace = getPlaceByNumber(currentPlayer.getPlayerCurrentPlaceNumber());
-    List<Item> townItems = this.items;
-
-    for (Item item : townItems) {
-      if (item.getName().equals(itemName)) {
-        currentPlayer.pickUpItem(item);
-        currentPlace.removeItem(item);
-      }
+    // Only the room's own items are searched, so an item someone carries cannot be taken
+    Item item = currentPlace.getItemByName(itemName);
+    if (item == null) {
+      throw new IllegalArgumentException("Item is not in this place: " + itemName);
     }
+    currentPlayer.pickUpItem(item);
+    currentPlace.removeItem(item);
+    stateHash ^= ZobristKeys.carriedItem(item.getItemId(), currentPlayer.getPlayerId())
+        ^ ZobristKeys.floorItem(item.getItemId(), currentPlace.getPlaceId());
+    changes.playerChanged(currentPlayerIndex);
+    changes.placeChanged(currentPlace.getPlaceId());
 
     this.switchToNextPlayer();
   }
 
   @Override
   public void movePet(int newPlaceNumber) throws IOException {
+    int oldPlaceNumber = pet.getPetCurrentPlaceNumber();
     pet.movePet(newPlaceNumber);
+    stateHash ^= ZobristKeys.petPlace(oldPlaceNumber) ^ ZobristKeys.petPlace(newPlaceNumber);
 
     this.switchToNextPlayer();
   }
@@ -336,7 +437,6 @@ public class TownModel implements Town {
   public boolean attackTarget(String attackItemName) {
     Player currentPlayer = players.get(currentPlayerIndex);
     if ("Poke Target".equals(attackItemName)) {
-      System.out.println("Poke Target");
       return this.executePoke(currentPlayer);
     }
 
@@ -356,8 +456,11 @@ public class TownModel implements Town {
     Player previousPlayer = players.get(currentPlayerIndex);
 
     // Update player index and turn counter
+    stateHash ^= ZobristKeys.currentPlayer(currentPlayerIndex);
     currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+    stateHash ^= ZobristKeys.currentPlayer(currentPlayerIndex);
     if (currentPlayerIndex == 0) {
+      stateHash ^= ZobristKeys.turn(currentTurn) ^ ZobristKeys.turn(currentTurn + 1);
       currentTurn++;
       // Move target when we complete a full round
       moveTarget();
@@ -367,8 +470,9 @@ public class TownModel implements Town {
     Player currentPlayer = players.get(currentPlayerIndex);
     output.append("\nTurn changed from ").append(previousPlayer.getName())
         .append(" to ").append(currentPlayer.getName())
-        .append(" (Turn ").append(String.valueOf(currentTurn))
-        .append(")\n");
+        .append(" (Turn ");
+    OutputFormat.appendInt(output, currentTurn);
+    output.append(")\n");
   }
 
   @Override
@@ -407,15 +511,19 @@ public class TownModel implements Town {
     if (player == null) {
       throw new IllegalArgumentException("Player cannot be null");
     }
-    Place playerPlace = getPlaceByNumber(player.getPlayerCurrentPlaceNumber());
-    for (Player otherPlayer : players) {
-      if (otherPlayer != player) {
-        Place otherPlace = getPlaceByNumber(otherPlayer.getPlayerCurrentPlaceNumber());
-        Place petPlace = getPlaceByNumber(pet.getPetCurrentPlaceNumber());
-        if ((playerPlace.equals(otherPlace)
-            || (playerPlace.isNeighbor(otherPlace) && !petPlace.equals(playerPlace)))) {
-          return true;
-        }
+    int playerPlaceId = player.getPlayerCurrentPlaceNumber();
+    int othersHere = occupancy.countIn(playerPlaceId)
+        - (occupancy.isIn(player.getPlayerId(), playerPlaceId) ? 1 : 0);
+    if (othersHere > 0) {
+      return true;
+    }
+    if (pet.getPetCurrentPlaceNumber() == playerPlaceId) {
+      return false;
+    }
+    List<Place> neighbors = getPlaceByNumber(playerPlaceId).getNeighbors();
+    for (int n = 0; n < neighbors.size(); n++) {
+      if (occupancy.countIn(neighbors.get(n).getPlaceId()) > 0) {
+        return true;
       }
     }
     return false;
@@ -434,13 +542,19 @@ public class TownModel implements Town {
     }
 
     // Execute attack (always successful if not seen)
+    int healthBefore = targetCharacter.getHealth();
     final boolean targetDefeated = targetCharacter.takeDamage(item.getDamage());
 
+    stateHash ^= ZobristKeys.targetHealth(healthBefore)
+        ^ ZobristKeys.targetHealth(targetCharacter.getHealth());
     targetHealth = targetCharacter.getHealth();
-    System.out.println("Target health: " + targetHealth);
+    reportTargetHealth();
 
     // Remove used item from player's inventory
-    player.getCurrentCarriedItems().remove(item);
+    if (player.removeItem(item)) {
+      stateHash ^= ZobristKeys.carriedItem(item.getItemId(), player.getPlayerId());
+      changes.playerChanged(currentPlayerIndex);
+    }
 
     return targetDefeated;
   }
@@ -457,14 +571,31 @@ public class TownModel implements Town {
     }
 
     // Poke attack (always successful if not seen)
+    int healthBefore = targetCharacter.getHealth();
     boolean targetDefeated = targetCharacter.takeDamage(1); // true - 死
 
+    stateHash ^= ZobristKeys.targetHealth(healthBefore)
+        ^ ZobristKeys.targetHealth(targetCharacter.getHealth());
     targetHealth = targetCharacter.getHealth();
-    System.out.println("Target health: " + targetHealth);
+    reportTargetHealth();
 
     return targetDefeated;
   }
 
+  /**
+   * Writes the target's remaining health to the town output.
+   * Attacks are not declared to throw, so an output failure is rethrown unchecked.
+   */
+  private void reportTargetHealth() {
+    try {
+      output.append("Target health: ");
+      OutputFormat.appendInt(output, targetHealth);
+      output.append("\n");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   /**
    * Gets the current items carried by the player.
    *
@@ -491,4 +622,9 @@ public class TownModel implements Town {
   public int getMaxTurns() {
     return maxTurns;
   }
+
+  @Override
+  public long getStateHash() {
+    return stateHash;
+  }
 }
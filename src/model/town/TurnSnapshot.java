@@ -0,0 +1,183 @@
+package model.town;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import model.item.Item;
+
+/**
+ * TurnSnapshot is an immutable view of the game state as seen by the current player at the
+ * start of a turn: the player and what they carry, who shares their place, where the target and
+ * the pet are, and which items lie in the room. All lists are unmodifiable and items are
+ * immutable, so a snapshot can be handed to another thread or to the view without copying.
+ */
+public final class TurnSnapshot {
+  private final int turn;
+  private final String playerName;
+  private final String placeName;
+  private final int carryLimit;
+  private final List<Item> carriedItems;
+  private final List<String> coLocatedPlayers;
+  private final String targetName;
+  private final String targetPlaceName;
+  private final int targetHealth;
+  private final String petName;
+  private final String petPlaceName;
+  private final List<Item> roomItems;
+
+  /**
+   * Constructs a new TurnSnapshot.
+   *
+   * @param currentTurn       the current turn number
+   * @param currentPlayerName the name of the current player
+   * @param currentPlaceName  the name of the place the current player is in
+   * @param playerCarryLimit  the carry limit of the current player
+   * @param playerItems       the items carried by the current player
+   * @param otherPlayers      the names of the other players in the same place
+   * @param gameTargetName    the name of the target character
+   * @param targetPlace       the name of the place the target is in
+   * @param targetHealthValue the current health of the target
+   * @param gamePetName       the name of the pet
+   * @param petPlace          the name of the place the pet is in
+   * @param placeItems        the items lying in the current player's place
+   */
+  public TurnSnapshot(int currentTurn, String currentPlayerName, String currentPlaceName,
+                      int playerCarryLimit, List<Item> playerItems, List<String> otherPlayers,
+                      String gameTargetName, String targetPlace, int targetHealthValue,
+                      String gamePetName, String petPlace, List<Item> placeItems) {
+    this.turn = currentTurn;
+    this.playerName = currentPlayerName;
+    this.placeName = currentPlaceName;
+    this.carryLimit = playerCarryLimit;
+    this.carriedItems = immutableCopy(playerItems);
+    this.coLocatedPlayers = immutableCopy(otherPlayers);
+    this.targetName = gameTargetName;
+    this.targetPlaceName = targetPlace;
+    this.targetHealth = targetHealthValue;
+    this.petName = gamePetName;
+    this.petPlaceName = petPlace;
+    this.roomItems = immutableCopy(placeItems);
+  }
+
+  /**
+   * Copies a list into an unmodifiable list, avoiding the copy for empty lists.
+   *
+   * @param list the list to copy
+   * @param <T>  the element type
+   * @return an unmodifiable list with the same elements
+   */
+  private static <T> List<T> immutableCopy(List<T> list) {
+    if (list == null || list.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(new ArrayList<>(list));
+  }
+
+  /**
+   * Gets the current turn number.
+   *
+   * @return the current turn number
+   */
+  public int getTurn() {
+    return turn;
+  }
+
+  /**
+   * Gets the name of the current player.
+   *
+   * @return the current player's name
+   */
+  public String getPlayerName() {
+    return playerName;
+  }
+
+  /**
+   * Gets the name of the place the current player is in.
+   *
+   * @return the current player's place name
+   */
+  public String getPlaceName() {
+    return placeName;
+  }
+
+  /**
+   * Gets the carry limit of the current player.
+   *
+   * @return the current player's carry limit
+   */
+  public int getCarryLimit() {
+    return carryLimit;
+  }
+
+  /**
+   * Gets the items carried by the current player.
+   *
+   * @return an unmodifiable list of carried items
+   */
+  public List<Item> getCarriedItems() {
+    return carriedItems;
+  }
+
+  /**
+   * Gets the names of the other players in the current player's place.
+   *
+   * @return an unmodifiable list of player names
+   */
+  public List<String> getCoLocatedPlayers() {
+    return coLocatedPlayers;
+  }
+
+  /**
+   * Gets the name of the target character.
+   *
+   * @return the target's name
+   */
+  public String getTargetName() {
+    return targetName;
+  }
+
+  /**
+   * Gets the name of the place the target is in.
+   *
+   * @return the target's place name
+   */
+  public String getTargetPlaceName() {
+    return targetPlaceName;
+  }
+
+  /**
+   * Gets the current health of the target.
+   *
+   * @return the target's health
+   */
+  public int getTargetHealth() {
+    return targetHealth;
+  }
+
+  /**
+   * Gets the name of the pet.
+   *
+   * @return the pet's name
+   */
+  public String getPetName() {
+    return petName;
+  }
+
+  /**
+   * Gets the name of the place the pet is in.
+   *
+   * @return the pet's place name
+   */
+  public String getPetPlaceName() {
+    return petPlaceName;
+  }
+
+  /**
+   * Gets the items lying in the current player's place.
+   *
+   * @return an unmodifiable list of items
+   */
+  public List<Item> getRoomItems() {
+    return roomItems;
+  }
+}
@@ -0,0 +1,127 @@
+package model.town;
+
+/**
+ * ZobristKeys gives every piece of game state its own random 64-bit key: a player in a place, an
+ * item lying in a place or carried by a player, the target's place and health, the pet's place,
+ * the turn and whose move it is. The hash of a whole state is the XOR of the keys of its pieces,
+ * so a town can keep it up to date by XORing a key out and another in on every change.
+ *
+ * <p>Keys are derived from their coordinates with a fixed mixing function rather than drawn into
+ * tables, so they need no sizing and every town, whatever its implementation, hashes equal
+ * states to equal values.
+ */
+public final class ZobristKeys {
+  private static final long GAMMA = 0x9e3779b97f4a7c15L;
+  private static final int PLAYER = 1;
+  private static final int FLOOR_ITEM = 2;
+  private static final int CARRIED_ITEM = 3;
+  private static final int TARGET_PLACE = 4;
+  private static final int TARGET_HEALTH = 5;
+  private static final int PET_PLACE = 6;
+  private static final int TURN = 7;
+  private static final int CURRENT_PLAYER = 8;
+
+  /**
+   * Prevents instantiation.
+   */
+  private ZobristKeys() {
+  }
+
+  /**
+   * Derives the key of one piece of state.
+   *
+   * @param feature the kind of state
+   * @param first   the first coordinate
+   * @param second  the second coordinate
+   * @return the key
+   */
+  private static long key(int feature, int first, int second) {
+    long z = (((long) feature << 56) ^ ((long) first << 28) ^ second) * GAMMA + GAMMA;
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Gets the key of a player standing in a place.
+   *
+   * @param playerId the player id
+   * @param placeId  the place id
+   * @return the key
+   */
+  public static long player(int playerId, int placeId) {
+    return key(PLAYER, playerId, placeId);
+  }
+
+  /**
+   * Gets the key of an item lying in a place.
+   *
+   * @param itemId  the item id
+   * @param placeId the place id
+   * @return the key
+   */
+  public static long floorItem(int itemId, int placeId) {
+    return key(FLOOR_ITEM, itemId, placeId);
+  }
+
+  /**
+   * Gets the key of an item carried by a player.
+   *
+   * @param itemId   the item id
+   * @param playerId the player id
+   * @return the key
+   */
+  public static long carriedItem(int itemId, int playerId) {
+    return key(CARRIED_ITEM, itemId, playerId);
+  }
+
+  /**
+   * Gets the key of the target standing in a place.
+   *
+   * @param placeId the place id
+   * @return the key
+   */
+  public static long targetPlace(int placeId) {
+    return key(TARGET_PLACE, placeId, 0);
+  }
+
+  /**
+   * Gets the key of the target's health.
+   *
+   * @param health the health
+   * @return the key
+   */
+  public static long targetHealth(int health) {
+    return key(TARGET_HEALTH, health, 0);
+  }
+
+  /**
+   * Gets the key of the pet standing in a place.
+   *
+   * @param placeId the place id
+   * @return the key
+   */
+  public static long petPlace(int placeId) {
+    return key(PET_PLACE, placeId, 0);
+  }
+
+  /**
+   * Gets the key of the turn number.
+   *
+   * @param turn the turn
+   * @return the key
+   */
+  public static long turn(int turn) {
+    return key(TURN, turn, 0);
+  }
+
+  /**
+   * Gets the key of whose move it is.
+   *
+   * @param playerIndex the index of the current player
+   * @return the key
+   */
+  public static long currentPlayer(int playerIndex) {
+    return key(CURRENT_PLAYER, playerIndex, 0);
+  }
+}
@@ -0,0 +1,1142 @@
+package model.town.offheap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import model.item.Item;
+import model.place.Occupants;
+import model.place.Place;
+import model.player.Player;
+import model.player.PlayerRegistry;
+import model.random.RandomService;
+import model.target.Target;
+import model.town.ChangeLog;
+import model.town.OutputFormat;
+import model.town.SpawnDistribution;
+import model.town.Town;
+import model.town.TurnSnapshot;
+import model.town.ZobristKeys;
+
+/**
+ * ColumnarTown is a {@link Town} whose changing state lives in one flat buffer, usually off the
+ * Java heap, laid out in columns: a header with the turn, current player, target and pet, then
+ * one int column per player attribute and per item attribute. Everything that never changes is
+ * read from a shared {@link WorldLayout}. The {@link Place}, {@link Player} and {@link Target}
+ * objects it hands out are flyweights that read and write the buffer, so a game costs one buffer
+ * and a handful of small views instead of a graph of model objects.
+ *
+ * <p>Games follow the same rules and write the same messages as {@code TownModel}, with one
+ * difference: picking up an item only takes a matching item lying in the player's place.
+ * Views of places are read-only; places change only through the game actions.
+ */
+public class ColumnarTown implements Town {
+  /**
+   * The number of seats allocated when no capacity is given.
+   */
+  public static final int DEFAULT_MAX_PLAYERS = 16;
+
+  private static final String POKE = "Poke Target";
+  private static final int POKE_DAMAGE = 1;
+  private static final int USED = -1;
+
+  private static final int TURN = 0;
+  private static final int CURRENT_PLAYER = 1;
+  private static final int PLAYER_COUNT = 2;
+  private static final int TARGET_INDEX = 3;
+  private static final int TARGET_HEALTH = 4;
+  private static final int PET_PLACE = 5;
+  private static final int SEQUENCE = 6;
+  private static final int HASH = 8;
+  private static final int HEADER_INTS = 10;
+
+  private final WorldLayout layout;
+  private final ByteBuffer state;
+  private final Appendable output;
+  private final int maxTurns;
+  private final int maxPlayers;
+  private final int playerPlace;
+  private final int playerLimit;
+  private final int playerComputer;
+  private final int playerArrival;
+  private final int itemOwner;
+  private final int itemPlace;
+  private final int itemSequence;
+  private final String[] playerNames;
+  private final PlayerView[] playerViews;
+  private final PlayerRegistry registry;
+  private final PlaceView[] placeViews;
+  private final TargetView target;
+  private final List<Player> playerList;
+  private final List<Place> placeList;
+  private final ChangeLog changes = new ChangeLog();
+
+  /**
+   * Constructs a new ColumnarTown with its own direct buffer and room for
+   * {@link #DEFAULT_MAX_PLAYERS} players.
+   *
+   * @param worldLayout the world to play on
+   * @param townOutput  the appendable to write output to
+   * @param townMaxTurns the maximum number of turns allowed in the game
+   * @throws IllegalArgumentException if the layout is null or the turns are not positive
+   */
+  public ColumnarTown(WorldLayout worldLayout, Appendable townOutput, int townMaxTurns) {
+    this(worldLayout, allocate(worldLayout, DEFAULT_MAX_PLAYERS), townOutput, townMaxTurns,
+        DEFAULT_MAX_PLAYERS);
+  }
+
+  /**
+   * Constructs a new ColumnarTown over a region of a buffer. Many games can share one large
+   * direct buffer by each taking a slice of {@link #bytesRequired} bytes.
+   *
+   * @param worldLayout  the world to play on
+   * @param region       the buffer region holding this game's state, from its position
+   * @param townOutput   the appendable to write output to
+   * @param townMaxTurns the maximum number of turns allowed in the game
+   * @param seats        the most players the game can hold
+   * @throws IllegalArgumentException if the layout is null, the region is too small, or the
+   *                                  turns or seats are not positive
+   */
+  public ColumnarTown(WorldLayout worldLayout, ByteBuffer region, Appendable townOutput,
+                      int townMaxTurns, int seats) {
+    if (worldLayout == null) {
+      throw new IllegalArgumentException("World layout cannot be null");
+    }
+    if (townMaxTurns <= 0) {
+      throw new IllegalArgumentException("Maximum turns must be positive");
+    }
+    if (seats <= 0) {
+      throw new IllegalArgumentException("Seats must be positive");
+    }
+    if (region == null || region.remaining() < bytesRequired(worldLayout, seats)) {
+      throw new IllegalArgumentException("Buffer region is too small for this world");
+    }
+    this.layout = worldLayout;
+    this.state = region.slice().order(ByteOrder.nativeOrder());
+    this.output = townOutput;
+    this.maxTurns = townMaxTurns;
+    this.maxPlayers = seats;
+    int items = worldLayout.getItemCount();
+    this.playerPlace = HEADER_INTS;
+    this.playerLimit = playerPlace + seats;
+    this.playerComputer = playerLimit + seats;
+    this.playerArrival = playerComputer + seats;
+    this.itemOwner = playerArrival + seats;
+    this.itemPlace = itemOwner + items;
+    this.itemSequence = itemPlace + items;
+    this.playerNames = new String[seats];
+    this.playerViews = new PlayerView[seats];
+    this.registry = new PlayerRegistry();
+    this.placeViews = new PlaceView[worldLayout.getPlaceCount() + 1];
+    for (int id = 1; id < placeViews.length; id++) {
+      placeViews[id] = new PlaceView(id);
+    }
+    this.target = new TargetView();
+    this.playerList = new AbstractList<Player>() {
+      @Override
+      public Player get(int index) {
+        if (index < 0 || index >= size()) {
+          throw new IndexOutOfBoundsException("No player at index " + index);
+        }
+        return playerViews[index];
+      }
+
+      @Override
+      public int size() {
+        return ColumnarTown.this.get(PLAYER_COUNT);
+      }
+    };
+    this.placeList = Collections.unmodifiableList(
+        Arrays.asList(placeViews).subList(1, placeViews.length));
+    reset();
+  }
+
+  /**
+   * Computes the buffer size one game needs.
+   *
+   * @param worldLayout the world
+   * @param seats       the most players the game can hold
+   * @return the size in bytes
+   */
+  public static int bytesRequired(WorldLayout worldLayout, int seats) {
+    return Integer.BYTES * (HEADER_INTS + 4 * seats + 3 * worldLayout.getItemCount());
+  }
+
+  /**
+   * Allocates a direct buffer for one game.
+   *
+   * @param worldLayout the world
+   * @param seats       the most players the game can hold
+   * @return the buffer
+   */
+  private static ByteBuffer allocate(WorldLayout worldLayout, int seats) {
+    if (worldLayout == null) {
+      throw new IllegalArgumentException("World layout cannot be null");
+    }
+    return ByteBuffer.allocateDirect(bytesRequired(worldLayout, seats));
+  }
+
+  /**
+   * Reads an int column slot.
+   *
+   * @param slot the slot index
+   * @return the value
+   */
+  private int get(int slot) {
+    return state.getInt(slot * Integer.BYTES);
+  }
+
+  /**
+   * Writes an int column slot.
+   *
+   * @param slot  the slot index
+   * @param value the value
+   */
+  private void put(int slot, int value) {
+    state.putInt(slot * Integer.BYTES, value);
+  }
+
+  /**
+   * Folds a key into the state hash.
+   *
+   * @param key the Zobrist key to XOR in or out
+   */
+  private void toggle(long key) {
+    state.putLong(HASH * Integer.BYTES, state.getLong(HASH * Integer.BYTES) ^ key);
+  }
+
+  /**
+   * Draws the next value of the sequence that orders arrivals and pickups.
+   *
+   * @return the next sequence value
+   */
+  private int nextSequence() {
+    int next = get(SEQUENCE) + 1;
+    put(SEQUENCE, next);
+    return next;
+  }
+
+  /**
+   * Puts the game back at its starting state with no players.
+   */
+  private void reset() {
+    for (int slot = 0; slot < itemSequence + layout.getItemCount(); slot++) {
+      put(slot, 0);
+    }
+    put(TURN, 1);
+    put(TARGET_HEALTH, layout.getTargetHealth());
+    put(PET_PLACE, 1);
+    long hash = ZobristKeys.turn(1) ^ ZobristKeys.currentPlayer(0) ^ ZobristKeys.targetPlace(1)
+        ^ ZobristKeys.targetHealth(layout.getTargetHealth()) ^ ZobristKeys.petPlace(1);
+    for (int item = 0; item < layout.getItemCount(); item++) {
+      int start = layout.getItemStartPlace(item);
+      put(itemPlace + item, start);
+      if (start > 0) {
+        hash ^= ZobristKeys.floorItem(layout.getItem(item).getItemId(), start);
+      }
+    }
+    state.putLong(HASH * Integer.BYTES, hash);
+    Arrays.fill(playerNames, null);
+    registry.clear();
+    changes.everythingChanged();
+  }
+
+  /**
+   * Checks a place number.
+   *
+   * @param placeNumber the place number
+   * @throws IllegalArgumentException if there is no such place
+   */
+  private void checkPlace(int placeNumber) {
+    if (placeNumber <= 0 || placeNumber > layout.getPlaceCount()) {
+      throw new IllegalArgumentException("Invalid place number: " + placeNumber);
+    }
+  }
+
+  /**
+   * Moves a seat to a place and records its arrival.
+   *
+   * @param seat        the seat
+   * @param placeNumber the place number
+   */
+  private void placeSeat(int seat, int placeNumber) {
+    int oldPlace = get(playerPlace + seat);
+    if (oldPlace > 0) {
+      toggle(ZobristKeys.player(seat + 1, oldPlace));
+    }
+    toggle(ZobristKeys.player(seat + 1, placeNumber));
+    put(playerPlace + seat, placeNumber);
+    put(playerArrival + seat, nextSequence());
+    changes.playerChanged(seat);
+  }
+
+  /**
+   * Lists the items lying in a place, in world file order.
+   *
+   * @param placeNumber the place number
+   * @return the items
+   */
+  private List<Item> floorItems(int placeNumber) {
+    List<Item> items = new ArrayList<>();
+    for (int item = 0; item < layout.getItemCount(); item++) {
+      if (get(itemOwner + item) == 0 && get(itemPlace + item) == placeNumber) {
+        items.add(layout.getItem(item));
+      }
+    }
+    return items;
+  }
+
+  /**
+   * Finds an item lying in a place by name.
+   *
+   * @param placeNumber the place number
+   * @param itemName    the name of the item
+   * @return the item's index, or -1 if no item with that name lies there
+   */
+  private int floorItem(int placeNumber, String itemName) {
+    for (int item = 0; item < layout.getItemCount(); item++) {
+      if (get(itemOwner + item) == 0 && get(itemPlace + item) == placeNumber
+          && layout.getItem(item).getName().equals(itemName)) {
+        return item;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Sums the damage of the items lying in a place.
+   *
+   * @param placeNumber the place number
+   * @return the total damage
+   */
+  private int damageIn(int placeNumber) {
+    int total = 0;
+    for (int item = 0; item < layout.getItemCount(); item++) {
+      if (get(itemOwner + item) == 0 && get(itemPlace + item) == placeNumber) {
+        total += layout.getItem(item).getDamage();
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Lists the items a seat carries, in the order they were picked up.
+   *
+   * @param seat the seat
+   * @return the items
+   */
+  private List<Item> carriedItems(int seat) {
+    List<Integer> held = new ArrayList<>();
+    for (int item = 0; item < layout.getItemCount(); item++) {
+      if (get(itemOwner + item) == seat + 1) {
+        held.add(item);
+      }
+    }
+    held.sort((a, b) -> Integer.compare(get(itemSequence + a), get(itemSequence + b)));
+    List<Item> items = new ArrayList<>(held.size());
+    for (int item : held) {
+      items.add(layout.getItem(item));
+    }
+    return items;
+  }
+
+  /**
+   * Counts the items a seat carries.
+   *
+   * @param seat the seat
+   * @return the count
+   */
+  private int carriedCount(int seat) {
+    int count = 0;
+    for (int item = 0; item < layout.getItemCount(); item++) {
+      if (get(itemOwner + item) == seat + 1) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Gives an item to a seat.
+   *
+   * @param seat the seat
+   * @param item the item index
+   * @throws IllegalStateException if the seat cannot carry more items
+   */
+  private void giveItem(int seat, int item) {
+    if (carriedCount(seat) >= get(playerLimit + seat)) {
+      throw new IllegalStateException("Cannot pick up more items, inventory is full.");
+    }
+    int itemId = layout.getItem(item).getItemId();
+    if (get(itemPlace + item) > 0) {
+      toggle(ZobristKeys.floorItem(itemId, get(itemPlace + item)));
+      changes.placeChanged(get(itemPlace + item));
+    }
+    toggle(ZobristKeys.carriedItem(itemId, seat + 1));
+    put(itemOwner + item, seat + 1);
+    put(itemPlace + item, 0);
+    put(itemSequence + item, nextSequence());
+    changes.playerChanged(seat);
+  }
+
+  /**
+   * Lists the players in a place in the order they arrived.
+   *
+   * @param placeNumber the place number
+   * @return the players
+   */
+  private List<Player> occupants(int placeNumber) {
+    List<PlayerView> here = new ArrayList<>();
+    int count = get(PLAYER_COUNT);
+    for (int seat = 0; seat < count; seat++) {
+      if (get(playerPlace + seat) == placeNumber) {
+        here.add(playerViews[seat]);
+      }
+    }
+    here.sort((a, b) -> Integer.compare(get(playerArrival + a.seat), get(playerArrival + b.seat)));
+    return new ArrayList<>(here);
+  }
+
+  /**
+   * Formats item names and damages the way the town info strings do.
+   *
+   * @param items the items
+   * @return the formatted list
+   */
+  private static String formatItems(List<Item> items) {
+    List<String> names = new ArrayList<>(items.size());
+    for (Item item : items) {
+      names.add(item.getName() + "-" + item.getDamage());
+    }
+    return names.toString();
+  }
+
+  /**
+   * Formats player names the way the town info strings do.
+   *
+   * @param players the players
+   * @return the formatted list
+   */
+  private static String formatPlayers(List<Player> players) {
+    List<String> names = new ArrayList<>(players.size());
+    for (Player player : players) {
+      names.add(player.getName());
+    }
+    return names.toString();
+  }
+
+  /**
+   * Writes the target's remaining health to the town output.
+   */
+  private void reportTargetHealth() {
+    try {
+      output.append("Target health: ");
+      OutputFormat.appendInt(output, get(TARGET_HEALTH));
+      output.append("\n");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public String getPetName() {
+    return layout.getPetName();
+  }
+
+  @Override
+  public ChangeLog getChangeLog() {
+    return changes;
+  }
+
+  @Override
+  public String petCurrentInfo() {
+    return layout.getPetName() + "," + layout.getPlaceName(get(PET_PLACE));
+  }
+
+  @Override
+  public int getPetPlaceNumber() {
+    return get(PET_PLACE);
+  }
+
+  @Override
+  public Place getPlaceByNumber(int placeNumber) {
+    checkPlace(placeNumber);
+    return placeViews[placeNumber];
+  }
+
+  @Override
+  public void moveTarget() {
+    int index = get(TARGET_INDEX);
+    int next = index < layout.getPlaceCount() - 1 ? index + 1 : 0;
+    toggle(ZobristKeys.targetPlace(index + 1) ^ ZobristKeys.targetPlace(next + 1));
+    put(TARGET_INDEX, next);
+  }
+
+  @Override
+  public Target getTarget() {
+    return target;
+  }
+
+  @Override
+  public void movePet(int placeNumber) throws IOException {
+    checkPlace(placeNumber);
+    toggle(ZobristKeys.petPlace(get(PET_PLACE)) ^ ZobristKeys.petPlace(placeNumber));
+    put(PET_PLACE, placeNumber);
+    switchToNextPlayer();
+  }
+
+  @Override
+  public List<Place> getPlaces() {
+    return placeList;
+  }
+
+  @Override
+  public String getTargetName() {
+    return layout.getTargetName();
+  }
+
+  @Override
+  public int getTargetHealth() {
+    return get(TARGET_HEALTH);
+  }
+
+  @Override
+  public List<Player> getPlayers() {
+    return playerList;
+  }
+
+  @Override
+  public int getPlayerCurrPlaceNumber(int playerIndex) {
+    return playerList.get(playerIndex).getPlayerCurrentPlaceNumber();
+  }
+
+  @Override
+  public String getCurrentPlaceInfo(int placeNumber) {
+    checkPlace(placeNumber);
+    return layout.getPlaceName(placeNumber) + ";" + formatItems(floorItems(placeNumber)) + ";"
+        + formatPlayers(occupants(placeNumber));
+  }
+
+  @Override
+  public String getCurrentPlaceNeighborsInfo(int placeNumber) {
+    checkPlace(placeNumber);
+    int targetPlace = target.getCurrentPlaceId();
+    int petPlace = get(PET_PLACE);
+    StringBuilder neighbors = new StringBuilder("[");
+    for (int neighbor : layout.getNeighbors(placeNumber)) {
+      if (neighbors.length() > 1) {
+        neighbors.append(", ");
+      }
+      neighbors.append('[').append(layout.getPlaceName(neighbor)).append(';').append(neighbor)
+          .append(';').append(formatItems(floorItems(neighbor)))
+          .append(';').append(formatPlayers(occupants(neighbor)))
+          .append(';').append(neighbor == targetPlace)
+          .append(';').append(neighbor == petPlace).append(']');
+    }
+    return neighbors.append(']').toString();
+  }
+
+  @Override
+  public void addPlayer(String newPlayerName, int newPlayerPlace, int newPlayerCarryLimit,
+                        boolean isComputerPlayer) {
+    if (newPlayerName == null || newPlayerName.trim().isEmpty()) {
+      throw new IllegalArgumentException("Player name cannot be null or empty.");
+    }
+    if (newPlayerCarryLimit <= 0) {
+      throw new IllegalArgumentException("Carry limit must be positive.");
+    }
+    checkPlace(newPlayerPlace);
+    if (registry.contains(newPlayerName)) {
+      throw new IllegalArgumentException("Player name already taken: " + newPlayerName);
+    }
+    int seat = get(PLAYER_COUNT);
+    if (seat >= maxPlayers) {
+      throw new IllegalStateException("Town is full: " + maxPlayers + " players");
+    }
+    if (playerViews[seat] == null) {
+      playerViews[seat] = new PlayerView(seat);
+    }
+    playerNames[seat] = newPlayerName;
+    registry.add(playerViews[seat]);
+    put(playerLimit + seat, newPlayerCarryLimit);
+    put(playerComputer + seat, isComputerPlayer ? 1 : 0);
+    placeSeat(seat, newPlayerPlace);
+    put(PLAYER_COUNT, seat + 1);
+  }
+
+  @Override
+  public String getPlayerByName(String playerName) throws IOException {
+    int count = get(PLAYER_COUNT);
+    if (count == 0) {
+      output.append("No players found.\n");
+      return "";
+    }
+    Player player = registry.findByName(playerName);
+    if (player == null) {
+      return "";
+    }
+    return player.getName() + "," + layout.getPlaceName(player.getPlayerCurrentPlaceNumber())
+        + "," + player.getCarryLimit();
+  }
+
+  @Override
+  public void lookAround() throws IOException {
+    switchToNextPlayer();
+  }
+
+  @Override
+  public boolean attackTarget(String attackItemName) {
+    int seat = get(CURRENT_PLAYER);
+    if (POKE.equals(attackItemName)) {
+      boolean defeated = target.takeDamage(POKE_DAMAGE);
+      reportTargetHealth();
+      return defeated;
+    }
+    int item = -1;
+    for (int i = 0; i < layout.getItemCount(); i++) {
+      if (layout.getItem(i).getName().equals(attackItemName)) {
+        item = i;
+        break;
+      }
+    }
+    if (item < 0) {
+      throw new IllegalArgumentException("Player and item cannot be null");
+    }
+    boolean defeated = target.takeDamage(layout.getItem(item).getDamage());
+    reportTargetHealth();
+    playerViews[seat].removeItem(layout.getItem(item));
+    return defeated;
+  }
+
+  @Override
+  public void switchToNextPlayer() throws IOException {
+    int count = get(PLAYER_COUNT);
+    if (count <= 1) {
+      return;
+    }
+    int previous = get(CURRENT_PLAYER);
+    int current = (previous + 1) % count;
+    toggle(ZobristKeys.currentPlayer(previous) ^ ZobristKeys.currentPlayer(current));
+    put(CURRENT_PLAYER, current);
+    if (current == 0) {
+      toggle(ZobristKeys.turn(get(TURN)) ^ ZobristKeys.turn(get(TURN) + 1));
+      put(TURN, get(TURN) + 1);
+      moveTarget();
+    }
+    output.append("\nTurn changed from ").append(playerNames[previous])
+        .append(" to ").append(playerNames[current])
+        .append(" (Turn ");
+    OutputFormat.appendInt(output, get(TURN));
+    output.append(")\n");
+  }
+
+  @Override
+  public TurnSnapshot getTurnSnapshot() {
+    int seat = get(CURRENT_PLAYER);
+    int place = get(playerPlace + seat);
+    int count = get(PLAYER_COUNT);
+    List<String> others = new ArrayList<>();
+    for (int other = 0; other < count; other++) {
+      if (other != seat && get(playerPlace + other) == place) {
+        others.add(playerNames[other]);
+      }
+    }
+    return new TurnSnapshot(get(TURN), playerNames[seat], layout.getPlaceName(place),
+        get(playerLimit + seat), carriedItems(seat), others, layout.getTargetName(),
+        layout.getPlaceName(target.getCurrentPlaceId()), get(TARGET_HEALTH), layout.getPetName(),
+        layout.getPlaceName(get(PET_PLACE)), floorItems(place));
+  }
+
+  @Override
+  public List<String> getAllPlayersInfo() {
+    return getPlayersInfoPage(0, get(PLAYER_COUNT));
+  }
+
+  @Override
+  public List<String> getPlayersInfoPage(int offset, int limit) {
+    List<String> playerInfo = new ArrayList<>();
+    for (Player player : registry.page(offset, limit)) {
+      playerInfo.add(player.getName() + ","
+          + layout.getPlaceName(player.getPlayerCurrentPlaceNumber()) + ","
+          + player.getCarryLimit() + ";");
+    }
+    return playerInfo;
+  }
+
+  @Override
+  public boolean isPlayerNameTaken(String playerName) {
+    return registry.contains(playerName);
+  }
+
+  @Override
+  public List<String> completePlayerName(String prefix, int limit) {
+    return registry.complete(prefix, limit);
+  }
+
+  @Override
+  public List<String> addComputerPlayers(String namePrefix, int count, int carryLimit,
+                                         SpawnDistribution distribution, RandomService random) {
+    if (namePrefix == null || namePrefix.trim().isEmpty()) {
+      throw new IllegalArgumentException("Name prefix cannot be null or empty.");
+    }
+    if (carryLimit <= 0) {
+      throw new IllegalArgumentException("Carry limit must be positive.");
+    }
+    if (distribution == null) {
+      throw new IllegalArgumentException("Distribution cannot be null.");
+    }
+    if (count > maxPlayers - get(PLAYER_COUNT)) {
+      throw new IllegalStateException("Town is full: " + maxPlayers + " players");
+    }
+    int[] startPlaces = distribution.choosePlaces(getPlaces(), getTarget().getCurrentPlace(),
+        count, random);
+    // Every name and place is settled before the first player joins, so a failure adds no one
+    String[] names = new String[startPlaces.length];
+    int number = get(PLAYER_COUNT) + 1;
+    for (int i = 0; i < startPlaces.length; i++) {
+      if (startPlaces[i] < 1 || startPlaces[i] >= placeViews.length) {
+        throw new IllegalStateException("Invalid start place: " + startPlaces[i]);
+      }
+      while (registry.contains(namePrefix + number)) {
+        number++;
+      }
+      names[i] = namePrefix + number++;
+    }
+    for (int i = 0; i < names.length; i++) {
+      addPlayer(names[i], startPlaces[i], carryLimit, true);
+    }
+    return List.of(names);
+  }
+
+  @Override
+  public void resetGameState() {
+    reset();
+  }
+
+  @Override
+  public boolean isGameOver() {
+    return get(TURN) > maxTurns || target.isDefeated();
+  }
+
+  @Override
+  public Boolean isComputerControllerPlayer() {
+    return get(playerComputer + get(CURRENT_PLAYER)) != 0;
+  }
+
+  @Override
+  public int getCurrentTurn() {
+    return get(TURN);
+  }
+
+  @Override
+  public void movePlayer(int playerIndex, int newPlaceNumber) throws IOException {
+    checkPlace(newPlaceNumber);
+    playerList.get(playerIndex);
+    placeSeat(playerIndex, newPlaceNumber);
+    switchToNextPlayer();
+  }
+
+  @Override
+  public void pickUpItem(String itemName) throws IOException {
+    int seat = get(CURRENT_PLAYER);
+    int item = floorItem(get(playerPlace + seat), itemName);
+    if (item < 0) {
+      throw new IllegalArgumentException("Item is not in this place: " + itemName);
+    }
+    giveItem(seat, item);
+    switchToNextPlayer();
+  }
+
+  @Override
+  public int getCurrentPlayerIndex() {
+    return get(CURRENT_PLAYER);
+  }
+
+  @Override
+  public boolean isPlayerVisible(Player player) {
+    if (player == null) {
+      throw new IllegalArgumentException("Player cannot be null");
+    }
+    int self = player instanceof PlayerView && ((PlayerView) player).town() == this
+        ? ((PlayerView) player).seat : -1;
+    int place = player.getPlayerCurrentPlaceNumber();
+    int count = get(PLAYER_COUNT);
+    for (int seat = 0; seat < count; seat++) {
+      if (seat != self && get(playerPlace + seat) == place) {
+        return true;
+      }
+    }
+    if (get(PET_PLACE) == place) {
+      return false;
+    }
+    for (int neighbor : layout.getNeighbors(place)) {
+      for (int seat = 0; seat < count; seat++) {
+        if (seat != self && get(playerPlace + seat) == neighbor) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String getPlayerCurrentCarriedItems(int playerIndex) {
+    playerList.get(playerIndex);
+    return formatItems(carriedItems(playerIndex));
+  }
+
+  @Override
+  public int getMaxTurns() {
+    return maxTurns;
+  }
+
+  @Override
+  public long getStateHash() {
+    return state.getLong(HASH * Integer.BYTES);
+  }
+
+  /**
+   * A player seat read from the state buffer.
+   */
+  private final class PlayerView implements Player {
+    private final int seat;
+
+    /**
+     * Constructs a new PlayerView.
+     *
+     * @param playerSeat the seat
+     */
+    PlayerView(int playerSeat) {
+      this.seat = playerSeat;
+    }
+
+    /**
+     * Gets the town this view reads from.
+     *
+     * @return the town
+     */
+    ColumnarTown town() {
+      return ColumnarTown.this;
+    }
+
+    @Override
+    public int getPlayerId() {
+      return seat + 1;
+    }
+
+    @Override
+    public String getName() {
+      return playerNames[seat];
+    }
+
+    @Override
+    public boolean isComputerControlled() {
+      return get(playerComputer + seat) != 0;
+    }
+
+    @Override
+    public int getPlayerCurrentPlaceNumber() {
+      return get(playerPlace + seat);
+    }
+
+    @Override
+    public void moveToPlaceNumber(int placeNumber) {
+      if (placeNumber <= 0) {
+        throw new IllegalArgumentException("Invalid move. The place is not a neighbor.");
+      }
+      checkPlace(placeNumber);
+      placeSeat(seat, placeNumber);
+    }
+
+    @Override
+    public void pickUpItem(Item item) {
+      int index = item == null ? -1 : item.getItemId() - 1;
+      if (index < 0 || index >= layout.getItemCount() || layout.getItem(index) != item) {
+        throw new IllegalArgumentException("Item is not part of this world");
+      }
+      giveItem(seat, index);
+    }
+
+    /**
+     * Gets a copy of the carried items; changing the list does not change the game.
+     *
+     * @return the carried items in pickup order
+     */
+    @Override
+    public List<Item> getCurrentCarriedItems() {
+      return carriedItems(seat);
+    }
+
+    @Override
+    public int getCarriedItemCount() {
+      return carriedCount(seat);
+    }
+
+    @Override
+    public Item getBestItem() {
+      int best = -1;
+      int bestSequence = 0;
+      for (int item = 0; item < layout.getItemCount(); item++) {
+        if (get(itemOwner + item) != seat + 1) {
+          continue;
+        }
+        int damage = layout.getItem(item).getDamage();
+        int sequence = get(itemSequence + item);
+        if (best < 0 || damage > layout.getItem(best).getDamage()
+            || (damage == layout.getItem(best).getDamage() && sequence < bestSequence)) {
+          best = item;
+          bestSequence = sequence;
+        }
+      }
+      return best < 0 ? null : layout.getItem(best);
+    }
+
+    @Override
+    public boolean removeItem(Item item) {
+      int index = item == null ? -1 : item.getItemId() - 1;
+      if (index < 0 || index >= layout.getItemCount() || get(itemOwner + index) != seat + 1) {
+        return false;
+      }
+      toggle(ZobristKeys.carriedItem(item.getItemId(), seat + 1));
+      put(itemOwner + index, USED);
+      changes.playerChanged(seat);
+      return true;
+    }
+
+    @Override
+    public int getCarryLimit() {
+      return get(playerLimit + seat);
+    }
+
+    @Override
+    public String toString() {
+      return getName();
+    }
+  }
+
+  /**
+   * A read-only place view over the layout and the state buffer.
+   */
+  private final class PlaceView implements Place {
+    private final int id;
+    private List<Place> neighbors;
+
+    /**
+     * Constructs a new PlaceView.
+     *
+     * @param placeId the place id
+     */
+    PlaceView(int placeId) {
+      this.id = placeId;
+    }
+
+    @Override
+    public int getPlaceId() {
+      return id;
+    }
+
+    @Override
+    public String getPlaceNumber() {
+      return String.valueOf(id);
+    }
+
+    @Override
+    public void addItem(Item item) {
+      throw new UnsupportedOperationException("Place views are read-only");
+    }
+
+    @Override
+    public void addNeighbor(Place place) {
+      throw new UnsupportedOperationException("Place views are read-only");
+    }
+
+    @Override
+    public String getName() {
+      return layout.getPlaceName(id);
+    }
+
+    @Override
+    public List<Item> getItems() {
+      return floorItems(id);
+    }
+
+    @Override
+    public Item getItemByName(String itemName) {
+      int item = floorItem(id, itemName);
+      return item < 0 ? null : layout.getItem(item);
+    }
+
+    /**
+     * Gets the neighbors. The layout never changes, so the list is built once and shared.
+     *
+     * @return the neighbors in world file order
+     */
+    @Override
+    public List<Place> getNeighbors() {
+      if (neighbors == null) {
+        int[] ids = layout.getNeighbors(id);
+        Place[] views = new Place[ids.length];
+        for (int n = 0; n < ids.length; n++) {
+          views[n] = placeViews[ids[n]];
+        }
+        neighbors = List.of(views);
+      }
+      return neighbors;
+    }
+
+    @Override
+    public boolean isNeighbor(Place other) {
+      if (other instanceof PlaceView) {
+        for (int neighbor : layout.getNeighbors(id)) {
+          if (neighbor == ((PlaceView) other).id) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public int getCol1() {
+      return layout.getBounds(id)[1];
+    }
+
+    @Override
+    public int getRow1() {
+      return layout.getBounds(id)[0];
+    }
+
+    @Override
+    public int getCol2() {
+      return layout.getBounds(id)[3];
+    }
+
+    @Override
+    public int getRow2() {
+      return layout.getBounds(id)[2];
+    }
+
+    @Override
+    public void setOccupants(Occupants occupants) {
+      throw new UnsupportedOperationException("Place views are read-only");
+    }
+
+    @Override
+    public List<Player> getCurrentPlacePlayers() {
+      return occupants(id);
+    }
+
+    @Override
+    public void removeItem(Item item) {
+      throw new UnsupportedOperationException("Place views are read-only");
+    }
+
+    @Override
+    public Item getBestItem() {
+      Item best = null;
+      for (int item = 0; item < layout.getItemCount(); item++) {
+        if (get(itemOwner + item) == 0 && get(itemPlace + item) == id
+            && (best == null || layout.getItem(item).getDamage() > best.getDamage())) {
+          best = layout.getItem(item);
+        }
+      }
+      return best;
+    }
+
+    @Override
+    public int getTotalDamage() {
+      return damageIn(id);
+    }
+
+    @Override
+    public int getDamageWithin(int hops) {
+      if (hops < 0) {
+        throw new IllegalArgumentException("Hops cannot be negative.");
+      }
+      int[] depth = new int[placeViews.length];
+      int[] queue = new int[placeViews.length];
+      int head = 0;
+      int tail = 0;
+      queue[tail++] = id;
+      depth[id] = 1;
+      int total = 0;
+      while (head < tail) {
+        int place = queue[head++];
+        total += damageIn(place);
+        if (depth[place] > hops) {
+          continue;
+        }
+        for (int neighbor : layout.getNeighbors(place)) {
+          if (depth[neighbor] == 0) {
+            depth[neighbor] = depth[place] + 1;
+            queue[tail++] = neighbor;
+          }
+        }
+      }
+      return total;
+    }
+
+    @Override
+    public String toString() {
+      return getName();
+    }
+  }
+
+  /**
+   * The target, read from the state buffer.
+   */
+  private final class TargetView implements Target {
+
+    @Override
+    public void moveToNextPlace() {
+      moveTarget();
+    }
+
+    @Override
+    public Place getCurrentPlace() {
+      return placeViews[getCurrentPlaceId()];
+    }
+
+    @Override
+    public int getCurrentPlaceId() {
+      return get(TARGET_INDEX) + 1;
+    }
+
+    @Override
+    public int getHealth() {
+      return get(TARGET_HEALTH);
+    }
+
+    @Override
+    public String getName() {
+      return layout.getTargetName();
+    }
+
+    @Override
+    public boolean takeDamage(int damage) {
+      if (damage < 0) {
+        throw new IllegalArgumentException("Damage cannot be negative");
+      }
+      int health = Math.max(0, get(TARGET_HEALTH) - damage);
+      toggle(ZobristKeys.targetHealth(get(TARGET_HEALTH)) ^ ZobristKeys.targetHealth(health));
+      put(TARGET_HEALTH, health);
+      return isDefeated();
+    }
+
+    @Override
+    public boolean isDefeated() {
+      return get(TARGET_HEALTH) <= 0;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s (Health: %d) at %s", getName(), getHealth(),
+          getCurrentPlace().getName());
+    }
+  }
+}
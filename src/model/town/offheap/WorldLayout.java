@@ -0,0 +1,204 @@
+package model.town.offheap;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import model.item.Item;
+import model.place.Place;
+import model.town.TownData;
+import model.town.TownLoaderInterface;
+
+/**
+ * WorldLayout is the immutable part of a world: place names, shapes and neighbors, the items and
+ * where they start, and the target and pet. It is built once per world file and shared by every
+ * {@link ColumnarTown} playing on that world, which keeps only the state that changes.
+ */
+public final class WorldLayout {
+  private final String targetName;
+  private final int targetHealth;
+  private final String petName;
+  private final String[] placeNames;
+  private final int[][] bounds;
+  private final int[][] neighbors;
+  private final Item[] items;
+  private final int[] itemStartPlaces;
+
+  /**
+   * Constructs a new WorldLayout from loaded town data.
+   *
+   * @param data the loaded town data, whose places are numbered 1 to n in list order
+   * @throws IllegalArgumentException if the data is null or its places are not numbered in order
+   */
+  public WorldLayout(TownData data) {
+    if (data == null) {
+      throw new IllegalArgumentException("Town data cannot be null");
+    }
+    this.targetName = data.getTargetName();
+    this.targetHealth = data.getTargetHealth();
+    this.petName = data.getPetName();
+
+    List<Place> places = data.getPlaces();
+    this.placeNames = new String[places.size() + 1];
+    this.bounds = new int[places.size() + 1][];
+    this.neighbors = new int[places.size() + 1][];
+    List<Item> itemList = data.getItems();
+    Map<Item, Integer> itemIds = new IdentityHashMap<>();
+    for (int i = 0; i < itemList.size(); i++) {
+      itemIds.put(itemList.get(i), i);
+    }
+    this.items = itemList.toArray(new Item[0]);
+    this.itemStartPlaces = new int[items.length];
+
+    for (int i = 0; i < places.size(); i++) {
+      Place place = places.get(i);
+      int id = place.getPlaceId();
+      if (id != i + 1) {
+        throw new IllegalArgumentException("Place " + id + " is out of order");
+      }
+      placeNames[id] = place.getName();
+      bounds[id] = new int[] {place.getRow1(), place.getCol1(), place.getRow2(), place.getCol2()};
+      List<Place> adjacent = place.getNeighbors();
+      neighbors[id] = new int[adjacent.size()];
+      for (int n = 0; n < adjacent.size(); n++) {
+        neighbors[id][n] = adjacent.get(n).getPlaceId();
+      }
+      for (Item item : place.getItems()) {
+        Integer index = itemIds.get(item);
+        if (index != null) {
+          itemStartPlaces[index] = id;
+        }
+      }
+    }
+  }
+
+  /**
+   * Loads a world file and builds its layout.
+   *
+   * @param loader   the loader to read the file with
+   * @param filename the world file
+   * @return the layout
+   * @throws IOException if the file cannot be read
+   */
+  public static WorldLayout load(TownLoaderInterface loader, String filename) throws IOException {
+    return new WorldLayout(loader.loadTown(filename));
+  }
+
+  /**
+   * Gets the target's name.
+   *
+   * @return the target's name
+   */
+  public String getTargetName() {
+    return targetName;
+  }
+
+  /**
+   * Gets the target's starting health.
+   *
+   * @return the starting health
+   */
+  public int getTargetHealth() {
+    return targetHealth;
+  }
+
+  /**
+   * Gets the pet's name.
+   *
+   * @return the pet's name
+   */
+  public String getPetName() {
+    return petName;
+  }
+
+  /**
+   * Gets the number of places.
+   *
+   * @return the place count
+   */
+  public int getPlaceCount() {
+    return placeNames.length - 1;
+  }
+
+  /**
+   * Gets a place's name.
+   *
+   * @param placeId the place id
+   * @return the name
+   */
+  public String getPlaceName(int placeId) {
+    return placeNames[placeId];
+  }
+
+  /**
+   * Gets a place's corners as top-left row, top-left column, bottom-right row and bottom-right
+   * column. The returned array is shared and must not be modified.
+   *
+   * @param placeId the place id
+   * @return the corners
+   */
+  int[] getBounds(int placeId) {
+    return bounds[placeId];
+  }
+
+  /**
+   * Gets the ids of a place's neighbors in world file order. The returned array is shared and
+   * must not be modified.
+   *
+   * @param placeId the place id
+   * @return the neighbor ids
+   */
+  int[] getNeighbors(int placeId) {
+    return neighbors[placeId];
+  }
+
+  /**
+   * Gets the number of neighbors a place has.
+   *
+   * @param placeId the place id
+   * @return the neighbor count
+   */
+  public int getNeighborCount(int placeId) {
+    return neighbors[placeId].length;
+  }
+
+  /**
+   * Gets one neighbor of a place, in world file order.
+   *
+   * @param placeId the place id
+   * @param index   the neighbor's position in the place's neighbor list
+   * @return the neighbor's place id
+   */
+  public int getNeighbor(int placeId, int index) {
+    return neighbors[placeId][index];
+  }
+
+  /**
+   * Gets the number of items.
+   *
+   * @return the item count
+   */
+  public int getItemCount() {
+    return items.length;
+  }
+
+  /**
+   * Gets an item by its index in world file order.
+   *
+   * @param index the item index
+   * @return the item, shared by every game on this layout
+   */
+  public Item getItem(int index) {
+    return items[index];
+  }
+
+  /**
+   * Gets the place an item starts in.
+   *
+   * @param index the item index
+   * @return the place id, or 0 if the item starts nowhere
+   */
+  public int getItemStartPlace(int index) {
+    return itemStartPlaces[index];
+  }
+}
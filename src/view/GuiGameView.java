@@ -1,6 +1,7 @@
 package view;
 
 import controller.Controller;
+import controller.command.GameCommand;
 import controller.support.PlayerInfoDto;
 import java.awt.BorderLayout;
 import java.awt.CardLayout;
@@ -11,7 +12,10 @@ import java.awt.Font;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -25,7 +29,8 @@ import javax.swing.JSplitPane;
 import javax.swing.JTextArea;
 import javax.swing.SwingUtilities;
 import model.place.Place;
-import model.player.Player;
+import model.town.GameSnapshot;
+import model.town.SpawnDistribution;
 import view.dialog.AddPlayerDialog;
 import view.dialog.MessageDialog;
 import view.dialog.PlayerInfoDialog;
@@ -35,7 +40,9 @@ import view.panel.MapPanel;
  * A GUI implementation of the game view using Swing components.
  * This class implements both View and GuiView interfaces to provide
  * a graphical user interface for the game, managing all visual components
- * and user interactions.
+ * and user interactions. Commands are submitted to the controller asynchronously, and state
+ * updates published from the game thread are coalesced so that the event dispatch thread only
+ * repaints the latest one.
  */
 public class GuiGameView implements View, GuiView, KeyListener {
   private static final String WELCOME_CARD = "WELCOME";
@@ -47,10 +54,12 @@ public class GuiGameView implements View, GuiView, KeyListener {
   private final JPanel mainPanel;
   private final CardLayout cardLayout;
   private final JTextArea messageArea;
+  private final AtomicReference<PlayerInfoDto> pendingPlayerInfo;
   private JLabel turnLabel;
   private JLabel playerNameLabel;
   private JLabel itemsLabel;
   private MapPanel mapPanel;
+  private List<Place> places;
 
   /**
    * Constructs a new GUI view for the game.
@@ -63,6 +72,7 @@ public class GuiGameView implements View, GuiView, KeyListener {
     this.cardLayout = new CardLayout();
     this.mainPanel = new JPanel(cardLayout);
     this.messageArea = new JTextArea(10, 40);
+    this.pendingPlayerInfo = new AtomicReference<>();
     messageArea.setEditable(false);
 
     mainFrame.addKeyListener(this);
@@ -152,6 +162,7 @@ public class GuiGameView implements View, GuiView, KeyListener {
     String[] menuOptions = {
         "Add Human Player",
         "Add Computer Player",
+        "Add Many Computer Players",
         "Display Player Information",
         "Start Game",
         "Exit Game"
@@ -159,6 +170,7 @@ public class GuiGameView implements View, GuiView, KeyListener {
     String[] commands = {
         "ADD_PLAYER_SCREEN",
         "ADD_COMPUTER_PLAYER",
+        "ADD_COMPUTER_PLAYERS",
         "SHOW_PLAYER_INFO",
         "START_TURNS",
         "QUIT"
@@ -195,7 +207,8 @@ public class GuiGameView implements View, GuiView, KeyListener {
 
     JPanel leftPanel = new JPanel(new BorderLayout());
     leftPanel.setBorder(BorderFactory.createTitledBorder("Game Map"));
-    mapPanel = new MapPanel(controller.getTown().getPlaces(), 58);
+    places = controller.getTown().getPlaces();
+    mapPanel = new MapPanel(places, 58);
     JScrollPane mapScrollPane = new JScrollPane(mapPanel);
     leftPanel.add(mapScrollPane, BorderLayout.CENTER);
     mainSplitPane.setLeftComponent(leftPanel);
@@ -272,25 +285,35 @@ public class GuiGameView implements View, GuiView, KeyListener {
 
   /**
    * Updates the player information display with current game state.
+   * Only one refresh is queued on the event dispatch thread at a time; updates that arrive
+   * before it runs replace the pending one, so a round of computer turns is painted once.
    *
    * @param info data transfer object containing current player information
    */
   @Override
   public void updatePlayerInfo(PlayerInfoDto info) {
-    SwingUtilities.invokeLater(() -> {
-      turnLabel.setText("Turn: " + info.getCurrentTurn());
-      playerNameLabel.setText("Player: " + info.getPlayerName());
-
-      String itemsText = info.getItems() == null
-          ? "None" : String.join(", ", info.getItems());
-      itemsLabel.setText("Items: " + itemsText);
-
-      // update target and player locations on map
-      String targetPlace = controller.getTown().getTarget().getCurrentPlace().getName();
-      System.out.println(
-          "Target place: " + targetPlace + "Player place: " + info.getCurrentPlace());
-      mapPanel.updateLocations(targetPlace, info.getCurrentPlace());
-    });
+    if (pendingPlayerInfo.getAndSet(info) == null) {
+      SwingUtilities.invokeLater(this::refreshPlayerInfo);
+    }
+  }
+
+  /**
+   * Paints the most recent pending player information. Runs on the event dispatch thread.
+   */
+  private void refreshPlayerInfo() {
+    PlayerInfoDto info = pendingPlayerInfo.getAndSet(null);
+    if (info == null) {
+      return;
+    }
+    turnLabel.setText("Turn: " + info.getCurrentTurn());
+    playerNameLabel.setText("Player: " + info.getPlayerName());
+
+    String itemsText = info.getItems() == null
+        ? "None" : String.join(", ", info.getItems());
+    itemsLabel.setText("Items: " + itemsText);
+
+    // update target and player locations on map
+    mapPanel.updateLocations(info.getTargetPlace(), info.getCurrentPlace());
   }
 
   /**
@@ -321,13 +344,7 @@ public class GuiGameView implements View, GuiView, KeyListener {
     button.setAlignmentX(JButton.CENTER_ALIGNMENT);
     button.setMaximumSize(new Dimension(300, 40));
     button.setActionCommand(command);
-    button.addActionListener(e -> {
-      try {
-        handleCommand(command);
-      } catch (IOException ex) {
-        throw new RuntimeException(ex);
-      }
-    });
+    button.addActionListener(e -> handleCommand(command));
     return button;
   }
 
@@ -335,9 +352,8 @@ public class GuiGameView implements View, GuiView, KeyListener {
    * Handles menu commands and executes appropriate actions.
    *
    * @param command the command to handle
-   * @throws IOException if there's an error executing the command
    */
-  private void handleCommand(String command) throws IOException {
+  private void handleCommand(String command) {
     switch (command) {
       case "ADD_PLAYER_SCREEN": {
         AddPlayerDialog dialog = new AddPlayerDialog(this);
@@ -345,7 +361,11 @@ public class GuiGameView implements View, GuiView, KeyListener {
         break;
       }
       case "ADD_COMPUTER_PLAYER":
-        controller.executeCommand("ADD_COMPUTER");
+        submitCommand(GameCommand.of(GameCommand.Type.ADD_COMPUTER),
+            "Error adding computer player: ");
+        break;
+      case "ADD_COMPUTER_PLAYERS":
+        handleAddComputers();
         break;
       case "SHOW_PLAYER_INFO": {
         PlayerInfoDialog dialog = new PlayerInfoDialog(this);
@@ -353,11 +373,15 @@ public class GuiGameView implements View, GuiView, KeyListener {
         break;
       }
       case "START_TURNS":
-        System.out.println("Starting game...");
-        if (controller.executeCommand("START_TURNS")) {
-          cardLayout.show(mainPanel, GAME_CARD);
-          mainFrame.requestFocusInWindow();
-        }
+        submitCommand(GameCommand.of(GameCommand.Type.START_TURNS), "Error starting game: ")
+            .thenAccept(started -> {
+              if (started) {
+                SwingUtilities.invokeLater(() -> {
+                  cardLayout.show(mainPanel, GAME_CARD);
+                  mainFrame.requestFocusInWindow();
+                });
+              }
+            });
         break;
       case "QUIT":
         close();
@@ -368,6 +392,52 @@ public class GuiGameView implements View, GuiView, KeyListener {
     }
   }
 
+  /**
+   * Submits a command to the controller without blocking the event dispatch thread.
+   * Failures are reported in an error dialog.
+   *
+   * @param command     the command to submit
+   * @param errorPrefix the text shown in front of the failure message
+   * @return a future completed with the command result, or false if the command failed
+   */
+  public CompletableFuture<Boolean> submitCommand(GameCommand command, String errorPrefix) {
+    return controller.submitCommand(command).exceptionally(e -> {
+      Throwable cause = e instanceof CompletionException && e.getCause() != null
+          ? e.getCause() : e;
+      SwingUtilities.invokeLater(() -> showError(errorPrefix + cause.getMessage()));
+      return false;
+    });
+  }
+
+  /**
+   * Asks how many computer players to add and where they start, then submits one bulk add
+   * command for all of them.
+   */
+  private void handleAddComputers() {
+    String input = JOptionPane.showInputDialog(mainFrame, "How many computer players?", "100");
+    if (input == null) {
+      return;
+    }
+    int count;
+    try {
+      count = Integer.parseInt(input.trim());
+    } catch (NumberFormatException e) {
+      showError("Invalid number: " + input);
+      return;
+    }
+    if (count <= 0) {
+      showError("Number of players must be positive.");
+      return;
+    }
+    SpawnDistribution distribution = (SpawnDistribution) JOptionPane.showInputDialog(mainFrame,
+        "Where should they start?", "Placement", JOptionPane.QUESTION_MESSAGE, null,
+        SpawnDistribution.values(), SpawnDistribution.UNIFORM);
+    if (distribution != null) {
+      submitCommand(GameCommand.addComputers(count, distribution),
+          "Error adding computer players: ");
+    }
+  }
+
   /**
    * Displays an error message dialog.
    *
@@ -536,33 +606,25 @@ public class GuiGameView implements View, GuiView, KeyListener {
   @Override
   public void keyPressed(KeyEvent e) {
     if (e.getKeyChar() == 'L' || e.getKeyChar() == 'l') {
-      try {
-        controller.executeCommand("LOOK");
-      } catch (IOException ex) {
-        showError("Error executing look command: " + ex.getMessage());
-      }
+      submitCommand(GameCommand.of(GameCommand.Type.LOOK), "Error executing look command: ");
     } else if (e.getKeyChar() == 'M' || e.getKeyChar() == 'm') {
 
-      // Get current player's place
-      int currentPlayerIndex = controller.getTown().getCurrentPlayerIndex();
-      Player currentPlayer = controller.getTown().getPlayers().get(currentPlayerIndex);
-      Place currentPlace = controller.getTown().getPlaceByNumber(
-          currentPlayer.getPlayerCurrentPlaceNumber());
+      // Get current player's place from the published snapshot, not the live model
+      GameSnapshot snapshot = controller.getSnapshot();
+      GameSnapshot.PlayerState currentPlayer = snapshot == null ? null
+          : snapshot.getCurrentPlayer();
+      if (currentPlayer == null) {
+        return;
+      }
+      Place currentPlace = places.get(currentPlayer.getPlaceNumber() - 1);
 
       // Show move options and handle clicks
       mapPanel.setClickListener((clickedPlace, isValidMove) -> {
         if (isValidMove) {
-          System.out.println("Success");
-          try {
-            // Execute move command
-            int placeNumber = Integer.parseInt(clickedPlace.getPlaceNumber());
-            String placeName = clickedPlace.getName();
-            controller.executeCommand("MOVE " + "," + placeName + "," + placeNumber);
-          } catch (IOException ex) {
-            showError("Error executing move: " + ex.getMessage());
-          }
+          // Execute move command
+          submitCommand(GameCommand.move(clickedPlace.getName(), clickedPlace.getPlaceId()),
+              "Error executing move: ");
         } else {
-          System.out.println("Wrong");
           showGuiMessage("Invalid Move", "You cannot move to this place.", "OK");
         }
       });
@@ -571,23 +633,11 @@ public class GuiGameView implements View, GuiView, KeyListener {
 
 
     } else if (e.getKeyChar() == 'P' || e.getKeyChar() == 'p') {
-      try {
-        controller.executeCommand("PICK");
-      } catch (IOException ex) {
-        showError("Error executing pick command: " + ex.getMessage());
-      }
+      submitCommand(GameCommand.of(GameCommand.Type.PICK), "Error executing pick command: ");
     } else if (e.getKeyChar() == 'E' || e.getKeyChar() == 'e') {
-      try {
-        controller.executeCommand("PETMOVE");
-      } catch (IOException ex) {
-        showError("Error executing pet move command: " + ex.getMessage());
-      }
+      submitCommand(GameCommand.of(GameCommand.Type.PETMOVE), "Error executing pet move command: ");
     } else if (e.getKeyChar() == 'A' || e.getKeyChar() == 'a') {
-      try {
-        controller.executeCommand("ATTACK");
-      } catch (IOException ex) {
-        showError("Error executing attack command: " + ex.getMessage());
-      }
+      submitCommand(GameCommand.of(GameCommand.Type.ATTACK), "Error executing attack command: ");
     }
   }
 
@@ -0,0 +1,67 @@
+package view;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * Reads lines from a {@link Readable} through one reusable {@link CharBuffer}.
+ * Unlike a Scanner, it does no tokenizing or pattern matching; it copies characters until the
+ * next line break. Both "\n" and "\r\n" line endings are accepted.
+ */
+final class LineReader {
+  private static final int BUFFER_SIZE = 1024;
+
+  private final Readable source;
+  private final CharBuffer buffer;
+  private final StringBuilder line;
+  private boolean endOfInput;
+
+  /**
+   * Constructs a new LineReader.
+   *
+   * @param input the source to read from
+   * @throws IllegalArgumentException if the source is null
+   */
+  LineReader(Readable input) {
+    if (input == null) {
+      throw new IllegalArgumentException("Input cannot be null");
+    }
+    this.source = input;
+    this.buffer = CharBuffer.allocate(BUFFER_SIZE);
+    this.buffer.flip();
+    this.line = new StringBuilder();
+    this.endOfInput = false;
+  }
+
+  /**
+   * Reads the next line, without its line ending.
+   *
+   * @return the next line, or null if the input has ended
+   * @throws IOException if the source cannot be read
+   */
+  String readLine() throws IOException {
+    line.setLength(0);
+    while (true) {
+      while (buffer.hasRemaining()) {
+        char c = buffer.get();
+        if (c == '\n') {
+          int last = line.length() - 1;
+          if (last >= 0 && line.charAt(last) == '\r') {
+            line.setLength(last);
+          }
+          return line.toString();
+        }
+        line.append(c);
+      }
+      if (endOfInput) {
+        return line.length() > 0 ? line.toString() : null;
+      }
+      buffer.clear();
+      int read = source.read(buffer);
+      buffer.flip();
+      if (read < 0) {
+        endOfInput = true;
+      }
+    }
+  }
+}
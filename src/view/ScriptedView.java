@@ -0,0 +1,102 @@
+package view;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A text view that reads its input from a recorded script instead of a keyboard.
+ * Output is written to an appendable, and every input line is echoed after its prompt, so the
+ * output of a scripted session reads like a terminal transcript. Input is validated the same way
+ * as in {@link TextGameView}. Each instance keeps its own state, so many scripted sessions can run
+ * side by side in one JVM.
+ */
+public class ScriptedView implements View {
+  private final List<String> inputs;
+  private final Appendable output;
+  private int nextInput;
+
+  /**
+   * Constructs a new ScriptedView.
+   *
+   * @param scriptInputs the input lines, in the order they are typed
+   * @param viewOutput   the destination of all output
+   * @throws IllegalArgumentException if the inputs or the output is null
+   */
+  public ScriptedView(List<String> scriptInputs, Appendable viewOutput) {
+    if (scriptInputs == null || viewOutput == null) {
+      throw new IllegalArgumentException("Inputs and output cannot be null");
+    }
+    this.inputs = new ArrayList<>(scriptInputs);
+    this.output = viewOutput;
+    this.nextInput = 0;
+  }
+
+  @Override
+  public void initialize() throws IOException {
+    output.append("\n");
+    output.append("++++++++++++++++++++\n");
+    output.append("Welcome to the game!\n");
+  }
+
+  @Override
+  public void showMessage(String message) throws IOException {
+    output.append(message).append("\n");
+  }
+
+  @Override
+  public void close() throws IOException {
+    output.append("Exiting the game...\n");
+  }
+
+  @Override
+  public String getStringInput() throws IOException {
+    String userInput = nextLine();
+    while (userInput.isEmpty()) {
+      output.append("Input cannot be empty. Please try again.\n");
+      userInput = nextLine();
+    }
+    return userInput;
+  }
+
+  @Override
+  public int getNumberInput() throws IOException {
+    while (true) {
+      String userInput = nextLine();
+      if (userInput.isEmpty()) {
+        output.append("Input cannot be empty. Please enter a number.\n");
+        continue;
+      }
+      try {
+        return Integer.parseInt(userInput);
+      } catch (NumberFormatException e) {
+        output.append("Invalid input. Please enter a valid number.\n");
+      }
+    }
+  }
+
+  /**
+   * Checks if every input line has been used.
+   *
+   * @return true if the script has no input left, false otherwise
+   */
+  public boolean isExhausted() {
+    return nextInput >= inputs.size();
+  }
+
+  /**
+   * Takes the next input line and echoes it to the output.
+   *
+   * @return the next input line
+   * @throws IOException if the script has no input left
+   */
+  private String nextLine() throws IOException {
+    if (isExhausted()) {
+      throw new EOFException("Script ran out of input after " + inputs.size() + " lines");
+    }
+    String line = inputs.get(nextInput++);
+    output.append(line).append("\n");
+    return line;
+  }
+}
@@ -1,14 +1,16 @@
 package view;
 
+import java.io.EOFException;
 import java.io.IOException;
-import java.util.Scanner;
+import view.output.OutputSink;
 
 /**
  * Implementation of GameView for text-based interface.
+ * Each view owns its input and output, so several text sessions can run in one JVM.
  */
 public class TextGameView implements View {
-  private static Appendable output;
-  private static Scanner scanner;
+  private final Appendable output;
+  private final LineReader input;
 
   /**
    * Constructs a TextGameView object.
@@ -17,8 +19,8 @@ public class TextGameView implements View {
    * @param gameOutput Appendable output destination
    */
   public TextGameView(Readable gameInput, Appendable gameOutput) {
-    output = gameOutput;
-    scanner = new Scanner(gameInput);
+    this.output = gameOutput;
+    this.input = new LineReader(gameInput);
   }
 
   @Override
@@ -36,44 +38,64 @@ public class TextGameView implements View {
   @Override
   public void close() throws IOException {
     output.append("Exiting the game...\n");
+    OutputSink.flushIfNeeded(output);
   }
 
   /**
    * Gets generic user input as string.
-   * A wrapper around scanner.nextLine() that handles possible errors.
+   * Pending output is flushed first so the prompt is visible before the read blocks.
+   * Empty lines are rejected until a non-empty line is entered.
    *
    * @return user input string
-   * @throws IOException if there is an error reading input
+   * @throws IOException if there is an error reading input or the input has ended
    */
   @Override
   public String getStringInput() throws IOException {
-    String userInput = scanner.nextLine();
-    if (userInput.isEmpty()) {
+    OutputSink.flushIfNeeded(output);
+    String userInput = nextLine();
+    while (userInput.isEmpty()) {
       output.append("Input cannot be empty. Please try again.\n");
-      return getStringInput();
+      OutputSink.flushIfNeeded(output);
+      userInput = nextLine();
     }
     return userInput;
   }
 
   /**
    * Gets numeric input from user.
-   * Handles format checking and validation.
+   * Handles format checking and validation, asking again until a number is entered.
    *
    * @return numeric value entered by user
-   * @throws IOException if there is an error reading input
+   * @throws IOException if there is an error reading input or the input has ended
    */
   @Override
   public int getNumberInput() throws IOException {
-    try {
-      String userInput = scanner.nextLine();
+    while (true) {
+      OutputSink.flushIfNeeded(output);
+      String userInput = nextLine();
       if (userInput.isEmpty()) {
         output.append("Input cannot be empty. Please enter a number.\n");
-        return getNumberInput();
+        continue;
       }
-      return Integer.parseInt(userInput);
-    } catch (NumberFormatException e) {
-      output.append("Invalid input. Please enter a valid number.\n");
-      return getNumberInput();
+      try {
+        return Integer.parseInt(userInput);
+      } catch (NumberFormatException e) {
+        output.append("Invalid input. Please enter a valid number.\n");
+      }
+    }
+  }
+
+  /**
+   * Reads the next input line.
+   *
+   * @return the next line
+   * @throws IOException if there is an error reading input or the input has ended
+   */
+  private String nextLine() throws IOException {
+    String line = input.readLine();
+    if (line == null) {
+      throw new EOFException("No more input");
     }
+    return line;
   }
-}
\ No newline at end of file
+}
@@ -1,10 +1,11 @@
 package view.dialog;
 
+import controller.command.GameCommand;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
-import java.io.IOException;
+import java.util.List;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -18,6 +19,9 @@ import javax.swing.JSpinner;
 import javax.swing.JSplitPane;
 import javax.swing.JTextField;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import view.GuiGameView;
 import view.panel.MapPanel;
 
@@ -26,8 +30,12 @@ import view.panel.MapPanel;
  * Provides a form interface with a map preview and input fields for player details.
  */
 public class AddPlayerDialog extends JDialog {
+  private static final int NAME_SUGGESTIONS = 5;
+
   private final GuiGameView parentView;
   private JTextField nameField;
+  private JLabel nameHint;
+  private boolean nameTaken;
   private JSpinner placeSpinner;
   private JSpinner limitSpinner;
 
@@ -114,6 +122,24 @@ public class AddPlayerDialog extends JDialog {
 
     // Player Name input
     JPanel namePanel = createInputPanel("Player Name:", nameField, inputSize, labelFont);
+    nameHint = new JLabel(" ");
+    nameHint.setFont(labelFont);
+    nameField.getDocument().addDocumentListener(new DocumentListener() {
+      @Override
+      public void insertUpdate(DocumentEvent e) {
+        updateNameHint();
+      }
+
+      @Override
+      public void removeUpdate(DocumentEvent e) {
+        updateNameHint();
+      }
+
+      @Override
+      public void changedUpdate(DocumentEvent e) {
+        updateNameHint();
+      }
+    });
 
     // Starting Place input
     JPanel placePanel =
@@ -123,6 +149,7 @@ public class AddPlayerDialog extends JDialog {
     JPanel limitPanel = createInputPanel("Carry Limit (1-10):", limitSpinner, inputSize, labelFont);
 
     formPanel.add(namePanel);
+    formPanel.add(nameHint);
     formPanel.add(Box.createRigidArea(new Dimension(0, 10)));
     formPanel.add(placePanel);
     formPanel.add(Box.createRigidArea(new Dimension(0, 10)));
@@ -132,6 +159,33 @@ public class AddPlayerDialog extends JDialog {
     return formPanel;
   }
 
+  /**
+   * Shows the existing player names that start with the typed name, and warns when the typed
+   * name is already taken. The lookup runs on the game thread; a reply for text that has since
+   * changed is dropped.
+   */
+  private void updateNameHint() {
+    String name = nameField.getText().trim();
+    nameTaken = false;
+    if (name.isEmpty()) {
+      nameHint.setText(" ");
+      return;
+    }
+    parentView.getController().query(town -> town.isPlayerNameTaken(name) ? null
+        : town.completePlayerName(name, NAME_SUGGESTIONS)).thenAccept(matches ->
+        SwingUtilities.invokeLater(() -> {
+          if (!name.equals(nameField.getText().trim())) {
+            return;
+          }
+          nameTaken = matches == null;
+          if (nameTaken) {
+            nameHint.setText("Name already taken");
+          } else {
+            nameHint.setText(matches.isEmpty() ? " " : "Existing: " + String.join(", ", matches));
+          }
+        }));
+  }
+
   /**
    * Creates a standardized input panel with a label and input component.
    * Used for creating consistent form fields throughout the dialog.
@@ -199,15 +253,15 @@ public class AddPlayerDialog extends JDialog {
           JOptionPane.ERROR_MESSAGE);
       return;
     }
-
-    try {
-      parentView.getController().executeCommand("ADD_PLAYER " + name + " " + place + " " + limit);
-      dispose();
-    } catch (IOException ex) {
+    if (nameTaken) {
       JOptionPane.showMessageDialog(this,
-          "Error adding player: " + ex.getMessage(),
+          "Player name is already taken!",
           "Error",
           JOptionPane.ERROR_MESSAGE);
+      return;
     }
+
+    parentView.submitCommand(GameCommand.addPlayer(name, place, limit), "Error adding player: ");
+    dispose();
   }
 }
\ No newline at end of file
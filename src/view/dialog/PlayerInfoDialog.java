@@ -1,10 +1,12 @@
 package view.dialog;
 
+import controller.Controller;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
-import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -14,6 +16,7 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
 import view.GuiGameView;
 
 /**
@@ -21,8 +24,14 @@ import view.GuiGameView;
  * Provides functionality to view all players' information or details about a specific player.
  */
 public class PlayerInfoDialog extends JDialog {
+  private static final int PAGE_SIZE = 20;
+  private static final int NAME_SUGGESTIONS = 5;
+
   private final GuiGameView parentView;
   private final JTextArea infoArea;
+  private final JButton previousButton;
+  private final JButton nextButton;
+  private int pageOffset;
 
   /**
    * Constructs a new PlayerInfoDialog.
@@ -35,6 +44,8 @@ public class PlayerInfoDialog extends JDialog {
     this.parentView = parent;
     this.infoArea = new JTextArea(15, 40);
     infoArea.setEditable(false);
+    this.previousButton = new JButton("Previous");
+    this.nextButton = new JButton("Next");
     initializeDialog();
   }
 
@@ -67,7 +78,8 @@ public class PlayerInfoDialog extends JDialog {
 
   /**
    * Creates the button panel with controls for viewing player information.
-   * Contains buttons for showing all players, showing specific player, and exiting.
+   * Contains buttons for showing all players, paging through them, showing a specific player,
+   * and exiting.
    *
    * @return a JPanel containing the control buttons
    */
@@ -79,12 +91,18 @@ public class PlayerInfoDialog extends JDialog {
     JButton exitButton = new JButton("Exit");
 
     // Set button actions
-    showAllButton.addActionListener(e -> handleShowAllPlayers());
+    showAllButton.addActionListener(e -> showPage(0));
+    previousButton.addActionListener(e -> showPage(Math.max(0, pageOffset - PAGE_SIZE)));
+    nextButton.addActionListener(e -> showPage(pageOffset + PAGE_SIZE));
     showSomeoneButton.addActionListener(e -> handleShowSomeone());
     exitButton.addActionListener(e -> dispose());
+    previousButton.setEnabled(false);
+    nextButton.setEnabled(false);
 
     // Add buttons to panel
     buttonPanel.add(showAllButton);
+    buttonPanel.add(previousButton);
+    buttonPanel.add(nextButton);
     buttonPanel.add(showSomeoneButton);
     buttonPanel.add(exitButton);
 
@@ -92,13 +110,24 @@ public class PlayerInfoDialog extends JDialog {
   }
 
   /**
-   * Handles the action to display information about all players in the game.
-   * Retrieves player information from the model and updates the display.
+   * Displays one page of the players in the game and updates the paging buttons.
+   * Only the players on the page, plus one to tell if there is a next page, are read from the
+   * model, and the read runs on the game thread.
+   *
+   * @param offset the index of the first player on the page
    */
-  private void handleShowAllPlayers() {
-    List<String> playersInfo = parentView.getController().getTown().getAllPlayersInfo();
-    displayPlayersInfo(playersInfo);
-
+  private void showPage(int offset) {
+    parentView.getController().query(town -> town.getPlayersInfoPage(offset, PAGE_SIZE + 1))
+        .whenComplete((players, error) -> SwingUtilities.invokeLater(() -> {
+          if (error != null) {
+            showError("Error getting player info: " + cause(error).getMessage());
+            return;
+          }
+          pageOffset = offset;
+          displayPlayersInfo(players.subList(0, Math.min(PAGE_SIZE, players.size())));
+          previousButton.setEnabled(offset > 0);
+          nextButton.setEnabled(players.size() > PAGE_SIZE);
+        }));
   }
 
   /**
@@ -107,20 +136,34 @@ public class PlayerInfoDialog extends JDialog {
    */
   private void handleShowSomeone() {
     String playerName = JOptionPane.showInputDialog(this, "Enter player name:");
-    if (playerName != null && !playerName.trim().isEmpty()) {
-      try {
-        String playerInfo = parentView.getController().getTown().getPlayerByName(playerName);
-        if (!playerInfo.isEmpty()) {
-          String[] info = playerInfo.split(",");
-          infoArea.setText(String.format("Player: %s\nLocation: %s\nCarry Limit: %s",
-              info[0], info[1], info[2]));
-        } else {
-          showError("Player not found!");
-        }
-      } catch (IOException e) {
-        showError("Error getting player info: " + e.getMessage());
-      }
+    if (playerName == null || playerName.trim().isEmpty()) {
+      return;
     }
+    Controller controller = parentView.getController();
+    controller.query(town -> town.getPlayerByName(playerName)).thenCompose(playerInfo -> {
+      if (!playerInfo.isEmpty()) {
+        String[] info = playerInfo.split(",");
+        String text = String.format("Player: %s\nLocation: %s\nCarry Limit: %s",
+            info[0], info[1], info[2]);
+        return CompletableFuture.completedFuture((Runnable) () -> infoArea.setText(text));
+      }
+      return controller.query(town -> town.completePlayerName(playerName.trim(),
+          NAME_SUGGESTIONS)).thenApply(suggestions -> (Runnable) () -> showError(
+          suggestions.isEmpty() ? "Player not found!"
+              : "Player not found! Did you mean: " + String.join(", ", suggestions) + "?"));
+    }).whenComplete((update, error) -> SwingUtilities.invokeLater(error == null ? update
+        : () -> showError("Error getting player info: " + cause(error).getMessage())));
+  }
+
+  /**
+   * Unwraps the failure of an asynchronous query.
+   *
+   * @param error the failure reported by the future
+   * @return the underlying cause
+   */
+  private static Throwable cause(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause() : error;
   }
 
   /**
@@ -0,0 +1,86 @@
+package view.output;
+
+import java.io.IOException;
+
+/**
+ * BufferedOutputSink collects text in memory and hands it to the underlying appendable in
+ * batches. A whole turn's worth of messages reaches the console as one write instead of one write
+ * per line, which matters when computer-only games run many turns without waiting for input.
+ */
+public class BufferedOutputSink implements OutputSink {
+  private static final int DEFAULT_CAPACITY = 8192;
+
+  private final Appendable target;
+  private final int capacity;
+  private final StringBuilder buffer;
+
+  /**
+   * Constructs a new BufferedOutputSink with the default capacity.
+   *
+   * @param sinkTarget the appendable that receives the batched text
+   * @throws IllegalArgumentException if the target is null
+   */
+  public BufferedOutputSink(Appendable sinkTarget) {
+    this(sinkTarget, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs a new BufferedOutputSink.
+   *
+   * @param sinkTarget   the appendable that receives the batched text
+   * @param sinkCapacity the number of characters held before the buffer is written out
+   * @throws IllegalArgumentException if the target is null or the capacity is not positive
+   */
+  public BufferedOutputSink(Appendable sinkTarget, int sinkCapacity) {
+    if (sinkTarget == null) {
+      throw new IllegalArgumentException("Output target cannot be null");
+    }
+    if (sinkCapacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.target = sinkTarget;
+    this.capacity = sinkCapacity;
+    this.buffer = new StringBuilder(sinkCapacity);
+  }
+
+  @Override
+  public Appendable append(CharSequence csq) throws IOException {
+    buffer.append(csq);
+    flushIfFull();
+    return this;
+  }
+
+  @Override
+  public Appendable append(CharSequence csq, int start, int end) throws IOException {
+    buffer.append(csq, start, end);
+    flushIfFull();
+    return this;
+  }
+
+  @Override
+  public Appendable append(char c) throws IOException {
+    buffer.append(c);
+    flushIfFull();
+    return this;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (buffer.length() > 0) {
+      target.append(buffer);
+      buffer.setLength(0);
+    }
+    OutputSink.flushIfNeeded(target);
+  }
+
+  /**
+   * Writes the buffer out once it reaches its capacity.
+   *
+   * @throws IOException if the underlying destination fails
+   */
+  private void flushIfFull() throws IOException {
+    if (buffer.length() >= capacity) {
+      flush();
+    }
+  }
+}
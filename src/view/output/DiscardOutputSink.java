@@ -0,0 +1,39 @@
+package view.output;
+
+/**
+ * DiscardOutputSink drops everything written to it.
+ * It is meant for headless simulations where nobody reads the game text, so producing it should
+ * cost as little as possible. The sink has no state, so a single shared instance is used.
+ */
+public final class DiscardOutputSink implements OutputSink {
+  /**
+   * The shared discard sink.
+   */
+  public static final DiscardOutputSink INSTANCE = new DiscardOutputSink();
+
+  /**
+   * Constructs the shared DiscardOutputSink.
+   */
+  private DiscardOutputSink() {
+  }
+
+  @Override
+  public Appendable append(CharSequence csq) {
+    return this;
+  }
+
+  @Override
+  public Appendable append(CharSequence csq, int start, int end) {
+    return this;
+  }
+
+  @Override
+  public Appendable append(char c) {
+    return this;
+  }
+
+  @Override
+  public void flush() {
+    // Nothing is ever held.
+  }
+}
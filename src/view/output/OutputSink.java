@@ -0,0 +1,33 @@
+package view.output;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * The OutputSink interface defines a destination for game text.
+ * A sink is an {@link Appendable}, so it can be handed to the model and the text view in place
+ * of {@code System.out}, but writes may be held back until {@link #flush()} is called. Callers
+ * that are about to wait for the user, or that finish a game, must flush.
+ */
+public interface OutputSink extends Appendable, Flushable {
+
+  /**
+   * Writes any held-back text to the underlying destination.
+   *
+   * @throws IOException if the underlying destination fails
+   */
+  @Override
+  void flush() throws IOException;
+
+  /**
+   * Flushes the given appendable if it is flushable, and does nothing otherwise.
+   *
+   * @param output the appendable to flush
+   * @throws IOException if the underlying destination fails
+   */
+  static void flushIfNeeded(Appendable output) throws IOException {
+    if (output instanceof Flushable) {
+      ((Flushable) output).flush();
+    }
+  }
+}
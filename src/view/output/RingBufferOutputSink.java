@@ -0,0 +1,81 @@
+package view.output;
+
+/**
+ * RingBufferOutputSink keeps only the most recent characters written to it.
+ * Long sessions can log every turn without the log growing without bound; once the buffer is
+ * full, the oldest text is overwritten. The retained text can be read back with
+ * {@link #getContents()}, for example to show a session's recent history.
+ */
+public class RingBufferOutputSink implements OutputSink {
+  private final char[] ring;
+  private int head;
+  private int size;
+
+  /**
+   * Constructs a new RingBufferOutputSink.
+   *
+   * @param capacity the number of characters retained
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public RingBufferOutputSink(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.ring = new char[capacity];
+    this.head = 0;
+    this.size = 0;
+  }
+
+  @Override
+  public synchronized Appendable append(CharSequence csq) {
+    CharSequence text = csq == null ? "null" : csq;
+    return append(text, 0, text.length());
+  }
+
+  @Override
+  public synchronized Appendable append(CharSequence csq, int start, int end) {
+    CharSequence text = csq == null ? "null" : csq;
+    for (int i = start; i < end; i++) {
+      write(text.charAt(i));
+    }
+    return this;
+  }
+
+  @Override
+  public synchronized Appendable append(char c) {
+    write(c);
+    return this;
+  }
+
+  @Override
+  public void flush() {
+    // Text is retained in memory only.
+  }
+
+  /**
+   * Gets the retained text, oldest character first.
+   *
+   * @return the retained text
+   */
+  public synchronized String getContents() {
+    StringBuilder contents = new StringBuilder(size);
+    int start = (head - size + ring.length) % ring.length;
+    for (int i = 0; i < size; i++) {
+      contents.append(ring[(start + i) % ring.length]);
+    }
+    return contents.toString();
+  }
+
+  /**
+   * Writes one character, overwriting the oldest one when the buffer is full.
+   *
+   * @param c the character to write
+   */
+  private void write(char c) {
+    ring[head] = c;
+    head = (head + 1) % ring.length;
+    if (size < ring.length) {
+      size++;
+    }
+  }
+}
@@ -6,6 +6,7 @@ import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -22,8 +23,9 @@ import model.place.Place;
  * Supports interactive clicking for player movement.
  */
 public class MapPanel extends JPanel {
-  private static int CELL_SIZE = 0;
+  private final int cellSize;
   private final List<Place> places;
+  private final PlaceGridIndex placeIndex;
   private final List<Place> highlightedPlaces = new ArrayList<>();
   private BufferedImage mapImage;
   private String targetPlaceName;
@@ -40,8 +42,9 @@ public class MapPanel extends JPanel {
    */
   public MapPanel(List<Place> mapPlaces, int cellSize) {
     this.places = mapPlaces;
-    CELL_SIZE = cellSize;
-    setPreferredSize(new Dimension(11 * CELL_SIZE, 12 * CELL_SIZE));
+    this.cellSize = cellSize;
+    this.placeIndex = new PlaceGridIndex(mapPlaces, cellSize);
+    setPreferredSize(new Dimension(11 * cellSize, 12 * cellSize));
 
     addMouseListener(new MouseAdapter() {
       @Override
@@ -74,12 +77,7 @@ public class MapPanel extends JPanel {
     this.showMoveHighlight = true;
     this.highlightedPlaces.clear();
 
-    // Find neighboring places
-    for (Place place : places) {
-      if (playerPlace.isNeighbor(place)) {
-        highlightedPlaces.add(place);
-      }
-    }
+    highlightedPlaces.addAll(playerPlace.getNeighbors());
 
     // Start timer to clear highlights after 5 seconds
     if (highlightTimer != null && highlightTimer.isRunning()) {
@@ -110,41 +108,20 @@ public class MapPanel extends JPanel {
       return;
     }
 
-    Place clickedPlace = getPlaceAtCoordinates(x, y);
-    assert clickedPlace != null;
-    System.out.println("Clicked place: " + clickedPlace.getName());
+    Place clickedPlace = placeIndex.placeAt(x, y);
+    if (clickedPlace == null) {
+      return;
+    }
     boolean isValidMove = highlightedPlaces.contains(clickedPlace);
     clickListener.onPlaceClicked(clickedPlace, isValidMove);
   }
 
-  /**
-   * Determines which place on the map was clicked based on coordinates.
-   *
-   * @param x the x-coordinate of the click
-   * @param y the y-coordinate of the click
-   * @return the Place that was clicked, or null if no place was clicked
-   */
-  private Place getPlaceAtCoordinates(int x, int y) {
-    for (Place place : places) {
-      int placeX = place.getRow1() * 58;
-      int placeY = place.getCol1() * 58;
-      int placeWidth = (place.getRow2() - place.getRow1()) * 58;
-      int placeHeight = (place.getCol2() - place.getCol1()) * 58;
-
-      if (x >= placeX && x <= placeX + placeWidth
-          && y >= placeY && y <= placeY + placeHeight) {
-        return place;
-      }
-    }
-    return null;
-  }
-
   /**
    * Creates the base map image showing all places.
    * This image is created once and reused for efficiency.
    */
   private void createMapImage() {
-    mapImage = new BufferedImage(11 * CELL_SIZE, 12 * CELL_SIZE,
+    mapImage = new BufferedImage(11 * cellSize, 12 * cellSize,
         BufferedImage.TYPE_INT_ARGB);
     Graphics2D g2d = mapImage.createGraphics();
 
@@ -172,10 +149,11 @@ public class MapPanel extends JPanel {
    * @param placeNumber the number identifier of the place
    */
   private void drawPlace(Graphics2D g2d, Place place, int placeNumber) {
-    int x = place.getRow1() * CELL_SIZE;
-    int y = place.getCol1() * CELL_SIZE;
-    int width = (place.getRow2() - place.getRow1()) * CELL_SIZE;
-    int height = (place.getCol2() - place.getCol1()) * CELL_SIZE;
+    Rectangle bounds = placeIndex.bounds(place);
+    int x = bounds.x;
+    int y = bounds.y;
+    int width = bounds.width;
+    int height = bounds.height;
 
     // Draw room background
     g2d.setColor(new Color(230, 230, 230));
@@ -231,28 +209,24 @@ public class MapPanel extends JPanel {
         g2d.setColor(highlightColor);
 
         for (Place place : highlightedPlaces) {
-          int x = place.getRow1() * 58;
-          int y = place.getCol1() * 58;
-          int width = (place.getRow2() - place.getRow1()) * 58;
-          int height = (place.getCol2() - place.getCol1()) * 58;
-          g2d.fillRect(x, y, width, height);
+          Rectangle bounds = placeIndex.bounds(place);
+          g2d.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
         }
       }
 
-      // Draw target and player markers
+      // Draw target and player markers, checking only the places in the repainted area
       if (targetPlaceName != null || playerPlaceName != null) {
-        for (Place place : places) {
-          int x = place.getRow1() * 58;
-          int y = place.getCol1() * 58;
-          int width = (place.getRow2() - place.getRow1()) * 58;
-          int height = (place.getCol2() - place.getCol1()) * 58;
+        Rectangle visible = g.getClipBounds();
+        List<Place> visiblePlaces = visible == null ? places : placeIndex.placesIn(visible);
+        for (Place place : visiblePlaces) {
+          Rectangle bounds = placeIndex.bounds(place);
 
           if (place.getName().equals(targetPlaceName)) {
-            drawTarget(g2d, x, y, width, height);
+            drawTarget(g2d, bounds.x, bounds.y, bounds.width, bounds.height);
           }
 
           if (place.getName().equals(playerPlaceName)) {
-            drawPlayer(g2d, x, y, width, height);
+            drawPlayer(g2d, bounds.x, bounds.y, bounds.width, bounds.height);
           }
         }
       }
@@ -0,0 +1,212 @@
+package view.panel;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import model.place.Place;
+
+/**
+ * A uniform-grid spatial index over the screen rectangles of the places on a map.
+ * The map is divided into square buckets sized so that each bucket overlaps about one place,
+ * and every place is registered in each bucket its rectangle touches. A point query only checks
+ * the places of one bucket and a range query only the buckets under the range, so clicks and
+ * repaints stay fast no matter how many places the map holds.
+ *
+ * <p>Range queries reuse scratch arrays, so an index is used from one thread, the event
+ * dispatch thread.
+ */
+final class PlaceGridIndex {
+  private final List<Place> places;
+  private final int cellSize;
+  private final int bucketSize;
+  private final int columns;
+  private final int rows;
+  private final int[][] buckets;
+  private final int[] stamps;
+  private int stamp;
+  private int[] hits;
+
+  /**
+   * Builds an index over the given places.
+   *
+   * @param mapPlaces   the places of the map, in map order
+   * @param mapCellSize the size in pixels of one map cell
+   * @throws IllegalArgumentException if the places are null or the cell size is not positive
+   */
+  PlaceGridIndex(List<Place> mapPlaces, int mapCellSize) {
+    if (mapPlaces == null) {
+      throw new IllegalArgumentException("Places cannot be null");
+    }
+    if (mapCellSize <= 0) {
+      throw new IllegalArgumentException("Cell size must be positive");
+    }
+    this.places = mapPlaces;
+    this.cellSize = mapCellSize;
+
+    int width = 1;
+    int height = 1;
+    long area = 0;
+    for (Place place : places) {
+      Rectangle bounds = bounds(place);
+      width = Math.max(width, bounds.x + bounds.width + 1);
+      height = Math.max(height, bounds.y + bounds.height + 1);
+      area += (long) Math.max(1, bounds.width) * Math.max(1, bounds.height);
+    }
+    int averageSide = places.isEmpty() ? width : (int) Math.sqrt((double) area / places.size());
+    this.bucketSize = Math.max(1, averageSide);
+    this.columns = (width + bucketSize - 1) / bucketSize;
+    this.rows = (height + bucketSize - 1) / bucketSize;
+
+    int[] counts = new int[columns * rows];
+    for (Place place : places) {
+      forEachBucket(bounds(place), bucket -> counts[bucket]++);
+    }
+    this.buckets = new int[counts.length][];
+    for (int i = 0; i < counts.length; i++) {
+      buckets[i] = new int[counts[i]];
+      counts[i] = 0;
+    }
+    for (int i = 0; i < places.size(); i++) {
+      final int placeIndex = i;
+      forEachBucket(bounds(places.get(i)),
+          bucket -> buckets[bucket][counts[bucket]++] = placeIndex);
+    }
+    this.stamps = new int[places.size()];
+    this.hits = new int[16];
+  }
+
+  /**
+   * Gets the screen rectangle of a place. Places store their x extent in rows and their y
+   * extent in columns.
+   *
+   * @param place the place
+   * @return the place's rectangle in pixels
+   */
+  Rectangle bounds(Place place) {
+    return new Rectangle(place.getRow1() * cellSize, place.getCol1() * cellSize,
+        (place.getRow2() - place.getRow1()) * cellSize,
+        (place.getCol2() - place.getCol1()) * cellSize);
+  }
+
+  /**
+   * Finds the place under a point. Edges are inclusive; where two places share an edge, the one
+   * that comes first in map order wins.
+   *
+   * @param x the x-coordinate in pixels
+   * @param y the y-coordinate in pixels
+   * @return the place under the point, or null if there is none
+   */
+  Place placeAt(int x, int y) {
+    if (x < 0 || y < 0) {
+      return null;
+    }
+    int column = x / bucketSize;
+    int row = y / bucketSize;
+    if (column >= columns || row >= rows) {
+      return null;
+    }
+    for (int placeIndex : buckets[row * columns + column]) {
+      Place place = places.get(placeIndex);
+      if (contains(place, x, y)) {
+        return place;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Finds every place whose rectangle intersects a range, such as the visible part of the map.
+   *
+   * @param range the range in pixels
+   * @return the places in the range, in map order
+   */
+  List<Place> placesIn(Rectangle range) {
+    // A place spanning several buckets is counted once: its stamp marks it seen in this query
+    if (++stamp == 0) {
+      Arrays.fill(stamps, 0);
+      stamp = 1;
+    }
+    int found = 0;
+    int firstColumn = Math.max(0, range.x / bucketSize);
+    int firstRow = Math.max(0, range.y / bucketSize);
+    int lastColumn = Math.min(columns - 1, (range.x + range.width) / bucketSize);
+    int lastRow = Math.min(rows - 1, (range.y + range.height) / bucketSize);
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int column = firstColumn; column <= lastColumn; column++) {
+        for (int placeIndex : buckets[row * columns + column]) {
+          if (stamps[placeIndex] != stamp && intersects(places.get(placeIndex), range)) {
+            stamps[placeIndex] = stamp;
+            if (found == hits.length) {
+              hits = Arrays.copyOf(hits, found * 2);
+            }
+            hits[found++] = placeIndex;
+          }
+        }
+      }
+    }
+    Arrays.sort(hits, 0, found);
+    List<Place> result = new ArrayList<>(found);
+    for (int i = 0; i < found; i++) {
+      result.add(places.get(hits[i]));
+    }
+    return result;
+  }
+
+  /**
+   * Checks if a point lies in a place's rectangle, edges included.
+   *
+   * @param place the place
+   * @param x     the x-coordinate in pixels
+   * @param y     the y-coordinate in pixels
+   * @return true if the point is in the place, false otherwise
+   */
+  private boolean contains(Place place, int x, int y) {
+    Rectangle bounds = bounds(place);
+    return x >= bounds.x && x <= bounds.x + bounds.width
+        && y >= bounds.y && y <= bounds.y + bounds.height;
+  }
+
+  /**
+   * Checks if a place's rectangle, edges included, intersects a range.
+   *
+   * @param place the place
+   * @param range the range in pixels
+   * @return true if they intersect, false otherwise
+   */
+  private boolean intersects(Place place, Rectangle range) {
+    Rectangle bounds = bounds(place);
+    return bounds.x <= range.x + range.width && range.x <= bounds.x + bounds.width
+        && bounds.y <= range.y + range.height && range.y <= bounds.y + bounds.height;
+  }
+
+  /**
+   * Calls the action for every bucket a rectangle touches, edges included.
+   *
+   * @param area   the rectangle in pixels
+   * @param action the action to run with each bucket index
+   */
+  private void forEachBucket(Rectangle area, BucketAction action) {
+    int firstColumn = Math.max(0, area.x / bucketSize);
+    int firstRow = Math.max(0, area.y / bucketSize);
+    int lastColumn = Math.min(columns - 1, (area.x + area.width) / bucketSize);
+    int lastRow = Math.min(rows - 1, (area.y + area.height) / bucketSize);
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int column = firstColumn; column <= lastColumn; column++) {
+        action.accept(row * columns + column);
+      }
+    }
+  }
+
+  /**
+   * Action run for each bucket touched by a rectangle.
+   */
+  private interface BucketAction {
+    /**
+     * Runs the action.
+     *
+     * @param bucket the bucket index
+     */
+    void accept(int bucket);
+  }
+}
@@ -6,6 +6,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import controller.command.GameCommand;
 import controller.support.PlayerInfoDto;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -204,7 +205,7 @@ public class GuiGameControllerTest {
     assertTrue("Should get current place items",
         mockModel.getLog().contains("getCurrentPlaceInfo called"));
     assertTrue(mockModel.getLog().contains("getCurrentPlayerIndex called"));
-    assertTrue(mockModel.getLog().contains("showBasicLocationInfo called"));
+    assertTrue(mockModel.getLog().contains("getTurnSnapshot called"));
     assertTrue("Check isGameOver called",
         mockModel.getLog().contains("isGameOver called"));
   }
@@ -399,10 +400,6 @@ public class GuiGameControllerTest {
     MockView mockGuiView = new MockView();
     mockController.setView(mockGuiView, true);
 
-    mockTown.setCurrentPlayerInfo(
-        "[[Player1,TestPlace,5,None], [], [MockTarget,TestPlace,50], [MockPet,TestPlace]]"
-    );
-
     mockController.executeCommand("LOOK");
 
     String modelLog = mockTown.getLog();
@@ -414,10 +411,6 @@ public class GuiGameControllerTest {
 
     mockTown.clearLog();
 
-    mockTown.setCurrentPlayerInfo(
-        "[[Player2,TestPlace,5,Sword-10], [], [MockTarget,TestPlace,50], [MockPet,TestPlace]]"
-    );
-
     mockController.executeCommand("ATTACK");
 
     modelLog = mockTown.getLog();
@@ -454,8 +447,8 @@ public class GuiGameControllerTest {
     assertEquals("Current player name should be correct", "Player2", lastInfo.getPlayerName());
 
     String modelLog = mockTown.getLog();
-    assertTrue("Should call showBasicLocationInfo",
-        modelLog.contains("showBasicLocationInfo called"));
+    assertTrue("Should call getTurnSnapshot",
+        modelLog.contains("getTurnSnapshot called"));
     assertTrue("Should call getCurrentPlaceInfo",
         modelLog.contains("getCurrentPlaceInfo called"));
   }
@@ -658,10 +651,10 @@ public class GuiGameControllerTest {
     String modelLog = mockTown.getLog();
     assertTrue("Should check computer player status",
         modelLog.contains("isComputerControllerPlayer called"));
-    assertTrue("Should get current place info",
-        modelLog.contains("getCurrentPlaceInfo called"));
     assertTrue("Should attempt to pick up item",
         modelLog.contains("pickUpItem called"));
+    assertTrue("Should pick up the strongest item in the place",
+        modelLog.contains("Item picked up: TestItem"));
   }
 
   /**
@@ -680,6 +673,8 @@ public class GuiGameControllerTest {
     mockPlaces.add(place2);
     mockPlaces.add(place3);
     mockTown.setPlaces(mockPlaces);
+    place2.addNeighbor(place1);
+    place2.addNeighbor(place3);
 
     Player computerPlayer = new PlayerModel("Computer1", true, 5, 2);
     computerPlayer.pickUpItem(new ItemModel("TestItem", 10));
@@ -698,8 +693,6 @@ public class GuiGameControllerTest {
 
     mockTown.setNeighborInfoForPlace(2, true);
 
-    mockTown.setBasicLocationInfo();
-
     mockController = new GuiGameController(mockTown);
     MockView mockGuiView = new MockView();
     mockController.setView(mockGuiView, true);
@@ -710,10 +703,10 @@ public class GuiGameControllerTest {
 
     assertTrue("Should check computer player status",
         modelLog.contains("isComputerControllerPlayer called"));
-    assertTrue("Should get current place neighbors info",
-        modelLog.contains("getCurrentPlaceNeighborsInfo called"));
     assertTrue("Should attempt to move player",
         modelLog.contains("movePlayer called"));
+    assertTrue("Should move into the target's place",
+        modelLog.contains("Player 0 moved to place 3"));
   }
 
   /**
@@ -845,6 +838,28 @@ public class GuiGameControllerTest {
     assertTrue("Should call movePet", modelLog.contains("movePet called"));
   }
 
+  /**
+   * Test the recorded commands carry the player's choices rather than the prompts.
+   */
+  @Test
+  public void testRecordingKeepsChoices() {
+    mockTown.setPlayers(List.of(
+        new PlayerModel("Player1", false, 5, 1),
+        new PlayerModel("Player2", false, 5, 2)
+    ));
+    MockView mockGuiView = new MockView();
+    mockController.setView(mockGuiView, true);
+    mockGuiView.setNextNumberInput(5);
+
+    mockController.setCommandRecording(true);
+    mockController.submitCommand(GameCommand.of(GameCommand.Type.PETMOVE)).join();
+    mockController.submitCommand(GameCommand.of(GameCommand.Type.LOOK)).join();
+
+    assertEquals(List.of(GameCommand.movePet(5), GameCommand.of(GameCommand.Type.LOOK)),
+        mockController.getCommandHistory());
+    assertTrue(mockTown.getLog().contains("movePet called"));
+  }
+
   /**
    * Test for empty command.
    *
@@ -1002,6 +1017,11 @@ public class GuiGameControllerTest {
       return null;
     }
 
+    @Override
+    public int getCurrentPlaceId() {
+      return getCurrentPlace().getPlaceId();
+    }
+
     @Override
     public int getHealth() {
       return 0;
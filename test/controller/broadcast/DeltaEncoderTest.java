@@ -0,0 +1,183 @@
+package controller.broadcast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import model.place.Place;
+import model.town.GameSnapshot;
+import model.town.TownLoader;
+import model.town.TownModel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for DeltaEncoder, SpectatorMirror and SnapshotBroadcaster. Tests keyframes, deltas,
+ * version checks and streaming to a socket subscriber.
+ */
+public class DeltaEncoderTest {
+  private TownModel town;
+
+  @Before
+  public void setUp() throws IOException {
+    town = new TownModel(new TownLoader(), "res/SmallTownWorld.txt", new StringWriter(), 50);
+    town.addPlayer("Alice", 1, 3, false);
+    town.addPlayer("Bob", 2, 3, true);
+  }
+
+  /**
+   * Checks that a mirror holds the same game as a snapshot.
+   *
+   * @param snapshot the snapshot
+   * @param mirror   the mirror
+   */
+  private static void assertMirrors(GameSnapshot snapshot, SpectatorMirror mirror) {
+    assertEquals(snapshot.getVersion(), mirror.getVersion());
+    assertEquals(snapshot.getTurn(), mirror.getTurn());
+    assertEquals(snapshot.getCurrentPlayerIndex(), mirror.getCurrentPlayerIndex());
+    assertEquals(snapshot.getTargetName(), mirror.getTargetName());
+    assertEquals(snapshot.getTargetHealth(), mirror.getTargetHealth());
+    assertEquals(snapshot.getTargetPlaceNumber(), mirror.getTargetPlaceNumber());
+    assertEquals(snapshot.getPetPlaceNumber(), mirror.getPetPlaceNumber());
+    assertEquals(snapshot.getPlayers().size(), mirror.getPlayerCount());
+    for (int i = 0; i < mirror.getPlayerCount(); i++) {
+      GameSnapshot.PlayerState player = snapshot.getPlayers().get(i);
+      assertEquals(player.getName(), mirror.getPlayerName(i));
+      assertEquals(player.isComputer(), mirror.isComputer(i));
+      assertEquals(player.getPlaceNumber(), mirror.getPlayerPlaceNumber(i));
+      assertEquals(player.getCarriedItems().size(), mirror.getPlayerItems(i).size());
+    }
+    assertEquals(snapshot.getPlaces().size(), mirror.getPlaceCount());
+    for (int i = 0; i < mirror.getPlaceCount(); i++) {
+      GameSnapshot.PlaceState place = snapshot.getPlaces().get(i);
+      assertEquals(place.getName(), mirror.getPlaceName(i));
+      assertEquals(place.getItems().size(), mirror.getPlaceItems(i).size());
+    }
+  }
+
+  // Test a keyframe rebuilds the whole game
+  @Test
+  public void testKeyframe() {
+    GameSnapshot snapshot = GameSnapshot.capture(town, null);
+    SpectatorMirror mirror = new SpectatorMirror();
+    assertTrue(mirror.apply(ByteBuffer.wrap(DeltaEncoder.keyframe(snapshot))));
+    assertMirrors(snapshot, mirror);
+    assertEquals("Toy Ball", mirror.getPlaceItems(0).get(0));
+    assertTrue(mirror.isComputer(1));
+  }
+
+  // Test deltas carry only the changes and are much smaller than a keyframe
+  @Test
+  public void testDelta() throws IOException {
+    GameSnapshot first = GameSnapshot.capture(town, null);
+    byte[] keyframe = DeltaEncoder.keyframe(first);
+    SpectatorMirror mirror = new SpectatorMirror();
+    mirror.apply(ByteBuffer.wrap(keyframe));
+
+    town.pickUpItem("Toy Ball");
+    GameSnapshot second = GameSnapshot.capture(town, first);
+    byte[] pickUp = DeltaEncoder.delta(first, second);
+    assertTrue(pickUp.length * 4 < keyframe.length);
+    assertTrue(mirror.apply(ByteBuffer.wrap(pickUp)));
+    assertMirrors(second, mirror);
+    assertEquals(Collections.singletonList("Toy Ball"), mirror.getPlayerItems(0));
+    assertTrue(mirror.getPlaceItems(0).isEmpty());
+
+    Place neighbor = town.getPlaces().get(0).getNeighbors().get(0);
+    town.movePlayer(0, town.getPlaces().indexOf(neighbor) + 1);
+    town.moveTarget();
+    GameSnapshot third = GameSnapshot.capture(town, second);
+    byte[] move = DeltaEncoder.delta(second, third);
+    assertTrue(move.length * 4 < keyframe.length);
+    assertTrue(mirror.apply(ByteBuffer.wrap(move)));
+    assertMirrors(third, mirror);
+  }
+
+  // Test a delta that skips versions still brings the mirror up to date
+  @Test
+  public void testCoalescedDelta() throws IOException {
+    GameSnapshot first = GameSnapshot.capture(town, null);
+    SpectatorMirror mirror = new SpectatorMirror();
+    mirror.apply(ByteBuffer.wrap(DeltaEncoder.keyframe(first)));
+    town.pickUpItem("Toy Ball");
+    GameSnapshot second = GameSnapshot.capture(town, first);
+    town.switchToNextPlayer();
+    GameSnapshot third = GameSnapshot.capture(town, second);
+    assertTrue(mirror.apply(ByteBuffer.wrap(DeltaEncoder.delta(first, third))));
+    assertMirrors(third, mirror);
+  }
+
+  // Test a delta is refused before a keyframe and when its base is not the mirror's version
+  @Test
+  public void testOutOfOrderDelta() throws IOException {
+    GameSnapshot first = GameSnapshot.capture(town, null);
+    town.pickUpItem("Toy Ball");
+    GameSnapshot second = GameSnapshot.capture(town, first);
+    town.moveTarget();
+    GameSnapshot third = GameSnapshot.capture(town, second);
+
+    SpectatorMirror mirror = new SpectatorMirror();
+    assertFalse(mirror.apply(ByteBuffer.wrap(DeltaEncoder.delta(first, second))));
+    assertEquals(0, mirror.getVersion());
+    mirror.apply(ByteBuffer.wrap(DeltaEncoder.keyframe(first)));
+    assertFalse(mirror.apply(ByteBuffer.wrap(DeltaEncoder.delta(second, third))));
+    assertMirrors(first, mirror);
+  }
+
+  // Test a new player joining shows up in a delta
+  @Test
+  public void testPlayerJoins() throws IOException {
+    GameSnapshot first = GameSnapshot.capture(town, null);
+    SpectatorMirror mirror = new SpectatorMirror();
+    mirror.apply(ByteBuffer.wrap(DeltaEncoder.keyframe(first)));
+    town.addPlayer("Carol", 3, 2, false);
+    GameSnapshot second = GameSnapshot.capture(town, first);
+    assertTrue(mirror.apply(ByteBuffer.wrap(DeltaEncoder.delta(first, second))));
+    assertMirrors(second, mirror);
+    assertEquals("Carol", mirror.getPlayerName(2));
+    assertEquals(2, mirror.getCarryLimit(2));
+  }
+
+  // Test a truncated frame is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncatedFrame() {
+    byte[] keyframe = DeltaEncoder.keyframe(GameSnapshot.capture(town, null));
+    new SpectatorMirror().apply(ByteBuffer.wrap(keyframe, 0, keyframe.length / 2));
+  }
+
+  // Test a late subscriber catches up from the last keyframe and follows later deltas
+  @Test
+  public void testBroadcaster() throws IOException {
+    try (SnapshotBroadcaster broadcaster = new SnapshotBroadcaster(0, 4)) {
+      GameSnapshot snapshot = GameSnapshot.capture(town, null);
+      broadcaster.publish(snapshot);
+      for (int i = 0; i < 5; i++) {
+        town.moveTarget();
+        snapshot = GameSnapshot.capture(town, snapshot);
+        broadcaster.publish(snapshot);
+      }
+      try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), broadcaster.getPort())) {
+        socket.setSoTimeout(5000);
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        SpectatorMirror mirror = new SpectatorMirror();
+        town.pickUpItem("Toy Ball");
+        GameSnapshot last = GameSnapshot.capture(town, snapshot);
+        broadcaster.publish(last);
+        while (mirror.getVersion() != last.getVersion()) {
+          byte[] frame = new byte[in.readInt()];
+          in.readFully(frame);
+          assertTrue(mirror.apply(ByteBuffer.wrap(frame)));
+        }
+        assertMirrors(last, mirror);
+        assertEquals(1, broadcaster.getSubscriberCount());
+      }
+    }
+  }
+}
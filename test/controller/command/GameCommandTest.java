@@ -0,0 +1,121 @@
+package controller.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import model.town.SpawnDistribution;
+import org.junit.Test;
+
+/**
+ * Test class for GameCommand. Tests parsing of the string form and round trips.
+ */
+public class GameCommandTest {
+
+  // Test parsing add player
+  @Test
+  public void testParseAddPlayer() {
+    GameCommand command = GameCommand.parse("ADD_PLAYER Alice 3 4");
+    assertEquals(GameCommand.Type.ADD_PLAYER, command.getType());
+    assertEquals("Alice", command.getName());
+    assertEquals(3, command.getPlaceNumber());
+    assertEquals(4, command.getCarryLimit());
+  }
+
+  // Test parsing the move form sent by the view
+  @Test
+  public void testParseMove() {
+    GameCommand command = GameCommand.parse("MOVE ,Park,1");
+    assertEquals(GameCommand.move("Park", 1), command);
+  }
+
+  // Test commands without arguments are shared
+  @Test
+  public void testParseSimpleCommands() {
+    assertSame(GameCommand.of(GameCommand.Type.LOOK), GameCommand.parse("LOOK"));
+    assertSame(GameCommand.of(GameCommand.Type.PETMOVE), GameCommand.parse("PETMOVE"));
+  }
+
+  // Test parsing and writing back the bulk add computer players form
+  @Test
+  public void testParseAddComputers() {
+    GameCommand command = GameCommand.parse("ADD_COMPUTERS 500 CLUSTERED");
+    assertEquals(GameCommand.Type.ADD_COMPUTERS, command.getType());
+    assertEquals(500, command.getCount());
+    assertEquals(SpawnDistribution.CLUSTERED, command.getDistribution());
+    assertNull(command.getName());
+    assertEquals(0, command.getPlaceNumber());
+    assertEquals("ADD_COMPUTERS 500 CLUSTERED", command.toString());
+    assertSame(GameCommand.of(GameCommand.Type.ADD_COMPUTER), GameCommand.parse("ADD_COMPUTER"));
+  }
+
+  // Test unknown text is an invalid command
+  @Test
+  public void testParseInvalid() {
+    GameCommand command = GameCommand.parse("JUMP");
+    assertEquals(GameCommand.Type.INVALID, command.getType());
+    assertEquals("JUMP", command.toString());
+  }
+
+  // Test the string form parses back to the same command
+  @Test
+  public void testRoundTrip() {
+    GameCommand[] commands = {
+        GameCommand.addPlayer("Bob", 2, 5),
+        GameCommand.move("Library", 7),
+        GameCommand.of(GameCommand.Type.START_TURNS),
+        GameCommand.of(GameCommand.Type.ATTACK),
+        GameCommand.attack("Poke Target"),
+        GameCommand.pickUp("Sword, Rusty"),
+        GameCommand.movePet(4)
+    };
+    for (GameCommand command : commands) {
+      assertEquals(command, GameCommand.parse(command.toString()));
+    }
+  }
+
+  // Test names holding spaces and commas survive the string form
+  @Test
+  public void testRoundTripAwkwardNames() {
+    GameCommand[] commands = {
+        GameCommand.addPlayer("Mary Ann Smith", 12, 3),
+        GameCommand.move("Bed, Bath, and Beyond", 4),
+        GameCommand.move("Room 7", 7)
+    };
+    for (GameCommand command : commands) {
+      assertEquals(command, GameCommand.parse(command.toString()));
+    }
+  }
+
+  // Test only the commands without a choice are prompts
+  @Test
+  public void testPrompts() {
+    assertTrue(GameCommand.parse("PICK").isPrompt());
+    assertTrue(GameCommand.parse("ATTACK").isPrompt());
+    assertTrue(GameCommand.parse("PETMOVE").isPrompt());
+    assertFalse(GameCommand.parse("PICK,Sword").isPrompt());
+    assertFalse(GameCommand.parse("PETMOVE,3").isPrompt());
+    assertFalse(GameCommand.parse("LOOK").isPrompt());
+    assertFalse(GameCommand.move("Park", 1).isPrompt());
+  }
+
+  // Test malformed add player
+  @Test(expected = IllegalArgumentException.class)
+  public void testMalformedAddPlayer() {
+    GameCommand.parse("ADD_PLAYER 3 4");
+  }
+
+  // Test malformed move
+  @Test(expected = IllegalArgumentException.class)
+  public void testMalformedMove() {
+    GameCommand.parse("MOVE,Park");
+  }
+
+  // Test of with a type that needs arguments
+  @Test(expected = IllegalArgumentException.class)
+  public void testOfNeedsArguments() {
+    GameCommand.of(GameCommand.Type.MOVE);
+  }
+}
@@ -0,0 +1,194 @@
+package controller.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import controller.strategy.PriorityStrategy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.town.TownLoader;
+import model.town.TownModel;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test class for TownServer, NetworkGame and LoadGenerator. Tests the line protocol, turn
+ * order in a shared game, pipelined commands and many simulated players.
+ */
+public class TownServerTest {
+  private TownServer server;
+
+  /**
+   * Starts a server.
+   *
+   * @param mode      shared or private games
+   * @param computers the number of computer players in each game
+   * @throws IOException if the server cannot start
+   */
+  private void start(TownServer.Mode mode, int computers) throws IOException {
+    start(mode, computers, 50);
+  }
+
+  /**
+   * Starts a server whose games last a given number of turns.
+   *
+   * @param mode      shared or private games
+   * @param computers the number of computer players in each game
+   * @param maxTurns  the number of turns in each game
+   * @throws IOException if the server cannot start
+   */
+  private void start(TownServer.Mode mode, int computers, int maxTurns) throws IOException {
+    server = new TownServer(0, mode, () -> new TownModel(new TownLoader(),
+        "res/SmallTownWorld.txt", new StringWriter(), maxTurns),
+        new PriorityStrategy(), computers, 42);
+  }
+
+  @After
+  public void tearDown() {
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  /**
+   * A blocking test client.
+   */
+  private final class Client implements AutoCloseable {
+    private final Socket socket;
+    private final BufferedReader in;
+    private final OutputStream out;
+
+    /**
+     * Connects and reads the welcome line.
+     *
+     * @throws IOException if the connection fails
+     */
+    private Client() throws IOException {
+      socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+      socket.setSoTimeout(5000);
+      in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+          StandardCharsets.UTF_8));
+      out = socket.getOutputStream();
+      assertTrue(in.readLine().startsWith("OK welcome"));
+    }
+
+    /**
+     * Sends a line and reads the reply.
+     *
+     * @param line the line
+     * @return the reply
+     * @throws IOException if the connection fails
+     */
+    private String ask(String line) throws IOException {
+      out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+      out.flush();
+      return in.readLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+      socket.close();
+    }
+  }
+
+  // Test a private game: join first, then commands, then quit
+  @Test
+  public void testPrivateGame() throws IOException {
+    start(TownServer.Mode.PRIVATE, 1);
+    try (Client client = new Client()) {
+      assertTrue(client.ask("STATUS").startsWith("ERR"));
+      assertEquals("OK joined, seat 1", client.ask("JOIN Alice"));
+      assertTrue(client.ask("STATUS").contains("current=Alice"));
+      assertTrue(client.ask("LOOK").contains("neighbors:"));
+      assertTrue(client.ask("MOVE 999").startsWith("ERR Not a neighboring place"));
+      assertTrue(client.ask("PICK Nothing").startsWith("ERR No such item"));
+      assertTrue(client.ask("DANCE").startsWith("ERR Unknown command"));
+      assertEquals("ERR already joined", client.ask("JOIN Bob"));
+      assertEquals("OK bye", client.ask("QUIT"));
+      assertNull(client.in.readLine());
+    }
+  }
+
+  // Test players in a shared game take turns and names are unique
+  @Test
+  public void testSharedGameTurns() throws IOException {
+    start(TownServer.Mode.SHARED, 0);
+    try (Client alice = new Client(); Client bob = new Client(); Client other = new Client()) {
+      assertEquals("OK joined, seat 0", alice.ask("JOIN Alice"));
+      assertEquals("OK joined, seat 1", bob.ask("JOIN Bob"));
+      assertTrue(other.ask("JOIN Alice").startsWith("ERR Name is taken"));
+      assertEquals("ERR Not your turn, waiting for Alice", bob.ask("LOOK"));
+      assertTrue(alice.ask("LOOK").startsWith("OK"));
+      assertTrue(bob.ask("LOOK").startsWith("OK"));
+      assertTrue(alice.ask("STATUS").contains("turn=2/50 current=Alice"));
+    }
+  }
+
+  // Test a player joining after the shared game ended starts a fresh game
+  @Test
+  public void testSharedGameReplacedWhenOver() throws IOException {
+    start(TownServer.Mode.SHARED, 0, 1);
+    try (Client alice = new Client(); Client bob = new Client(); Client carol = new Client()) {
+      assertEquals("OK joined, seat 0", alice.ask("JOIN Alice"));
+      assertEquals("OK joined, seat 1", bob.ask("JOIN Bob"));
+      assertTrue(alice.ask("LOOK").startsWith("OK"));
+      assertTrue(bob.ask("LOOK").endsWith("game over"));
+      assertEquals("OK joined, seat 0", carol.ask("JOIN Carol"));
+      assertTrue(carol.ask("STATUS").contains("current=Carol"));
+    }
+  }
+
+  // Test a shared game that fails to load is reported and tried again on the next join
+  @Test
+  public void testSharedGameLoadFailure() throws IOException {
+    AtomicInteger loads = new AtomicInteger();
+    server = new TownServer(0, TownServer.Mode.SHARED, () -> {
+      if (loads.getAndIncrement() == 0) {
+        throw new IOException("world missing");
+      }
+      return new TownModel(new TownLoader(), "res/SmallTownWorld.txt", new StringWriter(), 50);
+    }, new PriorityStrategy(), 0, 42);
+    try (Client alice = new Client(); Client bob = new Client()) {
+      assertEquals("ERR Cannot create a game: world missing", alice.ask("JOIN Alice"));
+      assertEquals("OK joined, seat 0", alice.ask("JOIN Alice"));
+      assertEquals("OK joined, seat 1", bob.ask("JOIN Bob"));
+      assertEquals(2, loads.get());
+    }
+  }
+
+  // Test commands sent in one burst are answered in order
+  @Test
+  public void testPipelinedCommands() throws IOException {
+    start(TownServer.Mode.PRIVATE, 1);
+    try (Client client = new Client()) {
+      client.ask("JOIN Alice");
+      StringBuilder burst = new StringBuilder();
+      for (int i = 0; i < 50; i++) {
+        burst.append(i % 2 == 0 ? "STATUS\n" : "DANCE\n");
+      }
+      client.out.write(burst.toString().getBytes(StandardCharsets.UTF_8));
+      client.out.flush();
+      for (int i = 0; i < 50; i++) {
+        assertTrue(client.in.readLine().startsWith(i % 2 == 0 ? "OK turn=" : "ERR"));
+      }
+    }
+  }
+
+  // Test the load generator drives many players at once
+  @Test
+  public void testLoadGenerator() throws IOException {
+    start(TownServer.Mode.PRIVATE, 1);
+    LoadGenerator.Report report = new LoadGenerator(server.getPort()).run(200, 5, "LOOK");
+    assertEquals(1000, report.getAnswered());
+    assertEquals(0, report.getErrors());
+    assertTrue(server.getCommandCount() >= 1200);
+  }
+}
@@ -0,0 +1,61 @@
+package controller.script;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import org.junit.Test;
+
+/**
+ * Test class for TranscriptRunner. Plays the recorded scripts against their golden transcripts.
+ */
+public class TranscriptRunnerTest {
+
+  // Test every recorded script reproduces its golden transcript when played concurrently
+  @Test
+  public void testScriptsMatchGolden() throws IOException, InterruptedException {
+    TranscriptRunner runner = new TranscriptRunner(4);
+    try {
+      for (String name : Arrays.asList("01_computer_players_game", "02_human_player_turns",
+          "03_invalid_input")) {
+        TranscriptScript script = TranscriptScript.load(
+            Paths.get("res/scripts/" + name + TranscriptScript.SCRIPT_EXTENSION));
+        assertNotNull("Missing golden transcript for " + name, script.getGolden());
+        TranscriptRunner.Report report = runner.run(script, 8);
+        assertTrue(report.toString(), report.isPassed());
+        assertEquals(8, report.getPassed());
+      }
+    } finally {
+      runner.shutdown();
+    }
+  }
+
+  // Test a changed golden transcript is reported as a failure
+  @Test
+  public void testMismatchIsReported() throws IOException, InterruptedException {
+    TranscriptScript recorded = TranscriptScript.load(
+        Paths.get("res/scripts/03_invalid_input.script"));
+    TranscriptScript changed = new TranscriptScript(recorded.getName(), recorded.getWorldFile(),
+        recorded.getMaxTurns(), recorded.getSeed(), recorded.getInputs(), "something else\n");
+    TranscriptRunner runner = new TranscriptRunner(2);
+    try {
+      TranscriptRunner.Report report = runner.run(changed, 2);
+      assertEquals(0, report.getPassed());
+      assertTrue(report.getFailure().startsWith("line 1"));
+    } finally {
+      runner.shutdown();
+    }
+  }
+
+  // Test first difference description
+  @Test
+  public void testFirstDifference() {
+    assertEquals("line 2: expected \"b\" but was \"c\"",
+        TranscriptRunner.firstDifference("a\nb\n", "a\nc\n"));
+    assertEquals("expected 1 lines but was 2",
+        TranscriptRunner.firstDifference("a", "a\nb"));
+  }
+}
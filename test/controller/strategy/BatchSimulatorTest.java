@@ -0,0 +1,121 @@
+package controller.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import model.town.TownLoader;
+import model.town.offheap.WorldLayout;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for BatchSimulator.
+ */
+public class BatchSimulatorTest {
+  private static final String WORLD = "res/SmallTownWorld.txt";
+  private static final int MAX_TURNS = 50;
+  private static final int GAMES = 200;
+
+  private WorldLayout layout;
+
+  @Before
+  public void setUp() throws IOException {
+    layout = WorldLayout.load(new TownLoader(), WORLD);
+  }
+
+  /**
+   * Builds the seeds 1 to n.
+   *
+   * @param count the number of seeds
+   * @return the seeds
+   */
+  private static long[] seeds(int count) {
+    long[] seeds = new long[count];
+    for (int i = 0; i < count; i++) {
+      seeds[i] = i + 1;
+    }
+    return seeds;
+  }
+
+  /**
+   * Checks every game in a batch against TownModel played through HeadlessGame.
+   *
+   * @param seats the number of seats per game
+   * @throws IOException if the world cannot be loaded
+   */
+  private void assertMatchesTownModel(int seats) throws IOException {
+    BatchSimulator batch = new BatchSimulator(layout, seats, MAX_TURNS, GAMES);
+    long[] seeds = seeds(GAMES);
+    batch.run(seeds);
+    HeadlessGame headless = new HeadlessGame(WORLD, MAX_TURNS);
+    List<ComputerStrategy> strategies =
+        Collections.nCopies(seats, (ComputerStrategy) new PriorityStrategy());
+    int wins = 0;
+    for (int game = 0; game < GAMES; game++) {
+      HeadlessGame.Result expected = headless.play(strategies, seeds[game]);
+      assertEquals("seed " + seeds[game], expected.getWinner(), batch.getWinner(game));
+      assertEquals("seed " + seeds[game], expected.getTurns(), batch.getTurns(game));
+      wins += expected.getWinner() >= 0 ? 1 : 0;
+    }
+    assertTrue("some games should end in a kill", wins > 0);
+  }
+
+  // Test two-seat games match TownModel for the same seeds
+  @Test
+  public void testTwoSeatsMatchTownModel() throws IOException {
+    assertMatchesTownModel(2);
+  }
+
+  // Test four-seat games match TownModel for the same seeds
+  @Test
+  public void testFourSeatsMatchTownModel() throws IOException {
+    assertMatchesTownModel(4);
+  }
+
+  // Test stepping reports the running games and finishes every game
+  @Test
+  public void testStepFinishesEveryGame() {
+    BatchSimulator batch = new BatchSimulator(layout, 2, MAX_TURNS, 10);
+    batch.reset(seeds(10));
+    assertEquals(BatchSimulator.RUNNING, batch.getWinner(0));
+    int steps = 0;
+    while (batch.step() > 0) {
+      steps++;
+    }
+    assertTrue(steps <= 2 * MAX_TURNS);
+    for (int game = 0; game < 10; game++) {
+      assertTrue(batch.getWinner(game) != BatchSimulator.RUNNING);
+    }
+  }
+
+  // Test a batch can be reset and replayed with the same results
+  @Test
+  public void testResetReplays() {
+    BatchSimulator batch = new BatchSimulator(layout, 3, MAX_TURNS, 20);
+    batch.run(seeds(20));
+    int[] first = new int[20];
+    for (int game = 0; game < 20; game++) {
+      first[game] = batch.getWinner(game) * 1000 + batch.getTurns(game);
+    }
+    batch.run(seeds(20));
+    for (int game = 0; game < 20; game++) {
+      assertEquals(first[game], batch.getWinner(game) * 1000 + batch.getTurns(game));
+    }
+  }
+
+  // Test the seed count must match the batch size
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongSeedCount() {
+    new BatchSimulator(layout, 2, MAX_TURNS, 4).reset(Arrays.copyOf(seeds(3), 3));
+  }
+
+  // Test a game needs two seats
+  @Test(expected = IllegalArgumentException.class)
+  public void testOneSeat() {
+    new BatchSimulator(layout, 1, MAX_TURNS, 4);
+  }
+}
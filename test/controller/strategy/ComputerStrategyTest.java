@@ -0,0 +1,162 @@
+package controller.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import mock.MockTownModel;
+import model.item.ItemModel;
+import model.place.Place;
+import model.place.PlaceModel;
+import model.player.Player;
+import model.player.PlayerModel;
+import model.random.SplittableRandomService;
+import model.target.TargetModel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for the computer strategies. The places form a chain 1 - 2 - 3 - 4.
+ */
+public class ComputerStrategyTest {
+  private MockTownModel town;
+  private List<Place> places;
+  private Player computer;
+  private SplittableRandomService random;
+
+  @Before
+  public void setUp() {
+    places = new ArrayList<>();
+    for (int i = 1; i <= 4; i++) {
+      places.add(new PlaceModel(i, 0, i, 1, "Place" + i, String.valueOf(i)));
+    }
+    for (int i = 0; i < 3; i++) {
+      places.get(i).addNeighbor(places.get(i + 1));
+      places.get(i + 1).addNeighbor(places.get(i));
+    }
+    town = new MockTownModel();
+    town.setPlaces(places);
+    computer = new PlayerModel("Computer1", true, 2, 1);
+    town.setPlayers(new ArrayList<>(Arrays.asList(computer,
+        new PlayerModel("Human1", false, 2, 4))));
+    town.setPlayerVisible(false);
+    random = new SplittableRandomService(7L);
+  }
+
+  /**
+   * Puts the target in the given place.
+   *
+   * @param placeNumber the target's place number
+   */
+  private void targetIn(int placeNumber) {
+    town.setTarget(new TargetModel("Target", 50, places.get(placeNumber - 1), places));
+  }
+
+  // Test attacking with the strongest carried item when alone with the target
+  @Test
+  public void testPriorityAttacksWithStrongestItem() {
+    targetIn(1);
+    computer.pickUpItem(new ItemModel("Stick", 3));
+    computer.pickUpItem(new ItemModel("Sword", 10));
+    ComputerAction action = new PriorityStrategy().chooseAction(town, computer, random);
+    assertEquals(ComputerAction.Type.ATTACK, action.getType());
+    assertEquals("Sword", action.getItemName());
+    assertEquals(10, action.getDamage());
+  }
+
+  // Test poking the target when carrying nothing
+  @Test
+  public void testPriorityPokesWithoutItems() {
+    targetIn(1);
+    ComputerAction action = new PriorityStrategy().chooseAction(town, computer, random);
+    assertEquals(ComputerAction.Type.ATTACK, action.getType());
+    assertEquals(ComputerAction.POKE, action.getItemName());
+    assertEquals(ComputerAction.POKE_DAMAGE, action.getDamage());
+  }
+
+  // Test a seen player picks up the strongest item instead of attacking
+  @Test
+  public void testPriorityPicksUpWhenSeen() {
+    targetIn(1);
+    town.setPlayerVisible(true);
+    places.get(0).addItem(new ItemModel("Rock", 2));
+    places.get(0).addItem(new ItemModel("Axe", 9));
+    ComputerAction action = new PriorityStrategy().chooseAction(town, computer, random);
+    assertEquals(ComputerAction.Type.PICK_UP, action.getType());
+    assertEquals("Axe", action.getItemName());
+  }
+
+  // Test an armed player moves into the target's neighboring place
+  @Test
+  public void testPriorityMovesNextToTarget() {
+    targetIn(2);
+    town.setPlayerVisible(true);
+    computer.pickUpItem(new ItemModel("Sword", 10));
+    ComputerAction action = new PriorityStrategy().chooseAction(town, computer, random);
+    assertEquals(ComputerAction.Type.MOVE, action.getType());
+    assertEquals(2, action.getPlaceNumber());
+  }
+
+  // Test an unarmed player with nothing to pick up looks around
+  @Test
+  public void testPriorityLooksAroundWhenUnarmed() {
+    targetIn(3);
+    assertSame(ComputerAction.lookAround(),
+        new PriorityStrategy().chooseAction(town, computer, random));
+  }
+
+  // Test the hunter walks along the shortest path even when unarmed
+  @Test
+  public void testHunterMovesTowardTarget() {
+    targetIn(4);
+    ComputerAction action = new HunterStrategy().chooseAction(town, computer, random);
+    assertEquals(ComputerAction.Type.MOVE, action.getType());
+    assertEquals(2, action.getPlaceNumber());
+  }
+
+  // Test the hunter waits in the target's place while it is seen
+  @Test
+  public void testHunterWaitsWhenSeen() {
+    targetIn(1);
+    town.setPlayerVisible(true);
+    assertSame(ComputerAction.lookAround(),
+        new HunterStrategy().chooseAction(town, computer, random));
+  }
+
+  // Test the hunter does not pick up items once its hands are full
+  @Test
+  public void testHunterSkipsItemsWhenFull() {
+    targetIn(3);
+    computer.pickUpItem(new ItemModel("Stick", 3));
+    computer.pickUpItem(new ItemModel("Rock", 2));
+    places.get(0).addItem(new ItemModel("Axe", 9));
+    ComputerAction action = new HunterStrategy().chooseAction(town, computer, random);
+    assertEquals(ComputerAction.Type.MOVE, action.getType());
+    assertEquals(2, action.getPlaceNumber());
+  }
+
+  // Test the unarmed forager heads for items before the target
+  @Test
+  public void testForagerSeeksItems() {
+    targetIn(1);
+    computer.moveToPlaceNumber(2);
+    places.get(3).addItem(new ItemModel("Axe", 9));
+    ComputerAction action = new ForagerStrategy().chooseAction(town, computer, random);
+    assertEquals(ComputerAction.Type.MOVE, action.getType());
+    assertEquals(3, action.getPlaceNumber());
+  }
+
+  // Test the armed forager hunts the target
+  @Test
+  public void testForagerHuntsWhenArmed() {
+    targetIn(1);
+    computer.moveToPlaceNumber(2);
+    computer.pickUpItem(new ItemModel("Stick", 3));
+    places.get(3).addItem(new ItemModel("Axe", 9));
+    ComputerAction action = new ForagerStrategy().chooseAction(town, computer, random);
+    assertEquals(ComputerAction.Type.MOVE, action.getType());
+    assertEquals(1, action.getPlaceNumber());
+  }
+}
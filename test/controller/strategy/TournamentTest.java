@@ -0,0 +1,97 @@
+package controller.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+/**
+ * Test class for Tournament and HeadlessGame.
+ */
+public class TournamentTest {
+  private static final String WORLD = "res/SmallTownWorld.txt";
+
+  /**
+   * Runs a small tournament on a pool of the given size.
+   *
+   * @param threads the pool size
+   * @return the standings
+   * @throws IOException if the world cannot be loaded
+   */
+  private static List<Tournament.Standing> runOn(int threads) throws IOException {
+    Tournament tournament = new Tournament(
+        Arrays.asList(new PriorityStrategy(), new HunterStrategy()),
+        Collections.singletonList(WORLD), 20, 50, 3L);
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      return tournament.run(pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  // Test every strategy plays each pairing from both seats and results ignore the pool size
+  @Test
+  public void testResultsIndependentOfThreads() throws IOException {
+    List<Tournament.Standing> single = runOn(1);
+    List<Tournament.Standing> parallel = runOn(4);
+    assertEquals(2, single.size());
+    for (int i = 0; i < single.size(); i++) {
+      assertEquals(40, single.get(i).getGames());
+      assertEquals(single.get(i).getName(), parallel.get(i).getName());
+      assertEquals(single.get(i).getWins(), parallel.get(i).getWins());
+      assertEquals(single.get(i).getMeanTurnsToKill(), parallel.get(i).getMeanTurnsToKill(),
+          1e-9);
+    }
+  }
+
+  // Test the same seed replays the same headless game
+  @Test
+  public void testHeadlessGameIsReproducible() throws IOException {
+    HeadlessGame game = new HeadlessGame(WORLD, 50);
+    List<ComputerStrategy> seats = Arrays.asList(new HunterStrategy(), new PriorityStrategy());
+    for (long seed = 0; seed < 5; seed++) {
+      HeadlessGame.Result first = game.play(seats, seed);
+      HeadlessGame.Result second = game.play(seats, seed);
+      assertEquals(first.getWinner(), second.getWinner());
+      assertEquals(first.getTurns(), second.getTurns());
+      assertTrue(first.getWinner() >= 0 || first.getTurns() > 50);
+    }
+  }
+
+  // Test known Wilson score intervals
+  @Test
+  public void testWilsonInterval() {
+    double[] half = Tournament.wilsonInterval(5, 10);
+    assertEquals(0.2366, half[0], 1e-4);
+    assertEquals(0.7634, half[1], 1e-4);
+    double[] none = Tournament.wilsonInterval(0, 10);
+    assertEquals(0.0, none[0], 1e-9);
+    assertEquals(0.2775, none[1], 1e-4);
+  }
+
+  // Test the turns-to-kill interval from recorded wins
+  @Test
+  public void testStandingStatistics() {
+    Tournament.Standing standing = new Tournament.Standing("test");
+    standing.record(true, 10);
+    standing.record(true, 20);
+    standing.record(false, 51);
+    assertEquals(3, standing.getGames());
+    assertEquals(2.0 / 3, standing.getWinRate(), 1e-9);
+    assertEquals(15.0, standing.getMeanTurnsToKill(), 1e-9);
+    assertEquals(1.96 * Math.sqrt(50.0 / 2), standing.getTurnsToKillHalfWidth(), 1e-9);
+  }
+
+  // Test invalid schedules are rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsSingleStrategy() {
+    new Tournament(Collections.singletonList(new PriorityStrategy()),
+        Collections.singletonList(WORLD), 1, 10, 0L);
+  }
+}
@@ -0,0 +1,236 @@
+package controller.strategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import model.player.Player;
+import model.random.RandomService;
+import model.town.Town;
+import model.town.TownLoader;
+import model.town.TownModel;
+import model.town.offheap.ColumnarTown;
+import model.town.offheap.WorldLayout;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import view.output.DiscardOutputSink;
+
+/**
+ * Test class for TownEnvironment and VectorEnvironment.
+ */
+public class TownEnvironmentTest {
+  private static final String WORLD = "res/SmallTownWorld.txt";
+  private static final int MAX_TURNS = 30;
+
+  private TownEnvironment env;
+
+  @Before
+  public void setUp() throws IOException {
+    env = new TownEnvironment(WORLD,
+        Collections.singletonList((ComputerStrategy) new PriorityStrategy()), MAX_TURNS);
+  }
+
+  /**
+   * Plays an episode with a fixed cycle of actions and records every reward and observation.
+   *
+   * @param environment the environment
+   * @param seed        the episode seed
+   * @return the rewards and observations in order
+   * @throws IOException if the game fails
+   */
+  private static List<Float> playEpisode(TownEnvironment environment, long seed)
+      throws IOException {
+    List<Float> trace = new ArrayList<>();
+    Transition transition = environment.reset(seed);
+    int step = 0;
+    while (!transition.isDone()) {
+      transition = environment.step(step++ % environment.getActionCount());
+      trace.add(transition.getReward());
+      for (float value : transition.getObservation()) {
+        trace.add(value);
+      }
+    }
+    return trace;
+  }
+
+  // Test reset gives an observation with exactly one agent, target and pet place
+  @Test
+  public void testResetObservation() throws IOException {
+    Transition transition = env.reset(7L);
+    float[] observation = transition.getObservation();
+    assertEquals(env.getObservationSize(), observation.length);
+    assertFalse(transition.isDone());
+    int places = (observation.length - 7) / 4;
+    for (int block = 0; block < 4; block++) {
+      float sum = 0f;
+      for (int place = 0; place < places; place++) {
+        sum += observation[7 + block * places + place];
+      }
+      assertEquals(1f, sum, 1e-6f);
+    }
+  }
+
+  // Test the same seed and actions replay the same episode, which always ends
+  @Test
+  public void testEpisodesReplay() throws IOException {
+    assertEquals(playEpisode(env, 11L), playEpisode(env, 11L));
+  }
+
+  // Test the step reuses the transition and its observation array
+  @Test
+  public void testStepReusesTransition() throws IOException {
+    Transition first = env.reset(3L);
+    float[] observation = first.getObservation();
+    Transition second = env.step(TownEnvironment.LOOK_AROUND);
+    assertSame(first, second);
+    assertSame(observation, second.getObservation());
+  }
+
+  // Test the environment runs on the columnar town as well
+  @Test
+  public void testColumnarTown() throws IOException {
+    WorldLayout layout = WorldLayout.load(new TownLoader(), WORLD);
+    TownEnvironment columnar = new TownEnvironment(
+        new ColumnarTown(layout, new StringBuilder(), MAX_TURNS),
+        Collections.singletonList((ComputerStrategy) new HunterStrategy()));
+    assertFalse(playEpisode(columnar, 5L).isEmpty());
+  }
+
+  /**
+   * An opponent that always passes its turn and allocates nothing.
+   */
+  private static final class IdleStrategy implements ComputerStrategy {
+    @Override
+    public ComputerAction chooseAction(Town town, Player player, RandomService random) {
+      return ComputerAction.lookAround();
+    }
+
+    @Override
+    public String getName() {
+      return "Idle";
+    }
+  }
+
+  /**
+   * Warms up an environment with idle opponents, then checks one more episode of steps
+   * allocates nothing.
+   *
+   * @param town the town to play on
+   * @throws IOException if the game fails
+   */
+  private static void assertStepsDoNotAllocate(Town town) throws IOException {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+    TownEnvironment environment = new TownEnvironment(town,
+        Collections.singletonList((ComputerStrategy) new IdleStrategy()));
+    for (int episode = 0; episode < 20; episode++) {
+      Transition transition = environment.reset(episode);
+      for (int step = 0; !transition.isDone() && step < 10_000; step++) {
+        transition = environment.step(step % environment.getActionCount());
+      }
+    }
+    Transition transition = environment.reset(99L);
+    int steps = 0;
+    long before = threads.getCurrentThreadAllocatedBytes();
+    while (!transition.isDone() && steps < 10_000) {
+      transition = environment.step(steps++ % environment.getActionCount());
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+    // Allow a stray byte per step for JIT noise; any per-step object would cost far more
+    assertTrue(allocated + " bytes in " + steps + " steps", allocated < steps);
+  }
+
+  // Test a warmed-up step on the columnar town allocates nothing on the agent's side
+  @Test
+  public void testStepDoesNotAllocate() throws IOException {
+    WorldLayout layout = WorldLayout.load(new TownLoader(), WORLD);
+    assertStepsDoNotAllocate(new ColumnarTown(layout, DiscardOutputSink.INSTANCE, 1_000_000));
+  }
+
+  // Test moves and pickups on the heap town allocate nothing once warmed up either
+  @Test
+  public void testTownModelStepDoesNotAllocate() throws IOException {
+    assertStepsDoNotAllocate(
+        new TownModel(new TownLoader(), WORLD, DiscardOutputSink.INSTANCE, 1_000_000));
+  }
+
+  // Test stepping a finished episode is rejected
+  @Test(expected = IllegalStateException.class)
+  public void testStepAfterDone() throws IOException {
+    Transition transition = env.reset(1L);
+    while (!transition.isDone()) {
+      transition = env.step(TownEnvironment.LOOK_AROUND);
+    }
+    env.step(TownEnvironment.LOOK_AROUND);
+  }
+
+  // Test an action outside the action space is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidAction() throws IOException {
+    env.reset(1L);
+    env.step(env.getActionCount());
+  }
+
+  /**
+   * Steps a vector of environments on a pool and records everything it returns.
+   *
+   * @param threads the pool size
+   * @return the observations, rewards and done flags of every step
+   * @throws IOException if a game fails
+   */
+  private static List<Float> runVector(int threads) throws IOException {
+    List<TownEnvironment> envs = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      envs.add(new TownEnvironment(WORLD,
+          Collections.singletonList((ComputerStrategy) new HunterStrategy()), MAX_TURNS));
+    }
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      VectorEnvironment vector = new VectorEnvironment(envs, pool, 42L);
+      List<Float> trace = new ArrayList<>();
+      vector.reset();
+      int[] actions = new int[vector.size()];
+      boolean sawDone = false;
+      for (int step = 0; step < 100; step++) {
+        for (int i = 0; i < actions.length; i++) {
+          actions[i] = (step + i) % vector.getActionCount();
+        }
+        for (float value : vector.step(actions)) {
+          trace.add(value);
+        }
+        for (int i = 0; i < actions.length; i++) {
+          trace.add(vector.getRewards()[i]);
+          sawDone |= vector.getDones()[i];
+        }
+      }
+      assertTrue("episodes should finish and reset", sawDone);
+      return trace;
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  // Test the vector environment gives the same results on any pool size
+  @Test
+  public void testVectorIndependentOfThreads() throws IOException {
+    List<Float> single = runVector(1);
+    List<Float> parallel = runVector(4);
+    float[] expected = new float[single.size()];
+    float[] actual = new float[parallel.size()];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = single.get(i);
+      actual[i] = parallel.get(i);
+    }
+    assertArrayEquals(expected, actual, 0f);
+  }
+}
@@ -0,0 +1,151 @@
+package controller.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import controller.command.GameCommand;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for CommandQueue. Tests ordering, batch hooks, failures and recording.
+ */
+public class CommandQueueTest {
+  private GameLoopExecutor executor;
+  private List<String> events;
+  private CommandQueue queue;
+
+  @Before
+  public void setUp() {
+    executor = new GameLoopExecutor();
+    events = new ArrayList<>();
+    queue = new CommandQueue(executor, new CommandQueue.Handler() {
+      @Override
+      public boolean execute(GameCommand command) throws IOException {
+        if (command.getType() == GameCommand.Type.INVALID) {
+          throw new IOException("bad command");
+        }
+        events.add(command.toString());
+        // Stands in for a command the game rejects
+        return command.getType() != GameCommand.Type.START_TURNS;
+      }
+
+      @Override
+      public void beginBatch() {
+        events.add("begin");
+      }
+
+      @Override
+      public void endBatch() {
+        events.add("end");
+      }
+    });
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  // Test a batch runs in order between one pair of hooks
+  @Test
+  public void testBatchRunsInOrder() throws Exception {
+    List<Boolean> results = queue.submitBatch(Arrays.asList(
+        GameCommand.of(GameCommand.Type.LOOK),
+        GameCommand.move("Park", 1),
+        GameCommand.of(GameCommand.Type.PICK))).get(5, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList(true, true, true), results);
+    assertEquals(Arrays.asList("begin", "LOOK", "MOVE,Park,1", "PICK", "end"), events);
+  }
+
+  // Test commands from many threads all run, each thread's commands in order
+  @Test
+  public void testManyProducers() throws Exception {
+    int producers = 4;
+    int perProducer = 500;
+    List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+    Thread[] threads = new Thread[producers];
+    for (int p = 0; p < producers; p++) {
+      final int producer = p;
+      threads[p] = new Thread(() -> {
+        for (int i = 0; i < perProducer; i++) {
+          CompletableFuture<Boolean> future = queue.submit(GameCommand.move("P" + producer, i + 1));
+          synchronized (futures) {
+            futures.add(future);
+          }
+        }
+      });
+      threads[p].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .get(5, TimeUnit.SECONDS);
+
+    int[] next = new int[producers];
+    int executed = 0;
+    for (String event : events) {
+      if (event.startsWith("MOVE")) {
+        String[] parts = event.split(",");
+        int producer = Integer.parseInt(parts[1].substring(1));
+        assertEquals(++next[producer], Integer.parseInt(parts[2]));
+        executed++;
+      }
+    }
+    assertEquals(producers * perProducer, executed);
+  }
+
+  // Test a failing command fails its batch and skips the rest
+  @Test
+  public void testFailureSkipsRestOfBatch() throws Exception {
+    CompletableFuture<List<Boolean>> result = queue.submitBatch(Arrays.asList(
+        GameCommand.of(GameCommand.Type.LOOK),
+        GameCommand.parse("JUMP"),
+        GameCommand.of(GameCommand.Type.PICK)));
+    try {
+      result.get(5, TimeUnit.SECONDS);
+      fail("Expected the batch to fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IOException);
+    }
+    assertEquals(Arrays.asList("begin", "LOOK", "end"), events);
+  }
+
+  // Test recorded commands can be replayed
+  @Test
+  public void testRecording() throws Exception {
+    queue.setRecording(true);
+    queue.submit(GameCommand.of(GameCommand.Type.LOOK));
+    queue.submit(GameCommand.move("Park", 1)).get(5, TimeUnit.SECONDS);
+    List<GameCommand> history = queue.getHistory();
+    assertEquals(Arrays.asList(GameCommand.of(GameCommand.Type.LOOK), GameCommand.move("Park", 1)),
+        history);
+  }
+
+  // Test rejected and failing commands and prompts are not recorded
+  @Test
+  public void testRecordingSkipsRejected() throws Exception {
+    queue.setRecording(true);
+    queue.submit(GameCommand.of(GameCommand.Type.START_TURNS));
+    queue.submit(GameCommand.of(GameCommand.Type.PICK));
+    queue.submit(GameCommand.parse("JUMP"));
+    queue.submit(GameCommand.of(GameCommand.Type.LOOK)).get(5, TimeUnit.SECONDS);
+    assertEquals(Arrays.asList(GameCommand.of(GameCommand.Type.LOOK)), queue.getHistory());
+  }
+
+  // Test null batch
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullBatch() {
+    queue.submitBatch(null);
+  }
+}
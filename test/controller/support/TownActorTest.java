@@ -0,0 +1,189 @@
+package controller.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import model.town.TownLoader;
+import model.town.TownModel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for TownActor and its mailbox. Tests ordering, snapshots, failures and depth.
+ */
+public class TownActorTest {
+  private GameLoopExecutor executor;
+  private TownActor actor;
+
+  @Before
+  public void setUp() throws IOException {
+    executor = new GameLoopExecutor();
+    actor = new TownActor(new TownModel(new TownLoader(), "res/SmallTownWorld.txt",
+        new StringWriter(), 50), executor);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  // Test messages from many threads all run, each producer's in the order it posted them
+  @Test
+  public void testManyProducers() throws Exception {
+    int producers = 4;
+    int perProducer = 500;
+    List<List<Integer>> seen = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      seen.add(new ArrayList<>());
+    }
+    List<Thread> threads = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      List<Integer> mine = seen.get(p);
+      Thread thread = new Thread(() -> {
+        for (int i = 0; i < perProducer; i++) {
+          int value = i;
+          actor.execute(() -> mine.add(value));
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    actor.ask(town -> null).get(5, TimeUnit.SECONDS);
+    for (List<Integer> mine : seen) {
+      assertEquals(perProducer, mine.size());
+      for (int i = 0; i < perProducer; i++) {
+        assertEquals(i, (int) mine.get(i));
+      }
+    }
+    assertTrue(actor.getProcessedCount() >= producers * perProducer);
+  }
+
+  // Test a snapshot is published after messages run
+  @Test
+  public void testSnapshotPublished() throws Exception {
+    assertNull(actor.getSnapshot());
+    actor.ask(town -> town.getPlayers().size()).get(5, TimeUnit.SECONDS);
+    assertTrue(actor.getSnapshot().getPlayers().isEmpty());
+    actor.ask(town -> {
+      town.addPlayer("Alice", 1, 3, false);
+      town.addPlayer("Bob", 2, 3, false);
+      return null;
+    }).get(5, TimeUnit.SECONDS);
+    assertEquals("Alice", actor.getSnapshot().getCurrentPlayer().getName());
+    assertEquals(1, actor.getSnapshot().getCurrentPlayer().getPlaceNumber());
+  }
+
+  // Test a failing message fails its future and later messages still run
+  @Test
+  public void testFailureDoesNotStopActor() throws Exception {
+    CompletableFuture<Object> failed = actor.ask(town -> {
+      throw new IllegalStateException("boom");
+    });
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof IllegalStateException);
+    assertEquals(20, (int) actor.ask(town -> town.getPlaces().size()).get(5, TimeUnit.SECONDS));
+  }
+
+  // Test a failed publish does not stop the actor
+  @Test
+  public void testPublishFailureDoesNotStopActor() throws Exception {
+    actor.setPublishListener(snapshot -> {
+      throw new IllegalStateException("listener failed");
+    });
+    actor.ask(town -> {
+      town.addPlayer("Alice", 1, 3, false);
+      return null;
+    }).get(5, TimeUnit.SECONDS);
+    actor.setPublishListener(null);
+    assertEquals(20, (int) actor.ask(town -> town.getPlaces().size()).get(5, TimeUnit.SECONDS));
+  }
+
+  // Test a busy mailbox is handled in runs that each publish a snapshot
+  @Test
+  public void testDrainLimit() throws Exception {
+    ArrayDeque<Runnable> scheduled = new ArrayDeque<>();
+    TownActor manual = new TownActor(new TownModel(new TownLoader(),
+        "res/SmallTownWorld.txt", new StringWriter(), 50), scheduled::add);
+    int messages = TownActor.DRAIN_LIMIT * 2 + 10;
+    for (int i = 0; i < messages; i++) {
+      manual.execute(() -> { });
+    }
+    assertEquals(1, scheduled.size());
+    scheduled.poll().run();
+    assertEquals(TownActor.DRAIN_LIMIT, manual.getProcessedCount());
+    assertNotNull(manual.getSnapshot());
+    int runs = 1;
+    while (!scheduled.isEmpty()) {
+      scheduled.poll().run();
+      runs++;
+    }
+    assertEquals(3, runs);
+    assertEquals(messages, manual.getProcessedCount());
+  }
+
+  // Test a shut-down executor neither breaks a run nor leaves the actor stuck
+  @Test
+  public void testRejectedReschedule() throws Exception {
+    ArrayDeque<Runnable> scheduled = new ArrayDeque<>();
+    AtomicBoolean open = new AtomicBoolean(true);
+    TownActor manual = new TownActor(new TownModel(new TownLoader(),
+        "res/SmallTownWorld.txt", new StringWriter(), 50), task -> {
+          if (!open.get()) {
+            throw new RejectedExecutionException("shut down");
+          }
+          scheduled.add(task);
+        });
+    for (int i = 0; i < TownActor.DRAIN_LIMIT + 1; i++) {
+      manual.execute(() -> { });
+    }
+    open.set(false);
+    scheduled.poll().run();
+    assertTrue(scheduled.isEmpty());
+    assertThrows(RejectedExecutionException.class, () -> manual.execute(() -> { }));
+    open.set(true);
+    manual.execute(() -> { });
+    assertEquals(1, scheduled.size());
+  }
+
+  // Test the queue depth counts messages that are waiting behind a busy one
+  @Test
+  public void testQueueDepth() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    actor.execute(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < 3; i++) {
+      actor.execute(() -> { });
+    }
+    assertEquals(3, actor.getQueueDepth());
+    release.countDown();
+    actor.ask(town -> null).get(5, TimeUnit.SECONDS);
+    assertEquals(0, actor.getQueueDepth());
+  }
+}
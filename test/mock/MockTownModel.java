@@ -7,8 +7,12 @@ import java.util.Map;
 import model.item.Item;
 import model.place.Place;
 import model.player.Player;
+import model.random.RandomService;
 import model.target.Target;
+import model.town.ChangeLog;
+import model.town.SpawnDistribution;
 import model.town.Town;
+import model.town.TurnSnapshot;
 
 /**
  * Mock implementation of the Town interface for testing purposes.
@@ -29,8 +33,6 @@ public class MockTownModel implements Town {
   private boolean gameOver;
   private boolean playerVisible;
   private boolean isComputerPlayer = false;
-  private String currentPlayerInfo;
-  private boolean initialized = false;
 
   /**
    * Constructs a new MockTownModel with initial test data.
@@ -94,6 +96,24 @@ public class MockTownModel implements Town {
     return "MockPet,MockPlace";
   }
 
+  @Override
+  public String getPetName() {
+    logMethodCall("getPetName");
+    return "MockPet";
+  }
+
+  @Override
+  public ChangeLog getChangeLog() {
+    // The mock does not record changes, so snapshots of it compare everything
+    return null;
+  }
+
+  @Override
+  public int getPetPlaceNumber() {
+    logMethodCall("getPetPlaceNumber");
+    return 1;
+  }
+
   @Override
   public Place getPlaceByNumber(int placeNumber) {
     if (places != null && placeNumber > 0 && placeNumber <= places.size()) {
@@ -194,7 +214,7 @@ public class MockTownModel implements Town {
   }
 
   @Override
-  public Integer getPlayerCurrPlaceNumber(int playerIndex) {
+  public int getPlayerCurrPlaceNumber(int playerIndex) {
     return playerPlaceNumbers.getOrDefault(playerIndex, 1);
   }
 
@@ -276,48 +296,65 @@ public class MockTownModel implements Town {
     this.playerVisible = isVisible;
   }
 
-  /**
-   * Sets the place info to return for testing purposes.
-   */
-  public void setBasicLocationInfo() {
+  @Override
+  public TurnSnapshot getTurnSnapshot() {
+    logMethodCall("getTurnSnapshot");
+    Player currentPlayer = players.get(currentPlayerIndex);
+    return new TurnSnapshot(currentTurn, currentPlayer.getName(), "TestPlace",
+        currentPlayer.getCarryLimit(), currentPlayer.getCurrentCarriedItems(), new ArrayList<>(),
+        "MockTarget", "TestPlace", 50, "MockPet", "TestPlace", new ArrayList<>());
   }
 
   @Override
-  public String showBasicLocationInfo() {
-    logMethodCall("showBasicLocationInfo");
+  public List<String> getAllPlayersInfo() {
+    logMethodCall("getAllPlayersInfo");
+    List<String> playerInfo = new ArrayList<>();
+    playerInfo.add("MockPlayer,MockPlace,5");
+    return playerInfo;
+  }
 
-    if (!initialized) {
-      initialized = true;
-      return String.format("[[%s,%s,5,%s], [], [%s,%s,%d], [%s,%s]]",
-          players.get(currentPlayerIndex).getName(),
-          "TestPlace",
-          "None",
-          "MockTarget",
-          "TestPlace",
-          50,
-          "MockPet",
-          "TestPlace");
+  @Override
+  public List<String> getPlayersInfoPage(int offset, int limit) {
+    logMethodCall("getPlayersInfoPage");
+    List<String> playerInfo = new ArrayList<>();
+    if (offset == 0 && limit > 0) {
+      playerInfo.add("MockPlayer,MockPlace,5");
     }
+    return playerInfo;
+  }
 
-    return currentPlayerInfo != null ? currentPlayerInfo :
-        "[[MockPlayer,TestPlace,5,None], [], [MockTarget,TestPlace,50], [MockPet,TestPlace]]";
+  @Override
+  public boolean isPlayerNameTaken(String playerName) {
+    logMethodCall("isPlayerNameTaken");
+    for (Player player : players) {
+      if (player.getName().equals(playerName)) {
+        return true;
+      }
+    }
+    return false;
   }
 
-  /**
-   * Sets the place info to return for testing purposes.
-   *
-   * @param info the place info to return
-   */
-  public void setCurrentPlayerInfo(String info) {
-    this.currentPlayerInfo = info;
+  @Override
+  public List<String> completePlayerName(String prefix, int limit) {
+    logMethodCall("completePlayerName");
+    List<String> names = new ArrayList<>();
+    for (Player player : players) {
+      if (player.getName().startsWith(prefix) && names.size() < limit) {
+        names.add(player.getName());
+      }
+    }
+    return names;
   }
 
   @Override
-  public List<String> getAllPlayersInfo() {
-    logMethodCall("getAllPlayersInfo");
-    List<String> playerInfo = new ArrayList<>();
-    playerInfo.add("MockPlayer,MockPlace,5");
-    return playerInfo;
+  public List<String> addComputerPlayers(String namePrefix, int count, int carryLimit,
+                                         SpawnDistribution distribution, RandomService random) {
+    logMethodCall("addComputerPlayers");
+    List<String> names = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      names.add(namePrefix + i);
+    }
+    return names;
   }
 
   @Override
@@ -434,6 +471,12 @@ public class MockTownModel implements Town {
     return maxTurns;
   }
 
+  @Override
+  public long getStateHash() {
+    logMethodCall("getStateHash");
+    return 0L;
+  }
+
   /**
    * Sets the maximum number of turns for testing purposes.
    *
@@ -0,0 +1,106 @@
+package model.item;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for DamageIndex. Tests the strongest item, ties, copies and removal order.
+ */
+public class DamageIndexTest {
+  private DamageIndex index;
+
+  @Before
+  public void setUp() {
+    index = new DamageIndex();
+  }
+
+  // Test the first item added wins a tie for the strongest
+  @Test
+  public void testTiesGoToFirstAdded() {
+    Item first = new ItemModel(1, "Knife", 3);
+    Item second = new ItemModel(2, "Axe", 3);
+    index.add(first);
+    index.add(second);
+    assertSame(first, index.getBest());
+    assertTrue(index.remove(first));
+    assertSame(second, index.getBest());
+    assertEquals(3, index.getTotalDamage());
+  }
+
+  // Test each copy of an item is its own entry
+  @Test
+  public void testCopies() {
+    Item ball = new ItemModel(1, "Ball", 2);
+    index.add(ball);
+    index.add(ball);
+    assertEquals(2, index.size());
+    assertTrue(index.remove(ball));
+    assertTrue(index.remove(ball));
+    assertFalse(index.remove(ball));
+    assertNull(index.getBest());
+    assertEquals(0, index.getTotalDamage());
+  }
+
+  // Test removing an item that was never added changes nothing
+  @Test
+  public void testRemoveMissing() {
+    index.add(new ItemModel(1, "Ball", 2));
+    assertFalse(index.remove(new ItemModel(2, "Bat", 4)));
+    assertFalse(index.remove(null));
+    assertEquals(1, index.size());
+  }
+
+  // Test the list keeps add order after removals from the middle
+  @Test
+  public void testListKeepsAddOrder() {
+    Item a = new ItemModel(1, "A", 5);
+    Item b = new ItemModel(2, "B", 9);
+    Item c = new ItemModel(3, "C", 1);
+    Item d = new ItemModel(4, "D", 7);
+    for (Item item : Arrays.asList(a, b, c, d)) {
+      index.add(item);
+    }
+    index.remove(b);
+    assertEquals(Arrays.asList(a, c, d), index.toList());
+    assertSame(d, index.getBest());
+  }
+
+  // Test a long run of random adds and removes agrees with a plain list scan
+  @Test
+  public void testMatchesListScan() {
+    Random random = new Random(7);
+    List<Item> reference = new ArrayList<>();
+    for (int step = 0; step < 5_000; step++) {
+      if (reference.isEmpty() || random.nextInt(3) > 0) {
+        Item item = new ItemModel(1 + random.nextInt(40), "Item", random.nextInt(6));
+        index.add(item);
+        reference.add(item);
+      } else {
+        Item item = reference.remove(random.nextInt(reference.size()));
+        assertTrue(index.remove(item));
+      }
+      Item best = null;
+      int total = 0;
+      for (Item item : reference) {
+        total += item.getDamage();
+        if (best == null || item.getDamage() > best.getDamage()) {
+          best = item;
+        }
+      }
+      assertEquals(reference.size(), index.size());
+      assertEquals(total, index.getTotalDamage());
+      assertEquals(best == null ? -1 : best.getDamage(),
+          index.getBest() == null ? -1 : index.getBest().getDamage());
+    }
+  }
+}
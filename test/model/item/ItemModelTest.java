@@ -107,4 +107,20 @@ public class ItemModelTest {
   public void testEqualityWithSelf() {
     assertEquals("Item should equal itself", item1, item1);
   }
-}
\ No newline at end of file
+
+  // Test loaded items compare by id
+  @Test
+  public void testEqualityById() {
+    ItemModel loaded = new ItemModel(3, "Sword", 10);
+    assertEquals("Same id should be equal", loaded, new ItemModel(3, "Sword", 10));
+    assertEquals("Hash code should be the id", 3, loaded.hashCode());
+    assertNotEquals("Different ids should not be equal", loaded, new ItemModel(4, "Sword", 10));
+    assertNotEquals("Loaded item should not equal an item without id", loaded, item1);
+  }
+
+  // Test negative ids are rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeId() {
+    new ItemModel(-1, "Sword", 10);
+  }
+}
@@ -5,6 +5,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import model.item.Item;
 import model.item.ItemModel;
@@ -46,6 +48,36 @@ public class PlaceModelTest {
     assertEquals("Col2 should match", 3, testPlace.getCol2());
   }
 
+  // Test that the numeric id and its display form agree
+  @Test
+  public void testPlaceIdMatchesNumber() {
+    assertEquals(1, testPlace.getPlaceId());
+    PlaceModel place = new PlaceModel(0, 0, 1, 1, "Other Room", 12);
+    assertEquals(12, place.getPlaceId());
+    assertEquals("12", place.getPlaceNumber());
+  }
+
+  // Test that places compare by id
+  @Test
+  public void testEqualityById() {
+    PlaceModel samePlace = new PlaceModel(1, 1, 3, 3, "Test Room", 1);
+    assertEquals(testPlace, samePlace);
+    assertEquals(1, testPlace.hashCode());
+    assertFalse(testPlace.equals(new PlaceModel(1, 1, 3, 3, "Test Room", 2)));
+  }
+
+  // Test that a non-numeric place number is invalid
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonNumericPlaceNumber() {
+    new PlaceModel(1, 1, 3, 3, "Test Room", "first");
+  }
+
+  // Test that a place id below 1 is invalid
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositivePlaceId() {
+    new PlaceModel(1, 1, 3, 3, "Test Room", 0);
+  }
+
   // Test that a place with null name is invalid
   @Test(expected = IllegalArgumentException.class)
   public void testNegativeRowCol1() {
@@ -142,40 +174,80 @@ public class PlaceModelTest {
 
   // Player Management Tests
   @Test
-  public void testAddPlayer() {
-    testPlace.addPlayer(testPlayer);
-    List<Player> players = testPlace.getCurrentPlacePlayers();
-    assertTrue("Player should be in players list", players.contains(testPlayer));
-    assertEquals("Should have exactly one player", 1, players.size());
+  public void testNoOccupantsWithoutLookup() {
+    assertTrue("Place without a lookup should be empty",
+        testPlace.getCurrentPlacePlayers().isEmpty());
   }
 
-  // Test that Removing a player from a place removes it from the list
+  // Test the place reads its occupants from the lookup it was given, by its own id
+  @Test
+  public void testOccupantsFromLookup() {
+    Player player2 = new PlayerModel(2, "Second Player", false, 5, 1);
+    List<Integer> asked = new ArrayList<>();
+    testPlace.setOccupants(placeId -> {
+      asked.add(placeId);
+      return Arrays.asList(testPlayer, player2);
+    });
+    assertEquals(Arrays.asList(testPlayer, player2), testPlace.getCurrentPlacePlayers());
+    assertEquals(Arrays.asList(testPlace.getPlaceId()), asked);
+  }
+
+  // Test the best item and total damage follow items being added and removed
   @Test
-  public void testRemovePlayer() {
-    testPlace.addPlayer(testPlayer);
-    testPlace.removePlayer(testPlayer);
-    List<Player> players = testPlace.getCurrentPlacePlayers();
-    assertFalse("Player should not be in players list", players.contains(testPlayer));
-    assertTrue("Players list should be empty", players.isEmpty());
+  public void testBestItemAndTotalDamage() {
+    Item sword = new ItemModel("Sword", 10);
+    Item knife = new ItemModel("Knife", 4);
+    testPlace.addItem(knife);
+    testPlace.addItem(testItem);
+    testPlace.addItem(sword);
+    assertEquals("First of the strongest items should win", testItem, testPlace.getBestItem());
+    assertEquals(24, testPlace.getTotalDamage());
+    testPlace.removeItem(testItem);
+    assertEquals(sword, testPlace.getBestItem());
+    testPlace.removeItem(sword);
+    testPlace.removeItem(knife);
+    assertEquals(null, testPlace.getBestItem());
+    assertEquals(0, testPlace.getTotalDamage());
   }
 
-  // Test that removing a player that is not in the list does not change the list
+  // Test damage within k hops counts each reachable place once
   @Test
-  public void testRemoveNonexistentPlayer() {
-    Player nonexistentPlayer = new PlayerModel("Nonexistent Player", false, 5, 1);
-    testPlace.removePlayer(nonexistentPlayer);
-    assertTrue("Players list should remain empty", testPlace.getCurrentPlacePlayers().isEmpty());
+  public void testDamageWithinHops() {
+    PlaceModel second = new PlaceModel(3, 1, 5, 3, "Second", "2");
+    PlaceModel third = new PlaceModel(5, 1, 7, 3, "Third", "3");
+    testPlace.addNeighbor(second);
+    second.addNeighbor(testPlace);
+    second.addNeighbor(third);
+    third.addNeighbor(second);
+    testPlace.addItem(testItem);
+    second.addItem(new ItemModel("Knife", 4));
+    third.addItem(new ItemModel("Axe", 7));
+    assertEquals(10, testPlace.getDamageWithin(0));
+    assertEquals(14, testPlace.getDamageWithin(1));
+    assertEquals(21, testPlace.getDamageWithin(2));
+    assertEquals(21, testPlace.getDamageWithin(5));
   }
 
-  // Test that multiple players can be added to a place
+  // Test repeated searches from different places stay correct as items change
   @Test
-  public void testMultiplePlayers() {
-    Player player2 = new PlayerModel("Second Player", false, 5, 1);
-    testPlace.addPlayer(testPlayer);
-    testPlace.addPlayer(player2);
-    List<Player> players = testPlace.getCurrentPlacePlayers();
-    assertEquals("Should have exactly two players", 2, players.size());
-    assertTrue("Should contain first player", players.contains(testPlayer));
-    assertTrue("Should contain second player", players.contains(player2));
+  public void testRepeatedDamageQueries() {
+    PlaceModel second = new PlaceModel(3, 1, 5, 3, "Second", "2");
+    testPlace.addNeighbor(second);
+    second.addNeighbor(testPlace);
+    Item knife = new ItemModel("Knife", 4);
+    testPlace.addItem(testItem);
+    second.addItem(knife);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(14, testPlace.getDamageWithin(1));
+      assertEquals(4, second.getDamageWithin(0));
+    }
+    second.removeItem(knife);
+    assertEquals(10, second.getDamageWithin(3));
+  }
+
+  // Test a negative hop count is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeHops() {
+    testPlace.getDamageWithin(-1);
   }
-}
\ No newline at end of file
+}
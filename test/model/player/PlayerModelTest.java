@@ -0,0 +1,85 @@
+package model.player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import model.item.Item;
+import model.item.ItemModel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for PlayerModel. Tests the inventory and best item tracking.
+ */
+public class PlayerModelTest {
+  private PlayerModel player;
+  private Item knife;
+  private Item sword;
+  private Item axe;
+
+  @Before
+  public void setUp() {
+    player = new PlayerModel(1, "Alice", false, 4, 1);
+    knife = new ItemModel(1, "Knife", 2);
+    sword = new ItemModel(2, "Sword", 5);
+    axe = new ItemModel(3, "Axe", 5);
+  }
+
+  // Test an empty inventory has no best item
+  @Test
+  public void testNoBestItem() {
+    assertNull(player.getBestItem());
+  }
+
+  // Test the best item is the strongest, and the first picked up among equals
+  @Test
+  public void testBestItem() {
+    player.pickUpItem(knife);
+    assertSame(knife, player.getBestItem());
+    player.pickUpItem(sword);
+    player.pickUpItem(axe);
+    assertSame(sword, player.getBestItem());
+  }
+
+  // Test removing items updates the best item
+  @Test
+  public void testRemoveUpdatesBestItem() {
+    player.pickUpItem(knife);
+    player.pickUpItem(sword);
+    player.pickUpItem(axe);
+    assertTrue(player.removeItem(sword));
+    assertSame(axe, player.getBestItem());
+    assertTrue(player.removeItem(axe));
+    assertSame(knife, player.getBestItem());
+    assertFalse(player.removeItem(axe));
+    assertTrue(player.removeItem(knife));
+    assertNull(player.getBestItem());
+    assertEquals(0, player.getCurrentCarriedItems().size());
+  }
+
+  // Test the carried items keep pickup order and cannot be changed directly
+  @Test(expected = UnsupportedOperationException.class)
+  public void testCarriedItemsReadOnly() {
+    player.pickUpItem(sword);
+    player.pickUpItem(knife);
+    assertEquals(knife, player.getCurrentCarriedItems().get(1));
+    player.getCurrentCarriedItems().clear();
+  }
+
+  // Test a full inventory refuses more items
+  @Test(expected = IllegalStateException.class)
+  public void testInventoryFull() {
+    PlayerModel small = new PlayerModel(2, "Bob", true, 1, 1);
+    small.pickUpItem(knife);
+    small.pickUpItem(sword);
+  }
+
+  // Test a null item is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullItem() {
+    player.pickUpItem(null);
+  }
+}
@@ -0,0 +1,77 @@
+package model.player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for PlayerRegistry. Tests name lookup, uniqueness, completion and paging.
+ */
+public class PlayerRegistryTest {
+  private PlayerRegistry registry;
+  private Player carol;
+  private Player alice;
+  private Player alan;
+
+  @Before
+  public void setUp() {
+    registry = new PlayerRegistry();
+    carol = new PlayerModel(1, "Carol", false, 2, 1);
+    alice = new PlayerModel(2, "Alice", false, 2, 1);
+    alan = new PlayerModel(3, "Alan", true, 2, 1);
+    registry.add(carol);
+    registry.add(alice);
+    registry.add(alan);
+  }
+
+  // Test players are found by exact name and kept in turn order
+  @Test
+  public void testFindByName() {
+    assertSame(alice, registry.findByName("Alice"));
+    assertNull(registry.findByName("alice"));
+    assertNull(registry.findByName(null));
+    assertTrue(registry.contains("Alan"));
+    assertFalse(registry.contains("Bob"));
+    assertEquals(Arrays.asList(carol, alice, alan), registry.asList());
+  }
+
+  // Test a taken name is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateName() {
+    registry.add(new PlayerModel(4, "Alice", true, 3, 2));
+  }
+
+  // Test completion returns matching names alphabetically, up to the limit
+  @Test
+  public void testComplete() {
+    assertEquals(Arrays.asList("Alan", "Alice"), registry.complete("Al", 5));
+    assertEquals(Collections.singletonList("Alan"), registry.complete("Al", 1));
+    assertEquals(Arrays.asList("Alan", "Alice", "Carol"), registry.complete("", 5));
+    assertTrue(registry.complete("Bo", 5).isEmpty());
+  }
+
+  // Test pages are clipped at the end of the list
+  @Test
+  public void testPage() {
+    assertEquals(Arrays.asList(carol, alice), registry.page(0, 2));
+    assertEquals(Collections.singletonList(alan), registry.page(2, 2));
+    assertTrue(registry.page(5, 2).isEmpty());
+  }
+
+  // Test clearing frees every name
+  @Test
+  public void testClear() {
+    registry.clear();
+    assertTrue(registry.isEmpty());
+    assertTrue(registry.complete("", 5).isEmpty());
+    registry.add(new PlayerModel(5, "Alice", true, 3, 2));
+    assertEquals(1, registry.size());
+  }
+}
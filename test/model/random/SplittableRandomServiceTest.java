@@ -0,0 +1,71 @@
+package model.random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test class for SplittableRandomService. Tests reproducibility, bounds and splitting.
+ */
+public class SplittableRandomServiceTest {
+
+  /**
+   * Draws a fixed number of values from a service.
+   *
+   * @param service the service to draw from
+   * @return the drawn values
+   */
+  private static int[] draw(RandomService service) {
+    int[] values = new int[64];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = service.nextInt(20);
+    }
+    return values;
+  }
+
+  // Test that the same seed produces the same sequence
+  @Test
+  public void testSameSeedSameSequence() {
+    assertArrayEquals(draw(new SplittableRandomService(42L)),
+        draw(new SplittableRandomService(42L)));
+  }
+
+  // Test that split services are reproducible too
+  @Test
+  public void testSplitIsReproducible() {
+    RandomService first = new SplittableRandomService(7L).split();
+    RandomService second = new SplittableRandomService(7L).split();
+    assertArrayEquals(draw(first), draw(second));
+  }
+
+  // Test a split service's seed replays that service's own sequence
+  @Test
+  public void testSplitSeedReplaysSplit() {
+    RandomService split = new SplittableRandomService(7L).split();
+    RandomService replay = new SplittableRandomService(split.getSeed());
+    assertArrayEquals(draw(replay), draw(split));
+  }
+
+  // Test values stay inside the requested range
+  @Test
+  public void testBounds() {
+    RandomService service = new SplittableRandomService(1L);
+    for (int i = 0; i < 1000; i++) {
+      int value = service.nextInt(1, 21);
+      assertTrue(value >= 1 && value <= 20);
+    }
+  }
+
+  // Test invalid bound
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidBound() {
+    new SplittableRandomService(1L).nextInt(0);
+  }
+
+  // Test invalid range
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRange() {
+    new SplittableRandomService(1L).nextInt(5, 5);
+  }
+}
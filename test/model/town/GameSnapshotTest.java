@@ -0,0 +1,190 @@
+package model.town;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import model.item.Item;
+import model.place.Place;
+import model.random.SplittableRandomService;
+import model.town.offheap.ColumnarTown;
+import model.town.offheap.WorldLayout;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for GameSnapshot. Tests versions, structural sharing and immutability.
+ */
+public class GameSnapshotTest {
+  private TownModel town;
+
+  @Before
+  public void setUp() throws IOException {
+    town = new TownModel(new TownLoader(), "res/SmallTownWorld.txt", new StringWriter(), 50);
+    town.addPlayer("Alice", 1, 3, false);
+    town.addPlayer("Bob", 2, 3, false);
+  }
+
+  // Test a snapshot copies the game state
+  @Test
+  public void testCapture() {
+    GameSnapshot snapshot = GameSnapshot.capture(town, null);
+    assertEquals(1, snapshot.getVersion());
+    assertEquals(2, snapshot.getPlayers().size());
+    assertEquals("Alice", snapshot.getCurrentPlayer().getName());
+    assertEquals(20, snapshot.getPlaces().size());
+    assertEquals("Toy Ball", snapshot.getPlaces().get(0).getItems().get(0).getName());
+    assertEquals(town.getTargetHealth(), snapshot.getTargetHealth());
+    assertEquals(town.getPetPlaceNumber(), snapshot.getPetPlaceNumber());
+  }
+
+  // Test capturing an unchanged game returns the same snapshot
+  @Test
+  public void testUnchangedKeepsVersion() {
+    GameSnapshot first = GameSnapshot.capture(town, null);
+    assertSame(first, GameSnapshot.capture(town, first));
+  }
+
+  // Test a change shares every player and place it did not touch
+  @Test
+  public void testStructuralSharing() throws IOException {
+    GameSnapshot first = GameSnapshot.capture(town, null);
+    town.pickUpItem("Toy Ball");
+    GameSnapshot second = GameSnapshot.capture(town, first);
+    assertEquals(2, second.getVersion());
+    assertNotSame(first.getPlayers().get(0), second.getPlayers().get(0));
+    assertSame(first.getPlayers().get(1), second.getPlayers().get(1));
+    assertNotSame(first.getPlaces().get(0), second.getPlaces().get(0));
+    assertSame(first.getPlaces().get(1), second.getPlaces().get(1));
+    assertEquals(1, first.getPlaces().get(0).getItems().size());
+    assertEquals("Toy Ball", second.getPlayers().get(0).getCarriedItems().get(0).getName());
+  }
+
+  /**
+   * Describes every player and place in a snapshot.
+   *
+   * @param snapshot the snapshot
+   * @return one line per player and place
+   */
+  private static List<String> describe(GameSnapshot snapshot) {
+    List<String> lines = new ArrayList<>();
+    for (GameSnapshot.PlayerState player : snapshot.getPlayers()) {
+      lines.add(player.getName() + " " + player.isComputer() + " " + player.getCarryLimit() + " "
+          + player.getPlaceNumber() + " " + names(player.getCarriedItems()));
+    }
+    for (GameSnapshot.PlaceState place : snapshot.getPlaces()) {
+      lines.add(place.getNumber() + " " + place.getName() + " " + names(place.getItems()));
+    }
+    return lines;
+  }
+
+  /**
+   * Lists item names.
+   *
+   * @param items the items
+   * @return the names
+   */
+  private static List<String> names(List<Item> items) {
+    List<String> names = new ArrayList<>();
+    for (Item item : items) {
+      names.add(item.getName());
+    }
+    return names;
+  }
+
+  /**
+   * Plays moves and pickups on a town, checking after each that a capture from the last
+   * snapshot matches a capture from scratch.
+   *
+   * @param game  the town
+   * @param moves the number of actions to play
+   * @throws IOException if the game fails
+   */
+  private static void checkIncrementalCaptures(Town game, int moves) throws IOException {
+    GameSnapshot snapshot = GameSnapshot.capture(game, null);
+    for (int i = 0; i < moves && !game.isGameOver(); i++) {
+      int seat = game.getCurrentPlayerIndex();
+      Place here = game.getPlaceByNumber(game.getPlayerCurrPlaceNumber(seat));
+      if (!here.getItems().isEmpty() && game.getPlayers().get(seat).getCarriedItemCount() < 3) {
+        game.pickUpItem(here.getItems().get(0).getName());
+      } else {
+        Place next = here.getNeighbors().get(i % here.getNeighbors().size());
+        game.movePlayer(seat, next.getPlaceId());
+      }
+      snapshot = GameSnapshot.capture(game, snapshot);
+      assertEquals(describe(GameSnapshot.capture(game, null)), describe(snapshot));
+    }
+  }
+
+  // Test captures that follow the change log match full captures on both towns
+  @Test
+  public void testIncrementalCaptures() throws IOException {
+    checkIncrementalCaptures(town, 40);
+    ColumnarTown columnar = new ColumnarTown(
+        WorldLayout.load(new TownLoader(), "res/SmallTownWorld.txt"), new StringBuilder(), 50);
+    columnar.addPlayer("Alice", 1, 3, false);
+    columnar.addPlayer("Bob", 2, 3, false);
+    checkIncrementalCaptures(columnar, 40);
+  }
+
+  // Test a capture after more changes than the log holds falls back to comparing everything
+  @Test
+  public void testLogOverflow() throws IOException {
+    GameSnapshot first = GameSnapshot.capture(town, null);
+    town.pickUpItem("Toy Ball");
+    for (int i = 0; i < 2000; i++) {
+      int seat = town.getCurrentPlayerIndex();
+      Place here = town.getPlaceByNumber(town.getPlayerCurrPlaceNumber(seat));
+      town.movePlayer(seat, here.getNeighbors().get(0).getPlaceId());
+    }
+    GameSnapshot second = GameSnapshot.capture(town, first);
+    assertEquals(describe(GameSnapshot.capture(town, null)), describe(second));
+  }
+
+  // Test a player who rejoins with another carry limit and controller gets a new state
+  @Test
+  public void testRejoinWithOtherLimits() throws IOException {
+    GameSnapshot first = GameSnapshot.capture(town, null);
+    town.resetGameState();
+    town.addPlayer("Alice", 1, 5, true);
+    town.addPlayer("Bob", 2, 3, false);
+    GameSnapshot second = GameSnapshot.capture(town, first);
+    assertEquals(5, second.getPlayers().get(0).getCarryLimit());
+    assertTrue(second.getPlayers().get(0).isComputer());
+    assertSame(first.getPlayers().get(1), second.getPlayers().get(1));
+    assertEquals("Fortune the Cat", second.getPetName());
+  }
+
+  // Test a snapshot reports what changed since its previous capture and since older ones
+  @Test
+  public void testChangedIndices() throws IOException {
+    town.addComputerPlayers("Bot", 98, 3, SpawnDistribution.UNIFORM,
+        new SplittableRandomService(5L));
+    GameSnapshot first = GameSnapshot.capture(town, null);
+    town.pickUpItem("Toy Ball");
+    GameSnapshot second = GameSnapshot.capture(town, first);
+    assertArrayEquals(new int[] {0}, second.getChangedPlayers(first));
+    assertArrayEquals(new int[] {0}, second.getChangedPlaces(first));
+    Place here = town.getPlaceByNumber(town.getPlayerCurrPlaceNumber(70));
+    town.movePlayer(70, here.getNeighbors().get(0).getPlaceId());
+    town.addPlayer("Carol", 3, 2, false);
+    GameSnapshot third = GameSnapshot.capture(town, second);
+    assertArrayEquals(new int[] {70, 100}, third.getChangedPlayers(second));
+    assertArrayEquals(new int[0], third.getChangedPlaces(second));
+    assertArrayEquals(new int[] {0, 70, 100}, third.getChangedPlayers(first));
+    assertArrayEquals(new int[] {0}, third.getChangedPlaces(first));
+    assertArrayEquals(new int[0], third.getChangedPlayers(third));
+  }
+
+  // Test snapshot lists cannot be changed
+  @Test(expected = UnsupportedOperationException.class)
+  public void testImmutable() {
+    GameSnapshot.capture(town, null).getPlayers().clear();
+  }
+}
@@ -0,0 +1,97 @@
+package model.town;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for OccupancyIndex.
+ */
+public class OccupancyIndexTest {
+  private OccupancyIndex index;
+
+  @Before
+  public void setUp() {
+    index = new OccupancyIndex(4);
+  }
+
+  // Test adding and moving players keeps counts and positions in step
+  @Test
+  public void testAddAndMove() {
+    index.add(1, 2);
+    index.add(2, 2);
+    assertEquals(2, index.countIn(2));
+    assertTrue(index.together(1, 2));
+
+    index.move(1, 3);
+    assertEquals(3, index.placeOf(1));
+    assertEquals(1, index.countIn(2));
+    assertEquals(1, index.countIn(3));
+    assertFalse(index.together(1, 2));
+    assertTrue(index.isIn(2, 2));
+    assertFalse(index.isIn(1, 2));
+  }
+
+  // Test iterating a room's occupants in id order
+  @Test
+  public void testOccupantIteration() {
+    for (int id = 1; id <= 20; id++) {
+      index.add(id, id % 2 == 0 ? 4 : 1);
+    }
+    int seen = 0;
+    int last = 0;
+    for (int id = index.nextOccupant(4, 0); id > 0; id = index.nextOccupant(4, id)) {
+      assertTrue(id > last);
+      assertEquals(0, id % 2);
+      last = id;
+      seen++;
+    }
+    assertEquals(10, seen);
+    assertEquals(-1, index.nextOccupant(3, 0));
+  }
+
+  // Test unplaced players are in no place
+  @Test
+  public void testUnplacedPlayer() {
+    assertEquals(0, index.placeOf(7));
+    assertFalse(index.isIn(7, 1));
+    assertFalse(index.together(7, 7));
+  }
+
+  // Test a move stamps a later arrival than anyone already in the room
+  @Test
+  public void testArrivalOrder() {
+    index.add(2, 1);
+    index.add(1, 2);
+    index.move(1, 1);
+    assertTrue(index.arrivalOf(2) < index.arrivalOf(1));
+    assertEquals(0, index.arrivalOf(7));
+  }
+
+  // Test clearing removes every player
+  @Test
+  public void testClear() {
+    index.add(1, 1);
+    index.clear();
+    assertEquals(0, index.countIn(1));
+    assertEquals(0, index.placeOf(1));
+    index.add(1, 2);
+    assertEquals(2, index.placeOf(1));
+  }
+
+  // Test a player cannot be added twice
+  @Test(expected = IllegalArgumentException.class)
+  public void testDuplicateAdd() {
+    index.add(1, 1);
+    index.add(1, 2);
+  }
+
+  // Test unknown places are rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPlace() {
+    index.add(1, 5);
+  }
+}
@@ -5,13 +5,16 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.util.Arrays;
 import java.util.List;
 import model.item.Item;
 import model.place.Place;
 import model.player.Player;
+import model.random.SplittableRandomService;
 import model.target.Target;
 import org.junit.Before;
 import org.junit.Test;
@@ -184,6 +187,51 @@ public class TownModelTest {
         townModel.getPlayers().get(0).getPlayerCurrentPlaceNumber());
   }
 
+  // Test players get ids in joining order and items get ids in world file order
+  @Test
+  public void testEntityIdsAssigned() {
+    townModel.addPlayer("First", 1, 3, false);
+    townModel.addPlayer("Second", 2, 3, true);
+    assertEquals(1, townModel.getPlayers().get(0).getPlayerId());
+    assertEquals(2, townModel.getPlayers().get(1).getPlayerId());
+    assertNotEquals(townModel.getPlayers().get(0), townModel.getPlayers().get(1));
+    assertTrue("Loaded items should have ids",
+        townModel.getPlaceByNumber(1).getItems().get(0).getItemId() > 0);
+  }
+
+  // Test the state hash returns to its old value when a change is undone
+  @Test
+  public void testStateHashReversible() throws IOException {
+    townModel.addPlayer("Solo", 1, 3, false);
+    long start = townModel.getStateHash();
+    townModel.movePet(2);
+    assertNotEquals(start, townModel.getStateHash());
+    townModel.movePet(1);
+    assertEquals(start, townModel.getStateHash());
+  }
+
+  // Test equal states hash equally and different states do not
+  @Test
+  public void testStateHashComparesStates() throws IOException {
+    TownModel other = new TownModel(new TownLoader(), TEST_FILE, new StringWriter(), MAX_TURNS);
+    assertEquals(townModel.getStateHash(), other.getStateHash());
+    townModel.addPlayer("First", 1, 3, false);
+    townModel.addPlayer("Second", 2, 3, false);
+    other.addPlayer("First", 1, 3, false);
+    other.addPlayer("Second", 2, 3, false);
+    townModel.movePlayer(0, 2);
+    other.movePlayer(0, 2);
+    assertEquals(townModel.getStateHash(), other.getStateHash());
+    townModel.attackTarget("Poke Target");
+    assertNotEquals(townModel.getStateHash(), other.getStateHash());
+    other.attackTarget("Poke Target");
+    assertEquals(townModel.getStateHash(), other.getStateHash());
+    townModel.resetGameState();
+    assertEquals(
+        new TownModel(new TownLoader(), TEST_FILE, output, MAX_TURNS).getStateHash(),
+        townModel.getStateHash());
+  }
+
   // Player Management Tests
   @Test(expected = IllegalArgumentException.class)
   public void testAddPlayerWithInvalidName() {
@@ -218,6 +266,30 @@ public class TownModelTest {
         place.getCurrentPlacePlayers().size());
   }
 
+  // Test a place lists its occupants in arrival order, read from the town's occupancy index
+  @Test
+  public void testPlaceOccupantsFollowMoves() throws IOException {
+    townModel.addPlayer("Player1", 1, 3, false);
+    townModel.addPlayer("Player2", 2, 3, false);
+    townModel.addPlayer("Player3", 1, 3, false);
+    townModel.movePlayer(1, 1);
+    List<Player> players = townModel.getPlayers();
+    assertEquals(Arrays.asList(players.get(0), players.get(2), players.get(1)),
+        townModel.getPlaceByNumber(1).getCurrentPlacePlayers());
+    assertTrue(townModel.getPlaceByNumber(2).getCurrentPlacePlayers().isEmpty());
+  }
+
+  // Test a bad starting place adds no one
+  @Test
+  public void testAddPlayerWithInvalidPlaceAddsNoOne() {
+    try {
+      townModel.addPlayer("TestPlayer", 21, 3, false);
+      fail("Expected an invalid place to be rejected");
+    } catch (IndexOutOfBoundsException e) {
+      assertTrue(townModel.getPlayers().isEmpty());
+    }
+  }
+
   // Player Management Tests
   @Test(expected = IndexOutOfBoundsException.class)
   public void testAddPlayerWithInvalidStartingPlace() {
@@ -507,6 +579,27 @@ public class TownModelTest {
     assertFalse("Item should be removed after attack", hasToyBall);
   }
 
+  // Test an item another player carries cannot be picked up
+  @Test
+  public void testPickUpCarriedItemRejected() throws IOException {
+    townModel.addPlayer("Player1", 1, 5, false);
+    townModel.addPlayer("Player2", 1, 5, false);
+    townModel.pickUpItem("Toy Ball");
+    long hash = townModel.getStateHash();
+    try {
+      townModel.pickUpItem("Toy Ball");
+      fail("Expected IllegalArgumentException for an item not in the place");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Item is not in this place: Toy Ball", e.getMessage());
+    }
+    assertEquals("The first player keeps the item", 1,
+        townModel.getPlayers().get(0).getCurrentCarriedItems().size());
+    assertTrue("The second player gets nothing",
+        townModel.getPlayers().get(1).getCurrentCarriedItems().isEmpty());
+    assertEquals("The turn does not pass", 1, townModel.getCurrentPlayerIndex());
+    assertEquals("The state is unchanged", hash, townModel.getStateHash());
+  }
+
   /**
    * Test that pet affects player visibility.
    *
@@ -786,4 +879,100 @@ public class TownModelTest {
           infoParts[1]);
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Test the turn snapshot reports the current player's view of the game.
+   */
+  @Test
+  public void testTurnSnapshot() {
+    townModel.addPlayer("Player1", 1, 3, false);
+    townModel.addPlayer("Player2", 1, 3, false);
+    townModel.addPlayer("Player3", 2, 3, false);
+
+    TurnSnapshot snapshot = townModel.getTurnSnapshot();
+    assertEquals("Snapshot should be for turn 1", 1, snapshot.getTurn());
+    assertEquals("Snapshot should be for the current player", "Player1",
+        snapshot.getPlayerName());
+    assertEquals("Player should be in the Park", "Park", snapshot.getPlaceName());
+    assertEquals("Only Player2 shares the place", List.of("Player2"),
+        snapshot.getCoLocatedPlayers());
+    assertTrue("Player should carry nothing", snapshot.getCarriedItems().isEmpty());
+    assertEquals("Target should be in the Park", "Park", snapshot.getTargetPlaceName());
+    assertEquals("Target health should be 50", 50, snapshot.getTargetHealth());
+    assertEquals("Pet should be in the Park", "Park", snapshot.getPetPlaceName());
+    assertEquals("Park should hold the Toy Ball", "Toy Ball",
+        snapshot.getRoomItems().get(0).getName());
+  }
+
+  /**
+   * Test the turn snapshot is not affected by later changes to the game.
+   *
+   * @throws IOException if an error occurs
+   */
+  @Test(expected = UnsupportedOperationException.class)
+  public void testTurnSnapshotIsImmutable() throws IOException {
+    townModel.addPlayer("Player1", 1, 3, false);
+    townModel.addPlayer("Player2", 2, 3, false);
+
+    TurnSnapshot snapshot = townModel.getTurnSnapshot();
+    townModel.pickUpItem("Toy Ball");
+    assertEquals("Snapshot should still list the Toy Ball", 1, snapshot.getRoomItems().size());
+    snapshot.getRoomItems().clear();
+  }
+
+  // Test a bulk spawn adds every player with a fresh name, skipping names already taken
+  @Test
+  public void testAddComputerPlayers() {
+    townModel.addPlayer("Bot2", 1, 3, false);
+    List<String> names = townModel.addComputerPlayers("Bot", 1000, 5,
+        SpawnDistribution.UNIFORM, new SplittableRandomService(7L));
+    assertEquals("Every player should be added", 1001, townModel.getPlayers().size());
+    assertEquals("Numbering starts after the existing players", "Bot3", names.get(0));
+    assertEquals("Names should be in turn order", "Bot1002", names.get(999));
+    assertTrue("Added players are computer players",
+        townModel.getPlayers().get(1000).isComputerControlled());
+  }
+
+  // Test a bulk spawn with a bad argument adds no one
+  @Test
+  public void testAddComputerPlayersAllOrNothing() {
+    townModel.addPlayer("Human", 1, 3, false);
+    try {
+      townModel.addComputerPlayers("Bot", 10, 5, SpawnDistribution.UNIFORM, null);
+      fail("Expected IllegalArgumentException for a null random service");
+    } catch (IllegalArgumentException e) {
+      assertEquals("No player should be added", 1, townModel.getPlayers().size());
+    }
+  }
+
+  // Test far from target spawns only use the places the most moves from the target
+  @Test
+  public void testAddComputerPlayersFarFromTarget() {
+    townModel.addComputerPlayers("Bot", 50, 5, SpawnDistribution.FAR_FROM_TARGET,
+        new SplittableRandomService(3L));
+    Place targetPlace = townModel.getTarget().getCurrentPlace();
+    for (Player player : townModel.getPlayers()) {
+      Place place = townModel.getPlaceByNumber(player.getPlayerCurrentPlaceNumber());
+      assertNotEquals("No player should start with the target", targetPlace, place);
+      assertFalse("No player should start next to the target", targetPlace.isNeighbor(place));
+    }
+  }
+
+  // Test clustered spawns share one place and its neighbors
+  @Test
+  public void testAddComputerPlayersClustered() {
+    townModel.addComputerPlayers("Bot", 50, 5, SpawnDistribution.CLUSTERED,
+        new SplittableRandomService(5L));
+    for (Player first : townModel.getPlayers()) {
+      Place a = townModel.getPlaceByNumber(first.getPlayerCurrentPlaceNumber());
+      for (Player second : townModel.getPlayers()) {
+        Place b = townModel.getPlaceByNumber(second.getPlayerCurrentPlaceNumber());
+        boolean withinTwo = a == b || a.isNeighbor(b);
+        for (Place middle : a.getNeighbors()) {
+          withinTwo |= middle == b || middle.isNeighbor(b);
+        }
+        assertTrue("Clustered players should be at most two moves apart", withinTwo);
+      }
+    }
+  }
+}
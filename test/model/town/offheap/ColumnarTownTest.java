@@ -0,0 +1,168 @@
+package model.town.offheap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import controller.strategy.ComputerStrategy;
+import controller.strategy.HeadlessGame;
+import controller.strategy.HunterStrategy;
+import controller.strategy.PriorityStrategy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import model.town.Town;
+import model.town.TownLoader;
+import model.town.TownModel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for ColumnarTown.
+ */
+public class ColumnarTownTest {
+  private static final String WORLD = "res/SmallTownWorld.txt";
+  private static final int MAX_TURNS = 50;
+
+  private WorldLayout layout;
+
+  @Before
+  public void setUp() throws IOException {
+    layout = WorldLayout.load(new TownLoader(), WORLD);
+  }
+
+  // Test games on the columnar town match TownModel move for move
+  @Test
+  public void testMatchesTownModel() throws IOException {
+    HeadlessGame game = new HeadlessGame(WORLD, MAX_TURNS);
+    List<ComputerStrategy> seats =
+        Arrays.asList(new PriorityStrategy(), new HunterStrategy(), new HunterStrategy());
+    for (long seed = 1; seed <= 20; seed++) {
+      StringBuilder heapLog = new StringBuilder();
+      StringBuilder columnLog = new StringBuilder();
+      HeadlessGame.Result heap = game.play(
+          new TownModel(new TownLoader(), WORLD, heapLog, MAX_TURNS), seats, seed);
+      HeadlessGame.Result columns =
+          game.play(new ColumnarTown(layout, columnLog, MAX_TURNS), seats, seed);
+      assertEquals("seed " + seed, heap.toString(), columns.toString());
+      assertEquals("seed " + seed, heapLog.toString(), columnLog.toString());
+    }
+  }
+
+  // Test the info strings match TownModel after players join and move
+  @Test
+  public void testInfoMatchesTownModel() throws IOException {
+    TownModel heap = new TownModel(new TownLoader(), WORLD, new StringBuilder(), MAX_TURNS);
+    ColumnarTown columns = new ColumnarTown(layout, new StringBuilder(), MAX_TURNS);
+    heap.addPlayer("Alice", 1, 2, false);
+    heap.addPlayer("Bob", 2, 3, true);
+    columns.addPlayer("Alice", 1, 2, false);
+    columns.addPlayer("Bob", 2, 3, true);
+    heap.movePlayer(0, 2);
+    columns.movePlayer(0, 2);
+    for (int place = 1; place <= layout.getPlaceCount(); place++) {
+      assertEquals(heap.getCurrentPlaceInfo(place), columns.getCurrentPlaceInfo(place));
+      assertEquals(heap.getCurrentPlaceNeighborsInfo(place),
+          columns.getCurrentPlaceNeighborsInfo(place));
+    }
+    assertEquals(heap.getAllPlayersInfo(), columns.getAllPlayersInfo());
+    assertEquals(heap.getPlayerByName("Bob"), columns.getPlayerByName("Bob"));
+    assertEquals(heap.petCurrentInfo(), columns.petCurrentInfo());
+    assertEquals(heap.isPlayerVisible(heap.getPlayers().get(1)),
+        columns.isPlayerVisible(columns.getPlayers().get(1)));
+  }
+
+  // Test the state hash follows TownModel's through a scripted game
+  @Test
+  public void testStateHashMatchesTownModel() throws IOException {
+    TownModel heap = new TownModel(new TownLoader(), WORLD, new StringBuilder(), MAX_TURNS);
+    ColumnarTown columns = new ColumnarTown(layout, new StringBuilder(), MAX_TURNS);
+    assertEquals(heap.getStateHash(), columns.getStateHash());
+    String item = heap.getPlaceByNumber(layout.getItemStartPlace(0)).getItems().get(0).getName();
+    heap.addPlayer("Alice", layout.getItemStartPlace(0), 2, false);
+    heap.addPlayer("Bob", 1, 2, false);
+    columns.addPlayer("Alice", layout.getItemStartPlace(0), 2, false);
+    columns.addPlayer("Bob", 1, 2, false);
+    heap.pickUpItem(item);
+    columns.pickUpItem(item);
+    assertEquals(heap.getStateHash(), columns.getStateHash());
+    heap.movePet(2);
+    columns.movePet(2);
+    heap.movePlayer(0, 1);
+    columns.movePlayer(0, 1);
+    heap.attackTarget(item);
+    columns.attackTarget(item);
+    heap.switchToNextPlayer();
+    columns.switchToNextPlayer();
+    assertEquals(heap.getStateHash(), columns.getStateHash());
+    heap.resetGameState();
+    columns.resetGameState();
+    assertEquals(heap.getStateHash(), columns.getStateHash());
+  }
+
+  // Test both backends refuse an item that is not lying in the player's place
+  @Test
+  public void testPickUpOnlyFromPlace() throws IOException {
+    TownModel heap = new TownModel(new TownLoader(), WORLD, new StringBuilder(), MAX_TURNS);
+    ColumnarTown columns = new ColumnarTown(layout, new StringBuilder(), MAX_TURNS);
+    int place = layout.getItemStartPlace(0);
+    String item = heap.getPlaceByNumber(place).getItems().get(0).getName();
+    for (Town town : Arrays.asList(heap, columns)) {
+      town.addPlayer("Alice", place, 2, false);
+      town.addPlayer("Bob", place, 2, false);
+      town.pickUpItem(item);
+      assertNull(town.getPlaceByNumber(place).getItemByName(item));
+      assertThrows(IllegalArgumentException.class, () -> town.pickUpItem(item));
+      assertEquals(1, town.getCurrentPlayerIndex());
+    }
+    assertEquals(heap.getStateHash(), columns.getStateHash());
+  }
+
+  // Test several games can share one direct buffer without touching each other
+  @Test
+  public void testGamesShareOneBuffer() {
+    int size = ColumnarTown.bytesRequired(layout, 4);
+    ByteBuffer slab = ByteBuffer.allocateDirect(size * 2);
+    slab.limit(size);
+    ColumnarTown first = new ColumnarTown(layout, slab, new StringBuilder(), MAX_TURNS, 4);
+    slab.limit(size * 2).position(size);
+    ColumnarTown second = new ColumnarTown(layout, slab, new StringBuilder(), MAX_TURNS, 4);
+    first.getTarget().takeDamage(3);
+    assertEquals(layout.getTargetHealth() - 3, first.getTargetHealth());
+    assertEquals(layout.getTargetHealth(), second.getTargetHealth());
+  }
+
+  // Test resetting the game puts the state back and removes the players
+  @Test
+  public void testReset() throws IOException {
+    ColumnarTown town = new ColumnarTown(layout, new StringBuilder(), MAX_TURNS);
+    town.addPlayer("Alice", 1, 2, false);
+    town.addPlayer("Bob", 1, 2, false);
+    town.lookAround();
+    town.lookAround();
+    town.attackTarget("Poke Target");
+    town.resetGameState();
+    assertEquals(0, town.getPlayers().size());
+    assertEquals(1, town.getCurrentTurn());
+    assertEquals(layout.getTargetHealth(), town.getTargetHealth());
+    assertEquals(1, town.getTarget().getCurrentPlaceId());
+    assertFalse(town.isGameOver());
+  }
+
+  // Test a region smaller than the game needs is rejected
+  @Test(expected = IllegalArgumentException.class)
+  public void testRegionTooSmall() {
+    new ColumnarTown(layout, ByteBuffer.allocateDirect(16), new StringBuilder(), MAX_TURNS, 4);
+  }
+
+  // Test place views cannot be changed directly
+  @Test(expected = UnsupportedOperationException.class)
+  public void testPlaceViewsReadOnly() {
+    ColumnarTown town = new ColumnarTown(layout, new StringBuilder(), MAX_TURNS);
+    assertTrue(town.getPlaceByNumber(1).getItems().size() >= 0);
+    town.getPlaceByNumber(1).addItem(layout.getItem(0));
+  }
+}
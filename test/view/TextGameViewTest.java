@@ -0,0 +1,77 @@
+package view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.Test;
+
+/**
+ * Test class for TextGameView. Tests input validation, line endings and session isolation.
+ */
+public class TextGameViewTest {
+
+  // Test reading strings and numbers
+  @Test
+  public void testReadsInput() throws IOException {
+    StringBuilder output = new StringBuilder();
+    TextGameView view = new TextGameView(new StringReader("Alice\n42\n"), output);
+    assertEquals("Alice", view.getStringInput());
+    assertEquals(42, view.getNumberInput());
+  }
+
+  // Test invalid lines are rejected until a valid one arrives
+  @Test
+  public void testRetriesInvalidInput() throws IOException {
+    StringBuilder output = new StringBuilder();
+    TextGameView view = new TextGameView(new StringReader("\nabc\n7\n\nBob\n"), output);
+    assertEquals(7, view.getNumberInput());
+    assertEquals("Bob", view.getStringInput());
+    assertTrue(output.toString().contains("Input cannot be empty. Please enter a number."));
+    assertTrue(output.toString().contains("Invalid input. Please enter a valid number."));
+    assertTrue(output.toString().contains("Input cannot be empty. Please try again."));
+  }
+
+  // Test a long run of bad input does not overflow the stack
+  @Test
+  public void testManyInvalidLines() throws IOException {
+    StringBuilder input = new StringBuilder();
+    for (int i = 0; i < 100000; i++) {
+      input.append("x\n");
+    }
+    input.append("3\n");
+    TextGameView view = new TextGameView(new StringReader(input.toString()), new StringBuilder());
+    assertEquals(3, view.getNumberInput());
+  }
+
+  // Test Windows line endings and a last line without a line break
+  @Test
+  public void testLineEndings() throws IOException {
+    TextGameView view = new TextGameView(new StringReader("1\r\nlast"), new StringBuilder());
+    assertEquals(1, view.getNumberInput());
+    assertEquals("last", view.getStringInput());
+  }
+
+  // Test two views keep their own input and output
+  @Test
+  public void testViewsAreIndependent() throws IOException {
+    StringBuilder firstOutput = new StringBuilder();
+    StringBuilder secondOutput = new StringBuilder();
+    TextGameView first = new TextGameView(new StringReader("first\n"), firstOutput);
+    TextGameView second = new TextGameView(new StringReader("second\n"), secondOutput);
+    first.showMessage("to first");
+    second.showMessage("to second");
+    assertEquals("first", first.getStringInput());
+    assertEquals("second", second.getStringInput());
+    assertEquals("to first\n", firstOutput.toString());
+    assertEquals("to second\n", secondOutput.toString());
+  }
+
+  // Test the end of input is reported
+  @Test(expected = EOFException.class)
+  public void testEndOfInput() throws IOException {
+    new TextGameView(new StringReader(""), new StringBuilder()).getStringInput();
+  }
+}
@@ -0,0 +1,64 @@
+package view.output;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import org.junit.Test;
+
+/**
+ * Test class for the output sinks. Tests batching, discarding and bounded retention.
+ */
+public class OutputSinkTest {
+
+  // Test buffered text only reaches the target on flush
+  @Test
+  public void testBufferedSinkHoldsUntilFlush() throws IOException {
+    StringBuilder target = new StringBuilder();
+    BufferedOutputSink sink = new BufferedOutputSink(target);
+    sink.append("Turn changed").append(' ').append("to Bob", 0, 6);
+    assertEquals("", target.toString());
+    sink.flush();
+    assertEquals("Turn changed to Bob", target.toString());
+  }
+
+  // Test buffered sink writes out once its capacity is reached
+  @Test
+  public void testBufferedSinkFlushesWhenFull() throws IOException {
+    StringBuilder target = new StringBuilder();
+    BufferedOutputSink sink = new BufferedOutputSink(target, 4);
+    sink.append("abc");
+    assertEquals("", target.toString());
+    sink.append("d");
+    assertEquals("abcd", target.toString());
+  }
+
+  // Test null target
+  @Test(expected = IllegalArgumentException.class)
+  public void testBufferedSinkNullTarget() {
+    new BufferedOutputSink(null);
+  }
+
+  // Test discard sink accepts writes
+  @Test
+  public void testDiscardSink() throws IOException {
+    OutputSink sink = DiscardOutputSink.INSTANCE;
+    assertEquals(sink, sink.append("ignored"));
+    sink.flush();
+  }
+
+  // Test ring buffer keeps only the most recent characters
+  @Test
+  public void testRingBufferKeepsTail() {
+    RingBufferOutputSink sink = new RingBufferOutputSink(5);
+    sink.append("abc");
+    assertEquals("abc", sink.getContents());
+    sink.append("defg");
+    assertEquals("cdefg", sink.getContents());
+  }
+
+  // Test invalid ring buffer capacity
+  @Test(expected = IllegalArgumentException.class)
+  public void testRingBufferInvalidCapacity() {
+    new RingBufferOutputSink(0);
+  }
+}
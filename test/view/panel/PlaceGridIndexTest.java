@@ -0,0 +1,102 @@
+package view.panel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import model.place.Place;
+import model.place.PlaceModel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for PlaceGridIndex. Tests point and range queries against a linear scan.
+ */
+public class PlaceGridIndexTest {
+  private static final int CELL = 10;
+  private List<Place> places;
+  private PlaceGridIndex index;
+
+  @Before
+  public void setUp() {
+    places = Arrays.asList(
+        new PlaceModel(0, 0, 2, 3, "Park", "1"),
+        new PlaceModel(2, 0, 4, 1, "Grocery Store", "2"),
+        new PlaceModel(4, 0, 6, 2, "School", "3"),
+        new PlaceModel(4, 2, 6, 7, "Hospital", "4"),
+        new PlaceModel(0, 3, 4, 7, "Farm", "5"));
+    index = new PlaceGridIndex(places, CELL);
+  }
+
+  /**
+   * Finds the place under a point the way the map used to, by scanning every place.
+   *
+   * @param x the x-coordinate
+   * @param y the y-coordinate
+   * @return the first place containing the point, or null
+   */
+  private Place linearPlaceAt(int x, int y) {
+    for (Place place : places) {
+      Rectangle bounds = index.bounds(place);
+      if (x >= bounds.x && x <= bounds.x + bounds.width
+          && y >= bounds.y && y <= bounds.y + bounds.height) {
+        return place;
+      }
+    }
+    return null;
+  }
+
+  // Test every pixel matches a linear scan, including shared edges
+  @Test
+  public void testPlaceAtMatchesLinearScan() {
+    for (int x = -5; x < 80; x++) {
+      for (int y = -5; y < 80; y++) {
+        assertEquals("Mismatch at " + x + "," + y, linearPlaceAt(x, y), index.placeAt(x, y));
+      }
+    }
+  }
+
+  // Test a click inside a place
+  @Test
+  public void testPlaceAt() {
+    assertEquals("Hospital", index.placeAt(45, 50).getName());
+  }
+
+  // Test a click outside the map
+  @Test
+  public void testPlaceAtOutside() {
+    assertNull(index.placeAt(500, 500));
+    assertNull(index.placeAt(-1, 10));
+  }
+
+  // Test range query returns intersecting places in map order
+  @Test
+  public void testPlacesIn() {
+    List<Place> found = index.placesIn(new Rectangle(41, 1, 5, 5));
+    List<String> names = new ArrayList<>();
+    for (Place place : found) {
+      names.add(place.getName());
+    }
+    assertEquals(Arrays.asList("School"), names);
+    assertEquals(places.size(), index.placesIn(new Rectangle(0, 0, 100, 100)).size());
+  }
+
+  // Test repeated range queries each return every place once, in map order
+  @Test
+  public void testRepeatedRangeQueries() {
+    Rectangle all = new Rectangle(0, 0, 100, 100);
+    index.placesIn(new Rectangle(41, 1, 5, 5));
+    List<Place> first = index.placesIn(all);
+    assertEquals(places, first);
+    assertEquals(first, index.placesIn(all));
+  }
+
+  // Test invalid cell size
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCellSize() {
+    new PlaceGridIndex(places, 0);
+  }
+}